@@ -0,0 +1,18 @@
+package com.accoladehq.calendar.reactive;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * An appointment as listed by the reactive API.
+ *
+ * @param id           the appointment id
+ * @param date         the appointment date
+ * @param startTime    the start time
+ * @param endTime      the end time
+ * @param inviteeName  the invitee's name
+ * @param inviteeEmail the invitee's email, may be {@code null}
+ */
+public record AppointmentView(Long id, LocalDate date, LocalTime startTime, LocalTime endTime,
+                              String inviteeName, String inviteeEmail) {
+}
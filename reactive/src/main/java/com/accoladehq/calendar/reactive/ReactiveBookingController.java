@@ -0,0 +1,121 @@
+package com.accoladehq.calendar.reactive;
+
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.dto.SearchSlotsRequest;
+import com.accoladehq.calendar.dto.SlotDto;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking REST controller for the core booking operations, with the same paths
+ * and responses as the main application's {@code BookingController}.
+ */
+@RestController
+@RequestMapping("/api")
+public class ReactiveBookingController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveBookingController.class);
+
+    private final ReactiveBookingService bookingService;
+
+    public ReactiveBookingController(ReactiveBookingService bookingService) {
+        this.bookingService = bookingService;
+    }
+
+    /**
+     * Create a calendar owner.
+     *
+     * @param username    The unique username of the owner.
+     * @param displayName Optional display name of the owner.
+     * @return Response message indicating owner creation or existence.
+     */
+    @PostMapping("/owners")
+    public Mono<ResponseEntity<String>> createOwner(@RequestParam String username,
+                                                    @RequestParam(required = false) String displayName) {
+        return bookingService.upsertOwnerIfNotExists(username, displayName == null ? username : displayName)
+                .thenReturn(ResponseEntity.ok("Owner created/exists"))
+                .onErrorResume(e -> {
+                    logger.error("Error creating owner [{}]: {}", username, e.getMessage(), e);
+                    return Mono.just(ResponseEntity.internalServerError().body("Failed to create owner"));
+                });
+    }
+
+    /**
+     * Set availability for a calendar owner.
+     *
+     * @param req Availability request containing start and end times.
+     * @return Success or failure message.
+     */
+    @PostMapping("/availability")
+    public Mono<ResponseEntity<String>> addAvailability(@Valid @RequestBody AvailabilityRequest req) {
+        return bookingService.addAvailability(req);
+    }
+
+    /**
+     * Remove a time range from an owner's availability.
+     *
+     * @param req Availability request containing the range to remove.
+     * @return Success or failure message.
+     */
+    @PostMapping("/availability/remove")
+    public Mono<ResponseEntity<String>> removeAvailability(@Valid @RequestBody AvailabilityRequest req) {
+        return bookingService.removeAvailability(req);
+    }
+
+    /**
+     * Search available slots for a given date and owner.
+     *
+     * @param req Search request containing username and date.
+     * @return List of available slots.
+     */
+    @PostMapping("/slots/search")
+    public Mono<ResponseEntity<List<SlotDto>>> search(@Valid @RequestBody SearchSlotsRequest req) {
+        return bookingService.searchAvailableSlots(req).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Book an available appointment slot.
+     *
+     * @param req Booking request containing owner username, date, start time, and invitee details.
+     * @return The booked slot details, or an empty body if the slot could not be booked.
+     */
+    @PostMapping("/appointments")
+    public Mono<ResponseEntity<SlotDto>> book(@Valid @RequestBody BookRequest req) {
+        return bookingService.bookAppointment(req)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.ok().build());
+    }
+
+    /**
+     * Cancel an existing appointment.
+     *
+     * @param id The appointment ID.
+     * @return Success message, or 404 if the appointment does not exist.
+     */
+    @DeleteMapping("/appointments/{id}")
+    public Mono<ResponseEntity<String>> cancel(@PathVariable Long id) {
+        return bookingService.cancelAppointment(id)
+                .map(cancelled -> cancelled
+                        ? ResponseEntity.ok("Appointment cancelled")
+                        : ResponseEntity.status(HttpStatus.NOT_FOUND).body("Appointment not found"));
+    }
+
+    /**
+     * Retrieve a list of upcoming appointments for a calendar owner.
+     *
+     * @param username The owner's username.
+     * @return List of upcoming appointments.
+     */
+    @GetMapping("/owners/{username}/appointments")
+    public Mono<ResponseEntity<List<AppointmentView>>> listUpcoming(@PathVariable String username) {
+        return bookingService.listUpcoming(username).collectList().map(ResponseEntity::ok);
+    }
+}
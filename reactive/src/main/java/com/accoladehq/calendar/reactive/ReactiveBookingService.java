@@ -0,0 +1,83 @@
+package com.accoladehq.calendar.reactive;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.dto.SearchSlotsRequest;
+import com.accoladehq.calendar.dto.SlotDto;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the main application's {@code BookingService},
+ * covering owners, availability, slot search, booking, cancellation and listing.
+ * <p>
+ * Results follow the blocking service: failures are logged and reported as an
+ * empty result rather than an error signal.
+ * </p>
+ */
+public interface ReactiveBookingService {
+
+    /**
+     * Creates a calendar owner if it does not already exist.
+     *
+     * @param username    the unique username of the owner
+     * @param displayName the display name for the owner
+     * @return completes once the owner exists
+     */
+    Mono<Void> upsertOwnerIfNotExists(String username, String displayName);
+
+    /**
+     * Adds an availability window to an owner, merging it with the existing ones
+     * unless the request asks to replace them.
+     *
+     * @param req the availability request
+     * @return the response to send
+     */
+    Mono<ResponseEntity<String>> addAvailability(AvailabilityRequest req);
+
+    /**
+     * Removes a time range from an owner's availability.
+     *
+     * @param req the range to remove
+     * @return the response to send
+     */
+    Mono<ResponseEntity<String>> removeAvailability(AvailabilityRequest req);
+
+    /**
+     * Searches the free hourly slots of an owner on a date.
+     *
+     * @param req the search request
+     * @return the free slots in start order, empty for unknown owners and past dates
+     */
+    Mono<List<SlotDto>> searchAvailableSlots(SearchSlotsRequest req);
+
+    /**
+     * Books a slot. The unique constraint on owner, date and start time decides
+     * between concurrent bookings of the same slot.
+     *
+     * @param req the booking request
+     * @return the booked slot, or empty if it could not be booked
+     */
+    Mono<SlotDto> bookAppointment(BookRequest req);
+
+    /**
+     * Cancels an appointment.
+     *
+     * @param appointmentId the appointment id
+     * @return {@code true} if the appointment existed and was cancelled
+     */
+    Mono<Boolean> cancelAppointment(Long appointmentId);
+
+    /**
+     * Lists the appointments of an owner from today on.
+     *
+     * @param username the owner's username
+     * @return the appointments in date and start order
+     */
+    Flux<AppointmentView> listUpcoming(String username);
+}
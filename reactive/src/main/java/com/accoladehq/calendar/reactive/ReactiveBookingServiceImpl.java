@@ -0,0 +1,323 @@
+package com.accoladehq.calendar.reactive;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.dto.SearchSlotsRequest;
+import com.accoladehq.calendar.dto.SlotDto;
+import com.accoladehq.calendar.slots.SlotBitmaps;
+import com.accoladehq.calendar.slots.SlotGenerator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveBookingService} on R2DBC.
+ * <p>
+ * Availability is kept as one rule per contiguous window, like the main
+ * application. Windows are on the hour, so merging and subtracting them is done on
+ * the owner's {@link SlotBitmaps} template and the result written back as windows.
+ * Slots are generated by the shared {@link SlotGenerator}.
+ * </p>
+ */
+@Service
+public class ReactiveBookingServiceImpl implements ReactiveBookingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveBookingServiceImpl.class);
+
+    private final DatabaseClient db;
+
+    private final TransactionalOperator tx;
+
+    private final SlotGenerator slotGenerator;
+
+    /**
+     * Creates the service.
+     *
+     * @param db            the R2DBC client
+     * @param tx            runs availability changes in one transaction
+     * @param slotGenerator generates the free slots of a window
+     */
+    public ReactiveBookingServiceImpl(DatabaseClient db, TransactionalOperator tx, SlotGenerator slotGenerator) {
+        this.db = db;
+        this.tx = tx;
+        this.slotGenerator = slotGenerator;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Void> upsertOwnerIfNotExists(String username, String displayName) {
+        return db.sql("INSERT INTO calendar_owner (username, display_name) VALUES (:username, :displayName)")
+                .bind("username", username)
+                .bind("displayName", displayName == null ? username : displayName)
+                .fetch().rowsUpdated()
+                // Already there, possibly created concurrently
+                .onErrorResume(DataIntegrityViolationException.class, e -> Mono.empty())
+                .doOnError(e -> logger.error("Error creating/updating owner: {}", username, e))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<String>> addAvailability(AvailabilityRequest req) {
+        int window = SlotBitmaps.window(req.getStartTime(), req.getEndTime());
+        return changeTemplate(req, current -> (req.isReplace() ? 0 : current) | window,
+                "Availability saved successfully for all days", "Error saving availability");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<String>> removeAvailability(AvailabilityRequest req) {
+        int window = SlotBitmaps.window(req.getStartTime(), req.getEndTime());
+        return changeTemplate(req, current -> current & ~window,
+                "Availability removed successfully for all days", "Error removing availability");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<List<SlotDto>> searchAvailableSlots(SearchSlotsRequest req) {
+        LocalDate date = req.getDate();
+        if (date.isBefore(LocalDate.now())) {
+            logger.warn("Attempt to search availability for past date: {}", date);
+            return Mono.just(List.of());
+        }
+        // Both by username, so that the two queries run concurrently
+        Mono<Integer> template = db.sql("SELECT r.start_time, r.end_time FROM availability_rule r "
+                        + "JOIN calendar_owner o ON o.id = r.owner_id WHERE o.username = :username")
+                .bind("username", req.getUsername())
+                .map(row -> SlotBitmaps.window(row.get("start_time", LocalTime.class), row.get("end_time", LocalTime.class)))
+                .all()
+                .reduce(0, (a, b) -> a | b);
+        Mono<List<LocalTime>> booked = db.sql("SELECT a.start_time FROM appointment a "
+                        + "JOIN calendar_owner o ON o.id = a.owner_id WHERE o.username = :username AND a.date = :date")
+                .bind("username", req.getUsername())
+                .bind("date", date)
+                .map(row -> row.get("start_time", LocalTime.class))
+                .all()
+                .collectList();
+        return Mono.zip(template, booked)
+                .map(t -> generateSlots(date, t.getT1(), t.getT2()))
+                .onErrorResume(e -> {
+                    logger.error("Error searching available slots for user: {}", req.getUsername(), e);
+                    return Mono.just(List.of());
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<SlotDto> bookAppointment(BookRequest req) {
+        LocalDate date = req.getDate();
+        LocalTime start = req.getStartTime();
+        LocalTime end = start.plusHours(1);
+        if (date.isBefore(LocalDate.now())) {
+            logger.warn("Attempt to book appointment in the past: {}", date);
+            return Mono.empty();
+        }
+        return ownerId(req.getUsername())
+                .flatMap(ownerId -> template(ownerId).flatMap(template -> {
+                    if (!isBookable(template, date, start)) {
+                        logger.warn("Slot not available for booking: {} {} - {}", date, start, end);
+                        return Mono.empty();
+                    }
+                    DatabaseClient.GenericExecuteSpec insert = db.sql("INSERT INTO appointment "
+                                    + "(owner_id, date, start_time, end_time, invitee_name, invitee_email) "
+                                    + "VALUES (:ownerId, :date, :start, :end, :name, :email)")
+                            .bind("ownerId", ownerId)
+                            .bind("date", date)
+                            .bind("start", start)
+                            .bind("end", end)
+                            .bind("name", req.getInviteeName());
+                    insert = req.getInviteeEmail() == null
+                            ? insert.bindNull("email", String.class)
+                            : insert.bind("email", req.getInviteeEmail());
+                    return insert.fetch().rowsUpdated()
+                            .thenReturn(new SlotDto(date, start, end))
+                            // The unique constraint picked another booking of this slot
+                            .onErrorResume(DataIntegrityViolationException.class, e -> {
+                                logger.warn("Slot already booked: {} {} - {}", date, start, end);
+                                return Mono.empty();
+                            });
+                }))
+                .onErrorResume(e -> {
+                    logger.error("Error booking appointment for user: {}", req.getUsername(), e);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Boolean> cancelAppointment(Long appointmentId) {
+        return db.sql("DELETE FROM appointment WHERE id = :id")
+                .bind("id", appointmentId)
+                .fetch().rowsUpdated()
+                .map(rows -> {
+                    if (rows == 0) {
+                        logger.warn("Appointment not found for cancellation: {}", appointmentId);
+                    }
+                    return rows > 0;
+                })
+                .onErrorResume(e -> {
+                    logger.error("Error cancelling appointment: {}", appointmentId, e);
+                    return Mono.just(false);
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Flux<AppointmentView> listUpcoming(String username) {
+        return db.sql("SELECT a.id, a.date, a.start_time, a.end_time, a.invitee_name, a.invitee_email FROM appointment a "
+                        + "JOIN calendar_owner o ON o.id = a.owner_id WHERE o.username = :username AND a.date >= :today "
+                        + "ORDER BY a.date, a.start_time")
+                .bind("username", username)
+                .bind("today", LocalDate.now())
+                .map(row -> new AppointmentView(row.get("id", Long.class), row.get("date", LocalDate.class),
+                        row.get("start_time", LocalTime.class), row.get("end_time", LocalTime.class),
+                        row.get("invitee_name", String.class), row.get("invitee_email", String.class)))
+                .all()
+                .onErrorResume(e -> {
+                    logger.error("Error listing upcoming appointments for user: {}", username, e);
+                    return Flux.empty();
+                });
+    }
+
+    /**
+     * Replaces an owner's windows with a function of the current template, in one transaction.
+     */
+    private Mono<ResponseEntity<String>> changeTemplate(AvailabilityRequest req, TemplateChange change,
+                                                        String success, String failure) {
+        return ownerId(req.getUsername())
+                .flatMap(ownerId -> {
+                    String invalid = validateWindow(req);
+                    if (invalid != null) {
+                        return Mono.just(ResponseEntity.badRequest().body(invalid));
+                    }
+                    return template(ownerId)
+                            .flatMap(current -> replaceWindows(ownerId, change.apply(current)))
+                            .as(tx::transactional)
+                            .thenReturn(ResponseEntity.ok(success));
+                })
+                .defaultIfEmpty(ResponseEntity.badRequest().body("Owner not found"))
+                .onErrorResume(e -> {
+                    logger.error("{} for user: {}", failure, req.getUsername(), e);
+                    return Mono.just(ResponseEntity.internalServerError().body(failure));
+                });
+    }
+
+    private Mono<Long> ownerId(String username) {
+        return db.sql("SELECT id FROM calendar_owner WHERE username = :username")
+                .bind("username", username)
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .switchIfEmpty(Mono.fromRunnable(() -> logger.warn("Owner not found for username: {}", username)));
+    }
+
+    private Mono<Integer> template(long ownerId) {
+        return db.sql("SELECT start_time, end_time FROM availability_rule WHERE owner_id = :ownerId")
+                .bind("ownerId", ownerId)
+                .map(row -> SlotBitmaps.window(row.get("start_time", LocalTime.class), row.get("end_time", LocalTime.class)))
+                .all()
+                .reduce(0, (a, b) -> a | b);
+    }
+
+    /**
+     * Stores a template as the owner's rules, one rule per contiguous window.
+     */
+    private Mono<Void> replaceWindows(long ownerId, int template) {
+        Mono<Long> delete = db.sql("DELETE FROM availability_rule WHERE owner_id = :ownerId")
+                .bind("ownerId", ownerId)
+                .fetch().rowsUpdated();
+        Flux<Long> inserts = Flux.fromIterable(windows(template))
+                .concatMap(w -> db.sql("INSERT INTO availability_rule (owner_id, start_time, end_time) "
+                                + "VALUES (:ownerId, :start, :end)")
+                        .bind("ownerId", ownerId)
+                        .bind("start", w.start())
+                        .bind("end", w.end())
+                        .fetch().rowsUpdated());
+        return delete.thenMany(inserts).then();
+    }
+
+    private List<SlotDto> generateSlots(LocalDate date, int template, List<LocalTime> bookedStarts) {
+        List<SlotDto> result = new ArrayList<>();
+        for (Window w : windows(template)) {
+            result.addAll(slotGenerator.generateSlots(date, w.start(), w.end(), bookedStarts));
+        }
+        return result;
+    }
+
+    private static boolean isBookable(int template, LocalDate date, LocalTime start) {
+        int bit = SlotBitmaps.bit(start);
+        if (bit == 0 || (template & bit) == 0) {
+            return false;
+        }
+        return !date.isEqual(LocalDate.now()) || start.isAfter(LocalTime.now());
+    }
+
+    /**
+     * Splits a template into its contiguous windows, in start order.
+     */
+    private static List<Window> windows(int template) {
+        List<Window> windows = new ArrayList<>();
+        int h = 0;
+        while (h < SlotBitmaps.SLOTS_PER_DAY) {
+            if ((template & (1 << h)) == 0) {
+                h++;
+                continue;
+            }
+            int first = h;
+            while (h < SlotBitmaps.SLOTS_PER_DAY && (template & (1 << h)) != 0) {
+                h++;
+            }
+            windows.add(new Window(SlotBitmaps.startOf(first), SlotBitmaps.startOf(first).plusHours(h - first)));
+        }
+        return windows;
+    }
+
+    private static String validateWindow(AvailabilityRequest req) {
+        if (!req.getStartTime().isBefore(req.getEndTime())) {
+            return "Start time must be before end time";
+        }
+        if (Duration.between(req.getStartTime(), req.getEndTime()).toMinutes() < 60) {
+            return "Availability window must be at least 1 hour";
+        }
+        if (req.getStartTime().getMinute() != 0 || req.getEndTime().getMinute() != 0) {
+            return "Start and end times must be on the hour";
+        }
+        return null;
+    }
+
+    private record Window(LocalTime start, LocalTime end) {
+    }
+
+    @FunctionalInterface
+    private interface TemplateChange {
+        int apply(int current);
+    }
+}
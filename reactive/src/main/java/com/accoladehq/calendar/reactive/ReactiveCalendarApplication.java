@@ -0,0 +1,15 @@
+package com.accoladehq.calendar.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+import com.accoladehq.calendar.slots.SlotGenerator;
+
+@SpringBootApplication(scanBasePackageClasses = {ReactiveCalendarApplication.class, SlotGenerator.class})
+public class ReactiveCalendarApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveCalendarApplication.class, args);
+	}
+
+}
@@ -0,0 +1,25 @@
+-- Same tables and constraints as the JPA entities of the main application
+CREATE TABLE IF NOT EXISTS calendar_owner (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    display_name VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS availability_rule (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    owner_id BIGINT NOT NULL REFERENCES calendar_owner (id),
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS appointment (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    owner_id BIGINT NOT NULL REFERENCES calendar_owner (id),
+    date DATE NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    invitee_name VARCHAR(255) NOT NULL,
+    invitee_email VARCHAR(255),
+    -- Makes booking atomic: of two concurrent inserts for a slot, one fails
+    CONSTRAINT uk_appointment_slot UNIQUE (owner_id, date, start_time)
+);
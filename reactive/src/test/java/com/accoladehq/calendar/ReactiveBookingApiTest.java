@@ -0,0 +1,113 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.dto.SearchSlotsRequest;
+import com.accoladehq.calendar.dto.SlotDto;
+import com.accoladehq.calendar.reactive.AppointmentView;
+import com.accoladehq.calendar.reactive.ReactiveBookingService;
+import com.accoladehq.calendar.reactive.ReactiveCalendarApplication;
+
+import reactor.core.publisher.Flux;
+
+@SpringBootTest(classes = ReactiveCalendarApplication.class)
+@AutoConfigureWebTestClient
+class ReactiveBookingApiTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private ReactiveBookingService bookingService;
+
+    @Test
+    void testSearchBookAndCancel() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        createOwner("rx-alice");
+        client.post().uri("/api/availability").bodyValue(new AvailabilityRequest("rx-alice", LocalTime.of(9, 0), LocalTime.of(12, 0)))
+                .exchange().expectStatus().isOk();
+        // Merged with the first window
+        client.post().uri("/api/availability").bodyValue(new AvailabilityRequest("rx-alice", LocalTime.of(11, 0), LocalTime.of(13, 0)))
+                .exchange().expectStatus().isOk();
+        client.post().uri("/api/availability/remove").bodyValue(new AvailabilityRequest("rx-alice", LocalTime.of(10, 0), LocalTime.of(11, 0)))
+                .exchange().expectStatus().isOk();
+        assertEquals(List.of(LocalTime.of(9, 0), LocalTime.of(11, 0), LocalTime.of(12, 0)), searchStarts("rx-alice", date));
+
+        SlotDto booked = book("rx-alice", date, LocalTime.of(11, 0));
+        assertNotNull(booked);
+        assertEquals(LocalTime.of(12, 0), booked.getEnd());
+        assertNull(book("rx-alice", date, LocalTime.of(11, 0)), "double booking");
+        assertNull(book("rx-alice", date, LocalTime.of(10, 0)), "outside availability");
+        assertEquals(List.of(LocalTime.of(9, 0), LocalTime.of(12, 0)), searchStarts("rx-alice", date));
+
+        List<AppointmentView> upcoming = client.get().uri("/api/owners/rx-alice/appointments").exchange()
+                .expectStatus().isOk()
+                .expectBodyList(AppointmentView.class).returnResult().getResponseBody();
+        assertEquals(1, upcoming.size());
+        client.delete().uri("/api/appointments/{id}", upcoming.get(0).id()).exchange().expectStatus().isOk();
+        client.delete().uri("/api/appointments/{id}", upcoming.get(0).id()).exchange().expectStatus().isNotFound();
+        assertEquals(3, searchStarts("rx-alice", date).size());
+    }
+
+    @Test
+    void testInvalidRequests() {
+        createOwner("rx-bob");
+        client.post().uri("/api/availability").bodyValue(new AvailabilityRequest("rx-nobody", LocalTime.of(9, 0), LocalTime.of(12, 0)))
+                .exchange().expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Owner not found");
+        client.post().uri("/api/availability").bodyValue(new AvailabilityRequest("rx-bob", LocalTime.of(9, 30), LocalTime.of(12, 0)))
+                .exchange().expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Start and end times must be on the hour");
+        assertTrue(searchStarts("rx-nobody", LocalDate.now().plusDays(1)).isEmpty());
+        assertTrue(searchStarts("rx-bob", LocalDate.now().minusDays(1)).isEmpty());
+        assertNull(book("rx-bob", LocalDate.now().minusDays(1), LocalTime.of(9, 0)));
+    }
+
+    @Test
+    void testConcurrentBookingsOfOneSlotHaveOneWinner() {
+        LocalDate date = LocalDate.now().plusDays(2);
+        createOwner("rx-carol");
+        bookingService.addAvailability(new AvailabilityRequest("rx-carol", LocalTime.of(9, 0), LocalTime.of(10, 0))).block();
+
+        List<SlotDto> winners = Flux.range(0, 32)
+                .flatMap(i -> bookingService.bookAppointment(
+                        new BookRequest("rx-carol", date, LocalTime.of(9, 0), "Invitee " + i, null)))
+                .collectList()
+                .block();
+
+        assertEquals(1, Objects.requireNonNull(winners).size());
+        assertEquals(1, bookingService.listUpcoming("rx-carol").count().block());
+    }
+
+    private void createOwner(String username) {
+        client.post().uri(b -> b.path("/api/owners").queryParam("username", username).build())
+                .exchange().expectStatus().isOk();
+    }
+
+    private List<LocalTime> searchStarts(String username, LocalDate date) {
+        return client.post().uri("/api/slots/search").bodyValue(new SearchSlotsRequest(username, date))
+                .exchange().expectStatus().isOk()
+                .expectBodyList(SlotDto.class).returnResult().getResponseBody()
+                .stream().map(SlotDto::getStart).toList();
+    }
+
+    private SlotDto book(String username, LocalDate date, LocalTime start) {
+        return client.post().uri("/api/appointments")
+                .bodyValue(new BookRequest(username, date, start, "Invitee", "invitee@example.com"))
+                .exchange().expectStatus().isOk()
+                .expectBody(SlotDto.class).returnResult().getResponseBody();
+    }
+}
@@ -0,0 +1,206 @@
+package com.accoladehq.calendar;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The same search/book mix against the packaged servlet application and the
+ * packaged reactive module, at increasing numbers of concurrent connections.
+ * Each connection is a virtual thread sending requests back to back; 80% are slot
+ * searches and 20% bookings over {@value #OWNERS} owners and the next year.
+ * <p>
+ * Needs both jars: {@code mvn package -DskipTests} in the project root and in
+ * {@code reactive/}; then run from {@code reactive/} with
+ * {@code mvn -Pbenchmark test -Dtest=StackLoadBenchmark}. Tune with
+ * {@code -Dbench.connections=64,256,1024} and {@code -Dbench.seconds=<n>}.
+ * </p>
+ */
+class StackLoadBenchmark {
+
+    private static final Path SERVLET_JAR = Path.of("../target/calendar-booking-0.0.1-SNAPSHOT.jar");
+
+    private static final Path REACTIVE_JAR = Path.of("target/calendar-booking-reactive-0.0.1-SNAPSHOT.jar");
+
+    private static final int OWNERS = 100;
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void servletVersusReactive() throws Exception {
+        Assumptions.assumeTrue(Files.exists(SERVLET_JAR) && Files.exists(REACTIVE_JAR),
+                "Package both applications first: mvn package -DskipTests (root and reactive/)");
+        int[] connections = Arrays.stream(System.getProperty("bench.connections", "64,256,1024").split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+        int seconds = Integer.getInteger("bench.seconds", 15);
+
+        System.out.printf("%n80%% search / 20%% book, %d s per run%n", seconds);
+        run("servlet (MVC + JPA)", SERVLET_JAR, connections, seconds);
+        run("reactive (WebFlux + R2DBC)", REACTIVE_JAR, connections, seconds);
+    }
+
+    private void run(String label, Path jar, int[] connections, int seconds) throws Exception {
+        int port = freePort();
+        Process process = launch(jar, port);
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build()) {
+            String base = "http://localhost:" + port + "/api";
+            awaitReady(client, base, process);
+            for (int i = 0; i < OWNERS; i++) {
+                send(client, post(base + "/owners?username=load-" + i, ""));
+                send(client, post(base + "/availability",
+                        "{\"username\":\"load-" + i + "\",\"startTime\":\"00:00\",\"endTime\":\"23:00\"}"));
+            }
+            // Warm-up, not reported
+            load(client, base, 64, 5);
+            for (int n : connections) {
+                Result r = load(client, base, n, seconds);
+                System.out.printf("  %-28s %5d connections: %8.0f req/s, p50 %7.2f ms, p99 %8.2f ms, errors %d%n",
+                        label, n, r.requests / (double) seconds, r.p50 / 1e6, r.p99 / 1e6, r.errors);
+            }
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static Result load(HttpClient client, String base, int connections, int seconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Future<long[]>> futures = new ArrayList<>(connections);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < connections; c++) {
+                futures.add(executor.submit(() -> connection(client, base, deadline)));
+            }
+        }
+        long[] latencies = new long[0];
+        long errors = 0;
+        for (Future<long[]> f : futures) {
+            long[] l = f.get();
+            // The last element carries the connection's error count
+            errors += l[l.length - 1];
+            int from = latencies.length;
+            latencies = Arrays.copyOf(latencies, from + l.length - 1);
+            System.arraycopy(l, 0, latencies, from, l.length - 1);
+        }
+        Arrays.sort(latencies);
+        if (latencies.length == 0) {
+            return new Result(0, errors, 0, 0);
+        }
+        return new Result(latencies.length, errors,
+                latencies[latencies.length / 2], latencies[(int) (latencies.length * 0.99)]);
+    }
+
+    private static long[] connection(HttpClient client, String base, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] latencies = new long[1024];
+        int count = 0;
+        long errors = 0;
+        while (System.nanoTime() < deadline) {
+            String owner = "load-" + random.nextInt(OWNERS);
+            LocalDate date = LocalDate.now().plusDays(1 + random.nextInt(365));
+            HttpRequest request = random.nextInt(5) == 0
+                    ? post(base + "/appointments", String.format(
+                            "{\"username\":\"%s\",\"date\":\"%s\",\"startTime\":\"%02d:00\",\"inviteeName\":\"Load\"}",
+                            owner, date, random.nextInt(23)))
+                    : post(base + "/slots/search", "{\"username\":\"" + owner + "\",\"date\":\"" + date + "\"}");
+            long started = System.nanoTime();
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                    errors++;
+                }
+            } catch (IOException e) {
+                errors++;
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - started;
+        }
+        long[] result = Arrays.copyOf(latencies, count + 1);
+        result[count] = errors;
+        return result;
+    }
+
+    private Process launch(Path jar, int port) throws IOException {
+        Path journal = Files.createTempDirectory(dir, "journal");
+        return new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", jar.toAbsolutePath().toString(),
+                "--server.port=" + port,
+                "--calendar.journal.dir=" + journal.toAbsolutePath(),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.accoladehq=error")
+                .redirectErrorStream(true)
+                .redirectOutput(dir.resolve("app-" + port + ".log").toFile())
+                .start();
+    }
+
+    private void awaitReady(HttpClient client, String base, Process process) throws Exception {
+        long started = System.nanoTime();
+        HttpRequest search = post(base + "/slots/search", "{\"username\":\"nobody\",\"date\":\"2030-01-15\"}");
+        while (System.nanoTime() - started < STARTUP_TIMEOUT.toNanos()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + dir);
+            }
+            try {
+                if (client.send(search, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // Not listening yet
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("Not ready within " + STARTUP_TIMEOUT);
+    }
+
+    private static void send(HttpClient client, HttpRequest request) throws Exception {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException(request.uri() + " returned " + status);
+        }
+    }
+
+    private static HttpRequest post(String uri, String json) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Result(long requests, long errors, long p50, long p99) {
+    }
+}
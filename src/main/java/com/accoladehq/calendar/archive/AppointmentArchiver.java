@@ -0,0 +1,175 @@
+package com.accoladehq.calendar.archive;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.accoladehq.calendar.event.BookingEventRecorder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Moves past appointments from the live {@code appointment} table to
+ * {@code appointment_archive}.
+ * <p>
+ * Booking, cancelling, slot search and listings only ever look at today and later,
+ * yet every past appointment stays in the table and its indexes. Once a day,
+ * appointments older than {@code calendar.archive.retention-days} are moved out in
+ * chunks of {@code calendar.archive.batch-size}. Each chunk is its own short
+ * transaction: the oldest rows are selected through the index on {@code date} and
+ * locked, copied into the archive and deleted with plain SQL, so row locks are
+ * held for milliseconds and the booking paths, which only touch future dates,
+ * never wait on them. The job pauses between chunks to leave the database to other
+ * writers.
+ * </p>
+ * <p>
+ * Every moved appointment is recorded through {@link BookingEventRecorder#archived},
+ * which journals the move, so a restart does not bring archived rows back into the
+ * live table. Utilization counters are left alone, as archived appointments still
+ * took place. Historical reads go to
+ * {@link com.accoladehq.calendar.repository.ArchivedAppointmentRepository}.
+ * </p>
+ */
+@Component
+public class AppointmentArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentArchiver.class);
+
+    private static final String COLUMNS = "id, owner_id, date, start_time, end_time, invitee_name, invitee_email";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final BookingEventRecorder events;
+
+    private final TransactionTemplate tx;
+
+    private final boolean enabled;
+
+    private final int retentionDays;
+
+    private final int batchSize;
+
+    private final long pauseMs;
+
+    private final Counter archivedCounter;
+
+    /**
+     * Creates the archiver.
+     *
+     * @param jdbcTemplate       JDBC access to both tables
+     * @param events             records every moved appointment
+     * @param transactionManager the transaction manager
+     * @param registry           the registry receiving the number of archived appointments
+     * @param enabled            whether the scheduled run archives anything
+     * @param retentionDays      days before today that stay in the live table
+     * @param batchSize          appointments moved per transaction
+     * @param pauseMs            pause between two chunks
+     */
+    public AppointmentArchiver(JdbcTemplate jdbcTemplate, BookingEventRecorder events,
+                               PlatformTransactionManager transactionManager, MeterRegistry registry,
+                               @Value("${calendar.archive.enabled:true}") boolean enabled,
+                               @Value("${calendar.archive.retention-days:90}") int retentionDays,
+                               @Value("${calendar.archive.batch-size:1000}") int batchSize,
+                               @Value("${calendar.archive.pause-ms:50}") long pauseMs) {
+        if (retentionDays < 1) {
+            throw new IllegalArgumentException("calendar.archive.retention-days must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.events = events;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+        this.archivedCounter = registry.counter("calendar.archive.appointments");
+    }
+
+    /**
+     * Archives every appointment older than the retention period.
+     */
+    @Scheduled(cron = "${calendar.archive.cron:0 30 2 * * *}")
+    public void archive() {
+        if (enabled) {
+            archiveBefore(LocalDate.now().minusDays(retentionDays));
+        }
+    }
+
+    /**
+     * Moves every appointment dated before a cutoff to the archive, chunk by chunk.
+     *
+     * @param cutoff the first date that stays live
+     * @return the number of appointments moved
+     */
+    public long archiveBefore(LocalDate cutoff) {
+        long started = System.nanoTime();
+        long moved = 0;
+        int chunks = 0;
+        while (true) {
+            Integer count = tx.execute(status -> moveChunk(cutoff));
+            int n = count == null ? 0 : count;
+            moved += n;
+            if (n > 0) {
+                chunks++;
+                archivedCounter.increment(n);
+            }
+            if (n < batchSize) {
+                break;
+            }
+            if (pauseMs > 0) {
+                try {
+                    Thread.sleep(pauseMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        if (moved > 0) {
+            logger.info("Archived {} appointments before {} in {} chunks, {} ms", moved, cutoff, chunks,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+        return moved;
+    }
+
+    /** Moves up to one batch of the oldest appointments, in the caller's transaction. */
+    private int moveChunk(LocalDate cutoff) {
+        List<Moved> rows = jdbcTemplate.query("SELECT a.id, o.username, a.date, a.start_time FROM appointment a "
+                + "JOIN calendar_owner o ON o.id = a.owner_id WHERE a.date < ? ORDER BY a.date, a.id "
+                + "FETCH FIRST ? ROWS ONLY FOR UPDATE",
+                (rs, i) -> new Moved(rs.getLong(1), rs.getString(2), rs.getObject(3, LocalDate.class),
+                        rs.getObject(4, LocalTime.class)),
+                cutoff, batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Object> ids = new ArrayList<>(rows.size());
+        rows.forEach(row -> ids.add(row.id()));
+        String in = " WHERE id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        jdbcTemplate.update("INSERT INTO appointment_archive (" + COLUMNS + ") SELECT " + COLUMNS + " FROM appointment" + in,
+                ids.toArray());
+        jdbcTemplate.update("DELETE FROM appointment" + in, ids.toArray());
+        for (Moved row : rows) {
+            events.archived(row.username(), row.date(), row.start());
+        }
+        return rows.size();
+    }
+
+    /**
+     * An appointment selected for the current chunk.
+     */
+    private record Moved(long id, String username, LocalDate date, LocalTime start) {
+    }
+}
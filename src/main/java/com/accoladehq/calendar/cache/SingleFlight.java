@@ -0,0 +1,85 @@
+package com.accoladehq.calendar.cache;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent computations of the same key into one.
+ * <p>
+ * The first caller for a key runs the computation on its own thread; callers
+ * arriving while it is in flight wait for it and receive the same result, or the
+ * same exception. Nothing is remembered once the computation finishes, so a
+ * failure is never served to later callers; caching results is left to the caller.
+ * </p>
+ * <p>
+ * A waiting caller that is interrupted stops waiting with a
+ * {@link CancellationException} (its interrupt flag is restored), without
+ * affecting the running computation or the other waiters.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs {@code loader} for {@code key}, or joins the computation already running for it.
+     *
+     * @param key    the key identifying the computation
+     * @param loader computes the value; runs on the calling thread if it leads the flight
+     * @return the computed value
+     * @throws CancellationException if interrupted while waiting for another caller's computation
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Returns the number of computations currently in flight.
+     *
+     * @return the in-flight count
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            CancellationException cancelled = new CancellationException("Interrupted while waiting for a shared computation");
+            cancelled.initCause(e);
+            throw cancelled;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error err) {
+                throw err;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
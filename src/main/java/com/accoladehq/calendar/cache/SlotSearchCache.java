@@ -0,0 +1,215 @@
+package com.accoladehq.calendar.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.accoladehq.calendar.dto.SlotDto;
+import com.accoladehq.calendar.version.OwnerDateVersions;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache of slot search results, keyed by owner and date.
+ * <p>
+ * Each entry remembers the {@link OwnerDateVersions} stamp it was computed under
+ * and is only served while that stamp is still current, so a booking or an
+ * availability change is never hidden by a cached result. Version changes also
+ * evict the affected entries straight away so they do not take up space.
+ * </p>
+ * <p>
+ * Results also go stale as time passes, because slots that have started are no
+ * longer offered. Entries therefore expire at the next slot start on their date:
+ * the next full hour for today, midnight of the date for later days.
+ * </p>
+ * <p>
+ * Concurrent misses for the same owner, date and stamp are coalesced through a
+ * {@link SingleFlight}: one caller loads, the others wait for and share its
+ * result, so a burst of identical searches costs one set of queries.
+ * </p>
+ * <p>
+ * The cache is bounded by the total number of cached slots and uses Caffeine's
+ * W-TinyLFU eviction. Hits, misses, evictions, the hit ratio and coalesced loads
+ * are exported as {@code cache.*{cache=slotSearch}} and {@code calendar.search.cache.*} metrics.
+ * </p>
+ */
+@Component
+public class SlotSearchCache {
+
+    /** Cache name used in metric tags. */
+    public static final String NAME = "slotSearch";
+
+    private record Key(String username, LocalDate date) {
+    }
+
+    private record Entry(long stamp, List<SlotDto> slots) {
+    }
+
+    private record Flight(Key key, long stamp) {
+    }
+
+    private final OwnerDateVersions versions;
+
+    private final Clock clock;
+
+    private final Cache<Key, Entry> cache;
+
+    private final Counter stale;
+
+    private final Counter coalesced;
+
+    private final SingleFlight<Flight, List<SlotDto>> flights;
+
+    /**
+     * Creates the cache on the system clock.
+     *
+     * @param versions  the owner/date versions used to validate entries
+     * @param registry  the registry receiving cache metrics
+     * @param maxWeight the maximum number of slots held across all entries
+     * @param coalesce  whether concurrent identical misses share one load
+     */
+    @Autowired
+    public SlotSearchCache(OwnerDateVersions versions, MeterRegistry registry,
+                           @Value("${calendar.search-cache.max-weight:200000}") long maxWeight,
+                           @Value("${calendar.search-cache.coalesce:true}") boolean coalesce) {
+        this(versions, registry, maxWeight, coalesce, Clock.systemDefaultZone(), Ticker.systemTicker());
+    }
+
+    /**
+     * Creates the cache on the given clock and ticker.
+     *
+     * @param versions  the owner/date versions used to validate entries
+     * @param registry  the registry receiving cache metrics
+     * @param maxWeight the maximum number of slots held across all entries
+     * @param coalesce  whether concurrent identical misses share one load
+     * @param clock     wall clock used to find the next slot start
+     * @param ticker    time source used by the cache for expiry
+     */
+    public SlotSearchCache(OwnerDateVersions versions, MeterRegistry registry, long maxWeight,
+                           boolean coalesce, Clock clock, Ticker ticker) {
+        this.versions = versions;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Key k, Entry e) -> e.slots().size() + 1)
+                .expireAfter(new UntilNextSlotStart())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        this.stale = registry.counter("calendar.search.cache.stale");
+        this.coalesced = registry.counter("calendar.search.cache.coalesced");
+        this.flights = coalesce ? new SingleFlight<>() : null;
+        CaffeineCacheMetrics.monitor(registry, cache, NAME);
+        Gauge.builder("calendar.search.cache.hit.ratio", cache, c -> c.stats().hitRate()).register(registry);
+        versions.addListener(this::evict);
+    }
+
+    /**
+     * Returns the cached slots of an owner and date, computing and caching them
+     * if there is no entry or the entry is out of date.
+     * <p>
+     * Exceptions thrown by the loader propagate, to every caller sharing the load,
+     * and nothing is cached.
+     * </p>
+     *
+     * @param username the owner's username
+     * @param date     the date searched
+     * @param loader   computes the slots on a miss
+     * @return the available slots; the list is shared and must not be modified
+     */
+    public List<SlotDto> get(String username, LocalDate date, Supplier<List<SlotDto>> loader) {
+        Key key = new Key(username, date);
+        long stamp = versions.stamp(username, date);
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.stamp() == stamp) {
+            return entry.slots();
+        }
+        if (entry != null) {
+            stale.increment();
+        }
+        if (flights == null) {
+            return load(key, stamp, loader);
+        }
+        // Keyed by stamp too: callers that saw a newer version never join an older load
+        boolean[] led = new boolean[1];
+        List<SlotDto> slots = flights.execute(new Flight(key, stamp), () -> {
+            led[0] = true;
+            return load(key, stamp, loader);
+        });
+        if (!led[0]) {
+            coalesced.increment();
+        }
+        return slots;
+    }
+
+    private List<SlotDto> load(Key key, long stamp, Supplier<List<SlotDto>> loader) {
+        // Stamped before loading: a change committed meanwhile leaves this entry stale, never wrong
+        List<SlotDto> slots = List.copyOf(loader.get());
+        cache.put(key, new Entry(stamp, slots));
+        return slots;
+    }
+
+    /**
+     * Removes every cached result.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns the approximate number of cached entries.
+     *
+     * @return the entry count
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private void evict(String username, LocalDate date) {
+        if (date != null) {
+            cache.invalidate(new Key(username, date));
+        } else {
+            cache.asMap().keySet().removeIf(k -> k.username().equals(username));
+        }
+    }
+
+    /**
+     * Expires an entry when the next slot on its date starts.
+     */
+    private final class UntilNextSlotStart implements Expiry<Key, Entry> {
+
+        @Override
+        public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            LocalDateTime nextStart = key.date().isAfter(now.toLocalDate())
+                    ? key.date().atStartOfDay()
+                    : now.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            return Math.max(0, Duration.between(now, nextStart).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.accoladehq.calendar.cluster;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.accoladehq.calendar.repository.AvailabilityRuleRepository;
+import com.accoladehq.calendar.repository.CalendarOwnerRepository;
+import com.accoladehq.calendar.version.OwnerDateVersions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Applies the changes other nodes announce in {@code owner_change_log} to this
+ * node's caches.
+ * <p>
+ * A background thread reads new rows in ID order, up to
+ * {@code calendar.cluster.batch-size} at a time, every
+ * {@code calendar.cluster.poll-interval-ms}. Rows written by this node are skipped,
+ * as their changes were applied when they committed. The rest are merged per
+ * batch, a change of a whole owner absorbing that owner's date changes, and
+ * applied key by key:
+ * </p>
+ * <ul>
+ *   <li>every change bumps the owner's or the owner/date's {@link OwnerDateVersions}
+ *       stamp, which drops the matching slot search results, iCalendar feed and
+ *       booking engine day view through their version listeners;</li>
+ *   <li>a change of a whole owner also re-reads that owner and its availability
+ *       rules with {@link CacheMode#REFRESH}, which overwrites just their entries in
+ *       the second-level entity and query caches. The other owners' entries stay,
+ *       where a table-wide invalidation would drop them all.</li>
+ * </ul>
+ * <p>
+ * Identity values are assigned when a row is inserted but become visible when its
+ * transaction commits, so a lower ID can appear after a higher one, and a rolled
+ * back change leaves a hole for good. IDs skipped over are therefore remembered and
+ * looked up again on every poll for {@code calendar.cluster.gap-timeout-ms} before
+ * they are given up. A hole wider than the number of IDs remembered is jumped over
+ * instead; it comes from rows purged or rolled back long ago, not from commits in
+ * flight.
+ * </p>
+ * <p>
+ * A node starts from the end of the log: its caches are empty then. Rows older
+ * than {@code calendar.cluster.retention-minutes} are purged, while the identity
+ * keeps counting, so after a quiet spell the end of the log is taken from the
+ * identity rather than from the rows left. The number of skipped IDs being waited
+ * for is exported as {@code calendar.cluster.poll.pending-gaps}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "calendar.cluster.enabled", havingValue = "true")
+public class ChangeLogPoller implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogPoller.class);
+
+    /** Most skipped IDs remembered; the oldest are given up beyond it. */
+    private static final int MAX_PENDING_GAPS = 1000;
+
+    /** The last ID handed out, whether or not its row has committed or is still there. */
+    private static final String LAST_IDENTITY = "SELECT IDENTITY_BASE - 1 FROM INFORMATION_SCHEMA.COLUMNS "
+            + "WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = 'OWNER_CHANGE_LOG' AND COLUMN_NAME = 'ID'";
+
+    private static final String COLUMNS = "SELECT id, node_id, username, date FROM owner_change_log ";
+
+    private static final RowMapper<Change> CHANGE_MAPPER = (rs, i) -> new Change(
+            rs.getLong(1), rs.getString(2), rs.getString(3), rs.getObject(4, LocalDate.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final OwnerDateVersions versions;
+
+    private final CalendarOwnerRepository ownerRepo;
+
+    private final AvailabilityRuleRepository availabilityRepo;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate tx;
+
+    private final String nodeId;
+
+    private final long pollIntervalMs;
+
+    private final int batchSize;
+
+    private final long gapTimeoutMs;
+
+    private final long retentionMinutes;
+
+    private final Counter applied;
+
+    private final Counter failures;
+
+    /** Skipped IDs and when they were first skipped. */
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+
+    /** The highest ID read so far. */
+    private long position;
+
+    /** Size of {@link #gaps} after the last poll, for the gauge. */
+    private volatile int pendingGaps;
+
+    private Thread thread;
+
+    private volatile boolean running;
+
+    /**
+     * Creates the poller.
+     *
+     * @param jdbcTemplate         JDBC access to the change log
+     * @param writer               the writer, for this node's id
+     * @param versions             the version tracker bumped for every change
+     * @param ownerRepo            the owner repository, re-read for owner changes
+     * @param availabilityRepo     the availability rule repository, re-read for owner changes
+     * @param entityManagerFactory the factory of the refreshing sessions
+     * @param transactionManager   the transaction manager
+     * @param registry             the registry receiving the number of applied changes
+     * @param pollIntervalMs       pause between polls that found nothing new
+     * @param batchSize            most rows read per poll
+     * @param gapTimeoutMs         how long a skipped ID is waited for
+     * @param retentionMinutes     how long rows are kept
+     */
+    public ChangeLogPoller(JdbcTemplate jdbcTemplate, ChangeLogWriter writer, OwnerDateVersions versions,
+                           CalendarOwnerRepository ownerRepo, AvailabilityRuleRepository availabilityRepo,
+                           EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager,
+                           MeterRegistry registry,
+                           @Value("${calendar.cluster.poll-interval-ms:200}") long pollIntervalMs,
+                           @Value("${calendar.cluster.batch-size:500}") int batchSize,
+                           @Value("${calendar.cluster.gap-timeout-ms:5000}") long gapTimeoutMs,
+                           @Value("${calendar.cluster.retention-minutes:60}") long retentionMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.versions = versions;
+        this.ownerRepo = ownerRepo;
+        this.availabilityRepo = availabilityRepo;
+        this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setReadOnly(true);
+        this.nodeId = writer.nodeId();
+        this.pollIntervalMs = pollIntervalMs;
+        this.batchSize = batchSize;
+        this.gapTimeoutMs = gapTimeoutMs;
+        this.retentionMinutes = retentionMinutes;
+        this.applied = registry.counter("calendar.cluster.changes.applied");
+        this.failures = registry.counter("calendar.cluster.poll.failures");
+        Gauge.builder("calendar.cluster.poll.pending-gaps", this, p -> p.pendingGaps).register(registry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        Long last = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM owner_change_log", Long.class);
+        Long issued = jdbcTemplate.queryForObject(LAST_IDENTITY, Long.class);
+        position = last == null ? 0 : last;
+        if (issued != null && issued - position > MAX_PENDING_GAPS) {
+            // The log was purged: the IDs in between are long gone, not in flight
+            position = issued;
+        }
+        running = true;
+        thread = Thread.ofPlatform().name("cluster-change-poller").daemon().start(this::pollLoop);
+        logger.info("Cluster node {} polling the owner change log from id {}", nodeId, position);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Reads the next batch of changes, and any skipped ones that have committed
+     * since, and applies those of other nodes.
+     *
+     * @return the number of rows read
+     */
+    public synchronized int poll() {
+        long now = System.currentTimeMillis();
+        List<Change> changes = new ArrayList<>(jdbcTemplate.query(COLUMNS + "WHERE id > ? ORDER BY id FETCH FIRST ? ROWS ONLY",
+                CHANGE_MAPPER, position, batchSize));
+        if (!gaps.isEmpty()) {
+            List<Object> ids = new ArrayList<>(gaps.keySet());
+            changes.addAll(jdbcTemplate.query(COLUMNS + "WHERE id IN ("
+                    + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")", CHANGE_MAPPER, ids.toArray()));
+        }
+        for (Change change : changes) {
+            if (change.id() > position) {
+                // Wider holes are left by rows purged or rolled back long ago
+                if (change.id() - position <= MAX_PENDING_GAPS) {
+                    for (long id = position + 1; id < change.id(); id++) {
+                        gaps.put(id, now);
+                    }
+                }
+                position = change.id();
+            } else {
+                gaps.remove(change.id());
+            }
+        }
+        gaps.values().removeIf(since -> now - since >= gapTimeoutMs);
+        while (gaps.size() > MAX_PENDING_GAPS) {
+            gaps.pollFirstEntry();
+        }
+        pendingGaps = gaps.size();
+        apply(changes);
+        return changes.size();
+    }
+
+    /**
+     * Deletes rows older than the retention period.
+     *
+     * @return the number of purged rows
+     */
+    public int purge() {
+        Timestamp cutoff = Timestamp.from(Instant.now().minusSeconds(retentionMinutes * 60));
+        return jdbcTemplate.update("DELETE FROM owner_change_log WHERE created_at < ?", cutoff);
+    }
+
+    /** Applies the changes of other nodes, once per owner or owner/date. */
+    private void apply(List<Change> changes) {
+        Map<String, Set<LocalDate>> byOwner = new LinkedHashMap<>();
+        Set<String> wholeOwners = new HashSet<>();
+        for (Change change : changes) {
+            if (nodeId.equals(change.nodeId())) {
+                continue;
+            }
+            if (change.date() == null) {
+                wholeOwners.add(change.username());
+            }
+            byOwner.computeIfAbsent(change.username(), u -> new HashSet<>()).add(change.date());
+        }
+        for (Map.Entry<String, Set<LocalDate>> owner : byOwner.entrySet()) {
+            String username = owner.getKey();
+            if (wholeOwners.contains(username)) {
+                refresh(username);
+                versions.bumpOwner(username);
+                applied.increment();
+                continue;
+            }
+            for (LocalDate date : owner.getValue()) {
+                versions.bumpDate(username, date);
+                applied.increment();
+            }
+        }
+    }
+
+    /** Overwrites the cached owner, rules and lookups of one owner with the database's. */
+    private void refresh(String username) {
+        tx.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.REFRESH);
+            ownerRepo.findByUsername(username).ifPresent(availabilityRepo::findByOwner);
+        });
+    }
+
+    private void pollLoop() {
+        long nextPurge = System.currentTimeMillis();
+        while (running) {
+            try {
+                int read = poll();
+                if (System.currentTimeMillis() >= nextPurge) {
+                    purge();
+                    nextPurge = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+                }
+                if (read < batchSize) {
+                    Thread.sleep(pollIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                failures.increment();
+                logger.warn("Owner change log poll failed, backing off: {}", e.getMessage());
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * A row of the change log.
+     */
+    private record Change(long id, String nodeId, String username, LocalDate date) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.accoladehq.calendar.cluster;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Appends owner changes to {@code owner_change_log} for the other nodes of a cluster.
+ * <p>
+ * Must be called inside the transaction that performs the change, so a change is
+ * announced if and only if it committed. Rows are written with plain SQL, as they
+ * are never read back on this node. Unless {@code calendar.cluster.enabled=true},
+ * {@link #append} is a no-op.
+ * </p>
+ */
+@Component
+public class ChangeLogWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final boolean enabled;
+
+    private final String nodeId;
+
+    /**
+     * Creates a change log writer.
+     *
+     * @param jdbcTemplate JDBC access to the change log
+     * @param enabled      whether this node runs in a cluster
+     * @param nodeId       this node's id; a random one when blank
+     */
+    public ChangeLogWriter(JdbcTemplate jdbcTemplate,
+                           @Value("${calendar.cluster.enabled:false}") boolean enabled,
+                           @Value("${calendar.cluster.node-id:}") String nodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+    }
+
+    /**
+     * Announces a change of an owner.
+     *
+     * @param username the owner's username
+     * @param date     the changed date, or {@code null} if the owner itself or every date changed
+     */
+    public void append(String username, LocalDate date) {
+        if (enabled) {
+            jdbcTemplate.update("INSERT INTO owner_change_log (node_id, username, date, created_at) VALUES (?, ?, ?, ?)",
+                    nodeId, username, date, Timestamp.from(Instant.now()));
+        }
+    }
+
+    /**
+     * Returns whether changes are announced.
+     *
+     * @return {@code true} in cluster mode
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns this node's id, written with every change it makes.
+     *
+     * @return the node id
+     */
+    public String nodeId() {
+        return nodeId;
+    }
+}
@@ -0,0 +1,207 @@
+package com.accoladehq.calendar.cluster;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-owner booking leases in {@code owner_lease}, so that the nodes of a cluster
+ * take turns deciding an owner's bookings.
+ * <p>
+ * A free or lapsed lease is taken with one conditional {@code UPDATE}, which also
+ * increments its fencing token and reports the previous holder; an owner's row is
+ * inserted on first use. Expiry is compared against the database clock, so the
+ * nodes' clocks do not matter. A lease lapses {@code calendar.cluster.lease.duration-ms}
+ * after it was taken, so a node that dies holding one only blocks its owner that
+ * long. A node that finds a lease held retries every
+ * {@code calendar.cluster.lease.retry-ms} for up to {@code calendar.cluster.lease.wait-ms}.
+ * </p>
+ * <p>
+ * A booking transaction calls {@link #fence} before it writes: the token must still
+ * be the one acquired, which holds unless the lease lapsed and another node took it
+ * over, and the row stays locked until the transaction ends, so no node can take the
+ * lease over mid-commit. Unless {@code calendar.cluster.lease.enabled=true}, nothing
+ * here is used.
+ * </p>
+ */
+@Component
+public class OwnerLeases {
+
+    private static final String TAKE =
+            "SELECT holder, token FROM OLD TABLE (UPDATE owner_lease SET holder = ?, token = token + 1, "
+                    + "expires_at = DATEADD(MILLISECOND, ?, LOCALTIMESTAMP) WHERE username = ? AND expires_at <= LOCALTIMESTAMP)";
+
+    private static final String CREATE =
+            "INSERT INTO owner_lease (username, holder, token, expires_at) "
+                    + "SELECT ?, ?, 1, DATEADD(MILLISECOND, ?, LOCALTIMESTAMP) FROM DUAL "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM owner_lease WHERE username = ?)";
+
+    /**
+     * A lease held by this node.
+     *
+     * @param username   the owner the lease is for
+     * @param token      the fencing token
+     * @param handedOver whether another node held the lease since this node last did,
+     *                   so that what this node remembers of the owner may be stale
+     */
+    public record Lease(String username, long token, boolean handedOver) {
+    }
+
+    /**
+     * Thrown by {@link #fence} when a lease has been taken over by another node.
+     */
+    public static class LeaseLostException extends ConcurrencyFailureException {
+
+        LeaseLostException(Lease lease) {
+            super("Booking lease of " + lease.username() + " with token " + lease.token() + " was taken over");
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String nodeId;
+
+    private final boolean enabled;
+
+    private final long durationMs;
+
+    private final long waitMs;
+
+    private final long retryMs;
+
+    private final Counter acquired;
+
+    private final Counter handovers;
+
+    private final Counter contended;
+
+    private final Counter timeouts;
+
+    private final Counter lost;
+
+    /**
+     * Creates the leases.
+     *
+     * @param jdbcTemplate JDBC access to the lease table
+     * @param writer       the change log writer, for this node's id
+     * @param registry     the registry receiving lease metrics
+     * @param enabled      whether bookings take leases
+     * @param durationMs   how long a lease lasts unless released
+     * @param waitMs       how long to wait for a held lease
+     * @param retryMs      pause between two attempts at a held lease
+     */
+    public OwnerLeases(JdbcTemplate jdbcTemplate, ChangeLogWriter writer, MeterRegistry registry,
+                       @Value("${calendar.cluster.lease.enabled:false}") boolean enabled,
+                       @Value("${calendar.cluster.lease.duration-ms:5000}") long durationMs,
+                       @Value("${calendar.cluster.lease.wait-ms:2000}") long waitMs,
+                       @Value("${calendar.cluster.lease.retry-ms:2}") long retryMs) {
+        if (enabled && durationMs <= waitMs) {
+            throw new IllegalArgumentException("calendar.cluster.lease.duration-ms must exceed calendar.cluster.lease.wait-ms");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = writer.nodeId();
+        this.enabled = enabled;
+        this.durationMs = durationMs;
+        this.waitMs = waitMs;
+        this.retryMs = retryMs;
+        this.acquired = registry.counter("calendar.cluster.lease.acquired");
+        this.handovers = registry.counter("calendar.cluster.lease.handovers");
+        this.contended = registry.counter("calendar.cluster.lease.contended");
+        this.timeouts = registry.counter("calendar.cluster.lease.timeouts");
+        this.lost = registry.counter("calendar.cluster.lease.lost");
+    }
+
+    /**
+     * Returns whether bookings take leases.
+     *
+     * @return {@code true} if leases are enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes an owner's lease, waiting while another node holds it. Must be called
+     * outside any transaction.
+     *
+     * @param username the owner's username
+     * @return the lease, or {@code null} if it stayed held for the whole wait
+     */
+    public Lease acquire(String username) {
+        long deadline = System.nanoTime() + waitMs * 1_000_000;
+        while (true) {
+            Lease lease = tryAcquire(username);
+            if (lease != null) {
+                acquired.increment();
+                if (lease.handedOver()) {
+                    handovers.increment();
+                }
+                return lease;
+            }
+            contended.increment();
+            if (System.nanoTime() >= deadline) {
+                timeouts.increment();
+                return null;
+            }
+            try {
+                Thread.sleep(retryMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Checks, inside a booking transaction, that a lease is still this node's, and
+     * locks it until the transaction ends.
+     *
+     * @param lease the lease acquired for the booking
+     * @throws LeaseLostException if another node has taken the lease over
+     */
+    public void fence(Lease lease) {
+        if (jdbcTemplate.update("UPDATE owner_lease SET token = token WHERE username = ? AND token = ?",
+                lease.username(), lease.token()) == 0) {
+            lost.increment();
+            throw new LeaseLostException(lease);
+        }
+    }
+
+    /**
+     * Releases a lease, unless it has been taken over already. Must be called
+     * outside any transaction, after the booking has committed or rolled back.
+     *
+     * @param lease the lease to release
+     */
+    public void release(Lease lease) {
+        jdbcTemplate.update("UPDATE owner_lease SET expires_at = LOCALTIMESTAMP WHERE username = ? AND token = ?",
+                lease.username(), lease.token());
+    }
+
+    private Lease tryAcquire(String username) {
+        try {
+            List<Lease> taken = jdbcTemplate.query(TAKE, (rs, i) ->
+                    new Lease(username, rs.getLong(2) + 1, !nodeId.equals(rs.getString(1))), nodeId, durationMs, username);
+            if (!taken.isEmpty()) {
+                return taken.get(0);
+            }
+            if (jdbcTemplate.update(CREATE, username, nodeId, durationMs, username) == 1) {
+                return new Lease(username, 1, true);
+            }
+            return null;
+        } catch (DuplicateKeyException e) {
+            // Created by another node at the same moment
+            return null;
+        } catch (ConcurrencyFailureException e) {
+            // Locked by a booking transaction of the holder for longer than the lock timeout
+            return null;
+        }
+    }
+}
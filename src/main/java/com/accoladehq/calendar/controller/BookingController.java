@@ -1,24 +1,50 @@
 package com.accoladehq.calendar.controller;
 
 import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BatchSearchSlotsRequest;
 import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.dto.CompactSlotsDto;
+import com.accoladehq.calendar.dto.IcsImportResult;
+import com.accoladehq.calendar.dto.RecurringBookRequest;
+import com.accoladehq.calendar.dto.RescheduleRequest;
 import com.accoladehq.calendar.dto.SearchSlotsRequest;
 import com.accoladehq.calendar.dto.SlotDto;
+import com.accoladehq.calendar.dto.UtilizationDto;
+import com.accoladehq.calendar.engine.BookingBusyException;
 import com.accoladehq.calendar.entity.Appointment;
+import com.accoladehq.calendar.ics.IcsFeedCache;
+import com.accoladehq.calendar.ics.IcsImporter;
+import com.accoladehq.calendar.repository.AppointmentRow;
 import com.accoladehq.calendar.service.BookingService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller for managing calendar booking operations.
  * Handles creation of owners, setting availability, searching slots,
- * booking appointments, and listing upcoming appointments.
+ * booking, cancelling and rescheduling appointments, importing iCalendar files,
+ * listing upcoming and past appointments, publishing them as iCalendar feeds
+ * and reporting utilization.
  */
 @RestController
 @RequestMapping("/api")
@@ -26,9 +52,26 @@ public class BookingController {
 
     private static final Logger logger = LoggerFactory.getLogger(BookingController.class);
 
+    /** Longest range a utilization report covers, in days. */
+    private static final int MAX_UTILIZATION_DAYS = 366;
+
+    /** Longest range an appointment history listing covers, in days. */
+    private static final int MAX_HISTORY_DAYS = 366;
+
+    /** Seconds a client is asked to wait before retrying a booking the engine was too busy for. */
+    private static final String BUSY_RETRY_AFTER_SECONDS = "1";
+
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private IcsImporter icsImporter;
+
+    @Autowired
+    private IcsFeedCache icsFeeds;
+
     /**
      * Create a calendar owner.
      * In a real system, this would be derived from authentication context.
@@ -65,6 +108,22 @@ public class BookingController {
         }
     }
 
+    /**
+     * Remove a time range from an owner's availability (e.g. a lunch break).
+     *
+     * @param req Availability request containing the range to remove.
+     * @return Success or failure message.
+     */
+    @PostMapping("/availability/remove")
+    public ResponseEntity<String> removeAvailability(@Valid @RequestBody AvailabilityRequest req) {
+        try {
+            return bookingService.removeAvailability(req);
+        } catch (Exception e) {
+            logger.error("Error removing availability for owner [{}]: {}", req.getUsername(), e.getMessage(), e);
+            return ResponseEntity.internalServerError().body("Failed to remove availability");
+        }
+    }
+
     /**
      * Search available slots for a given date and owner.
      *
@@ -81,17 +140,90 @@ public class BookingController {
         }
     }
 
+    /**
+     * Search available slots, returning the compact columnar representation.
+     * <p>
+     * Selected by content negotiation: {@code Accept: application/vnd.accoladehq.slots.compact+json}
+     * for compact JSON or {@code Accept: application/cbor} for the same structure in CBOR.
+     * </p>
+     *
+     * @param req Search request containing username and date.
+     * @return Available slots grouped by date with minute-of-day starts.
+     */
+    @PostMapping(value = "/slots/search", produces = {CompactSlotsDto.MEDIA_TYPE, CompactSlotsDto.CBOR_MEDIA_TYPE})
+    public ResponseEntity<CompactSlotsDto> searchCompact(@Valid @RequestBody SearchSlotsRequest req) {
+        try {
+            return ResponseEntity.ok(CompactSlotsDto.from(bookingService.searchAvailableSlots(req), 60));
+        } catch (Exception e) {
+            logger.error("Error searching slots for owner [{}]: {}", req.getUsername(), e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Search available slots of several owners for a date or date range in one request.
+     *
+     * @param req Batch request containing usernames, a date and an optional end date.
+     * @return Available slots keyed by username, or 400 if the usernames or the range are invalid.
+     */
+    @PostMapping("/slots/search/batch")
+    public ResponseEntity<Map<String, List<SlotDto>>> searchBatch(@Valid @RequestBody BatchSearchSlotsRequest req) {
+        if (req.getUsernames() == null || req.getUsernames().isEmpty()
+                || req.getUsernames().size() > BatchSearchSlotsRequest.MAX_USERNAMES || req.getDate() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDate last = req.lastDate();
+        if (last.isBefore(req.getDate())
+                || ChronoUnit.DAYS.between(req.getDate(), last) >= BatchSearchSlotsRequest.MAX_DAYS) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(bookingService.searchAvailableSlotsBatch(req));
+        } catch (Exception e) {
+            logger.error("Error searching slots for owners {}: {}", req.getUsernames(), e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Find the earliest available slots of an owner.
+     *
+     * @param username The owner's username.
+     * @param from     First date to consider (defaults to today).
+     * @param limit    Maximum number of slots to return (1-100, defaults to 5).
+     * @return Up to {@code limit} available slots in chronological order.
+     */
+    @GetMapping("/owners/{username}/slots/next")
+    public ResponseEntity<List<SlotDto>> nextAvailable(@PathVariable String username,
+                                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                       @RequestParam(defaultValue = "5") int limit) {
+        if (limit < 1 || limit > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(bookingService.nextAvailable(username, from == null ? LocalDate.now() : from, limit));
+        } catch (Exception e) {
+            logger.error("Error finding next available slots for owner [{}]: {}", username, e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Book an available appointment slot.
      *
      * @param req Booking request containing owner username, date, start time, and invitee details.
-     * @return The booked slot details.
+     * @return The booked slot details, or 503 with {@code Retry-After} if the booking engine is too busy.
      */
     @PostMapping("/appointments")
     public ResponseEntity<?> book(@Valid @RequestBody BookRequest req) {
         try {
             var slot = bookingService.bookAppointment(req);
             return ResponseEntity.ok(slot);
+        } catch (BookingBusyException e) {
+            logger.warn("Booking engine too busy for [{}]: {}", req.getUsername(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, BUSY_RETRY_AFTER_SECONDS)
+                    .body(e.getMessage());
         } catch (IllegalStateException e) {
             logger.error("Booking failed for [{}]: {}", req.getUsername(), e.getMessage(), e);
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -101,6 +233,107 @@ public class BookingController {
         }
     }
 
+    /**
+     * Book a recurring series of appointments, all-or-nothing.
+     *
+     * @param req Recurring booking request describing the series and invitee.
+     * @return The booked slots, 400 if the interval or number of occurrences is out of range,
+     *         or 409 with the per-occurrence conflicts.
+     */
+    @PostMapping("/appointments/recurring")
+    public ResponseEntity<?> bookRecurring(@Valid @RequestBody RecurringBookRequest req) {
+        if (req.getInterval() < 1 || req.getInterval() > RecurringBookRequest.MAX_INTERVAL) {
+            return ResponseEntity.badRequest().body("Interval must be 1 to " + RecurringBookRequest.MAX_INTERVAL);
+        }
+        if (req.getOccurrences() < 1 || req.getOccurrences() > RecurringBookRequest.MAX_OCCURRENCES) {
+            return ResponseEntity.badRequest().body("Occurrences must be 1 to " + RecurringBookRequest.MAX_OCCURRENCES);
+        }
+        try {
+            var result = bookingService.bookRecurring(req);
+            if (result == null) {
+                return ResponseEntity.badRequest().body("Owner not found");
+            }
+            if (!result.isSuccess()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+            }
+            return ResponseEntity.ok(result);
+        } catch (IllegalStateException e) {
+            logger.error("Recurring booking failed for [{}]: {}", req.getUsername(), e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Unexpected error booking series for [{}]: {}", req.getUsername(), e.getMessage(), e);
+            return ResponseEntity.internalServerError().body("Failed to book recurring appointments");
+        }
+    }
+
+    /**
+     * Import the events of an iCalendar ({@code .ics}) file as appointments of an owner.
+     * The file is parsed as it is received, so it can be large.
+     *
+     * @param username The owner's username.
+     * @param body     The iCalendar file, UTF-8 encoded.
+     * @return Counts of imported and rejected events with the rejection reasons.
+     */
+    @PostMapping(value = "/owners/{username}/appointments/import", consumes = "text/calendar")
+    public ResponseEntity<?> importCalendar(@PathVariable String username, InputStream body) {
+        try {
+            IcsImportResult result = icsImporter.importEvents(username, new InputStreamReader(body, StandardCharsets.UTF_8));
+            if (result == null) {
+                return ResponseEntity.badRequest().body("Owner not found");
+            }
+            return ResponseEntity.ok(result);
+        } catch (IOException e) {
+            logger.error("Error reading calendar import for owner [{}]: {}", username, e.getMessage(), e);
+            return ResponseEntity.badRequest().body("Could not read calendar: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("Unexpected error importing calendar for owner [{}]: {}", username, e.getMessage(), e);
+            return ResponseEntity.internalServerError().body("Failed to import calendar");
+        }
+    }
+
+    /**
+     * Cancel an existing appointment.
+     *
+     * @param id The appointment ID.
+     * @return Success message, or 404 if the appointment does not exist.
+     */
+    @DeleteMapping("/appointments/{id}")
+    public ResponseEntity<String> cancel(@PathVariable Long id) {
+        try {
+            if (!bookingService.cancelAppointment(id)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Appointment not found");
+            }
+            return ResponseEntity.ok("Appointment cancelled");
+        } catch (Exception e) {
+            logger.error("Error cancelling appointment [{}]: {}", id, e.getMessage(), e);
+            return ResponseEntity.internalServerError().body("Failed to cancel appointment");
+        }
+    }
+
+    /**
+     * Move an existing appointment to a different slot.
+     *
+     * @param id  The appointment ID.
+     * @param req Reschedule request containing the new date and start time.
+     * @return The new slot details.
+     */
+    @PutMapping("/appointments/{id}")
+    public ResponseEntity<?> reschedule(@PathVariable Long id, @Valid @RequestBody RescheduleRequest req) {
+        try {
+            var slot = bookingService.rescheduleAppointment(id, req);
+            if (slot == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Appointment not found");
+            }
+            return ResponseEntity.ok(slot);
+        } catch (IllegalStateException e) {
+            logger.error("Reschedule failed for appointment [{}]: {}", id, e.getMessage(), e);
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Unexpected error rescheduling appointment [{}]: {}", id, e.getMessage(), e);
+            return ResponseEntity.internalServerError().body("Failed to reschedule appointment");
+        }
+    }
+
     /**
      * Retrieve a list of upcoming appointments for a calendar owner.
      *
@@ -116,4 +349,110 @@ public class BookingController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    /**
+     * List an owner's appointments within a date range, past ones included. Appointments
+     * older than the archive retention period are read from the archive.
+     *
+     * @param username The owner's username.
+     * @param from     First date, inclusive.
+     * @param to       Last date, inclusive; defaults to today.
+     * @return Appointments sorted by date and start time, or 400 for an unknown owner or an invalid range.
+     */
+    @GetMapping("/owners/{username}/appointments/history")
+    public ResponseEntity<?> listHistory(@PathVariable String username,
+                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to == null ? LocalDate.now() : to;
+        if (end.isBefore(from) || ChronoUnit.DAYS.between(from, end) >= MAX_HISTORY_DAYS) {
+            return ResponseEntity.badRequest().body("Range must be 1 to " + MAX_HISTORY_DAYS + " days");
+        }
+        try {
+            List<AppointmentRow> history = bookingService.listHistory(username, from, end);
+            if (history == null) {
+                return ResponseEntity.badRequest().body("Owner not found");
+            }
+            return ResponseEntity.ok(history);
+        } catch (Exception e) {
+            logger.error("Error fetching appointment history for owner [{}]: {}", username, e.getMessage(), e);
+            return ResponseEntity.internalServerError().body("Failed to fetch appointment history");
+        }
+    }
+
+    /**
+     * Report booked versus available slots of an owner per day or per week.
+     * Answered from counters kept up to date by every booking, cancellation and
+     * availability change, without scanning appointments.
+     *
+     * @param username The owner's username.
+     * @param from     First date, inclusive; defaults to today.
+     * @param to       Last date, inclusive; defaults to six days after {@code from}.
+     * @param period   {@code day} or {@code week} (ISO weeks, clipped to the range).
+     * @return One entry per period, or 400 for an unknown owner or an invalid range.
+     */
+    @GetMapping("/owners/{username}/utilization")
+    public ResponseEntity<?> utilization(@PathVariable String username,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                         @RequestParam(defaultValue = "day") String period) {
+        LocalDate start = from == null ? LocalDate.now() : from;
+        LocalDate end = to == null ? start.plusDays(6) : to;
+        if (end.isBefore(start) || ChronoUnit.DAYS.between(start, end) >= MAX_UTILIZATION_DAYS) {
+            return ResponseEntity.badRequest().body("Range must be 1 to " + MAX_UTILIZATION_DAYS + " days");
+        }
+        if (!period.equals("day") && !period.equals("week")) {
+            return ResponseEntity.badRequest().body("Period must be day or week");
+        }
+        try {
+            List<UtilizationDto> report = bookingService.utilization(username, start, end, period.equals("week"));
+            if (report == null) {
+                return ResponseEntity.badRequest().body("Owner not found");
+            }
+            return ResponseEntity.ok(report);
+        } catch (Exception e) {
+            logger.error("Error reporting utilization for owner [{}]: {}", username, e.getMessage(), e);
+            return ResponseEntity.internalServerError().body("Failed to report utilization");
+        }
+    }
+
+    /**
+     * Publish an owner's appointments as an iCalendar feed for calendar apps to subscribe to.
+     * Polls that send back the feed's {@code ETag} or {@code Last-Modified} get
+     * {@code 304 Not Modified} until the owner's appointments change.
+     *
+     * @param username The owner's username.
+     * @param request  The request, for its conditional headers.
+     * @return The feed, 304 if the caller's copy is current, or 404 if the owner does not exist.
+     */
+    @GetMapping("/owners/{username}/calendar.ics")
+    public ResponseEntity<StreamingResponseBody> calendarFeed(@PathVariable String username, WebRequest request) {
+        try {
+            // Before the validators: every username has a version, so an unknown owner could match one
+            if (!icsFeeds.exists(username)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(text("Owner not found"));
+            }
+            IcsFeedCache.Version version = icsFeeds.version(username);
+            if (request.checkNotModified(version.etag(), version.lastModified().toEpochMilli())) {
+                // The 304 status and validators have already been set on the response
+                return null;
+            }
+            ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                    .contentType(TEXT_CALENDAR)
+                    .eTag(version.etag())
+                    .lastModified(version.lastModified())
+                    .cacheControl(CacheControl.noCache());
+            byte[] cached = icsFeeds.cached(username, version);
+            if (cached != null) {
+                return ok.body(out -> out.write(cached));
+            }
+            return ok.body(out -> icsFeeds.render(username, version, out));
+        } catch (Exception e) {
+            logger.error("Error publishing calendar feed for owner [{}]: {}", username, e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(text("Failed to publish calendar feed"));
+        }
+    }
+
+    private static StreamingResponseBody text(String message) {
+        return out -> out.write(message.getBytes(StandardCharsets.UTF_8));
+    }
 }
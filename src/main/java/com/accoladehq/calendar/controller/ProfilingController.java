@@ -0,0 +1,95 @@
+package com.accoladehq.calendar.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.accoladehq.calendar.jfr.ProfilingRecorder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Admin REST controller for on-demand Java Flight Recorder profiling.
+ * Starts a bounded recording, reports its progress, and stops it and returns
+ * the recording file, to open in JDK Mission Control or {@code jfr print}.
+ */
+@RestController
+@RequestMapping("/api/admin/profiling")
+public class ProfilingController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfilingController.class);
+
+    @Autowired
+    private ProfilingRecorder recorder;
+
+    /**
+     * Start a flight recording.
+     *
+     * @param seconds How long to record; capped at {@code calendar.profiling.max-duration-seconds}.
+     * @return 200 once recording, 400 for a non-positive duration, or 409 if a recording is already running.
+     */
+    @PostMapping("/start")
+    public ResponseEntity<String> start(@RequestParam(defaultValue = "60") long seconds) {
+        if (seconds < 1) {
+            return ResponseEntity.badRequest().body("Duration must be at least one second");
+        }
+        try {
+            if (!recorder.start(Duration.ofSeconds(seconds))) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body("A recording is already running");
+            }
+            return ResponseEntity.ok("Recording started");
+        } catch (Exception e) {
+            logger.error("Error starting flight recording: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body("Failed to start recording");
+        }
+    }
+
+    /**
+     * Report the current recording.
+     *
+     * @return Its state, start time, maximum duration and size so far.
+     */
+    @GetMapping
+    public ResponseEntity<ProfilingRecorder.Status> status() {
+        return ResponseEntity.ok(recorder.status());
+    }
+
+    /**
+     * Stop the recording, if it has not stopped by itself, and download it.
+     *
+     * @return The {@code .jfr} file, or 404 if nothing was recorded.
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<StreamingResponseBody> stop() {
+        Path file = recorder.stop();
+        if (file == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(out -> out.write("No recording".getBytes(StandardCharsets.UTF_8)));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(out -> {
+                    try {
+                        Files.copy(file, out);
+                    } finally {
+                        Files.deleteIfExists(file);
+                    }
+                });
+    }
+}
@@ -14,6 +14,8 @@ import lombok.Data;
  * This DTO is used when the calendar owner specifies the time range
  * during which they are available for booking appointments.
  * The availability is defined by a start and end time in 24-hour format.
+ * An owner may have several windows (e.g. 09:00-12:00 and 14:00-18:00);
+ * each request adds one window unless {@code replace} is set.
  * </p>
  *
  * <p><b>Example JSON:</b></p>
@@ -67,6 +69,12 @@ public class AvailabilityRequest {
     @Schema(type = "string", example = "17:00", description = "End time in HH:mm format")
     private LocalTime endTime;
 
+    /**
+     * Whether this window replaces all of the owner's existing windows
+     * instead of being merged into them. Defaults to {@code false}.
+     */
+    private boolean replace;
+
     /**
      * Default no-args constructor.
      */
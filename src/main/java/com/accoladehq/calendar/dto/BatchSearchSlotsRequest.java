@@ -0,0 +1,87 @@
+package com.accoladehq.calendar.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Request object for searching available time slots of several calendar owners at once.
+ * <p>
+ * Used by pages that show many owners side by side, so that one request replaces
+ * one search per owner. Slots are returned for {@code date}, or for every day from
+ * {@code date} to {@code toDate} inclusive when a range is given.
+ * </p>
+ *
+ * <p><b>Example JSON:</b></p>
+ * <pre>
+ * {
+ *   "usernames": ["john_doe", "jane_roe"],
+ *   "date": "2025-08-15",
+ *   "toDate": "2025-08-17"
+ * }
+ * </pre>
+ *
+ * <p>
+ * Constraints:
+ * <ul>
+ *   <li>At most {@value #MAX_USERNAMES} usernames per request.</li>
+ *   <li>The range may span at most {@value #MAX_DAYS} days.</li>
+ * </ul>
+ */
+@Data
+public class BatchSearchSlotsRequest {
+
+    /** Maximum number of owners in one batch. */
+    public static final int MAX_USERNAMES = 100;
+
+    /** Maximum number of days in one batch. */
+    public static final int MAX_DAYS = 31;
+
+    /**
+     * Usernames of the calendar owners whose slots are being queried.
+     */
+    @NotEmpty
+    @Size(max = MAX_USERNAMES)
+    private List<String> usernames;
+
+    /**
+     * The (first) date for which available time slots are requested.
+     */
+    @NotNull
+    private LocalDate date;
+
+    /**
+     * Optional last date of the range, inclusive. Defaults to {@code date}.
+     */
+    private LocalDate toDate;
+
+    /**
+     * Default no-args constructor.
+     */
+    public BatchSearchSlotsRequest() {
+    }
+
+    /**
+     * Constructs a batch search request for a single date.
+     *
+     * @param usernames the usernames of the calendar owners
+     * @param date      the date for which to search available slots
+     */
+    public BatchSearchSlotsRequest(List<String> usernames, LocalDate date) {
+        this.usernames = usernames;
+        this.date = date;
+    }
+
+    /**
+     * Returns the last date of the range, which is {@code date} when no range was given.
+     *
+     * @return the inclusive end of the range
+     */
+    public LocalDate lastDate() {
+        return toDate == null ? date : toDate;
+    }
+}
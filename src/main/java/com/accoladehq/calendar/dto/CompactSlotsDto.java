@@ -0,0 +1,96 @@
+package com.accoladehq.calendar.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact, columnar representation of a list of {@link SlotDto}s.
+ * <p>
+ * Each date appears once, slot starts are minute-of-day integers and the end of a
+ * slot is implied by {@link #slotMinutes}. Served from the slot search endpoint
+ * when the client asks for {@link #MEDIA_TYPE} (JSON) or {@code application/cbor}
+ * (binary) instead of plain {@code application/json}.
+ * </p>
+ *
+ * <p><b>Example JSON:</b></p>
+ * <pre>
+ * {
+ *   "slotMinutes": 60,
+ *   "days": [
+ *     { "date": "2025-08-15", "starts": [600, 660, 780] }
+ *   ]
+ * }
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompactSlotsDto {
+
+    /** Vendor media type selecting the compact JSON representation. */
+    public static final String MEDIA_TYPE = "application/vnd.accoladehq.slots.compact+json";
+
+    /** Media type selecting the compact representation encoded as CBOR. */
+    public static final String CBOR_MEDIA_TYPE = "application/cbor";
+
+    /**
+     * The slots of a single date.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Day {
+
+        /** The date shared by all slots of this entry. */
+        @Schema(example = "2025-08-15", description = "Date of the slots in yyyy-MM-dd format")
+        private LocalDate date;
+
+        /** Slot start times as minutes since midnight, ascending. */
+        @Schema(example = "[600, 660]", description = "Slot starts in minutes since midnight")
+        private int[] starts;
+    }
+
+    /** Duration of every slot in minutes. */
+    @Schema(example = "60", description = "Duration of every slot in minutes")
+    private int slotMinutes;
+
+    /** Slots grouped by date, in ascending date order. */
+    private List<Day> days = new ArrayList<>();
+
+    /**
+     * Builds the compact form of a list of slots sorted by date and start time.
+     *
+     * @param slots       the slots to convert; must be sorted by date, then start
+     * @param slotMinutes the common duration of every slot
+     * @return the compact representation
+     */
+    public static CompactSlotsDto from(List<SlotDto> slots, int slotMinutes) {
+        CompactSlotsDto result = new CompactSlotsDto(slotMinutes, new ArrayList<>());
+        int i = 0;
+        while (i < slots.size()) {
+            LocalDate date = slots.get(i).getDate();
+            int j = i;
+            while (j < slots.size() && slots.get(j).getDate().equals(date)) {
+                j++;
+            }
+            int[] starts = new int[j - i];
+            for (int k = i; k < j; k++) {
+                starts[k - i] = minuteOfDay(slots.get(k).getStart());
+            }
+            result.days.add(new Day(date, starts));
+            i = j;
+        }
+        return result;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
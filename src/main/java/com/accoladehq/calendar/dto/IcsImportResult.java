@@ -0,0 +1,58 @@
+package com.accoladehq.calendar.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of an iCalendar import.
+ * <p>
+ * Every event read is either imported or rejected. Only the first rejections are
+ * listed in {@link #rejected}; {@link #rejectedCount} counts all of them.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+public class IcsImportResult {
+
+    /**
+     * An event that was not imported.
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Rejected {
+
+        /** Line of the event's {@code BEGIN:VEVENT} in the file. */
+        private long line;
+
+        /** The event's {@code UID}, if it has one. */
+        private String uid;
+
+        /** Local date of the event, if it could be read. */
+        private LocalDate date;
+
+        /** Local start time of the event, if it could be read. */
+        private LocalTime start;
+
+        /** Human readable reason, e.g. already booked or not 60 minutes long. */
+        private String reason;
+    }
+
+    /** Number of events read from the file. */
+    private long events;
+
+    /** Number of events imported as appointments. */
+    private long imported;
+
+    /** Number of events rejected. */
+    private long rejectedCount;
+
+    /** The first rejected events, in file order. */
+    private List<Rejected> rejected = new ArrayList<>();
+}
@@ -0,0 +1,106 @@
+package com.accoladehq.calendar.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * Request object for booking a recurring series of appointments.
+ * <p>
+ * The series starts at {@code startDate}/{@code startTime} and repeats every
+ * {@code interval} days or weeks until {@code occurrences} appointments have been
+ * produced. All occurrences are booked together or none are.
+ * </p>
+ *
+ * <p><b>Example JSON:</b> every Tuesday at 10:00 for 12 weeks</p>
+ * <pre>
+ * {
+ *   "username": "john_doe",
+ *   "startDate": "2025-08-19",
+ *   "startTime": "10:00",
+ *   "frequency": "WEEKLY",
+ *   "interval": 1,
+ *   "occurrences": 12,
+ *   "inviteeName": "Jane Smith",
+ *   "inviteeEmail": "jane.smith@example.com"
+ * }
+ * </pre>
+ */
+@Data
+public class RecurringBookRequest {
+
+    /** Largest accepted {@code interval}. */
+    public static final int MAX_INTERVAL = 52;
+
+    /** Largest accepted number of {@code occurrences}. */
+    public static final int MAX_OCCURRENCES = 52;
+
+    /**
+     * How often the series repeats.
+     */
+    public enum Frequency {
+        /** Every {@code interval} days. */
+        DAILY,
+        /** Every {@code interval} weeks. */
+        WEEKLY
+    }
+
+    /**
+     * The username of the calendar owner.
+     */
+    @NotNull
+    private String username;
+
+    /**
+     * The date of the first occurrence.
+     */
+    @NotNull
+    private LocalDate startDate;
+
+    /**
+     * The start time of every occurrence in {@code HH:mm} format.
+     */
+    @NotNull
+    @JsonFormat(pattern = "HH:mm")
+    @Schema(type = "string", example = "10:00", description = "Start time in HH:mm format")
+    private LocalTime startTime;
+
+    /**
+     * Repetition unit; defaults to {@link Frequency#WEEKLY}.
+     */
+    @NotNull
+    private Frequency frequency = Frequency.WEEKLY;
+
+    /**
+     * Number of frequency units between occurrences; defaults to 1. At most 52,
+     * which keeps a full series within about half a century of its start.
+     */
+    @Min(1)
+    @Max(MAX_INTERVAL)
+    private int interval = 1;
+
+    /**
+     * Total number of occurrences in the series.
+     */
+    @Min(1)
+    @Max(MAX_OCCURRENCES)
+    private int occurrences;
+
+    /**
+     * The name of the invitee booking the series.
+     */
+    @NotNull
+    private String inviteeName;
+
+    /**
+     * The email address of the invitee (optional).
+     */
+    private String inviteeEmail;
+}
@@ -0,0 +1,56 @@
+package com.accoladehq.calendar.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a recurring booking request.
+ * <p>
+ * Either every occurrence is listed in {@link #booked} and {@link #conflicts} is
+ * empty, or nothing was booked and {@link #conflicts} explains which occurrences
+ * could not be booked and why.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+public class RecurringBookingResult {
+
+    /**
+     * An occurrence of the series that could not be booked.
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Conflict {
+
+        /** Date of the conflicting occurrence. */
+        private LocalDate date;
+
+        /** Start time of the conflicting occurrence. */
+        private LocalTime start;
+
+        /** Human readable reason, e.g. already booked or outside availability. */
+        private String reason;
+    }
+
+    /** Slots booked for the series, in chronological order. */
+    private List<SlotDto> booked = new ArrayList<>();
+
+    /** Occurrences that prevented the series from being booked. */
+    private List<Conflict> conflicts = new ArrayList<>();
+
+    /**
+     * Returns whether the whole series was booked.
+     *
+     * @return {@code true} if there were no conflicts
+     */
+    public boolean isSuccess() {
+        return conflicts.isEmpty();
+    }
+}
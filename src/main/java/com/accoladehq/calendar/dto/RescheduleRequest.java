@@ -0,0 +1,63 @@
+package com.accoladehq.calendar.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * Request object for moving an existing appointment to a different slot.
+ *
+ * <p><b>Example JSON:</b></p>
+ * <pre>
+ * {
+ *   "date": "2025-08-16",
+ *   "startTime": "14:00"
+ * }
+ * </pre>
+ *
+ * <p>
+ * Constraints:
+ * <ul>
+ *   <li>The {@code date} must not be in the past.</li>
+ *   <li>The new slot must lie within the owner's availability and be free.</li>
+ * </ul>
+ */
+@Data
+public class RescheduleRequest {
+
+    /**
+     * The new date of the appointment.
+     */
+    @NotNull
+    private LocalDate date;
+
+    /**
+     * The new start time of the appointment in {@code HH:mm} format.
+     */
+    @NotNull
+    @JsonFormat(pattern = "HH:mm")
+    @Schema(type = "string", example = "14:00", description = "New start time in HH:mm format")
+    private LocalTime startTime;
+
+    /**
+     * Default no-args constructor.
+     */
+    public RescheduleRequest() {
+    }
+
+    /**
+     * Constructs a reschedule request for the given slot.
+     *
+     * @param date      the new date
+     * @param startTime the new start time
+     */
+    public RescheduleRequest(LocalDate date, LocalTime startTime) {
+        this.date = date;
+        this.startTime = startTime;
+    }
+}
@@ -0,0 +1,63 @@
+package com.accoladehq.calendar.dto;
+
+import java.time.LocalDate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing an owner's utilization over a period.
+ * <p>
+ * A period is a single day or the part of an ISO week (Monday to Sunday) that
+ * falls inside the requested range.
+ * </p>
+ *
+ * <p><b>Example JSON:</b></p>
+ * <pre>
+ * {
+ *   "start": "2025-08-11",
+ *   "end": "2025-08-17",
+ *   "booked": 21,
+ *   "available": 56,
+ *   "utilization": 0.375
+ * }
+ * </pre>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UtilizationDto {
+
+    /**
+     * The first date of the period.
+     */
+    @Schema(example = "2025-08-11", description = "First date of the period in yyyy-MM-dd format")
+    private LocalDate start;
+
+    /**
+     * The last date of the period, inclusive.
+     */
+    @Schema(example = "2025-08-17", description = "Last date of the period in yyyy-MM-dd format, inclusive")
+    private LocalDate end;
+
+    /**
+     * Appointments booked in the period.
+     */
+    @Schema(example = "21", description = "Appointments booked in the period")
+    private long booked;
+
+    /**
+     * Slots offered in the period by the availability rules in effect on each day.
+     */
+    @Schema(example = "56", description = "Slots offered in the period by the availability in effect on each day")
+    private long available;
+
+    /**
+     * Booked divided by available, or {@code null} if nothing was available.
+     * Can exceed 1 when appointments were imported outside the availability.
+     */
+    @Schema(example = "0.375", description = "Booked divided by available; null when nothing was available")
+    private Double utilization;
+}
@@ -0,0 +1,14 @@
+package com.accoladehq.calendar.engine;
+
+/**
+ * Thrown when the {@link BookingEngine} cannot decide a booking in time: the
+ * owner's shard queue is full, the booking was not picked up within the timeout,
+ * or the owner's booking lease stayed held by another node. Nothing has been
+ * booked, so the request may be retried.
+ */
+public class BookingBusyException extends RuntimeException {
+
+    public BookingBusyException(String message) {
+        super(message);
+    }
+}
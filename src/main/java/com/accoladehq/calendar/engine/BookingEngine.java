@@ -0,0 +1,610 @@
+package com.accoladehq.calendar.engine;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.accoladehq.calendar.cluster.OwnerLeases;
+import com.accoladehq.calendar.cluster.OwnerLeases.Lease;
+import com.accoladehq.calendar.cluster.OwnerLeases.LeaseLostException;
+import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.dto.SlotDto;
+import com.accoladehq.calendar.entity.Appointment;
+import com.accoladehq.calendar.entity.CalendarOwner;
+import com.accoladehq.calendar.event.BookingEventRecorder;
+import com.accoladehq.calendar.repository.AppointmentRepository;
+import com.accoladehq.calendar.repository.AvailabilityRuleRepository;
+import com.accoladehq.calendar.repository.CalendarOwnerRepository;
+import com.accoladehq.calendar.slots.AvailabilityWindows;
+import com.accoladehq.calendar.slots.SlotBitmaps;
+import com.accoladehq.calendar.version.OwnerDateVersions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Books single appointments through one writer thread per owner shard.
+ * <p>
+ * Owners are hashed onto a fixed number of shards. Each shard has a bounded queue
+ * and a single writer thread, so bookings for one owner are decided one after the
+ * other without contending at the database. The writer keeps an occupancy bitmap
+ * per owner and date (see {@link SlotBitmaps}). It loads the bitmap from the
+ * database on first use and uses it to accept or reject bookings without a
+ * per-booking query.
+ * </p>
+ * <p>
+ * The writer drains whatever has queued up and commits all accepted bookings of
+ * that batch in one transaction (group commit), so they share one flush and one
+ * commit. If the group fails, for example because a row was written behind the
+ * engine's back, its bookings are retried one by one with the usual checks and
+ * the affected occupancy views are reloaded.
+ * </p>
+ * <p>
+ * The views are dropped whenever {@link OwnerDateVersions} reports a change made
+ * outside the shard's writer, such as a cancellation, reschedule, recurring series
+ * or availability change. The unique constraint on appointments remains the final
+ * guard against double booking.
+ * </p>
+ * <p>
+ * With {@code calendar.cluster.lease.enabled=true}, several nodes share the
+ * database and each takes the owner's {@link OwnerLeases lease} before deciding a
+ * booking, so contending bookings for one owner are serialized across nodes before
+ * any query runs. A writer takes the leases of a batch's owners in username order,
+ * so two writers never wait on each other; bookings of an owner whose lease stays
+ * held elsewhere fail with a {@link BookingBusyException}. A lease that another
+ * node held in between drops the writer's views of that owner, and every commit is
+ * fenced with the lease's token.
+ * </p>
+ * <p>
+ * With {@code calendar.booking-engine.enabled=false}, or while the engine is not
+ * running, each booking is committed on the caller's thread instead.
+ * </p>
+ */
+@Component
+public class BookingEngine implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingEngine.class);
+
+    /** Occupancy views kept per shard before the least recently used are dropped. */
+    private static final int MAX_VIEWS_PER_SHARD = 4096;
+
+    private final CalendarOwnerRepository ownerRepo;
+
+    private final AvailabilityRuleRepository availabilityRepo;
+
+    private final AppointmentRepository appointmentRepo;
+
+    private final BookingEventRecorder events;
+
+    private final OwnerLeases leases;
+
+    private final TransactionTemplate tx;
+
+    private final boolean enabled;
+
+    private final int maxBatch;
+
+    private final long timeoutMs;
+
+    private final Shard[] shards;
+
+    private final Counter rejected;
+
+    private final Counter fallbacks;
+
+    private final DistributionSummary groupSize;
+
+    private volatile boolean running;
+
+    /**
+     * Creates the engine.
+     *
+     * @param ownerRepo          the owner repository
+     * @param availabilityRepo   the availability rule repository
+     * @param appointmentRepo    the appointment repository
+     * @param events             the recorder for booking side effects
+     * @param versions           the version tracker used to invalidate occupancy views
+     * @param leases             the per-owner leases serializing bookings across nodes
+     * @param transactionManager the transaction manager for group commits
+     * @param registry           the registry receiving engine metrics
+     * @param enabled            whether bookings go through the shard writers
+     * @param shardCount         the number of shards, or 0 for one per available processor
+     * @param queueCapacity      the maximum number of pending bookings per shard
+     * @param maxBatch           the maximum number of bookings committed together
+     * @param timeoutMs          how long a caller waits for its booking to be picked up
+     */
+    public BookingEngine(CalendarOwnerRepository ownerRepo, AvailabilityRuleRepository availabilityRepo,
+                         AppointmentRepository appointmentRepo, BookingEventRecorder events,
+                         OwnerDateVersions versions, OwnerLeases leases, PlatformTransactionManager transactionManager,
+                         MeterRegistry registry,
+                         @Value("${calendar.booking-engine.enabled:true}") boolean enabled,
+                         @Value("${calendar.booking-engine.shards:0}") int shardCount,
+                         @Value("${calendar.booking-engine.queue-capacity:1024}") int queueCapacity,
+                         @Value("${calendar.booking-engine.max-batch:256}") int maxBatch,
+                         @Value("${calendar.booking-engine.timeout-ms:10000}") long timeoutMs) {
+        this.ownerRepo = ownerRepo;
+        this.availabilityRepo = availabilityRepo;
+        this.appointmentRepo = appointmentRepo;
+        this.events = events;
+        this.leases = leases;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxBatch = maxBatch;
+        this.timeoutMs = timeoutMs;
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(i, queueCapacity);
+        }
+        this.rejected = registry.counter("calendar.booking.engine.rejected");
+        this.fallbacks = registry.counter("calendar.booking.engine.fallbacks");
+        this.groupSize = registry.summary("calendar.booking.engine.group.size");
+        Gauge.builder("calendar.booking.engine.queue.depth", this,
+                e -> Arrays.stream(e.shards).mapToInt(s -> s.queue.size()).sum()).register(registry);
+        versions.addListener(this::versionChanged);
+    }
+
+    /**
+     * Books an appointment and waits for the outcome.
+     *
+     * @param req the booking request
+     * @return the booked slot, or {@code null} if the slot could not be booked
+     * @throws BookingBusyException if the shard's queue is full, the booking was not
+     *                              picked up in time or the owner's lease stayed held
+     */
+    public SlotDto book(BookRequest req) {
+        if (!enabled || !running) {
+            return commitOne(req);
+        }
+        Command cmd = new Command(req);
+        Shard shard = shardOf(req.getUsername());
+        if (!shard.queue.offer(cmd)) {
+            rejected.increment();
+            logger.warn("Booking queue of shard {} is full, rejecting booking for {}", shard.index, req.getUsername());
+            throw new BookingBusyException("Booking queue is full");
+        }
+        return cmd.await(timeoutMs);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (Shard shard : shards) {
+            shard.thread = new Thread(shard, "booking-writer-" + shard.index);
+            shard.thread.setDaemon(true);
+            shard.thread.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Shard shard : shards) {
+            if (shard.thread == null) {
+                continue;
+            }
+            try {
+                shard.thread.join(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Commits a single booking on the calling thread under its own lease, if leases
+     * are enabled.
+     */
+    private SlotDto commitOne(BookRequest req) {
+        if (!leases.isEnabled()) {
+            return commitOne(req, null);
+        }
+        Lease lease = leases.acquire(req.getUsername());
+        if (lease == null) {
+            logger.warn("Booking lease of {} held elsewhere, not booking", req.getUsername());
+            throw leaseHeld(req);
+        }
+        try {
+            return commitOne(req, lease);
+        } finally {
+            leases.release(lease);
+        }
+    }
+
+    /**
+     * Commits a single booking, checking availability and existing bookings against
+     * the database.
+     */
+    private SlotDto commitOne(BookRequest req, Lease lease) {
+        LocalDate date = req.getDate();
+        LocalTime start = req.getStartTime();
+        LocalTime end = start.plusHours(1);
+        try {
+            return tx.execute(status -> {
+                if (lease != null) {
+                    leases.fence(lease);
+                }
+                CalendarOwner owner = ownerRepo.findByUsername(req.getUsername()).orElse(null);
+                if (owner == null) {
+                    logger.warn("Owner not found for username: {}", req.getUsername());
+                    return null;
+                }
+
+                if (date.isBefore(LocalDate.now())) {
+                    logger.warn("Attempt to book appointment in the past: {}", date);
+                    return null;
+                }
+
+                // Containment check against the owner's windows; no need to generate every slot
+                AvailabilityWindows windows = AvailabilityWindows.of(availabilityRepo.findByOwner(owner));
+                if (!windows.isBookable(date, start)) {
+                    logger.warn("Slot not available for booking: {} {} - {}", date, start, end);
+                    return null;
+                }
+
+                // Double-check uniqueness (race condition check)
+                if (appointmentRepo.findByOwnerAndDateAndStartTime(owner, date, start).isPresent()) {
+                    logger.warn("Slot already booked (race condition check): {} {} - {}", date, start, end);
+                    return null;
+                }
+
+                Appointment saved = appointmentRepo.save(newAppointment(owner, req));
+                events.booked(saved);
+                return toSlot(saved);
+            });
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Slot already booked (unique constraint): {} {} - {}", date, start, end);
+            return null;
+        } catch (LeaseLostException e) {
+            logger.warn("{}, not booking {} {} - {}", e.getMessage(), date, start, end);
+            return null;
+        }
+    }
+
+    private static BookingBusyException leaseHeld(BookRequest req) {
+        return new BookingBusyException("Booking lease of " + req.getUsername() + " is held by another node");
+    }
+
+    private Shard shardOf(String username) {
+        return shards[Math.floorMod(username.hashCode(), shards.length)];
+    }
+
+    private void versionChanged(String username, LocalDate date) {
+        if (!running) {
+            return;
+        }
+        Shard shard = shardOf(username);
+        // The writer's own commits keep its views up to date
+        if (Thread.currentThread() != shard.thread) {
+            shard.invalidations.add(new DayKey(username, date));
+        }
+    }
+
+    private static Appointment newAppointment(CalendarOwner owner, BookRequest req) {
+        Appointment appt = new Appointment();
+        appt.setOwner(owner);
+        appt.setDate(req.getDate());
+        appt.setStartTime(req.getStartTime());
+        appt.setEndTime(req.getStartTime().plusHours(1));
+        appt.setInviteeName(req.getInviteeName());
+        appt.setInviteeEmail(req.getInviteeEmail());
+        return appt;
+    }
+
+    private static SlotDto toSlot(Appointment appt) {
+        return new SlotDto(appt.getDate(), appt.getStartTime(), appt.getEndTime());
+    }
+
+    /**
+     * Owner and date of an occupancy view; a {@code null} date stands for all dates.
+     */
+    private record DayKey(String username, LocalDate date) {
+    }
+
+    /**
+     * What the writer knows about one owner and date.
+     */
+    private static final class DayView {
+
+        final CalendarOwner owner;
+
+        final AvailabilityWindows windows;
+
+        int occupied;
+
+        DayView(CalendarOwner owner, AvailabilityWindows windows, int occupied) {
+            this.owner = owner;
+            this.windows = windows;
+            this.occupied = occupied;
+        }
+    }
+
+    private record Accepted(Command cmd, DayKey key, Appointment appt) {
+    }
+
+    /**
+     * A queued booking and the caller waiting for it.
+     */
+    private static final class Command {
+
+        private static final int QUEUED = 0;
+
+        private static final int CLAIMED = 1;
+
+        private static final int ABANDONED = 2;
+
+        final BookRequest req;
+
+        final CompletableFuture<SlotDto> result = new CompletableFuture<>();
+
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        Command(BookRequest req) {
+            this.req = req;
+        }
+
+        /** Called by the writer; fails if the caller has given up waiting. */
+        boolean claim() {
+            return state.compareAndSet(QUEUED, CLAIMED);
+        }
+
+        SlotDto await(long timeoutMs) {
+            try {
+                return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (state.compareAndSet(QUEUED, ABANDONED)) {
+                    logger.warn("Booking for {} not picked up within {} ms, giving up", req.getUsername(), timeoutMs);
+                    throw new BookingBusyException("Booking was not picked up within " + timeoutMs + " ms");
+                }
+                // Already being committed: the outcome is moments away and must be reported
+                return join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (state.compareAndSet(QUEUED, ABANDONED)) {
+                    throw new BookingBusyException("Interrupted while waiting for the booking to be picked up");
+                }
+                return join();
+            } catch (ExecutionException e) {
+                throw rethrow(e.getCause());
+            }
+        }
+
+        private SlotDto join() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                throw rethrow(e.getCause());
+            }
+        }
+
+        private static RuntimeException rethrow(Throwable cause) {
+            return cause instanceof RuntimeException re ? re : new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * One shard: a bounded queue drained by a single writer thread.
+     */
+    private final class Shard implements Runnable {
+
+        final int index;
+
+        final BlockingQueue<Command> queue;
+
+        final Queue<DayKey> invalidations = new ConcurrentLinkedQueue<>();
+
+        final Map<DayKey, DayView> views = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<DayKey, DayView> eldest) {
+                return size() > MAX_VIEWS_PER_SHARD;
+            }
+        };
+
+        volatile Thread thread;
+
+        Shard(int index, int capacity) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        @Override
+        public void run() {
+            List<Command> batch = new ArrayList<>(maxBatch);
+            while (running || !queue.isEmpty()) {
+                try {
+                    Command first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatch - 1);
+                    process(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    logger.error("Booking writer {} failed on a batch of {}", index, batch.size(), e);
+                    batch.forEach(cmd -> cmd.result.completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+
+        private void process(List<Command> batch) {
+            applyInvalidations();
+            Map<String, Lease> held = leases.isEnabled() ? acquireLeases(batch) : Map.of();
+            try {
+                process(batch, held);
+            } finally {
+                held.values().forEach(leases::release);
+            }
+        }
+
+        private void process(List<Command> batch, Map<String, Lease> held) {
+            List<Accepted> accepted = new ArrayList<>(batch.size());
+            for (Command cmd : batch) {
+                if (!cmd.claim()) {
+                    continue;
+                }
+                if (leases.isEnabled() && !held.containsKey(cmd.req.getUsername())) {
+                    logger.warn("Booking lease of {} held elsewhere, not booking", cmd.req.getUsername());
+                    cmd.result.completeExceptionally(leaseHeld(cmd.req));
+                    continue;
+                }
+                try {
+                    Accepted a = decide(cmd);
+                    if (a != null) {
+                        accepted.add(a);
+                    }
+                } catch (Exception e) {
+                    cmd.result.completeExceptionally(e);
+                }
+            }
+            if (accepted.isEmpty()) {
+                return;
+            }
+
+            groupSize.record(accepted.size());
+            try {
+                tx.executeWithoutResult(status -> {
+                    if (leases.isEnabled()) {
+                        accepted.stream().map(a -> a.key().username()).distinct().forEach(u -> leases.fence(held.get(u)));
+                    }
+                    appointmentRepo.saveAll(accepted.stream().map(Accepted::appt).toList());
+                    accepted.forEach(a -> events.booked(a.appt()));
+                });
+                accepted.forEach(a -> a.cmd().result.complete(toSlot(a.appt())));
+            } catch (Exception e) {
+                fallbacks.increment();
+                logger.warn("Group commit of {} bookings failed, committing them one by one: {}",
+                        accepted.size(), e.getMessage());
+                accepted.forEach(a -> views.remove(a.key()));
+                for (Accepted a : accepted) {
+                    try {
+                        a.cmd().result.complete(commitOne(a.cmd().req, held.get(a.key().username())));
+                    } catch (Exception ex) {
+                        a.cmd().result.completeExceptionally(ex);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Takes the leases of the batch's owners in username order, dropping the views
+         * of owners another node has booked for since this node last held their lease.
+         */
+        private Map<String, Lease> acquireLeases(List<Command> batch) {
+            Map<String, Lease> held = new TreeMap<>();
+            batch.forEach(cmd -> held.put(cmd.req.getUsername(), null));
+            try {
+                for (Map.Entry<String, Lease> entry : held.entrySet()) {
+                    Lease lease = leases.acquire(entry.getKey());
+                    if (lease != null && lease.handedOver()) {
+                        views.keySet().removeIf(k -> k.username().equals(entry.getKey()));
+                    }
+                    entry.setValue(lease);
+                }
+            } catch (RuntimeException e) {
+                held.values().stream().filter(lease -> lease != null).forEach(leases::release);
+                throw e;
+            }
+            held.values().removeIf(lease -> lease == null);
+            return held;
+        }
+
+        private Accepted decide(Command cmd) {
+            BookRequest req = cmd.req;
+            LocalDate date = req.getDate();
+            LocalTime start = req.getStartTime();
+            DayKey key = new DayKey(req.getUsername(), date);
+
+            DayView view = view(key);
+            if (view == null) {
+                logger.warn("Owner not found for username: {}", req.getUsername());
+                cmd.result.complete(null);
+                return null;
+            }
+            if (!view.windows.isBookable(date, start)) {
+                logger.warn("Slot not available for booking: {} {} - {}", date, start, start.plusHours(1));
+                cmd.result.complete(null);
+                return null;
+            }
+            int bit = SlotBitmaps.bit(start);
+            if ((view.occupied & bit) != 0) {
+                logger.warn("Slot already booked: {} {} - {}", date, start, start.plusHours(1));
+                cmd.result.complete(null);
+                return null;
+            }
+            view.occupied |= bit;
+            return new Accepted(cmd, key, newAppointment(view.owner, req));
+        }
+
+        private DayView view(DayKey key) {
+            DayView view = views.get(key);
+            if (view != null) {
+                return view;
+            }
+            CalendarOwner owner = ownerRepo.findByUsername(key.username()).orElse(null);
+            if (owner == null) {
+                // Not remembered: creating an owner does not bump any version
+                return null;
+            }
+            AvailabilityWindows windows = AvailabilityWindows.of(availabilityRepo.findByOwner(owner));
+            int occupied = 0;
+            for (Appointment appt : appointmentRepo.findByOwnerAndDate(owner, key.date())) {
+                occupied |= SlotBitmaps.bit(appt.getStartTime());
+            }
+            view = new DayView(owner, windows, occupied);
+            views.put(key, view);
+            return view;
+        }
+
+        private void applyInvalidations() {
+            DayKey key;
+            while ((key = invalidations.poll()) != null) {
+                if (key.date() != null) {
+                    views.remove(key);
+                } else {
+                    String username = key.username();
+                    views.keySet().removeIf(k -> k.username().equals(username));
+                }
+            }
+        }
+    }
+}
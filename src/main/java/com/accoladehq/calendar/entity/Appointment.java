@@ -9,8 +9,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.Data;
@@ -31,18 +33,31 @@ import lombok.Data;
  * <ul>
  *   <li>{@code owner_id + date + start_time} must be unique to prevent booking conflicts.</li>
  * </ul>
+ * <p>
+ * Past appointments are moved to {@link ArchivedAppointment} once they are older
+ * than the retention period; the index on {@code date} lets the archiver find them
+ * without scanning the table.
+ * </p>
  */
 @Data
 @Entity
 @Table(
     name = "appointment",
-    uniqueConstraints = @UniqueConstraint(columnNames = {"owner_id", "date", "start_time"})
+    uniqueConstraints = @UniqueConstraint(columnNames = {"owner_id", "date", "start_time"}),
+    indexes = @Index(name = "idx_appointment_date", columnList = "date")
 )
 public class Appointment {
 
-    /** Primary key ID for the appointment. */
+    /**
+     * Primary key ID for the appointment.
+     * <p>
+     * Uses a pooled sequence rather than an identity column so that Hibernate can
+     * group several inserts into one JDBC batch (e.g. recurring series).
+     * </p>
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+    @SequenceGenerator(name = "appointment_seq", sequenceName = "appointment_seq", allocationSize = 50)
     private Long id;
 
     /** The calendar owner for whom this appointment is booked. */
@@ -0,0 +1,60 @@
+package com.accoladehq.calendar.entity;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Entity representing a past appointment moved out of the live {@link Appointment} table.
+ * <p>
+ * Rows are moved here by {@link com.accoladehq.calendar.archive.AppointmentArchiver}
+ * once their date is older than the retention period, so that queries on the live
+ * table only ever see recent and upcoming appointments. An archived appointment
+ * keeps the id it had while live, and can no longer be cancelled or rescheduled.
+ * </p>
+ */
+@Data
+@Entity
+@Table(
+    name = "appointment_archive",
+    indexes = @Index(name = "idx_appointment_archive_owner_date", columnList = "owner_id, date")
+)
+public class ArchivedAppointment {
+
+    /** The id the appointment had in the live table. */
+    @Id
+    private Long id;
+
+    /** The calendar owner the appointment was booked for. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id", nullable = false)
+    private CalendarOwner owner;
+
+    /** The date of the appointment. */
+    @Column(nullable = false)
+    private LocalDate date;
+
+    /** Start time of the 60-minute slot. */
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    /** End time of the 60-minute slot. */
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    /** Name of the person who booked the appointment. */
+    @Column(nullable = false)
+    private String inviteeName;
+
+    /** Optional email of the invitee. */
+    private String inviteeEmail;
+}
@@ -2,6 +2,10 @@ package com.accoladehq.calendar.entity;
 
 import java.time.LocalTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -26,10 +30,15 @@ import lombok.Data;
  * <p>
  * All appointments must fall within the defined time range.
  * </p>
+ * <p>
+ * Rules are cached in the {@code availability-rules} second-level cache region.
+ * </p>
  */
 @Data
 @Entity
 @Table(name = "availability_rule")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "availability-rules")
 public class AvailabilityRule {
 
     /** Primary key ID for the availability rule. */
@@ -1,5 +1,9 @@
 package com.accoladehq.calendar.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -19,10 +23,16 @@ import lombok.Data;
  *   <li><strong>username</strong> – unique identifier (e.g., email or system username).</li>
  *   <li><strong>displayName</strong> – optional, more user-friendly name.</li>
  * </ul>
+ * <p>
+ * Owners are read on every request and rarely change, so they are kept in the
+ * {@code owners} second-level cache region.
+ * </p>
  */
 @Data
 @Entity
 @Table(name = "calendar_owner")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "owners")
 public class CalendarOwner {
 
     /** Primary key for the calendar owner. */
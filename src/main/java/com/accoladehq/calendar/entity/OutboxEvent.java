@@ -0,0 +1,70 @@
+package com.accoladehq.calendar.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * Entity representing a domain event waiting to be published to downstream systems.
+ * <p>
+ * Rows are written in the same transaction as the change they describe
+ * (transactional outbox), so an event exists if and only if its change committed.
+ * The outbox relay publishes unpublished rows in {@link #ownerSequence} order per
+ * owner partition and then stamps {@link #publishedAt}.
+ * </p>
+ */
+@Data
+@Entity
+@Table(
+    name = "outbox_event",
+    indexes = @Index(name = "idx_outbox_pending", columnList = "partition_key, published_at, owner_sequence"),
+    uniqueConstraints = @UniqueConstraint(name = "uk_outbox_owner_sequence", columnNames = {"owner_username", "owner_sequence"})
+)
+public class OutboxEvent {
+
+    /**
+     * Primary key. Ids are handed out in blocks when rows are persisted, not when
+     * they commit, so they do not give the order of an owner's events.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    /** Username of the owner the event belongs to; events of one owner are published in order. */
+    @Column(name = "owner_username", nullable = false)
+    private String ownerUsername;
+
+    /** Position among the owner's events, without gaps, in commit order; the publication order within an owner. */
+    @Column(name = "owner_sequence", nullable = false)
+    private long ownerSequence;
+
+    /** Relay partition of the owner, derived from the username hash. */
+    @Column(name = "partition_key", nullable = false)
+    private int partitionKey;
+
+    /** Event type, e.g. {@code APPOINTMENT_BOOKED}. */
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    /** JSON payload of the event. */
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    /** When the event was written. */
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /** When the event was published, or {@code null} while pending. */
+    @Column(name = "published_at")
+    private Instant publishedAt;
+}
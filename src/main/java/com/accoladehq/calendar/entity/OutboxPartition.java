@@ -0,0 +1,25 @@
+package com.accoladehq.calendar.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Entity representing one partition of the outbox.
+ * <p>
+ * A relay worker claims a partition by locking its row with
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED}; workers on this or other nodes skip
+ * partitions that are already being drained, so the events of an owner are never
+ * published by two workers at once.
+ * </p>
+ */
+@Data
+@Entity
+@Table(name = "outbox_partition")
+public class OutboxPartition {
+
+    /** Partition number, {@code 0 .. partitions - 1}. */
+    @Id
+    private Integer id;
+}
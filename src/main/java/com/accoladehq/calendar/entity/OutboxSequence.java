@@ -0,0 +1,29 @@
+package com.accoladehq.calendar.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Entity holding the last outbox sequence number handed out for one owner.
+ * <p>
+ * {@link com.accoladehq.calendar.outbox.OutboxWriter} increments it with plain SQL
+ * in the transaction that writes the event. The row stays locked until that
+ * transaction ends, so an owner's events are numbered in commit order.
+ * </p>
+ */
+@Data
+@Entity
+@Table(name = "outbox_sequence")
+public class OutboxSequence {
+
+    /** Username of the owner the sequence is for. */
+    @Id
+    private String username;
+
+    /** The last sequence number handed out; the first event gets 1. */
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+}
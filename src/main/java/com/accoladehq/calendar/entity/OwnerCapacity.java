@@ -0,0 +1,54 @@
+package com.accoladehq.calendar.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing how many slots an owner offers per day from a date on.
+ * <p>
+ * A row is written whenever an owner's availability rules change, effective from
+ * the day of the change, and holds until the next row. Together they give the
+ * capacity of any day without regenerating slots from the rules.
+ * </p>
+ */
+@Data
+@Entity
+@IdClass(OwnerCapacity.Key.class)
+@Table(name = "owner_capacity")
+public class OwnerCapacity {
+
+    /**
+     * Composite primary key: owner and first effective date.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private Long ownerId;
+
+        private LocalDate effectiveFrom;
+    }
+
+    /** The calendar owner's id. */
+    @Id
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    /** The first date the capacity applies to. */
+    @Id
+    private LocalDate effectiveFrom;
+
+    /** Bookable one-hour slots per day. */
+    @Column(nullable = false)
+    private int slotsPerDay;
+}
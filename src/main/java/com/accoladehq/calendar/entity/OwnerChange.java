@@ -0,0 +1,47 @@
+package com.accoladehq.calendar.entity;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Entity representing one change to an owner, announced to the other nodes of a cluster.
+ * <p>
+ * Rows are inserted by {@link com.accoladehq.calendar.cluster.ChangeLogWriter} in
+ * the transaction making the change, and read in ID order by every node's
+ * {@link com.accoladehq.calendar.cluster.ChangeLogPoller}, which invalidates what it
+ * caches of that owner and date. They are purged after a short retention.
+ * </p>
+ */
+@Data
+@Entity
+@Table(name = "owner_change_log")
+public class OwnerChange {
+
+    /** Primary key, assigned by the database; also the order nodes read changes in. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** The node that made the change and has already applied it. */
+    @Column(name = "node_id", nullable = false, length = 64)
+    private String nodeId;
+
+    /** Username of the changed owner. */
+    @Column(nullable = false)
+    private String username;
+
+    /** The changed date, or {@code null} if the owner itself or every date changed. */
+    private LocalDate date;
+
+    /** When the change was written. */
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,55 @@
+package com.accoladehq.calendar.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing the number of appointments an owner has on one date.
+ * <p>
+ * Rows are maintained incrementally by
+ * {@link com.accoladehq.calendar.utilization.UtilizationRollup} in the transaction
+ * that books, cancels or moves an appointment, so utilization reports read one
+ * row per day instead of counting appointments.
+ * </p>
+ */
+@Data
+@Entity
+@IdClass(OwnerDayStats.Key.class)
+@Table(name = "owner_day_stats")
+public class OwnerDayStats {
+
+    /**
+     * Composite primary key: owner and date.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private Long ownerId;
+
+        private LocalDate date;
+    }
+
+    /** The calendar owner's id. */
+    @Id
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    /** The date counted. */
+    @Id
+    private LocalDate date;
+
+    /** Appointments booked on the date. */
+    @Column(nullable = false)
+    private int booked;
+}
@@ -0,0 +1,41 @@
+package com.accoladehq.calendar.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Entity representing the booking lease of one owner, held by at most one node of
+ * a cluster at a time.
+ * <p>
+ * Rows are created, taken over and released with plain SQL by
+ * {@link com.accoladehq.calendar.cluster.OwnerLeases}. Every acquisition increments
+ * {@link #token}, which booking transactions check to fence off a node whose lease
+ * has expired and been taken over.
+ * </p>
+ */
+@Data
+@Entity
+@Table(name = "owner_lease")
+public class OwnerLease {
+
+    /** Username of the owner the lease is for. */
+    @Id
+    private String username;
+
+    /** The node holding or last holding the lease. */
+    @Column(nullable = false, length = 64)
+    private String holder;
+
+    /** Fencing token; increases with every acquisition. */
+    @Column(nullable = false)
+    private long token;
+
+    /** When the lease lapses, by the database clock; in the past once released. */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,62 @@
+package com.accoladehq.calendar.event;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.accoladehq.calendar.entity.Appointment;
+
+/**
+ * Application event describing a change to a single appointment.
+ * <p>
+ * Published by {@link BookingEventRecorder} inside the booking transaction and
+ * consumed by listeners after commit. The event carries plain values only, so it
+ * stays usable after the persistence context that produced it has closed.
+ * </p>
+ *
+ * @param type              what happened to the appointment
+ * @param appointmentId     the appointment ID
+ * @param username          the owner's username
+ * @param date              the (new) date of the appointment
+ * @param startTime         the (new) start time of the appointment
+ * @param previousDate      the date before a reschedule, otherwise {@code null}
+ * @param previousStartTime the start time before a reschedule, otherwise {@code null}
+ * @param inviteeName       the invitee's name
+ * @param inviteeEmail      the invitee's email, may be {@code null}
+ */
+public record AppointmentEvent(
+        Type type,
+        Long appointmentId,
+        String username,
+        LocalDate date,
+        LocalTime startTime,
+        LocalDate previousDate,
+        LocalTime previousStartTime,
+        String inviteeName,
+        String inviteeEmail) {
+
+    /**
+     * Kind of appointment change.
+     */
+    public enum Type {
+        /** A new appointment was booked. */
+        BOOKED,
+        /** An appointment was cancelled. */
+        CANCELLED,
+        /** An appointment was moved to a different slot. */
+        RESCHEDULED
+    }
+
+    /**
+     * Creates an event from an appointment's current state.
+     *
+     * @param type              the kind of change
+     * @param appt              the appointment
+     * @param previousDate      the date before a reschedule, or {@code null}
+     * @param previousStartTime the start time before a reschedule, or {@code null}
+     * @return the event
+     */
+    public static AppointmentEvent of(Type type, Appointment appt, LocalDate previousDate, LocalTime previousStartTime) {
+        return new AppointmentEvent(type, appt.getId(), appt.getOwner().getUsername(), appt.getDate(),
+                appt.getStartTime(), previousDate, previousStartTime, appt.getInviteeName(), appt.getInviteeEmail());
+    }
+}
@@ -0,0 +1,22 @@
+package com.accoladehq.calendar.event;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Application event describing an owner's new set of availability windows.
+ *
+ * @param username the owner's username
+ * @param windows  the owner's availability windows after the change
+ */
+public record AvailabilityChangedEvent(String username, List<Window> windows) {
+
+    /**
+     * A daily availability window.
+     *
+     * @param start start time (inclusive)
+     * @param end   end time (exclusive)
+     */
+    public record Window(LocalTime start, LocalTime end) {
+    }
+}
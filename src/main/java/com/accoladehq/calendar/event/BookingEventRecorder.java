@@ -0,0 +1,199 @@
+package com.accoladehq.calendar.event;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.accoladehq.calendar.cluster.ChangeLogWriter;
+import com.accoladehq.calendar.entity.Appointment;
+import com.accoladehq.calendar.entity.AvailabilityRule;
+import com.accoladehq.calendar.entity.CalendarOwner;
+import com.accoladehq.calendar.journal.BookingJournal;
+import com.accoladehq.calendar.journal.JournalRecord;
+import com.accoladehq.calendar.outbox.OutboxWriter;
+import com.accoladehq.calendar.utilization.UtilizationRollup;
+import com.accoladehq.calendar.version.OwnerDateVersions;
+
+/**
+ * Single place where booking writes announce their side effects.
+ * <p>
+ * Called from inside the writing transaction, it:
+ * </p>
+ * <ul>
+ *   <li>bumps the affected {@link OwnerDateVersions}, applied after commit;</li>
+ *   <li>appends an outbox row for downstream systems, committed with the change;</li>
+ *   <li>publishes an application event for after-commit listeners such as invitee
+ *       notifications;</li>
+ *   <li>records the change in the {@link BookingJournal};</li>
+ *   <li>updates the {@link UtilizationRollup} counters, committed with the change;</li>
+ *   <li>in cluster mode, announces the change to the other nodes through the
+ *       {@link ChangeLogWriter}, committed with the change.</li>
+ * </ul>
+ * <p>
+ * Keeping this in one component means every write path (single, recurring,
+ * import, cancel, reschedule, archival) produces the same side effects.
+ * </p>
+ */
+@Component
+public class BookingEventRecorder {
+
+    private final OwnerDateVersions versions;
+
+    private final ApplicationEventPublisher publisher;
+
+    private final OutboxWriter outbox;
+
+    private final BookingJournal journal;
+
+    private final UtilizationRollup utilization;
+
+    private final ChangeLogWriter changeLog;
+
+    /**
+     * Creates a recorder.
+     *
+     * @param versions    the version tracker to bump
+     * @param publisher   the publisher for application events
+     * @param outbox      the transactional outbox
+     * @param journal     the write-ahead journal
+     * @param utilization the per-day utilization counters
+     * @param changeLog   the cluster change log
+     */
+    public BookingEventRecorder(OwnerDateVersions versions, ApplicationEventPublisher publisher, OutboxWriter outbox,
+                                BookingJournal journal, UtilizationRollup utilization, ChangeLogWriter changeLog) {
+        this.versions = versions;
+        this.publisher = publisher;
+        this.outbox = outbox;
+        this.journal = journal;
+        this.utilization = utilization;
+        this.changeLog = changeLog;
+    }
+
+    /**
+     * Records a newly created owner.
+     *
+     * @param owner the saved owner
+     */
+    public void ownerCreated(CalendarOwner owner) {
+        // Other nodes may have cached that the username does not exist
+        changeLog.append(owner.getUsername(), null);
+        journal.append(new JournalRecord.OwnerCreated(owner.getUsername(), owner.getDisplayName()));
+    }
+
+    /**
+     * Records a newly booked appointment.
+     *
+     * @param appt the saved appointment
+     */
+    public void booked(Appointment appt) {
+        dateChanged(appt.getOwner().getUsername(), appt.getDate());
+        utilization.adjustBooked(appt.getOwner().getId(), appt.getDate(), 1);
+        journal.append(new JournalRecord.Booked(idOf(appt), appt.getOwner().getUsername(), appt.getDate(),
+                appt.getStartTime(), appt.getEndTime(), appt.getInviteeName(), appt.getInviteeEmail()));
+        publish(AppointmentEvent.of(AppointmentEvent.Type.BOOKED, appt, null, null));
+    }
+
+    /**
+     * Records an appointment imported from another calendar. Same as
+     * {@link #booked(Appointment)}, except that no application event is published,
+     * so invitees of migrated appointments are not notified again.
+     *
+     * @param appt the saved appointment
+     */
+    public void imported(Appointment appt) {
+        dateChanged(appt.getOwner().getUsername(), appt.getDate());
+        utilization.adjustBooked(appt.getOwner().getId(), appt.getDate(), 1);
+        journal.append(new JournalRecord.Booked(idOf(appt), appt.getOwner().getUsername(), appt.getDate(),
+                appt.getStartTime(), appt.getEndTime(), appt.getInviteeName(), appt.getInviteeEmail()));
+        AppointmentEvent event = AppointmentEvent.of(AppointmentEvent.Type.BOOKED, appt, null, null);
+        outbox.append(event.username(), "APPOINTMENT_" + event.type(), event);
+    }
+
+    /**
+     * Records a cancelled appointment.
+     *
+     * @param appt the deleted appointment
+     */
+    public void cancelled(Appointment appt) {
+        dateChanged(appt.getOwner().getUsername(), appt.getDate());
+        utilization.adjustBooked(appt.getOwner().getId(), appt.getDate(), -1);
+        journal.append(new JournalRecord.Cancelled(appt.getOwner().getUsername(), appt.getDate(), appt.getStartTime()));
+        publish(AppointmentEvent.of(AppointmentEvent.Type.CANCELLED, appt, null, null));
+    }
+
+    /**
+     * Records an appointment moved from one slot to another.
+     *
+     * @param appt      the appointment in its new slot
+     * @param oldDate   the date it was moved from
+     * @param oldStart  the start time it was moved from
+     */
+    public void rescheduled(Appointment appt, LocalDate oldDate, LocalTime oldStart) {
+        String username = appt.getOwner().getUsername();
+        dateChanged(username, oldDate);
+        if (!oldDate.equals(appt.getDate())) {
+            dateChanged(username, appt.getDate());
+            utilization.adjustBooked(appt.getOwner().getId(), oldDate, -1);
+            utilization.adjustBooked(appt.getOwner().getId(), appt.getDate(), 1);
+        }
+        journal.append(new JournalRecord.Rescheduled(idOf(appt), username, oldDate, oldStart, appt.getDate(),
+                appt.getStartTime(), appt.getEndTime()));
+        publish(AppointmentEvent.of(AppointmentEvent.Type.RESCHEDULED, appt, oldDate, oldStart));
+    }
+
+    /**
+     * Records a past appointment moved to the archive. The appointment still
+     * happened, so the utilization counters keep it, and neither an outbox row nor
+     * an application event is produced.
+     *
+     * @param username the owner's username
+     * @param date     the appointment date
+     * @param start    the start time
+     */
+    public void archived(String username, LocalDate date, LocalTime start) {
+        dateChanged(username, date);
+        journal.append(new JournalRecord.Archived(username, date, start));
+    }
+
+    /**
+     * Records a change to an owner's availability rules.
+     *
+     * @param username the owner's username
+     * @param rules    the owner's rules after the change
+     */
+    public void availabilityChanged(String username, List<AvailabilityRule> rules) {
+        ownerChanged(username);
+        utilization.availabilityChanged(username, rules);
+        AvailabilityChangedEvent event = new AvailabilityChangedEvent(username, rules.stream()
+                .map(r -> new AvailabilityChangedEvent.Window(r.getStartTime(), r.getEndTime()))
+                .toList());
+        journal.append(new JournalRecord.AvailabilitySet(username, event.windows().stream()
+                .map(w -> new JournalRecord.Window(w.start(), w.end()))
+                .toList()));
+        outbox.append(username, "AVAILABILITY_CHANGED", event);
+        publisher.publishEvent(event);
+    }
+
+    private void dateChanged(String username, LocalDate date) {
+        versions.bumpDate(username, date);
+        changeLog.append(username, date);
+    }
+
+    private void ownerChanged(String username) {
+        versions.bumpOwner(username);
+        changeLog.append(username, null);
+    }
+
+    private void publish(AppointmentEvent event) {
+        outbox.append(event.username(), "APPOINTMENT_" + event.type(), event);
+        publisher.publishEvent(event);
+    }
+
+    /** The id journaled for an appointment; 0 only for entities that were never persisted. */
+    private static long idOf(Appointment appt) {
+        return appt.getId() == null ? 0 : appt.getId();
+    }
+}
@@ -0,0 +1,24 @@
+package com.accoladehq.calendar.ics;
+
+/**
+ * The properties of one {@code VEVENT} that matter for an import, as read from
+ * the file. Values are unescaped but otherwise not interpreted; see
+ * {@link IcsEventReader#toLocal} for date-times.
+ *
+ * @param line         the line number of the event's {@code BEGIN:VEVENT}
+ * @param uid          the {@code UID}, may be {@code null}
+ * @param start        the {@code DTSTART} value
+ * @param startTzid    the {@code TZID} parameter of {@code DTSTART}, may be {@code null}
+ * @param end          the {@code DTEND} value, may be {@code null}
+ * @param endTzid      the {@code TZID} parameter of {@code DTEND}, may be {@code null}
+ * @param duration     the {@code DURATION} value, may be {@code null}
+ * @param summary      the {@code SUMMARY}, may be {@code null}
+ * @param attendeeName the {@code CN} parameter of the first {@code ATTENDEE}, may be {@code null}
+ * @param attendeeMail the address of the first {@code ATTENDEE} without {@code mailto:}, may be {@code null}
+ * @param status       the {@code STATUS}, may be {@code null}
+ * @param recurring    whether the event has an {@code RRULE} or {@code RDATE}
+ */
+public record IcsEvent(long line, String uid, String start, String startTzid, String end, String endTzid,
+                       String duration, String summary, String attendeeName, String attendeeMail, String status,
+                       boolean recurring) {
+}
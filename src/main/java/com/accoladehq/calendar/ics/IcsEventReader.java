@@ -0,0 +1,317 @@
+package com.accoladehq.calendar.ics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads the {@code VEVENT}s of an iCalendar (RFC 5545) stream one at a time.
+ * <p>
+ * Lines are unfolded as they are read and only the current event's properties
+ * are held, so memory does not grow with the size of the file. Components nested
+ * in an event (e.g. {@code VALARM}) and everything outside events (e.g.
+ * {@code VTIMEZONE}) are skipped. Parsing is lenient: lines that are not
+ * {@code name:value} are ignored, and an event cut off by the end of the stream
+ * is dropped.
+ * </p>
+ */
+public final class IcsEventReader implements Closeable {
+
+    /** Longest physical or unfolded line accepted, so a broken file cannot exhaust memory. */
+    static final int MAX_LINE_LENGTH = 1 << 20;
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final Reader in;
+
+    /** Characters read from {@link #in} but not yet consumed. */
+    private final char[] buffer = new char[8192];
+
+    private int position;
+
+    private int limit;
+
+    /** Collects the current physical line. */
+    private final StringBuilder physical = new StringBuilder(256);
+
+    /** The physical line read ahead to detect folding, or {@code null}. */
+    private String lookahead;
+
+    /** Number of physical lines read so far. */
+    private long lineNumber;
+
+    /** Line number of the last logical line returned by {@link #readLine()}. */
+    private long logicalLine;
+
+    /**
+     * Creates a reader.
+     *
+     * @param reader the iCalendar text
+     */
+    public IcsEventReader(Reader reader) {
+        this.in = reader;
+    }
+
+    /**
+     * Reads the next event.
+     *
+     * @return the next event, or {@code null} at the end of the stream
+     * @throws IOException if reading fails or a line is too long
+     */
+    public IcsEvent next() throws IOException {
+        String line;
+        while ((line = readLine()) != null) {
+            if (line.equalsIgnoreCase("BEGIN:VEVENT")) {
+                IcsEvent event = readEvent(logicalLine);
+                if (event != null) {
+                    return event;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of lines read so far.
+     *
+     * @return the physical line count
+     */
+    public long linesRead() {
+        return lineNumber;
+    }
+
+    /**
+     * Converts a {@code DATE-TIME} value to local time in the given zone.
+     * <p>
+     * UTC values ({@code Z} suffix) and values with a {@code TZID} are converted;
+     * floating values are taken as they are.
+     * </p>
+     *
+     * @param value the property value, e.g. {@code 20250815T100000Z}
+     * @param tzid  the {@code TZID} parameter, may be {@code null}
+     * @param zone  the zone to convert to
+     * @return the local date-time, or {@code null} for a {@code DATE} (all-day) value
+     * @throws DateTimeException if the value or time zone is invalid
+     */
+    public static LocalDateTime toLocal(String value, String tzid, ZoneId zone) {
+        if (value.length() == 8) {
+            return null;
+        }
+        try {
+            if (value.endsWith("Z") || value.endsWith("z")) {
+                return LocalDateTime.parse(value.substring(0, value.length() - 1), DATE_TIME)
+                        .atOffset(ZoneOffset.UTC).atZoneSameInstant(zone).toLocalDateTime();
+            }
+            LocalDateTime local = LocalDateTime.parse(value, DATE_TIME);
+            return tzid == null ? local : local.atZone(ZoneId.of(tzid)).withZoneSameInstant(zone).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            throw new DateTimeException("Invalid date-time: " + value, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private IcsEvent readEvent(long beginLine) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        String startTzid = null;
+        String endTzid = null;
+        String attendeeName = null;
+        boolean recurring = false;
+        int nested = 0;
+        String line;
+        while ((line = readLine()) != null) {
+            int colon = valueStart(line);
+            if (colon < 0) {
+                continue;
+            }
+            int semicolon = line.indexOf(';');
+            String name = line.substring(0, semicolon >= 0 && semicolon < colon ? semicolon : colon).toUpperCase();
+            String value = line.substring(colon + 1);
+            if (name.equals("BEGIN")) {
+                nested++;
+                continue;
+            }
+            if (name.equals("END")) {
+                if (nested == 0) {
+                    return value.equalsIgnoreCase("VEVENT")
+                            ? new IcsEvent(beginLine, values.get("UID"), values.get("DTSTART"), startTzid,
+                                    values.get("DTEND"), endTzid, values.get("DURATION"), values.get("SUMMARY"),
+                                    attendeeName, values.get("ATTENDEE"), values.get("STATUS"), recurring)
+                            : null;
+                }
+                nested--;
+                continue;
+            }
+            if (nested > 0) {
+                continue;
+            }
+            switch (name) {
+                case "UID", "DURATION", "STATUS" -> values.putIfAbsent(name, value.trim());
+                case "SUMMARY" -> values.putIfAbsent(name, unescape(value));
+                case "DTSTART" -> {
+                    values.put(name, value.trim());
+                    startTzid = param(line, colon, "TZID");
+                }
+                case "DTEND" -> {
+                    values.put(name, value.trim());
+                    endTzid = param(line, colon, "TZID");
+                }
+                case "ATTENDEE" -> {
+                    if (!values.containsKey(name)) {
+                        String address = value.trim();
+                        values.put(name, address.regionMatches(true, 0, "mailto:", 0, 7) ? address.substring(7) : address);
+                        attendeeName = param(line, colon, "CN");
+                    }
+                }
+                case "RRULE", "RDATE" -> recurring = true;
+                default -> {
+                    // Not needed for an import
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the next unfolded line: continuation lines start with a space or tab.
+     */
+    private String readLine() throws IOException {
+        String line = lookahead != null ? lookahead : readPhysical();
+        lookahead = null;
+        if (line == null) {
+            return null;
+        }
+        logicalLine = lineNumber;
+        StringBuilder unfolded = null;
+        String next;
+        while ((next = readPhysical()) != null && !next.isEmpty() && (next.charAt(0) == ' ' || next.charAt(0) == '\t')) {
+            if (unfolded == null) {
+                unfolded = new StringBuilder(line);
+            }
+            unfolded.append(next, 1, next.length());
+            if (unfolded.length() > MAX_LINE_LENGTH) {
+                throw new IOException("Line " + logicalLine + " is longer than " + MAX_LINE_LENGTH + " characters");
+            }
+        }
+        lookahead = next;
+        return unfolded == null ? line : unfolded.toString();
+    }
+
+    /**
+     * Reads the next physical line, ended by CRLF, LF or CR, without holding more
+     * than {@value #MAX_LINE_LENGTH} characters of it.
+     */
+    private String readPhysical() throws IOException {
+        physical.setLength(0);
+        while (true) {
+            if (position == limit && !fill()) {
+                if (physical.isEmpty()) {
+                    return null;
+                }
+                break;
+            }
+            char c = buffer[position++];
+            if (c == '\n') {
+                break;
+            }
+            if (c == '\r') {
+                if ((position < limit || fill()) && buffer[position] == '\n') {
+                    position++;
+                }
+                break;
+            }
+            if (physical.length() == MAX_LINE_LENGTH) {
+                throw new IOException("Line " + (lineNumber + 1) + " is longer than " + MAX_LINE_LENGTH + " characters");
+            }
+            physical.append(c);
+        }
+        lineNumber++;
+        return physical.toString();
+    }
+
+    /** Refills the buffer; returns {@code false} at the end of the stream. */
+    private boolean fill() throws IOException {
+        int n;
+        do {
+            n = in.read(buffer, 0, buffer.length);
+        } while (n == 0);
+        if (n < 0) {
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+
+    /**
+     * Returns the index of the colon that separates name and parameters from the
+     * value, skipping colons in quoted parameter values, or -1 if there is none.
+     */
+    private static int valueStart(String line) {
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ':' && !quoted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a parameter of a content line, without quotes, or {@code null}.
+     */
+    private static String param(String line, int colon, String name) {
+        int i = line.indexOf(';');
+        while (i >= 0 && i < colon) {
+            int end = i + 1;
+            boolean quoted = false;
+            while (end < colon && (quoted || line.charAt(end) != ';')) {
+                if (line.charAt(end) == '"') {
+                    quoted = !quoted;
+                }
+                end++;
+            }
+            String param = line.substring(i + 1, end);
+            int eq = param.indexOf('=');
+            if (eq > 0 && param.substring(0, eq).equalsIgnoreCase(name)) {
+                String value = param.substring(eq + 1);
+                return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")
+                        ? value.substring(1, value.length() - 1)
+                        : value;
+            }
+            i = end < colon ? end : -1;
+        }
+        return null;
+    }
+
+    private static String unescape(String text) {
+        if (text.indexOf('\\') < 0) {
+            return text;
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char n = text.charAt(++i);
+                sb.append(n == 'n' || n == 'N' ? '\n' : n);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
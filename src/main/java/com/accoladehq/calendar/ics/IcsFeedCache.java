@@ -0,0 +1,315 @@
+package com.accoladehq.calendar.ics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.accoladehq.calendar.entity.CalendarOwner;
+import com.accoladehq.calendar.repository.AppointmentRepository;
+import com.accoladehq.calendar.repository.AppointmentRow;
+import com.accoladehq.calendar.repository.CalendarOwnerRepository;
+import com.accoladehq.calendar.version.OwnerDateVersions;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Per-owner iCalendar feeds, cached as pre-rendered bytes.
+ * <p>
+ * A feed's {@link Version} comes from {@link OwnerDateVersions#latestStamp} and
+ * today's date, without touching the database, so a poll carrying the current
+ * {@code ETag} or {@code Last-Modified} can be answered with {@code 304 Not
+ * Modified} after only the query-cached {@link #exists} check. The date is part
+ * of the version because the feed covers a window that moves forward at midnight.
+ * </p>
+ * <p>
+ * On a miss the feed is streamed from {@link AppointmentRepository#streamOwnerRows}
+ * to the response and copied into the cache on the way. Feeds larger than the
+ * per-feed limit are not cached and are streamed again on every miss. Version
+ * changes evict the owner's entry straight away, and an entry is only served
+ * while its version is still current.
+ * </p>
+ * <p>
+ * The cache is bounded by the total size of the cached feeds and exports
+ * {@code cache.*{cache=icsFeed}} metrics.
+ * </p>
+ */
+@Component
+public class IcsFeedCache {
+
+    /** Cache name used in metric tags. */
+    public static final String NAME = "icsFeed";
+
+    /**
+     * Validators of a feed.
+     *
+     * @param stamp        the owner's latest version stamp
+     * @param day          the date the feed's window is counted back from
+     * @param etag         strong entity tag, unique across restarts
+     * @param lastModified when the feed last changed, to the second
+     */
+    public record Version(long stamp, LocalDate day, String etag, Instant lastModified) {
+    }
+
+    private record Entry(long stamp, LocalDate day, byte[] bytes) {
+    }
+
+    private final CalendarOwnerRepository ownerRepo;
+
+    private final AppointmentRepository appointmentRepo;
+
+    private final OwnerDateVersions versions;
+
+    private final TransactionTemplate readOnlyTx;
+
+    private final Clock clock;
+
+    private final int pastDays;
+
+    private final int maxFeedBytes;
+
+    private final String refreshInterval;
+
+    private final Cache<String, Entry> cache;
+
+    /** Distinguishes entity tags issued before and after a restart, as stamps restart at zero. */
+    private final String bootId;
+
+    private final Instant startedAt;
+
+    /** When each owner last changed, strictly increasing per owner. */
+    private final ConcurrentMap<String, Instant> changedAt = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the feed cache on the system clock.
+     *
+     * @param ownerRepo          the owner repository
+     * @param appointmentRepo    the appointment repository
+     * @param versions           the owner/date versions used to validate entries
+     * @param transactionManager the transaction manager
+     * @param registry           the registry receiving cache metrics
+     * @param pastDays           days before today still included in a feed
+     * @param maxWeight          the maximum number of bytes held across all feeds
+     * @param maxFeedBytes       the largest feed that is cached
+     * @param refreshMinutes     how often subscribers are asked to poll
+     */
+    @Autowired
+    public IcsFeedCache(CalendarOwnerRepository ownerRepo, AppointmentRepository appointmentRepo,
+                        OwnerDateVersions versions, PlatformTransactionManager transactionManager,
+                        MeterRegistry registry,
+                        @Value("${calendar.feed.past-days:30}") int pastDays,
+                        @Value("${calendar.feed.cache-max-bytes:67108864}") long maxWeight,
+                        @Value("${calendar.feed.max-feed-bytes:4194304}") int maxFeedBytes,
+                        @Value("${calendar.feed.refresh-minutes:5}") int refreshMinutes) {
+        this(ownerRepo, appointmentRepo, versions, transactionManager, registry, pastDays, maxWeight, maxFeedBytes,
+                refreshMinutes, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates the feed cache on the given clock.
+     *
+     * @param ownerRepo          the owner repository
+     * @param appointmentRepo    the appointment repository
+     * @param versions           the owner/date versions used to validate entries
+     * @param transactionManager the transaction manager
+     * @param registry           the registry receiving cache metrics
+     * @param pastDays           days before today still included in a feed
+     * @param maxWeight          the maximum number of bytes held across all feeds
+     * @param maxFeedBytes       the largest feed that is cached
+     * @param refreshMinutes     how often subscribers are asked to poll
+     * @param clock              wall clock for the feed window and modification times
+     */
+    public IcsFeedCache(CalendarOwnerRepository ownerRepo, AppointmentRepository appointmentRepo,
+                        OwnerDateVersions versions, PlatformTransactionManager transactionManager,
+                        MeterRegistry registry, int pastDays, long maxWeight, int maxFeedBytes,
+                        int refreshMinutes, Clock clock) {
+        this.ownerRepo = ownerRepo;
+        this.appointmentRepo = appointmentRepo;
+        this.versions = versions;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.clock = clock;
+        this.pastDays = pastDays;
+        this.maxFeedBytes = maxFeedBytes;
+        this.refreshInterval = "PT" + refreshMinutes + "M";
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((String k, Entry e) -> e.bytes().length + k.length())
+                .recordStats()
+                .build();
+        this.startedAt = clock.instant().truncatedTo(ChronoUnit.SECONDS);
+        this.bootId = Long.toString(clock.millis(), 36);
+        CaffeineCacheMetrics.monitor(registry, cache, NAME);
+        versions.addListener(this::changed);
+    }
+
+    /**
+     * Returns the current validators of an owner's feed. Does not touch the database.
+     *
+     * @param username the owner's username
+     * @return the feed's version
+     */
+    public Version version(String username) {
+        long stamp = versions.latestStamp(username);
+        LocalDate today = LocalDate.now(clock);
+        Instant lastModified = changedAt.getOrDefault(username, startedAt);
+        Instant midnight = today.atStartOfDay(clock.getZone()).toInstant();
+        if (lastModified.isBefore(midnight)) {
+            lastModified = midnight;
+        }
+        String etag = "\"" + bootId + "-" + stamp + "-" + today.toEpochDay() + "\"";
+        return new Version(stamp, today, etag, lastModified);
+    }
+
+    /**
+     * Returns the cached bytes of a feed if they are still at the given version.
+     *
+     * @param username the owner's username
+     * @param version  the version from {@link #version}
+     * @return the feed, or {@code null} on a miss; the array is shared and must not be modified
+     */
+    public byte[] cached(String username, Version version) {
+        Entry entry = cache.getIfPresent(username);
+        if (entry == null || entry.stamp() != version.stamp() || !entry.day().equals(version.day())) {
+            return null;
+        }
+        return entry.bytes();
+    }
+
+    /**
+     * Tells whether an owner exists. Check this before {@link #version}, which
+     * gives unknown owners a version too.
+     *
+     * @param username the owner's username
+     * @return {@code true} if there is an owner with that username
+     */
+    public boolean exists(String username) {
+        return ownerRepo.findByUsername(username).isPresent();
+    }
+
+    /**
+     * Streams an owner's feed from the database to a stream, caching it if it
+     * is small enough.
+     *
+     * @param username the owner's username
+     * @param version  the version from {@link #version}, taken before rendering
+     * @param out      receives the feed; not closed
+     * @return {@code false} if the owner does not exist, in which case nothing is written
+     * @throws IOException if the stream cannot be written
+     */
+    public boolean render(String username, Version version, OutputStream out) throws IOException {
+        CappedCopy copy = new CappedCopy(out, maxFeedBytes);
+        ZoneId zone = clock.getZone();
+        Boolean found;
+        try {
+            found = readOnlyTx.execute(status -> {
+                CalendarOwner owner = ownerRepo.findByUsername(username).orElse(null);
+                if (owner == null) {
+                    return false;
+                }
+                IcsFeedWriter writer = new IcsFeedWriter(copy, zone, clock.instant(), refreshInterval);
+                try (Stream<AppointmentRow> rows = appointmentRepo.streamOwnerRows(username,
+                        version.day().minusDays(pastDays))) {
+                    writer.begin(owner.getDisplayName() == null ? username : owner.getDisplayName());
+                    for (AppointmentRow row : (Iterable<AppointmentRow>) rows::iterator) {
+                        writer.event(row);
+                    }
+                    writer.end();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return true;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (!Boolean.TRUE.equals(found)) {
+            return false;
+        }
+        // Rendered under the version read before the query: a change committed meanwhile
+        // moves the stamp on, so the entry is never served for the newer version
+        byte[] bytes = copy.bytes();
+        if (bytes != null) {
+            cache.put(username, new Entry(version.stamp(), version.day(), bytes));
+        }
+        return true;
+    }
+
+    private void changed(String username, LocalDate date) {
+        cache.invalidate(username);
+        Instant now = clock.instant().truncatedTo(ChronoUnit.SECONDS);
+        // One second later than the previous change at least, so that two changes within
+        // a second still give If-Modified-Since pollers a newer Last-Modified
+        changedAt.merge(username, now, (previous, current) ->
+                current.isAfter(previous) ? current : previous.plusSeconds(1));
+    }
+
+    /**
+     * Passes bytes through to a stream while keeping a copy, until the copy
+     * would exceed a limit.
+     */
+    private static final class CappedCopy extends OutputStream {
+
+        private final OutputStream out;
+
+        private final int limit;
+
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream(8192);
+
+        CappedCopy(OutputStream out, int limit) {
+            this.out = out;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (copy != null) {
+                copy.write(b);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (copy != null) {
+                copy.write(b, off, len);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        private void checkLimit() {
+            if (copy.size() > limit) {
+                copy = null;
+            }
+        }
+
+        /** The copied bytes, or {@code null} if they exceeded the limit. */
+        byte[] bytes() {
+            return copy == null ? null : copy.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.accoladehq.calendar.ics;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import com.accoladehq.calendar.repository.AppointmentRow;
+
+/**
+ * Writes appointments as an iCalendar ({@code .ics}) publishing feed.
+ * <p>
+ * Events are written one at a time as they are read, so a feed never has to be
+ * held in memory by the writer. Times are converted from the given zone to UTC,
+ * so subscribers do not need a {@code VTIMEZONE}. Each event's {@code UID} is
+ * derived from its owner, date and start time, which are unique and survive a
+ * journal replay, so calendar apps update events in place across restarts.
+ * Lines end in CRLF and are folded at 75 octets without splitting a UTF-8
+ * character, as RFC 5545 requires.
+ * </p>
+ */
+public final class IcsFeedWriter {
+
+    /** Maximum length of a content line in octets, excluding the CRLF. */
+    static final int MAX_LINE_OCTETS = 75;
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private static final DateTimeFormatter UTC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    private static final DateTimeFormatter UID_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmm");
+
+    private final OutputStream out;
+
+    private final ZoneId zone;
+
+    private final String dtstamp;
+
+    private final String refreshInterval;
+
+    /**
+     * Creates a writer.
+     *
+     * @param out             receives the feed; flushed by {@link #end()} but not closed
+     * @param zone            the zone appointment dates and times are in
+     * @param renderedAt      written as every event's {@code DTSTAMP}
+     * @param refreshInterval how often subscribers should poll, as an ISO-8601 duration such as {@code PT5M}
+     */
+    public IcsFeedWriter(OutputStream out, ZoneId zone, Instant renderedAt, String refreshInterval) {
+        this.out = new BufferedOutputStream(out, 8192);
+        this.zone = zone;
+        this.dtstamp = UTC_DATE_TIME.format(renderedAt);
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Writes the calendar header.
+     *
+     * @param calendarName the name calendar apps show for the subscription
+     * @throws IOException if the stream cannot be written
+     */
+    public void begin(String calendarName) throws IOException {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//AccoladeHQ//Calendar Booking//EN");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        line("X-WR-CALNAME:" + escape(calendarName));
+        line("REFRESH-INTERVAL;VALUE=DURATION:" + refreshInterval);
+        line("X-PUBLISHED-TTL:" + refreshInterval);
+    }
+
+    /**
+     * Writes one appointment as a {@code VEVENT}.
+     *
+     * @param row the appointment
+     * @throws IOException if the stream cannot be written
+     */
+    public void event(AppointmentRow row) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:" + row.date().atTime(row.startTime()).format(UID_DATE_TIME) + "-" + row.username() + "@calendar-booking");
+        line("DTSTAMP:" + dtstamp);
+        line("DTSTART:" + utc(row.date(), row.startTime()));
+        line("DTEND:" + utc(row.date(), row.endTime()));
+        line("SUMMARY:" + escape("Appointment with " + row.inviteeName()));
+        String mail = mailAddress(row.inviteeEmail());
+        if (mail != null) {
+            line("ATTENDEE;CN=" + quote(row.inviteeName()) + ":mailto:" + mail);
+        }
+        line("STATUS:CONFIRMED");
+        line("TRANSP:OPAQUE");
+        line("END:VEVENT");
+    }
+
+    /**
+     * Writes the calendar trailer and flushes.
+     *
+     * @throws IOException if the stream cannot be written
+     */
+    public void end() throws IOException {
+        line("END:VCALENDAR");
+        out.flush();
+    }
+
+    private String utc(LocalDate date, LocalTime time) {
+        return UTC_DATE_TIME.format(date.atTime(time).atZone(zone));
+    }
+
+    /**
+     * Writes a content line, folded into continuation lines that start with a
+     * space wherever it exceeds {@value #MAX_LINE_OCTETS} octets.
+     */
+    private void line(String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        int start = 0;
+        int limit = MAX_LINE_OCTETS;
+        while (bytes.length - start > limit) {
+            int end = start + limit;
+            // Never split a multi-byte character: back up over continuation bytes
+            while ((bytes[end] & 0xC0) == 0x80) {
+                end--;
+            }
+            out.write(bytes, start, end - start);
+            out.write(CRLF);
+            out.write(' ');
+            start = end;
+            // The leading space of a continuation line counts towards its length
+            limit = MAX_LINE_OCTETS - 1;
+        }
+        out.write(bytes, start, bytes.length - start);
+        out.write(CRLF);
+    }
+
+    /** Escapes a {@code TEXT} value. */
+    static String escape(String text) {
+        StringBuilder sb = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> sb.append('\\').append(c);
+                case '\n' -> sb.append("\\n");
+                case '\r' -> { }
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns an address fit for a {@code mailto:} value, or {@code null} if there is
+     * none or it contains control characters, which could end the line and start new
+     * properties.
+     */
+    private static String mailAddress(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        String address = email.trim();
+        return address.chars().anyMatch(Character::isISOControl) ? null : address;
+    }
+
+    /** Quotes a parameter value; double quotes and control characters are not allowed in it. */
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            sb.append(c == '"' ? '\'' : Character.isISOControl(c) ? ' ' : c);
+        }
+        return sb.append('"').toString();
+    }
+}
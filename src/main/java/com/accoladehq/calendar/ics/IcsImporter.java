@@ -0,0 +1,306 @@
+package com.accoladehq.calendar.ics;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.accoladehq.calendar.dto.IcsImportResult;
+import com.accoladehq.calendar.entity.Appointment;
+import com.accoladehq.calendar.entity.CalendarOwner;
+import com.accoladehq.calendar.event.BookingEventRecorder;
+import com.accoladehq.calendar.repository.AppointmentRepository;
+import com.accoladehq.calendar.repository.CalendarOwnerRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Imports the events of an iCalendar file as appointments of one owner.
+ * <p>
+ * Events are read one at a time by {@link IcsEventReader} and collected into
+ * batches. Each batch is inserted in its own transaction through JDBC batching,
+ * then flushed and cleared, so neither the file nor the persistence context has to
+ * fit in memory. A batch that loses a race to a concurrent booking is retried row
+ * by row. Conflicts are checked per day: the first event on a date loads that
+ * date's booked start times, and imported events are added to them, so duplicates
+ * within the file are rejected too.
+ * </p>
+ * <p>
+ * An event is imported when it is a single (not recurring, not cancelled) 60
+ * minute event starting on the hour, today or later. Availability rules are not
+ * checked, as imported appointments were already agreed elsewhere. UTC times and
+ * times with a {@code TZID} are converted to the server's time zone; floating
+ * times are taken as they are. Invitees are not notified.
+ * </p>
+ */
+@Component
+public class IcsImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(IcsImporter.class);
+
+    /** Length of the {@code VARCHAR} columns of {@code appointment}. */
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final CalendarOwnerRepository ownerRepo;
+
+    private final AppointmentRepository appointmentRepo;
+
+    private final BookingEventRecorder events;
+
+    private final TransactionTemplate tx;
+
+    private final int batchSize;
+
+    private final int maxRejected;
+
+    private final Counter importedCounter;
+
+    private final Counter rejectedCounter;
+
+    /** Shared, transaction-bound entity manager, cleared after every batch. */
+    private final EntityManager entityManager;
+
+    /**
+     * Creates an importer.
+     *
+     * @param ownerRepo            the owner repository
+     * @param appointmentRepo      the appointment repository
+     * @param events               records the side effects of every imported appointment
+     * @param entityManagerFactory the factory of the entity manager cleared after every batch
+     * @param transactionManager   the transaction manager
+     * @param registry             the registry receiving import progress
+     * @param batchSize            events inserted per transaction
+     * @param maxRejected          rejected events listed in a result
+     */
+    public IcsImporter(CalendarOwnerRepository ownerRepo, AppointmentRepository appointmentRepo,
+                       BookingEventRecorder events, EntityManagerFactory entityManagerFactory,
+                       PlatformTransactionManager transactionManager, MeterRegistry registry,
+                       @Value("${calendar.import.batch-size:500}") int batchSize,
+                       @Value("${calendar.import.max-rejected:1000}") int maxRejected) {
+        this.ownerRepo = ownerRepo;
+        this.appointmentRepo = appointmentRepo;
+        this.events = events;
+        this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxRejected = maxRejected;
+        this.importedCounter = registry.counter("calendar.import.events", "outcome", "imported");
+        this.rejectedCounter = registry.counter("calendar.import.events", "outcome", "rejected");
+    }
+
+    /**
+     * Imports the events of an iCalendar stream.
+     *
+     * @param username the owner the appointments are booked for
+     * @param reader   the iCalendar text; read to the end but not closed
+     * @return the outcome, or {@code null} if the owner does not exist
+     * @throws IOException if the stream cannot be read; batches already inserted stay imported
+     */
+    public IcsImportResult importEvents(String username, Reader reader) throws IOException {
+        CalendarOwner found = ownerRepo.findByUsername(username).orElse(null);
+        if (found == null) {
+            logger.warn("Owner not found for username: {}", username);
+            return null;
+        }
+        Long ownerId = found.getId();
+        long started = System.nanoTime();
+        IcsImportResult result = new IcsImportResult();
+        Map<LocalDate, Set<LocalTime>> bookedByDate = new HashMap<>();
+        List<Pending> batch = new ArrayList<>(batchSize);
+        IcsEventReader eventReader = new IcsEventReader(reader);
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate today = LocalDate.now();
+        IcsEvent event;
+        while ((event = eventReader.next()) != null) {
+            result.setEvents(result.getEvents() + 1);
+            Pending pending;
+            try {
+                pending = toAppointment(event, zone, today);
+            } catch (Rejection r) {
+                reject(result, event, r.date, r.start, r.getMessage());
+                continue;
+            }
+            Set<LocalTime> booked = bookedByDate.computeIfAbsent(pending.date(),
+                    date -> new HashSet<>(appointmentRepo.findStartTimes(ownerId, date)));
+            if (!booked.add(pending.start())) {
+                reject(result, event, pending.date(), pending.start(), "Slot already booked");
+                continue;
+            }
+            batch.add(pending);
+            if (batch.size() == batchSize) {
+                insert(ownerId, batch, result);
+                batch.clear();
+                logger.info("Import for {}: {} events read, {} imported, {} rejected", username,
+                        result.getEvents(), result.getImported(), result.getRejectedCount());
+            }
+        }
+        insert(ownerId, batch, result);
+        logger.info("Import for {} finished in {} ms: {} events over {} lines, {} imported, {} rejected", username,
+                Duration.ofNanos(System.nanoTime() - started).toMillis(), result.getEvents(), eventReader.linesRead(),
+                result.getImported(), result.getRejectedCount());
+        return result;
+    }
+
+    /**
+     * Inserts a batch in one transaction, or row by row if a concurrent booking took
+     * one of its slots.
+     */
+    private void insert(Long ownerId, List<Pending> batch, IcsImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            tx.executeWithoutResult(status -> save(ownerId, batch));
+            imported(result, batch.size());
+            return;
+        } catch (DataIntegrityViolationException e) {
+            entityManager.clear();
+            logger.warn("Import batch of {} events lost a race to a concurrent booking, retrying one by one", batch.size());
+        }
+        for (Pending pending : batch) {
+            try {
+                tx.executeWithoutResult(status -> save(ownerId, List.of(pending)));
+                imported(result, 1);
+            } catch (DataIntegrityViolationException e) {
+                entityManager.clear();
+                reject(result, pending.event(), pending.date(), pending.start(), "Slot already booked");
+            }
+        }
+    }
+
+    private void save(Long ownerId, List<Pending> batch) {
+        CalendarOwner owner = ownerRepo.findById(ownerId).orElseThrow();
+        for (Pending pending : batch) {
+            Appointment appt = new Appointment();
+            appt.setOwner(owner);
+            appt.setDate(pending.date());
+            appt.setStartTime(pending.start());
+            appt.setEndTime(pending.start().plusHours(1));
+            appt.setInviteeName(pending.inviteeName());
+            appt.setInviteeEmail(pending.inviteeEmail());
+            appointmentRepo.save(appt);
+            events.imported(appt);
+        }
+        // Sends the JDBC batches, then detaches everything so the next batch starts empty
+        appointmentRepo.flush();
+        entityManager.clear();
+    }
+
+    private Pending toAppointment(IcsEvent event, ZoneId zone, LocalDate today) {
+        if ("CANCELLED".equalsIgnoreCase(event.status())) {
+            throw new Rejection("Cancelled event", null);
+        }
+        if (event.start() == null) {
+            throw new Rejection("Missing DTSTART", null);
+        }
+        LocalDateTime start;
+        LocalDateTime end;
+        try {
+            start = IcsEventReader.toLocal(event.start(), event.startTzid(), zone);
+            if (start == null) {
+                throw new Rejection("All-day event", null);
+            }
+            if (event.end() != null) {
+                end = IcsEventReader.toLocal(event.end(), event.endTzid(), zone);
+            } else if (event.duration() != null) {
+                end = start.plus(Duration.parse(event.duration()));
+            } else {
+                end = start;
+            }
+        } catch (DateTimeException e) {
+            throw new Rejection("Invalid date-time or time zone", null);
+        }
+        if (event.recurring()) {
+            throw new Rejection("Recurring events are not supported", start);
+        }
+        if (start.getMinute() != 0 || start.getSecond() != 0) {
+            throw new Rejection("Start time must be on the hour", start);
+        }
+        if (end == null || !Duration.between(start, end).equals(Duration.ofHours(1))) {
+            throw new Rejection("Appointments must be 60 minutes", start);
+        }
+        if (!end.toLocalDate().equals(start.toLocalDate())) {
+            throw new Rejection("Appointments cannot cross midnight", start);
+        }
+        if (start.toLocalDate().isBefore(today)) {
+            throw new Rejection("Event is in the past", start);
+        }
+        String name = firstNonBlank(event.attendeeName(), event.summary(), event.attendeeMail());
+        if (name == null) {
+            throw new Rejection("No attendee or summary for the invitee name", start);
+        }
+        return new Pending(event, start.toLocalDate(), start.toLocalTime(), truncate(name),
+                truncate(firstNonBlank(event.attendeeMail())));
+    }
+
+    private void imported(IcsImportResult result, int count) {
+        result.setImported(result.getImported() + count);
+        importedCounter.increment(count);
+    }
+
+    private void reject(IcsImportResult result, IcsEvent event, LocalDate date, LocalTime start, String reason) {
+        result.setRejectedCount(result.getRejectedCount() + 1);
+        rejectedCounter.increment();
+        if (result.getRejected().size() < maxRejected) {
+            result.getRejected().add(new IcsImportResult.Rejected(event.line(), event.uid(), date, start, reason));
+        }
+    }
+
+    private static String firstNonBlank(String... values) {
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                return value.trim();
+            }
+        }
+        return null;
+    }
+
+    private static String truncate(String value) {
+        return value == null || value.length() <= MAX_TEXT_LENGTH ? value : value.substring(0, MAX_TEXT_LENGTH);
+    }
+
+    /**
+     * An event accepted for import, waiting for its batch.
+     */
+    private record Pending(IcsEvent event, LocalDate date, LocalTime start, String inviteeName,
+                           String inviteeEmail) {
+    }
+
+    /**
+     * Why an event cannot be imported.
+     */
+    private static final class Rejection extends RuntimeException {
+
+        final LocalDate date;
+
+        final LocalTime start;
+
+        Rejection(String reason, LocalDateTime start) {
+            super(reason, null, false, false);
+            this.date = start == null ? null : start.toLocalDate();
+            this.start = start == null ? null : start.toLocalTime();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.accoladehq.calendar.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one {@code bookAppointment} call, from submission to the booking
+ * engine until the outcome is known.
+ */
+@Name("com.accoladehq.calendar.Booking")
+@Label("Booking")
+@Category({"Calendar Booking", "Service"})
+@Description("Booking of a single appointment and its outcome")
+@StackTrace(false)
+public final class BookingEvent extends Event {
+
+    /** The slot was booked. */
+    public static final String BOOKED = "BOOKED";
+
+    /** The slot was taken or outside availability. */
+    public static final String UNAVAILABLE = "UNAVAILABLE";
+
+    /** The booking engine was too busy to decide the booking. */
+    public static final String BUSY = "BUSY";
+
+    /** The call failed with an exception. */
+    public static final String ERROR = "ERROR";
+
+    @Label("Owner")
+    public String username;
+
+    @Label("Date")
+    public String date;
+
+    @Label("Start Time")
+    public String startTime;
+
+    @Label("Outcome")
+    public String outcome;
+}
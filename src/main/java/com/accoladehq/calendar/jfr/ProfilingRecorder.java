@@ -0,0 +1,161 @@
+package com.accoladehq.calendar.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Runs one bounded Java Flight Recorder recording at a time, on demand.
+ * <p>
+ * A recording uses the JDK's {@code calendar.profiling.settings} configuration
+ * ({@code profile} by default) and enables the calendar's own events without a
+ * duration threshold. It stops by itself after the requested duration, capped at
+ * {@code calendar.profiling.max-duration-seconds}, and keeps at most
+ * {@code calendar.profiling.max-size-mb} of the newest data. The recording is
+ * written to a temporary file when it stops; {@link #stop()} hands that file to
+ * the caller, who deletes it. Between recordings none of the events is enabled,
+ * so the instrumented code only allocates an event that escape analysis removes
+ * and checks a flag.
+ * </p>
+ */
+@Component
+public class ProfilingRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfilingRecorder.class);
+
+    private static final List<Class<? extends Event>> EVENTS = List.of(SlotSearchEvent.class, BookingEvent.class,
+            RepositoryCallEvent.class, SlotGenerationEvent.class);
+
+    private final String settings;
+
+    private final Duration maxDuration;
+
+    private final long maxBytes;
+
+    private Recording recording;
+
+    private Path file;
+
+    /**
+     * Creates the recorder.
+     *
+     * @param settings           name of the JDK recording configuration, {@code default} or {@code profile}
+     * @param maxDurationSeconds longest recording allowed
+     * @param maxSizeMb          most data a recording keeps
+     */
+    public ProfilingRecorder(@Value("${calendar.profiling.settings:profile}") String settings,
+                             @Value("${calendar.profiling.max-duration-seconds:300}") long maxDurationSeconds,
+                             @Value("${calendar.profiling.max-size-mb:100}") long maxSizeMb) {
+        this.settings = settings;
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+        this.maxBytes = maxSizeMb * 1024 * 1024;
+    }
+
+    /**
+     * A recording's progress.
+     *
+     * @param state    the JFR recording state, or {@code NONE}
+     * @param started  when it started, or {@code null}
+     * @param duration how long it runs at most, or {@code null}
+     * @param bytes    data recorded so far
+     */
+    public record Status(String state, Instant started, Duration duration, long bytes) {
+    }
+
+    /**
+     * Starts a recording, discarding a finished one that was never collected.
+     *
+     * @param duration how long to record; capped at the configured maximum
+     * @return {@code false} if a recording is already running
+     * @throws IOException    if the temporary file cannot be created
+     * @throws ParseException if the configured settings cannot be read
+     */
+    public synchronized boolean start(Duration duration) throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return false;
+        }
+        discard();
+        Recording r = new Recording(Configuration.getConfiguration(settings));
+        r.setName("calendar-profiling");
+        for (Class<? extends Event> event : EVENTS) {
+            r.enable(event).withThreshold(Duration.ZERO);
+        }
+        r.setDuration(duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        r.setMaxSize(maxBytes);
+        r.setToDisk(true);
+        file = Files.createTempFile("calendar-profiling-", ".jfr");
+        r.setDestination(file);
+        r.start();
+        recording = r;
+        logger.info("Flight recording started for {} s", r.getDuration().toSeconds());
+        return true;
+    }
+
+    /**
+     * Stops the recording, unless it has already stopped by itself, and hands
+     * over its file.
+     *
+     * @return the recording file, which the caller deletes, or {@code null} if nothing was recorded
+     */
+    public synchronized Path stop() {
+        if (recording == null) {
+            return null;
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        recording.close();
+        recording = null;
+        Path recorded = file;
+        file = null;
+        logger.info("Flight recording stopped: {}", recorded);
+        return recorded;
+    }
+
+    /**
+     * Describes the current recording.
+     *
+     * @return its status, with state {@code NONE} if there is none
+     */
+    public synchronized Status status() {
+        if (recording == null) {
+            return new Status("NONE", null, null, 0);
+        }
+        return new Status(recording.getState().name(), recording.getStartTime(), recording.getDuration(),
+                recording.getSize());
+    }
+
+    /**
+     * Drops an unfinished or uncollected recording on shutdown.
+     */
+    @PreDestroy
+    public synchronized void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Could not delete flight recording {}", file, e);
+            }
+            file = null;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.accoladehq.calendar.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one call of a Spring Data repository method, transaction and
+ * result mapping included. Emitted by {@link RepositoryEventsPostProcessor}.
+ */
+@Name("com.accoladehq.calendar.RepositoryCall")
+@Label("Repository Call")
+@Category({"Calendar Booking", "Database"})
+@Description("Call of a Spring Data repository method")
+@StackTrace(false)
+public final class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Owner")
+    public String username;
+
+    @Label("Date")
+    public String date;
+
+    @Label("Rows")
+    @Description("Size of a returned collection, or -1")
+    public int rows;
+}
@@ -0,0 +1,117 @@
+package com.accoladehq.calendar.jfr;
+
+import java.lang.reflect.Parameter;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hibernate.Hibernate;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import com.accoladehq.calendar.entity.CalendarOwner;
+
+/**
+ * Records every call of a Spring Data repository as a {@link RepositoryCallEvent}.
+ * <p>
+ * Repository beans are already proxies; an interceptor is added in front of their
+ * advice chain, so the event covers the transaction a repository method opens for
+ * itself. The owner is taken from a {@link CalendarOwner} argument that is already
+ * loaded or a {@code String} parameter named {@code username}, and the date from the
+ * first {@link LocalDate} argument. While no recording enables the event, the
+ * interceptor only checks {@link RepositoryCallEvent#isEnabled()} and proceeds.
+ * Set {@code calendar.jfr.repository-events=false} to leave repositories untouched.
+ * </p>
+ */
+@Component
+public class RepositoryEventsPostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+    private boolean enabled = true;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.enabled = environment.getProperty("calendar.jfr.repository-events", Boolean.class, true);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof Repository<?, ?>)) {
+            return bean;
+        }
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, new RepositoryCallInterceptor(repositoryName(advised.getProxiedInterfaces(), beanName)));
+            return bean;
+        }
+        ProxyFactory factory = new ProxyFactory(bean);
+        factory.addAdvice(new RepositoryCallInterceptor(repositoryName(factory.getProxiedInterfaces(), beanName)));
+        return factory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    /** The application's own repository interface, rather than a Spring Data one. */
+    private static String repositoryName(Class<?>[] interfaces, String beanName) {
+        return Arrays.stream(interfaces)
+                .filter(Repository.class::isAssignableFrom)
+                .filter(i -> !i.getName().startsWith("org.springframework."))
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(beanName);
+    }
+
+    /**
+     * Times one repository call and commits its event.
+     */
+    private static final class RepositoryCallInterceptor implements MethodInterceptor {
+
+        private final String repository;
+
+        RepositoryCallInterceptor(String repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            RepositoryCallEvent event = new RepositoryCallEvent();
+            if (!event.isEnabled()) {
+                return invocation.proceed();
+            }
+            event.begin();
+            Object result = null;
+            try {
+                result = invocation.proceed();
+                return result;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    describe(event, invocation, result);
+                    event.commit();
+                }
+            }
+        }
+
+        private void describe(RepositoryCallEvent event, MethodInvocation invocation, Object result) {
+            event.repository = repository;
+            event.method = invocation.getMethod().getName();
+            Parameter[] parameters = invocation.getMethod().getParameters();
+            Object[] args = invocation.getArguments();
+            for (int i = 0; i < args.length && i < parameters.length; i++) {
+                Object arg = args[i];
+                // Reading the username of an uninitialized proxy would run a query of its own
+                if (arg instanceof CalendarOwner owner && Hibernate.isInitialized(owner)) {
+                    event.username = owner.getUsername();
+                } else if (arg instanceof String s && "username".equals(parameters[i].getName())) {
+                    event.username = s;
+                } else if (arg instanceof LocalDate d && event.date == null) {
+                    event.date = d.toString();
+                }
+            }
+            event.rows = result instanceof Collection<?> c ? c.size() : -1;
+        }
+    }
+}
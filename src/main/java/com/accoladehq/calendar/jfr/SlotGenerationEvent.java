@@ -0,0 +1,33 @@
+package com.accoladehq.calendar.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one {@code SlotGenerator.generateSlots} call. The generator is
+ * not told whose slots it generates; the owner is that of the enclosing
+ * {@link SlotSearchEvent} on the same thread.
+ */
+@Name("com.accoladehq.calendar.SlotGeneration")
+@Label("Slot Generation")
+@Category({"Calendar Booking", "Slots"})
+@Description("Generation of the free slots of one availability window")
+@StackTrace(false)
+public final class SlotGenerationEvent extends Event {
+
+    @Label("Date")
+    public String date;
+
+    @Label("Window")
+    public String window;
+
+    @Label("Booked Slots")
+    public int booked;
+
+    @Label("Free Slots")
+    public int slots;
+}
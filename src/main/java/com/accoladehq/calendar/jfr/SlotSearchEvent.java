@@ -0,0 +1,29 @@
+package com.accoladehq.calendar.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one {@code searchAvailableSlots} call, cache lookup included. A
+ * call without nested {@link RepositoryCallEvent}s on the same thread was a cache hit.
+ */
+@Name("com.accoladehq.calendar.SlotSearch")
+@Label("Slot Search")
+@Category({"Calendar Booking", "Service"})
+@Description("Search for the free slots of an owner on a date")
+@StackTrace(false)
+public final class SlotSearchEvent extends Event {
+
+    @Label("Owner")
+    public String username;
+
+    @Label("Date")
+    public String date;
+
+    @Label("Free Slots")
+    public int slots;
+}
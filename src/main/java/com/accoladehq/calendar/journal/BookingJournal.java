@@ -0,0 +1,588 @@
+package com.accoladehq.calendar.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.accoladehq.calendar.journal.JournalRecord.Aborted;
+import com.accoladehq.calendar.snapshot.SnapshotStore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Write-ahead journal of booking and availability changes.
+ * <p>
+ * The database is in-memory, so the journal is what makes changes survive a
+ * restart. Changes are appended as checksummed records to memory-mapped segment
+ * files in {@code calendar.journal.dir}; an append is a copy into the mapping, so
+ * it costs microseconds. A flusher thread forces the mapping to disk, so one fsync
+ * covers every record appended since the previous one (group fsync). With
+ * {@code calendar.journal.await-fsync=true} a transaction does not commit until its
+ * records are on disk and wakes the flusher straight away; otherwise records are
+ * forced within {@code calendar.journal.fsync-interval-ms}. An interval of 0 forces
+ * on every append instead.
+ * </p>
+ * <p>
+ * Records are collected per transaction and appended just before it commits. If
+ * the commit then fails, an {@link Aborted} record for the transaction is appended
+ * and replay skips its records. A crash between the append and the commit leaves
+ * records whose outcome was never reported to the client; they are replayed.
+ * </p>
+ * <p>
+ * Periodically, and on shutdown, the whole database is written to a binary
+ * {@code snapshot-<sequence>.snap} through {@link SnapshotStore}, and the segments
+ * and snapshots it replaces are deleted. On startup the latest snapshot is
+ * bulk-loaded and only the segments after it are replayed into the repositories
+ * through {@link JournalReplayer}, all before the web server starts.
+ * </p>
+ * <p>
+ * Disabled unless {@code calendar.journal.enabled=true}; {@link #append} is then a no-op.
+ * </p>
+ */
+@Component
+public class BookingJournal implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingJournal.class);
+
+    /** Records replayed per transaction. */
+    private static final int REPLAY_BATCH = 500;
+
+    /** How long a snapshot waits for transactions that appended before it. */
+    private static final long IN_FLIGHT_TIMEOUT_MS = 30_000;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+
+    private static final String SUFFIX = ".jrn";
+
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private final JournalReplayer replayer;
+
+    private final SnapshotStore snapshots;
+
+    private final boolean enabled;
+
+    private final Path dir;
+
+    private final int segmentSize;
+
+    private final long fsyncIntervalMs;
+
+    private final boolean awaitFsync;
+
+    private final boolean snapshotOnShutdown;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    private final Object durableMonitor = new Object();
+
+    /** Continues after the highest transaction id replayed, so that no abort marker matches a later transaction. */
+    private final AtomicLong txIds = new AtomicLong();
+
+    /** Transactions that have appended and not yet completed, with their first sequence. */
+    private final ConcurrentMap<Long, Long> inFlight = new ConcurrentHashMap<>();
+
+    private final List<Path> sealed = new ArrayList<>();
+
+    private final Timer appendTimer;
+
+    private final Counter fsyncs;
+
+    private JournalSegment active;
+
+    private long lastSequence;
+
+    /** The last sequence covered by a snapshot. */
+    private long snapshotSequence;
+
+    private volatile long durableSequence;
+
+    private volatile boolean running;
+
+    private volatile Thread flusher;
+
+    /**
+     * Creates the journal.
+     *
+     * @param replayer           applies replayed records
+     * @param snapshots          writes and loads snapshots
+     * @param registry           the registry receiving journal metrics
+     * @param enabled            whether changes are journaled
+     * @param dir                the directory holding segments and snapshots
+     * @param segmentSize        the size of each segment file in bytes
+     * @param fsyncIntervalMs    how long records may stay unforced when no commit waits for them; 0 forces every append
+     * @param awaitFsync         whether a commit waits until its records are forced
+     * @param snapshotOnShutdown whether a snapshot is written when the application stops
+     */
+    public BookingJournal(JournalReplayer replayer, SnapshotStore snapshots, MeterRegistry registry,
+                          @Value("${calendar.journal.enabled:false}") boolean enabled,
+                          @Value("${calendar.journal.dir:data/journal}") Path dir,
+                          @Value("${calendar.journal.segment-size:67108864}") int segmentSize,
+                          @Value("${calendar.journal.fsync-interval-ms:2}") long fsyncIntervalMs,
+                          @Value("${calendar.journal.await-fsync:true}") boolean awaitFsync,
+                          @Value("${calendar.journal.snapshot-on-shutdown:true}") boolean snapshotOnShutdown) {
+        this.replayer = replayer;
+        this.snapshots = snapshots;
+        this.enabled = enabled;
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.fsyncIntervalMs = fsyncIntervalMs;
+        this.awaitFsync = awaitFsync;
+        this.snapshotOnShutdown = snapshotOnShutdown;
+        this.appendTimer = registry.timer("calendar.journal.append");
+        this.fsyncs = registry.counter("calendar.journal.fsyncs");
+    }
+
+    /**
+     * Journals a change.
+     * <p>
+     * Inside a transaction the record is appended just before the transaction
+     * commits; otherwise it is appended straight away.
+     * </p>
+     *
+     * @param record the change
+     */
+    public void append(JournalRecord record) {
+        if (!running) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            awaitDurable(write(List.of(record), 0));
+            return;
+        }
+        TxRecords pending = (TxRecords) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new TxRecords(txIds.incrementAndGet());
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.records.add(record);
+    }
+
+    /**
+     * Returns the sequence number of the last appended record.
+     *
+     * @return the last sequence, or 0 if nothing was ever appended
+     */
+    public long lastSequence() {
+        appendLock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Writes a snapshot if anything was journaled since the last one.
+     */
+    @Scheduled(fixedDelayString = "${calendar.journal.snapshot-interval-ms:300000}",
+            initialDelayString = "${calendar.journal.snapshot-interval-ms:300000}")
+    public void snapshotIfNeeded() {
+        boolean needed;
+        appendLock.lock();
+        try {
+            needed = running && lastSequence > snapshotSequence;
+        } finally {
+            appendLock.unlock();
+        }
+        if (needed) {
+            snapshot();
+        }
+    }
+
+    /**
+     * Writes the current database contents as a snapshot and deletes the segments
+     * and older snapshots it replaces.
+     * <p>
+     * Appends continue meanwhile into a fresh segment, which is kept.
+     * </p>
+     */
+    public synchronized void snapshot() {
+        if (!running) {
+            return;
+        }
+        long started = System.nanoTime();
+        long covered;
+        List<Path> replaced;
+        try {
+            appendLock.lock();
+            try {
+                if (!active.isEmpty()) {
+                    roll();
+                }
+                covered = active.firstSequence() - 1;
+                replaced = List.copyOf(sealed);
+            } finally {
+                appendLock.unlock();
+            }
+            // Records up to the snapshot must be committed before the state is read
+            awaitInFlightBefore(covered + 1);
+            Path snapshot = dir.resolve(SNAPSHOT_PREFIX + sequenceName(covered) + SNAPSHOT_SUFFIX);
+            long appointments = snapshots.write(snapshot, covered);
+
+            for (Path segment : replaced) {
+                Files.deleteIfExists(segment);
+            }
+            for (Path old : snapshotFiles()) {
+                if (!old.equals(snapshot)) {
+                    Files.deleteIfExists(old);
+                }
+            }
+            appendLock.lock();
+            try {
+                sealed.removeAll(replaced);
+                snapshotSequence = covered;
+            } finally {
+                appendLock.unlock();
+            }
+            logger.info("Journal snapshot at sequence {}: {} appointments, {} segments compacted in {} ms",
+                    covered, appointments, replaced.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal snapshot failed", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            lastSequence = replay();
+            durableSequence = lastSequence;
+            Path path = segmentPath(lastSequence + 1);
+            // Can only be a segment without valid records; replay ended before it
+            Files.deleteIfExists(path);
+            active = JournalSegment.create(path, lastSequence + 1, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open journal in " + dir, e);
+        }
+        running = true;
+        if (fsyncIntervalMs > 0) {
+            flusher = new Thread(this::flushLoop, "journal-flusher");
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        if (snapshotOnShutdown) {
+            try {
+                snapshotIfNeeded();
+            } catch (RuntimeException e) {
+                // The segments are kept, so the next start replays them instead
+                logger.error("Cannot write the shutdown snapshot", e);
+            }
+        }
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            try {
+                flusher.join(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        appendLock.lock();
+        try {
+            active.force();
+            markDurable(lastSequence);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before the booking engine and the web server, so nothing is served
+     * before replay has finished, and stops after them.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2048;
+    }
+
+    private long write(List<JournalRecord> records, long txId) {
+        long started = System.nanoTime();
+        List<byte[]> bodies = records.stream().map(JournalCodec::encode).toList();
+        appendLock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Journal is not running");
+            }
+            for (byte[] body : bodies) {
+                if (!active.fitsEmpty(body.length)) {
+                    throw new IllegalArgumentException("Journal record of " + body.length + " bytes exceeds the segment size");
+                }
+                if (!active.append(lastSequence + 1, txId, body)) {
+                    roll();
+                    active.append(lastSequence + 1, txId, body);
+                }
+                lastSequence++;
+            }
+            if (fsyncIntervalMs == 0) {
+                active.force();
+                fsyncs.increment();
+                markDurable(lastSequence);
+            }
+            return lastSequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal append failed", e);
+        } finally {
+            appendLock.unlock();
+            appendTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** Seals the active segment and starts the next one; the caller holds the append lock. */
+    private void roll() throws IOException {
+        active.force();
+        fsyncs.increment();
+        markDurable(lastSequence);
+        sealed.add(active.path());
+        active = JournalSegment.create(segmentPath(lastSequence + 1), lastSequence + 1, segmentSize);
+    }
+
+    private void flushLoop() {
+        while (running) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMs));
+            JournalSegment segment;
+            long sequence;
+            appendLock.lock();
+            try {
+                segment = active;
+                sequence = lastSequence;
+            } finally {
+                appendLock.unlock();
+            }
+            if (sequence > durableSequence) {
+                // A roll in the meantime has already forced everything up to the old segment's end
+                segment.force();
+                fsyncs.increment();
+                markDurable(sequence);
+            }
+        }
+    }
+
+    private void markDurable(long sequence) {
+        synchronized (durableMonitor) {
+            if (sequence > durableSequence) {
+                durableSequence = sequence;
+                durableMonitor.notifyAll();
+            }
+        }
+    }
+
+    private void awaitDurable(long sequence) {
+        if (!awaitFsync || durableSequence >= sequence) {
+            return;
+        }
+        Thread flushThread = flusher;
+        if (flushThread != null) {
+            // Flush now rather than at the end of the interval; appends that arrive
+            // during that fsync are covered by the next one
+            LockSupport.unpark(flushThread);
+        }
+        synchronized (durableMonitor) {
+            while (durableSequence < sequence && running) {
+                try {
+                    durableMonitor.wait(fsyncIntervalMs + 10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the journal to sync", e);
+                }
+            }
+        }
+    }
+
+    private void awaitInFlightBefore(long boundary) {
+        long deadline = System.currentTimeMillis() + IN_FLIGHT_TIMEOUT_MS;
+        while (inFlight.values().stream().anyMatch(first -> first < boundary)) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Transactions appended before sequence " + boundary + " did not complete");
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * Loads the latest snapshot and replays the segments after it.
+     *
+     * @return the last sequence number found
+     */
+    private long replay() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path tmp : files.filter(p -> p.getFileName().toString().endsWith(".tmp")).toList()) {
+                Files.delete(tmp);
+            }
+        }
+        long started = System.nanoTime();
+        long covered = 0;
+        List<Path> snapshotFiles = snapshotFiles();
+        if (!snapshotFiles.isEmpty()) {
+            covered = snapshots.load(snapshotFiles.get(snapshotFiles.size() - 1));
+        }
+        snapshotSequence = covered;
+
+        List<Path> segments = new ArrayList<>();
+        for (Path segment : segments(dir)) {
+            if (sequenceOf(segment, SEGMENT_PREFIX) > covered) {
+                segments.add(segment);
+            } else {
+                // Left behind by a crash right after the snapshot was written
+                Files.delete(segment);
+            }
+        }
+        Set<Long> aborted = new HashSet<>();
+        long[] last = {covered};
+        long[] lastTxId = {0};
+        for (Path segment : segments) {
+            JournalSegment.read(segment, e -> {
+                last[0] = Math.max(last[0], e.sequence());
+                lastTxId[0] = Math.max(lastTxId[0], e.txId());
+                if (e.record() instanceof Aborted) {
+                    aborted.add(e.txId());
+                }
+            });
+        }
+        // Transaction ids restart with every run; aborts of earlier runs must not hit this run's transactions
+        txIds.set(lastTxId[0]);
+        long applied = apply(segments, aborted);
+        if (covered > 0 || applied > 0) {
+            replayer.restored();
+        }
+        sealed.addAll(segments);
+        logger.info("Journal replayed {} records after snapshot sequence {} from {} in {} ms", applied, covered, dir,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return last[0];
+    }
+
+    private long apply(List<Path> segments, Set<Long> aborted) throws IOException {
+        List<JournalRecord> batch = new ArrayList<>(REPLAY_BATCH);
+        long[] count = new long[1];
+        for (Path segment : segments) {
+            boolean clean = JournalSegment.read(segment, e -> {
+                if (e.record() instanceof Aborted || aborted.contains(e.txId())) {
+                    return;
+                }
+                batch.add(e.record());
+                count[0]++;
+                if (batch.size() == REPLAY_BATCH) {
+                    replayer.apply(batch);
+                    batch.clear();
+                }
+            });
+            if (!clean) {
+                logger.warn("Journal segment {} ends with a damaged record; the rest of it is ignored", segment);
+            }
+        }
+        if (!batch.isEmpty()) {
+            replayer.apply(batch);
+        }
+        return count[0];
+    }
+
+    private List<Path> snapshotFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().startsWith(SNAPSHOT_PREFIX)
+                            && p.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+                    .sorted(Comparator.comparingLong(p -> sequenceOf(p, SNAPSHOT_PREFIX)))
+                    .toList();
+        }
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted(Comparator.comparingLong(p -> sequenceOf(p, SEGMENT_PREFIX)))
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return dir.resolve(SEGMENT_PREFIX + sequenceName(firstSequence) + SUFFIX);
+    }
+
+    private static String sequenceName(long sequence) {
+        return String.format("%020d", sequence);
+    }
+
+    private static long sequenceOf(Path path, String prefix) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), prefix.length() + 20));
+    }
+
+    /**
+     * Records of one transaction, appended before it commits.
+     */
+    private final class TxRecords implements TransactionSynchronization {
+
+        final long txId;
+
+        final List<JournalRecord> records = new ArrayList<>();
+
+        boolean appended;
+
+        TxRecords(long txId) {
+            this.txId = txId;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            long first = lastSequence() + 1;
+            inFlight.put(txId, first);
+            appended = true;
+            awaitDurable(write(records, txId));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(BookingJournal.this);
+            try {
+                if (appended && status != STATUS_COMMITTED && running) {
+                    write(List.of(new Aborted()), txId);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Cannot journal the rollback of transaction {}", txId, e);
+            } finally {
+                inFlight.remove(txId);
+            }
+        }
+    }
+}
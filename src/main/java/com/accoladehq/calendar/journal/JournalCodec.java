@@ -0,0 +1,206 @@
+package com.accoladehq.calendar.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.accoladehq.calendar.journal.JournalRecord.Aborted;
+import com.accoladehq.calendar.journal.JournalRecord.Archived;
+import com.accoladehq.calendar.journal.JournalRecord.AvailabilitySet;
+import com.accoladehq.calendar.journal.JournalRecord.Booked;
+import com.accoladehq.calendar.journal.JournalRecord.Cancelled;
+import com.accoladehq.calendar.journal.JournalRecord.OwnerCreated;
+import com.accoladehq.calendar.journal.JournalRecord.Rescheduled;
+import com.accoladehq.calendar.journal.JournalRecord.Window;
+
+/**
+ * Binary layout of {@link JournalRecord} bodies.
+ * <p>
+ * A body is a type byte followed by the record's fields in declaration order:
+ * strings as a {@code short} byte length and UTF-8 bytes (length -1 for
+ * {@code null}), dates as an {@code int} epoch day and times as an {@code int}
+ * second of day, ids as a {@code long}. Framing and checksums are added by
+ * {@link JournalSegment}. Bookings and reschedules written before they carried
+ * an appointment id keep their old type bytes and decode with id 0.
+ * </p>
+ */
+final class JournalCodec {
+
+    private static final byte OWNER_CREATED = 1;
+
+    private static final byte AVAILABILITY_SET = 2;
+
+    private static final byte BOOKED_WITHOUT_ID = 3;
+
+    private static final byte CANCELLED = 4;
+
+    private static final byte RESCHEDULED_WITHOUT_ID = 5;
+
+    private static final byte ABORTED = 6;
+
+    private static final byte ARCHIVED = 7;
+
+    private static final byte BOOKED = 8;
+
+    private static final byte RESCHEDULED = 9;
+
+    private JournalCodec() {
+    }
+
+    /**
+     * Encodes the body of a record.
+     *
+     * @param record the record
+     * @return the encoded body
+     */
+    static byte[] encode(JournalRecord record) {
+        ByteBuffer out = ByteBuffer.allocate(sizeOf(record));
+        switch (record) {
+            case OwnerCreated r -> {
+                out.put(OWNER_CREATED);
+                putString(out, r.username());
+                putString(out, r.displayName());
+            }
+            case AvailabilitySet r -> {
+                out.put(AVAILABILITY_SET);
+                putString(out, r.username());
+                out.putShort((short) r.windows().size());
+                for (Window w : r.windows()) {
+                    putTime(out, w.start());
+                    putTime(out, w.end());
+                }
+            }
+            case Booked r -> {
+                out.put(BOOKED);
+                out.putLong(r.id());
+                putString(out, r.username());
+                putDate(out, r.date());
+                putTime(out, r.start());
+                putTime(out, r.end());
+                putString(out, r.inviteeName());
+                putString(out, r.inviteeEmail());
+            }
+            case Cancelled r -> {
+                out.put(CANCELLED);
+                putString(out, r.username());
+                putDate(out, r.date());
+                putTime(out, r.start());
+            }
+            case Rescheduled r -> {
+                out.put(RESCHEDULED);
+                out.putLong(r.id());
+                putString(out, r.username());
+                putDate(out, r.oldDate());
+                putTime(out, r.oldStart());
+                putDate(out, r.date());
+                putTime(out, r.start());
+                putTime(out, r.end());
+            }
+            case Aborted r -> out.put(ABORTED);
+            case Archived r -> {
+                out.put(ARCHIVED);
+                putString(out, r.username());
+                putDate(out, r.date());
+                putTime(out, r.start());
+            }
+        }
+        return out.array();
+    }
+
+    /**
+     * Decodes a body written by {@link #encode}.
+     *
+     * @param in the body, positioned at the type byte
+     * @return the record
+     * @throws IllegalArgumentException if the type is unknown
+     */
+    static JournalRecord decode(ByteBuffer in) {
+        byte type = in.get();
+        return switch (type) {
+            case OWNER_CREATED -> new OwnerCreated(getString(in), getString(in));
+            case AVAILABILITY_SET -> {
+                String username = getString(in);
+                int count = in.getShort();
+                List<Window> windows = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    windows.add(new Window(getTime(in), getTime(in)));
+                }
+                yield new AvailabilitySet(username, windows);
+            }
+            case BOOKED -> booked(in.getLong(), in);
+            case BOOKED_WITHOUT_ID -> booked(0, in);
+            case CANCELLED -> new Cancelled(getString(in), getDate(in), getTime(in));
+            case RESCHEDULED -> rescheduled(in.getLong(), in);
+            case RESCHEDULED_WITHOUT_ID -> rescheduled(0, in);
+            case ABORTED -> new Aborted();
+            case ARCHIVED -> new Archived(getString(in), getDate(in), getTime(in));
+            default -> throw new IllegalArgumentException("Unknown journal record type " + type);
+        };
+    }
+
+    private static int sizeOf(JournalRecord record) {
+        return 1 + switch (record) {
+            case OwnerCreated r -> sizeOf(r.username()) + sizeOf(r.displayName());
+            case AvailabilitySet r -> sizeOf(r.username()) + 2 + r.windows().size() * 8;
+            case Booked r -> 8 + sizeOf(r.username()) + 12 + sizeOf(r.inviteeName()) + sizeOf(r.inviteeEmail());
+            case Cancelled r -> sizeOf(r.username()) + 8;
+            case Rescheduled r -> 8 + sizeOf(r.username()) + 20;
+            case Aborted r -> 0;
+            case Archived r -> sizeOf(r.username()) + 8;
+        };
+    }
+
+    private static Booked booked(long id, ByteBuffer in) {
+        return new Booked(id, getString(in), getDate(in), getTime(in), getTime(in), getString(in), getString(in));
+    }
+
+    private static Rescheduled rescheduled(long id, ByteBuffer in) {
+        return new Rescheduled(id, getString(in), getDate(in), getTime(in), getDate(in), getTime(in), getTime(in));
+    }
+
+    private static int sizeOf(String s) {
+        return 2 + (s == null ? 0 : s.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private static void putString(ByteBuffer out, String s) {
+        if (s == null) {
+            out.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("String too long for the journal: " + bytes.length + " bytes");
+        }
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putDate(ByteBuffer out, LocalDate date) {
+        out.putInt((int) date.toEpochDay());
+    }
+
+    private static LocalDate getDate(ByteBuffer in) {
+        return LocalDate.ofEpochDay(in.getInt());
+    }
+
+    private static void putTime(ByteBuffer out, LocalTime time) {
+        out.putInt(time.toSecondOfDay());
+    }
+
+    private static LocalTime getTime(ByteBuffer in) {
+        return LocalTime.ofSecondOfDay(in.getInt());
+    }
+}
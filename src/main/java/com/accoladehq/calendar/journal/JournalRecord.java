@@ -0,0 +1,102 @@
+package com.accoladehq.calendar.journal;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * A change recorded in the {@link BookingJournal}.
+ * <p>
+ * Bookings and reschedules carry the appointment id, which replay keeps, so ids
+ * held by clients stay valid across a restart of the in-memory database. Records
+ * written before ids were journaled decode with id 0 and are matched by owner,
+ * date and start time, as cancellations and archivals always are. Replaying a
+ * record is idempotent, see {@link JournalReplayer}.
+ * </p>
+ */
+public sealed interface JournalRecord {
+
+    /**
+     * An owner was created.
+     *
+     * @param username    the owner's username
+     * @param displayName the owner's display name
+     */
+    record OwnerCreated(String username, String displayName) implements JournalRecord {
+    }
+
+    /**
+     * An owner's availability windows were replaced.
+     *
+     * @param username the owner's username
+     * @param windows  the windows after the change
+     */
+    record AvailabilitySet(String username, List<Window> windows) implements JournalRecord {
+    }
+
+    /**
+     * An appointment was booked.
+     *
+     * @param id           the appointment id, or 0 if not journaled
+     * @param username     the owner's username
+     * @param date         the appointment date
+     * @param start        the start time
+     * @param end          the end time
+     * @param inviteeName  the invitee's name
+     * @param inviteeEmail the invitee's email, may be {@code null}
+     */
+    record Booked(long id, String username, LocalDate date, LocalTime start, LocalTime end,
+                  String inviteeName, String inviteeEmail) implements JournalRecord {
+    }
+
+    /**
+     * An appointment was cancelled.
+     *
+     * @param username the owner's username
+     * @param date     the appointment date
+     * @param start    the start time
+     */
+    record Cancelled(String username, LocalDate date, LocalTime start) implements JournalRecord {
+    }
+
+    /**
+     * An appointment was moved to another slot.
+     *
+     * @param id       the appointment id, or 0 if not journaled
+     * @param username the owner's username
+     * @param oldDate  the date it was moved from
+     * @param oldStart the start time it was moved from
+     * @param date     the new date
+     * @param start    the new start time
+     * @param end      the new end time
+     */
+    record Rescheduled(long id, String username, LocalDate oldDate, LocalTime oldStart,
+                       LocalDate date, LocalTime start, LocalTime end) implements JournalRecord {
+    }
+
+    /**
+     * The transaction that appended the records with the same transaction id rolled
+     * back after appending them; replay skips those records.
+     */
+    record Aborted() implements JournalRecord {
+    }
+
+    /**
+     * A past appointment was moved from the live table to the archive.
+     *
+     * @param username the owner's username
+     * @param date     the appointment date
+     * @param start    the start time
+     */
+    record Archived(String username, LocalDate date, LocalTime start) implements JournalRecord {
+    }
+
+    /**
+     * One availability window.
+     *
+     * @param start the window start
+     * @param end   the window end
+     */
+    record Window(LocalTime start, LocalTime end) {
+    }
+}
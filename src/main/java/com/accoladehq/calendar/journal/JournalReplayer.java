@@ -0,0 +1,250 @@
+package com.accoladehq.calendar.journal;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.accoladehq.calendar.entity.Appointment;
+import com.accoladehq.calendar.entity.ArchivedAppointment;
+import com.accoladehq.calendar.entity.AvailabilityRule;
+import com.accoladehq.calendar.entity.CalendarOwner;
+import com.accoladehq.calendar.journal.JournalRecord.Aborted;
+import com.accoladehq.calendar.journal.JournalRecord.Archived;
+import com.accoladehq.calendar.journal.JournalRecord.AvailabilitySet;
+import com.accoladehq.calendar.journal.JournalRecord.Booked;
+import com.accoladehq.calendar.journal.JournalRecord.Cancelled;
+import com.accoladehq.calendar.journal.JournalRecord.OwnerCreated;
+import com.accoladehq.calendar.journal.JournalRecord.Rescheduled;
+import com.accoladehq.calendar.journal.JournalRecord.Window;
+import com.accoladehq.calendar.repository.AppointmentRepository;
+import com.accoladehq.calendar.repository.ArchivedAppointmentRepository;
+import com.accoladehq.calendar.repository.AvailabilityRuleRepository;
+import com.accoladehq.calendar.repository.CalendarOwnerRepository;
+import com.accoladehq.calendar.utilization.UtilizationRollup;
+
+/**
+ * Applies journal records to the repositories.
+ * <p>
+ * {@link #apply} writes journal records into the repositories directly, without
+ * going through the booking service, so replay sends no notifications and writes
+ * no outbox rows. Every record is applied idempotently (an owner is only created
+ * if missing, a booking is skipped if its slot is taken, a cancellation of a
+ * missing appointment is ignored, an archival only moves a row that is still
+ * live), so records that are already reflected in a
+ * snapshot can safely be replayed on top of it. Derived tables that replay and
+ * snapshot loading bypass are rebuilt once by {@link #restored()}.
+ * </p>
+ * <p>
+ * Bookings are inserted with their journaled ids, through JDBC as Hibernate
+ * assigns ids itself, and {@link #restored()} moves the id sequence past the
+ * highest one, so ids held by clients stay valid across a restart. Reschedules
+ * find their appointment by id.
+ * </p>
+ */
+@Component
+public class JournalReplayer {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalReplayer.class);
+
+    /** Must match the allocation size of {@code appointment_seq} on {@code Appointment}. */
+    private static final int APPOINTMENT_ID_ALLOCATION = 50;
+
+    private final CalendarOwnerRepository ownerRepo;
+
+    private final AvailabilityRuleRepository availabilityRepo;
+
+    private final AppointmentRepository appointmentRepo;
+
+    private final ArchivedAppointmentRepository archiveRepo;
+
+    private final UtilizationRollup utilization;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate tx;
+
+    /** The highest appointment id replayed. */
+    private long maxAppointmentId;
+
+    /**
+     * Creates a replayer.
+     *
+     * @param ownerRepo          the owner repository
+     * @param availabilityRepo   the availability rule repository
+     * @param appointmentRepo    the appointment repository
+     * @param archiveRepo        the archived appointment repository
+     * @param utilization        the utilization counters rebuilt after a restore
+     * @param jdbcTemplate       JDBC access for inserting appointments with their ids
+     * @param transactionManager the transaction manager
+     */
+    public JournalReplayer(CalendarOwnerRepository ownerRepo, AvailabilityRuleRepository availabilityRepo,
+                           AppointmentRepository appointmentRepo, ArchivedAppointmentRepository archiveRepo,
+                           UtilizationRollup utilization, JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager) {
+        this.ownerRepo = ownerRepo;
+        this.availabilityRepo = availabilityRepo;
+        this.appointmentRepo = appointmentRepo;
+        this.archiveRepo = archiveRepo;
+        this.utilization = utilization;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Applies records in order, in one transaction.
+     *
+     * @param records the records to apply
+     */
+    public void apply(List<JournalRecord> records) {
+        tx.executeWithoutResult(status -> {
+            Map<String, CalendarOwner> owners = new HashMap<>();
+            for (JournalRecord record : records) {
+                applyOne(record, owners);
+            }
+        });
+    }
+
+    /**
+     * Rebuilds what is derived from the restored rows, once the snapshot and every
+     * record have been applied, and moves the appointment id sequence past every
+     * replayed id.
+     */
+    public void restored() {
+        if (maxAppointmentId > 0) {
+            Long maxLoaded = jdbcTemplate.queryForObject("SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM appointment), "
+                    + "(SELECT COALESCE(MAX(id), 0) FROM appointment_archive))", Long.class);
+            // Past cancelled bookings too; the pooled optimizer hands out the block ending at the value it reads
+            jdbcTemplate.execute("ALTER SEQUENCE appointment_seq RESTART WITH "
+                    + (Math.max(maxAppointmentId, maxLoaded) + APPOINTMENT_ID_ALLOCATION));
+        }
+        utilization.rebuild();
+    }
+
+    private void applyOne(JournalRecord record, Map<String, CalendarOwner> owners) {
+        switch (record) {
+            case OwnerCreated r -> {
+                if (owner(r.username(), owners) == null) {
+                    CalendarOwner owner = new CalendarOwner();
+                    owner.setUsername(r.username());
+                    owner.setDisplayName(r.displayName());
+                    owners.put(r.username(), ownerRepo.save(owner));
+                }
+            }
+            case AvailabilitySet r -> {
+                CalendarOwner owner = requireOwner(r.username(), owners);
+                if (owner == null) {
+                    return;
+                }
+                availabilityRepo.deleteByOwner(owner);
+                for (Window w : r.windows()) {
+                    AvailabilityRule rule = new AvailabilityRule();
+                    rule.setOwner(owner);
+                    rule.setStartTime(w.start());
+                    rule.setEndTime(w.end());
+                    availabilityRepo.save(rule);
+                }
+            }
+            case Booked r -> {
+                CalendarOwner owner = requireOwner(r.username(), owners);
+                maxAppointmentId = Math.max(maxAppointmentId, r.id());
+                if (owner == null || (r.id() > 0 && appointmentRepo.existsById(r.id()))
+                        || appointmentRepo.findByOwnerAndDateAndStartTime(owner, r.date(), r.start()).isPresent()) {
+                    return;
+                }
+                if (r.id() > 0) {
+                    // The slot lookup above has flushed pending deletes and moves of this table
+                    jdbcTemplate.update("INSERT INTO appointment (id, owner_id, date, start_time, end_time, invitee_name, "
+                            + "invitee_email) VALUES (?, ?, ?, ?, ?, ?, ?)", r.id(), owner.getId(), r.date(), r.start(),
+                            r.end(), r.inviteeName(), r.inviteeEmail());
+                    return;
+                }
+                Appointment appt = new Appointment();
+                appt.setOwner(owner);
+                appt.setDate(r.date());
+                appt.setStartTime(r.start());
+                appt.setEndTime(r.end());
+                appt.setInviteeName(r.inviteeName());
+                appt.setInviteeEmail(r.inviteeEmail());
+                appointmentRepo.save(appt);
+            }
+            case Cancelled r -> {
+                CalendarOwner owner = requireOwner(r.username(), owners);
+                if (owner != null) {
+                    appointmentRepo.findByOwnerAndDateAndStartTime(owner, r.date(), r.start())
+                            .ifPresent(appointmentRepo::delete);
+                }
+            }
+            case Rescheduled r -> {
+                CalendarOwner owner = requireOwner(r.username(), owners);
+                if (owner == null) {
+                    return;
+                }
+                Optional<Appointment> appt = r.id() > 0 ? appointmentRepo.findById(r.id())
+                        : appointmentRepo.findByOwnerAndDateAndStartTime(owner, r.oldDate(), r.oldStart());
+                if (appt.isEmpty() || appointmentRepo.findByOwnerAndDateAndStartTime(owner, r.date(), r.start()).isPresent()) {
+                    return;
+                }
+                appt.get().setDate(r.date());
+                appt.get().setStartTime(r.start());
+                appt.get().setEndTime(r.end());
+            }
+            case Archived r -> {
+                CalendarOwner owner = requireOwner(r.username(), owners);
+                if (owner == null) {
+                    return;
+                }
+                Optional<Appointment> appt = appointmentRepo.findByOwnerAndDateAndStartTime(owner, r.date(), r.start());
+                if (appt.isEmpty()) {
+                    return;
+                }
+                // The booking may have been replayed on top of a snapshot that already archived it
+                if (!archiveRepo.existsByOwnerAndDateAndStartTime(owner, r.date(), r.start())) {
+                    archiveRepo.save(archived(appt.get()));
+                }
+                appointmentRepo.delete(appt.get());
+            }
+            case Aborted r -> {
+                // Skipped by the journal before replay
+            }
+        }
+    }
+
+    private static ArchivedAppointment archived(Appointment appt) {
+        ArchivedAppointment archived = new ArchivedAppointment();
+        archived.setId(appt.getId());
+        archived.setOwner(appt.getOwner());
+        archived.setDate(appt.getDate());
+        archived.setStartTime(appt.getStartTime());
+        archived.setEndTime(appt.getEndTime());
+        archived.setInviteeName(appt.getInviteeName());
+        archived.setInviteeEmail(appt.getInviteeEmail());
+        return archived;
+    }
+
+    private CalendarOwner owner(String username, Map<String, CalendarOwner> owners) {
+        CalendarOwner owner = owners.get(username);
+        if (owner == null) {
+            owner = ownerRepo.findByUsername(username).orElse(null);
+            if (owner != null) {
+                owners.put(username, owner);
+            }
+        }
+        return owner;
+    }
+
+    private CalendarOwner requireOwner(String username, Map<String, CalendarOwner> owners) {
+        CalendarOwner owner = owner(username, owners);
+        if (owner == null) {
+            logger.warn("Skipping journal record for unknown owner: {}", username);
+        }
+        return owner;
+    }
+}
@@ -0,0 +1,168 @@
+package com.accoladehq.calendar.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped, fixed-size journal file.
+ * <p>
+ * Records are laid out back to back from offset 0:
+ * </p>
+ * <pre>
+ *   int   length    bytes that follow the checksum
+ *   int   crc32c    over those bytes
+ *   long  sequence
+ *   long  txId
+ *   byte[] body     see {@link JournalCodec}
+ * </pre>
+ * <p>
+ * The file is zero-filled when created, so a zero length marks the end of the
+ * written records. A record whose checksum does not match (a write torn by a
+ * crash) ends the readable part of the file as well.
+ * </p>
+ * <p>
+ * Not thread-safe for appends; {@link BookingJournal} serializes them. {@link #force()}
+ * may be called concurrently with appends.
+ * </p>
+ */
+final class JournalSegment {
+
+    /** Bytes before the body: length, checksum, sequence and transaction id. */
+    static final int HEADER_SIZE = 24;
+
+    private final Path path;
+
+    private final long firstSequence;
+
+    private final MappedByteBuffer buffer;
+
+    private int position;
+
+    private JournalSegment(Path path, long firstSequence, MappedByteBuffer buffer) {
+        this.path = path;
+        this.firstSequence = firstSequence;
+        this.buffer = buffer;
+    }
+
+    /**
+     * A record read back from a segment.
+     *
+     * @param sequence the record's sequence number
+     * @param txId     the id of the transaction that appended it, or 0
+     * @param record   the record
+     */
+    record Entry(long sequence, long txId, JournalRecord record) {
+    }
+
+    /**
+     * Creates and maps a new, zero-filled segment file.
+     *
+     * @param path          the file to create; must not exist
+     * @param firstSequence the sequence number of the first record it will hold
+     * @param size          the file size in bytes
+     * @return the segment, positioned at the start
+     * @throws IOException if the file cannot be created or mapped
+     */
+    static JournalSegment create(Path path, long firstSequence, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping outlives the channel
+            return new JournalSegment(path, firstSequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    /**
+     * Reads the valid records of a segment file in order.
+     *
+     * @param path     the segment file
+     * @param consumer receives each record
+     * @return {@code true} if the file ended cleanly, {@code false} if reading
+     *         stopped at a damaged record
+     * @throws IOException if the file cannot be read
+     */
+    static boolean read(Path path, Consumer<Entry> consumer) throws IOException {
+        MappedByteBuffer in;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        CRC32C crc = new CRC32C();
+        int pos = 0;
+        while (pos + 8 <= in.capacity()) {
+            int length = in.getInt(pos);
+            if (length == 0) {
+                return true;
+            }
+            if (length < HEADER_SIZE - 8 + 1 || pos + 8 + length > in.capacity()) {
+                return false;
+            }
+            crc.reset();
+            crc.update(in.slice(pos + 8, length));
+            if ((int) crc.getValue() != in.getInt(pos + 4)) {
+                return false;
+            }
+            ByteBuffer body = in.slice(pos + HEADER_SIZE, length - (HEADER_SIZE - 8));
+            consumer.accept(new Entry(in.getLong(pos + 8), in.getLong(pos + 16), JournalCodec.decode(body)));
+            pos += 8 + length;
+        }
+        return true;
+    }
+
+    /**
+     * Appends an encoded record if it fits.
+     *
+     * @param sequence the record's sequence number
+     * @param txId     the appending transaction's id, or 0
+     * @param body     the encoded body
+     * @return {@code false} if the segment has no room left for it
+     */
+    boolean append(long sequence, long txId, byte[] body) {
+        int length = HEADER_SIZE - 8 + body.length;
+        if (position + 8 + length > buffer.capacity()) {
+            return false;
+        }
+        buffer.putLong(position + 8, sequence);
+        buffer.putLong(position + 16, txId);
+        buffer.put(position + HEADER_SIZE, body);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position + 8, length));
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.putInt(position, length);
+        position += 8 + length;
+        return true;
+    }
+
+    /**
+     * Forces written records to the storage device.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Returns whether a record with a body of the given size can ever fit.
+     *
+     * @param bodySize the encoded body size
+     * @return {@code true} if it fits into an empty segment of this size
+     */
+    boolean fitsEmpty(int bodySize) {
+        return HEADER_SIZE + bodySize <= buffer.capacity();
+    }
+
+    boolean isEmpty() {
+        return position == 0;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long firstSequence() {
+        return firstSequence;
+    }
+}
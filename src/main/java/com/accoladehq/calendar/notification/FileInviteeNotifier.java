@@ -0,0 +1,58 @@
+package com.accoladehq.calendar.notification;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.accoladehq.calendar.event.AppointmentEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link InviteeNotifier} that appends each notification as a JSON line to a local file.
+ * <p>
+ * Stands in for the mail server in local runs; the file can be tailed to see what
+ * would have been sent.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "calendar.notifications.sink", havingValue = "file")
+public class FileInviteeNotifier implements InviteeNotifier {
+
+    private final Path file;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates a file notifier.
+     *
+     * @param file         the file to append to
+     * @param objectMapper the mapper used to render events
+     */
+    public FileInviteeNotifier(@Value("${calendar.notifications.file:notifications.jsonl}") Path file,
+                               ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void deliver(List<AppointmentEvent> batch) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (AppointmentEvent event : batch) {
+                out.write(objectMapper.writeValueAsString(event));
+                out.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.accoladehq.calendar.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.accoladehq.calendar.event.AppointmentEvent;
+
+/**
+ * {@link InviteeNotifier} that keeps delivered notifications in memory.
+ * <p>
+ * Stands in for the mail server in tests and local runs.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "calendar.notifications.sink", havingValue = "memory")
+public class InMemoryInviteeNotifier implements InviteeNotifier {
+
+    private final List<AppointmentEvent> delivered = new ArrayList<>();
+
+    private int batches;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void deliver(List<AppointmentEvent> batch) {
+        delivered.addAll(batch);
+        batches++;
+    }
+
+    /**
+     * Returns a copy of every notification delivered so far.
+     *
+     * @return delivered notifications in delivery order
+     */
+    public synchronized List<AppointmentEvent> getDelivered() {
+        return new ArrayList<>(delivered);
+    }
+
+    /**
+     * Returns how many batches have been delivered.
+     *
+     * @return the batch count
+     */
+    public synchronized int getBatches() {
+        return batches;
+    }
+}
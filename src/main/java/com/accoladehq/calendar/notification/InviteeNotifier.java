@@ -0,0 +1,29 @@
+package com.accoladehq.calendar.notification;
+
+import java.util.List;
+
+import com.accoladehq.calendar.event.AppointmentEvent;
+
+/**
+ * Delivery channel for invitee notifications (e.g. confirmation emails).
+ * <p>
+ * Implementations receive events in batches from {@link NotificationPipeline}
+ * on a background thread, never on the booking request thread. Throwing from
+ * {@link #deliver(List)} marks the whole batch as failed and causes it to be
+ * retried with backoff.
+ * </p>
+ * <p>
+ * The active implementation is selected with {@code calendar.notifications.sink}
+ * ({@code log}, {@code memory} or {@code file}).
+ * </p>
+ */
+public interface InviteeNotifier {
+
+    /**
+     * Delivers a batch of notifications.
+     *
+     * @param batch the events to notify invitees about; never empty
+     * @throws Exception if the batch could not be delivered and should be retried
+     */
+    void deliver(List<AppointmentEvent> batch) throws Exception;
+}
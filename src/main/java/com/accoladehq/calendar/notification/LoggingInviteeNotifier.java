@@ -0,0 +1,31 @@
+package com.accoladehq.calendar.notification;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.accoladehq.calendar.event.AppointmentEvent;
+
+/**
+ * Default {@link InviteeNotifier} that only logs the notifications it would send.
+ */
+@Component
+@ConditionalOnProperty(name = "calendar.notifications.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingInviteeNotifier implements InviteeNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingInviteeNotifier.class);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deliver(List<AppointmentEvent> batch) {
+        for (AppointmentEvent event : batch) {
+            logger.info("Notify {} <{}>: appointment {} {} {} with {}", event.inviteeName(), event.inviteeEmail(),
+                    event.type(), event.date(), event.startTime(), event.username());
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.accoladehq.calendar.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.accoladehq.calendar.event.AppointmentEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Bounded, in-process pipeline that delivers invitee notifications off the booking path.
+ * <p>
+ * Appointment events are enqueued after the booking transaction commits; the
+ * request thread only performs a non-blocking {@code offer}, so booking latency
+ * does not depend on the notifier. A single background thread drains the queue
+ * in batches into the configured {@link InviteeNotifier}, retrying failed batches
+ * with exponential backoff.
+ * </p>
+ * <p>
+ * When the queue is full, new notifications are dropped and counted rather than
+ * slowing down bookings. Queue depth, drops, deliveries, retries and failures are
+ * exported as {@code calendar.notifications.*} metrics.
+ * </p>
+ */
+@Component
+public class NotificationPipeline implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPipeline.class);
+
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final InviteeNotifier notifier;
+
+    private final BlockingQueue<AppointmentEvent> queue;
+
+    private final int batchSize;
+
+    private final int maxAttempts;
+
+    private final long initialBackoffMs;
+
+    private final Counter enqueued;
+
+    private final Counter dropped;
+
+    private final Counter delivered;
+
+    private final Counter retried;
+
+    private final Counter failed;
+
+    private final Timer deliveryTimer;
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    /**
+     * Creates the pipeline.
+     *
+     * @param notifier         the delivery channel
+     * @param registry         the registry receiving pipeline metrics
+     * @param queueCapacity    the maximum number of pending notifications
+     * @param batchSize        the maximum number of notifications per delivery
+     * @param maxAttempts      delivery attempts per batch before it is given up
+     * @param initialBackoffMs delay before the first retry; doubled on each further retry
+     */
+    public NotificationPipeline(InviteeNotifier notifier, MeterRegistry registry,
+                                @Value("${calendar.notifications.queue-capacity:10000}") int queueCapacity,
+                                @Value("${calendar.notifications.batch-size:100}") int batchSize,
+                                @Value("${calendar.notifications.max-attempts:5}") int maxAttempts,
+                                @Value("${calendar.notifications.initial-backoff-ms:200}") long initialBackoffMs) {
+        this.notifier = notifier;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.enqueued = registry.counter("calendar.notifications.enqueued");
+        this.dropped = registry.counter("calendar.notifications.dropped");
+        this.delivered = registry.counter("calendar.notifications.delivered");
+        this.retried = registry.counter("calendar.notifications.retries");
+        this.failed = registry.counter("calendar.notifications.failed");
+        this.deliveryTimer = registry.timer("calendar.notifications.delivery");
+        Gauge.builder("calendar.notifications.queue.depth", queue, BlockingQueue::size).register(registry);
+    }
+
+    /**
+     * Enqueues a notification once the transaction that produced it has committed.
+     *
+     * @param event the appointment event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentEvent(AppointmentEvent event) {
+        submit(event);
+    }
+
+    /**
+     * Offers a notification to the queue without blocking.
+     *
+     * @param event the appointment event
+     * @return {@code true} if the notification was queued, {@code false} if it has
+     *         no recipient or the queue is full
+     */
+    public boolean submit(AppointmentEvent event) {
+        if (event.inviteeEmail() == null || event.inviteeEmail().isBlank()) {
+            return false;
+        }
+        if (queue.offer(event)) {
+            enqueued.increment();
+            return true;
+        }
+        dropped.increment();
+        logger.warn("Notification queue full, dropping {} notification for appointment {}", event.type(),
+                event.appointmentId());
+        return false;
+    }
+
+    /**
+     * Returns the number of notifications waiting to be delivered.
+     *
+     * @return the current queue depth
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().name("invitee-notifier").daemon().start(this::drainLoop);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+        if (!queue.isEmpty()) {
+            logger.warn("Notification pipeline stopped with {} undelivered notifications", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainLoop() {
+        List<AppointmentEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AppointmentEvent first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                deliverWithRetry(List.copyOf(batch));
+            } catch (InterruptedException e) {
+                // Interrupted mid-delivery or during a backoff: the batch was not delivered
+                requeue(batch);
+                if (!running) {
+                    return;
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Puts an undelivered batch back into the queue, so that it is retried or
+     * reported as undelivered on stop; what no longer fits is counted as failed.
+     */
+    private void requeue(List<AppointmentEvent> batch) {
+        int lost = 0;
+        for (AppointmentEvent event : batch) {
+            if (!queue.offer(event)) {
+                lost++;
+            }
+        }
+        if (lost > 0) {
+            failed.increment(lost);
+            logger.warn("Notification queue full, {} interrupted notifications not delivered", lost);
+        }
+    }
+
+    private void deliverWithRetry(List<AppointmentEvent> batch) throws InterruptedException {
+        long backoff = initialBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            long start = System.nanoTime();
+            try {
+                notifier.deliver(batch);
+                deliveryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                delivered.increment(batch.size());
+                return;
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                if (attempt >= maxAttempts) {
+                    failed.increment(batch.size());
+                    logger.error("Giving up on {} notifications after {} attempts", batch.size(), attempt, e);
+                    return;
+                }
+                retried.increment();
+                logger.warn("Notification delivery attempt {} failed, retrying in {} ms: {}", attempt, backoff,
+                        e.getMessage());
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+}
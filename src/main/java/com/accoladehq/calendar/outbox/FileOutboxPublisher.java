@@ -0,0 +1,55 @@
+package com.accoladehq.calendar.outbox;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link OutboxPublisher} that appends each event as a JSON line to a local file.
+ * <p>
+ * Stands in for the message broker in local runs and tests.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "calendar.outbox.sink", havingValue = "file")
+public class FileOutboxPublisher implements OutboxPublisher {
+
+    private final Path file;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates a file publisher.
+     *
+     * @param file         the file to append to
+     * @param objectMapper the mapper used to render events
+     */
+    public FileOutboxPublisher(@Value("${calendar.outbox.file:outbox.jsonl}") Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboxMessage message : batch) {
+                out.write(objectMapper.writeValueAsString(message));
+                out.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.accoladehq.calendar.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link OutboxPublisher} that keeps published events in memory, for tests and benchmarks.
+ */
+@Component
+@ConditionalOnProperty(name = "calendar.outbox.sink", havingValue = "memory")
+public class InMemoryOutboxPublisher implements OutboxPublisher {
+
+    private final List<OutboxMessage> published = new ArrayList<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) {
+        published.addAll(batch);
+    }
+
+    /**
+     * Returns a copy of every event published so far.
+     *
+     * @return published events in publication order
+     */
+    public synchronized List<OutboxMessage> getPublished() {
+        return new ArrayList<>(published);
+    }
+
+    /**
+     * Returns how many events have been published so far.
+     *
+     * @return the count
+     */
+    public synchronized int size() {
+        return published.size();
+    }
+
+    /**
+     * Forgets all published events.
+     */
+    public synchronized void clear() {
+        published.clear();
+    }
+}
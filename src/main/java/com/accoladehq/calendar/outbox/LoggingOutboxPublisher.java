@@ -0,0 +1,31 @@
+package com.accoladehq.calendar.outbox;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default {@link OutboxPublisher} that only logs what it would publish.
+ */
+@Component
+@ConditionalOnProperty(name = "calendar.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxPublisher implements OutboxPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingOutboxPublisher.class);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        logger.info("Publishing {} outbox events ({} .. {})", batch.size(), batch.get(0).id(),
+                batch.get(batch.size() - 1).id());
+        for (OutboxMessage message : batch) {
+            logger.debug("Outbox event {} {} for {}: {}", message.id(), message.eventType(), message.username(),
+                    message.payload());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.accoladehq.calendar.outbox;
+
+import java.time.Instant;
+
+/**
+ * An outbox event as handed to an {@link OutboxPublisher}.
+ *
+ * @param id        the event ID; unique, usable as an idempotency key
+ * @param username  the owner the event belongs to
+ * @param sequence  the position among the owner's events, starting at 1 and without gaps
+ * @param eventType the event type
+ * @param payload   the JSON payload
+ * @param createdAt when the event was written
+ */
+public record OutboxMessage(long id, String username, long sequence, String eventType, String payload, Instant createdAt) {
+}
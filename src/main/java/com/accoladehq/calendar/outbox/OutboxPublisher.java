@@ -0,0 +1,28 @@
+package com.accoladehq.calendar.outbox;
+
+import java.util.List;
+
+/**
+ * Destination for outbox events (e.g. a message broker feeding CRM and billing).
+ * <p>
+ * Batches contain the events of one relay partition, and all events of an owner
+ * fall into the same partition. Within a batch, each owner's events are in
+ * {@link OutboxMessage#sequence()} order. A batch is marked published only after
+ * this method returns, so a failure causes redelivery of the whole batch: delivery
+ * is at-least-once. Consumers should de-duplicate on {@link OutboxMessage#id()}.
+ * </p>
+ * <p>
+ * The active implementation is selected with {@code calendar.outbox.sink}
+ * ({@code log}, {@code memory} or {@code file}).
+ * </p>
+ */
+public interface OutboxPublisher {
+
+    /**
+     * Publishes a batch of events.
+     *
+     * @param batch the events, in publication order; never empty
+     * @throws Exception if the batch could not be published and must be retried
+     */
+    void publish(List<OutboxMessage> batch) throws Exception;
+}
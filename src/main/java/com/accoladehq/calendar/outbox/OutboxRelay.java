@@ -0,0 +1,232 @@
+package com.accoladehq.calendar.outbox;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Background relay that drains the transactional outbox into an {@link OutboxPublisher}.
+ * <p>
+ * Events are split into a fixed number of partitions by owner (see
+ * {@link OutboxWriter#partitionOf}). Each worker
+ * thread cycles over its share of the partitions; to drain one it locks the
+ * partition row with {@code FOR UPDATE SKIP LOCKED}, reads the oldest unpublished
+ * events of that partition in per-owner sequence order (see {@link OutboxWriter}),
+ * publishes them as one batch and marks them
+ * published, all in a single transaction. A partition held by another worker (on
+ * this node or another) is skipped rather than waited for, so several relays can
+ * run in parallel while each owner's events are still published in order.
+ * </p>
+ * <p>
+ * Delivery is at-least-once: if publishing succeeds but the commit fails, the batch
+ * is published again. Published rows are purged after
+ * {@code calendar.outbox.retention-minutes}. Throughput is exported as the
+ * {@code calendar.outbox.published} counter.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "calendar.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String CLAIM_PARTITION =
+            "SELECT id FROM outbox_partition WHERE id = ? FOR UPDATE SKIP LOCKED";
+
+    private static final String SELECT_BATCH =
+            "SELECT id, owner_username, owner_sequence, event_type, payload, created_at FROM outbox_event "
+                    + "WHERE partition_key = ? AND published_at IS NULL ORDER BY owner_sequence, id LIMIT ?";
+
+    private static final String MARK_PUBLISHED = "UPDATE outbox_event SET published_at = ? WHERE id = ?";
+
+    private static final RowMapper<OutboxMessage> MESSAGE_MAPPER = (rs, i) -> new OutboxMessage(
+            rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getString(4), rs.getString(5), rs.getTimestamp(6).toInstant());
+
+    private final JdbcTemplate jdbc;
+
+    private final TransactionTemplate tx;
+
+    private final OutboxPublisher publisher;
+
+    private final int partitions;
+
+    private final int workers;
+
+    private final int batchSize;
+
+    private final long pollIntervalMs;
+
+    private final long retentionMinutes;
+
+    private final Counter published;
+
+    private final Counter failures;
+
+    private final Timer batchTimer;
+
+    private final List<Thread> threads = new ArrayList<>();
+
+    private volatile boolean running;
+
+    /**
+     * Creates the relay.
+     *
+     * @param jdbc             JDBC access to the outbox tables
+     * @param txManager        the transaction manager
+     * @param publisher        the destination for events
+     * @param registry         the registry receiving relay metrics
+     * @param partitions       number of owner partitions (must stay stable across restarts)
+     * @param workers          number of worker threads on this node
+     * @param batchSize        maximum events published per batch
+     * @param pollIntervalMs   idle sleep when no partition had events
+     * @param retentionMinutes how long published events are kept before purging
+     */
+    public OutboxRelay(JdbcTemplate jdbc, PlatformTransactionManager txManager, OutboxPublisher publisher,
+                       MeterRegistry registry,
+                       @Value("${calendar.outbox.partitions:16}") int partitions,
+                       @Value("${calendar.outbox.workers:2}") int workers,
+                       @Value("${calendar.outbox.batch-size:500}") int batchSize,
+                       @Value("${calendar.outbox.poll-interval-ms:500}") long pollIntervalMs,
+                       @Value("${calendar.outbox.retention-minutes:60}") long retentionMinutes) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.publisher = publisher;
+        this.partitions = partitions;
+        this.workers = Math.min(workers, partitions);
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.retentionMinutes = retentionMinutes;
+        this.published = registry.counter("calendar.outbox.published");
+        this.failures = registry.counter("calendar.outbox.failures");
+        this.batchTimer = registry.timer("calendar.outbox.batch");
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        for (int p = 0; p < partitions; p++) {
+            jdbc.update("MERGE INTO outbox_partition KEY(id) VALUES (?)", p);
+        }
+        running = true;
+        for (int w = 0; w < workers; w++) {
+            int worker = w;
+            threads.add(Thread.ofPlatform().name("outbox-relay-" + w).daemon().start(() -> workLoop(worker)));
+        }
+        logger.info("Outbox relay started with {} workers over {} partitions", workers, partitions);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        threads.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Drains one batch from a single partition, unless another worker holds it.
+     *
+     * @param partition the partition number
+     * @return the number of events published
+     */
+    public int drainPartition(int partition) {
+        Integer count = tx.execute(status -> {
+            if (jdbc.queryForList(CLAIM_PARTITION, Integer.class, partition).isEmpty()) {
+                return 0;
+            }
+            List<OutboxMessage> batch = jdbc.query(SELECT_BATCH, MESSAGE_MAPPER, partition, batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            long start = System.nanoTime();
+            try {
+                publisher.publish(batch);
+            } catch (Exception e) {
+                throw new IllegalStateException("Publishing outbox partition " + partition + " failed", e);
+            }
+            Timestamp now = Timestamp.from(Instant.now());
+            jdbc.batchUpdate(MARK_PUBLISHED, batch, batch.size(), (ps, message) -> {
+                ps.setTimestamp(1, now);
+                ps.setLong(2, message.id());
+            });
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return batch.size();
+        });
+        published.increment(count);
+        return count;
+    }
+
+    /**
+     * Deletes published events older than the retention period.
+     *
+     * @return the number of purged events
+     */
+    public int purgePublished() {
+        Timestamp cutoff = Timestamp.from(Instant.now().minusSeconds(retentionMinutes * 60));
+        return jdbc.update("DELETE FROM outbox_event WHERE published_at < ?", cutoff);
+    }
+
+    private void workLoop(int worker) {
+        long nextPurge = System.currentTimeMillis();
+        while (running) {
+            try {
+                int count = 0;
+                for (int p = worker; p < partitions; p += workers) {
+                    count += drainPartition(p);
+                }
+                if (worker == 0 && System.currentTimeMillis() >= nextPurge) {
+                    purgePublished();
+                    nextPurge = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+                }
+                if (count == 0) {
+                    Thread.sleep(pollIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                failures.increment();
+                logger.warn("Outbox relay worker {} failed, backing off: {}", worker, e.getMessage());
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+}
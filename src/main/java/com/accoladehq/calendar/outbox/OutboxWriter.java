@@ -0,0 +1,114 @@
+package com.accoladehq.calendar.outbox;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.accoladehq.calendar.entity.OutboxEvent;
+import com.accoladehq.calendar.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Appends events to the transactional outbox.
+ * <p>
+ * Must be called inside the transaction that performs the change, so the event is
+ * committed or rolled back together with it.
+ * </p>
+ * <p>
+ * Each event is numbered within its owner by incrementing the owner's row in
+ * {@code outbox_sequence}. The row stays locked until the transaction ends, so
+ * a second transaction writing events for the same owner waits for the first.
+ * Sequence numbers therefore follow commit order and have no gaps, which event
+ * ids, handed out in blocks at persist time and per node, do not guarantee.
+ * </p>
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String NEXT_SEQUENCE = "SELECT last_sequence FROM FINAL TABLE "
+            + "(UPDATE outbox_sequence SET last_sequence = last_sequence + 1 WHERE username = ?)";
+
+    private final OutboxEventRepository outboxRepo;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final int partitions;
+
+    /**
+     * Creates an outbox writer.
+     *
+     * @param outboxRepo   the outbox repository
+     * @param jdbcTemplate JDBC access to the per-owner sequences
+     * @param objectMapper the mapper used to render payloads as JSON
+     * @param partitions   number of relay partitions (must match the relay)
+     */
+    public OutboxWriter(OutboxEventRepository outboxRepo, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                        @Value("${calendar.outbox.partitions:16}") int partitions) {
+        this.outboxRepo = outboxRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.partitions = partitions;
+    }
+
+    /**
+     * Appends an event for an owner.
+     *
+     * @param username  the owner the event belongs to
+     * @param eventType the event type
+     * @param payload   the payload, serialized as JSON
+     */
+    public void append(String username, String eventType, Object payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setOwnerUsername(username);
+        event.setOwnerSequence(nextSequence(username));
+        event.setPartitionKey(partitionOf(username, partitions));
+        event.setEventType(eventType);
+        try {
+            event.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload for " + eventType, e);
+        }
+        event.setCreatedAt(Instant.now());
+        outboxRepo.save(event);
+    }
+
+    /**
+     * Takes the owner's next sequence number, locking its row until the
+     * transaction ends.
+     */
+    private long nextSequence(String username) {
+        List<Long> next = jdbcTemplate.queryForList(NEXT_SEQUENCE, Long.class, username);
+        if (!next.isEmpty()) {
+            return next.get(0);
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO outbox_sequence (username, last_sequence) VALUES (?, 1)", username);
+            return 1;
+        } catch (DuplicateKeyException e) {
+            // The owner's first event, written by another transaction at the same moment
+            return jdbcTemplate.queryForObject(NEXT_SEQUENCE, Long.class, username);
+        }
+    }
+
+    /**
+     * Returns the relay partition of an owner.
+     * <p>
+     * All events of an owner share one partition, which is what keeps them in order.
+     * Changing the partition count while events are pending may reorder those events.
+     * </p>
+     *
+     * @param username   the owner's username
+     * @param partitions the number of partitions
+     * @return the partition stored in {@code outbox_event.partition_key}
+     */
+    public static int partitionOf(String username, int partitions) {
+        return Math.floorMod(username.hashCode(), partitions);
+    }
+}
@@ -1,13 +1,21 @@
 package com.accoladehq.calendar.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import com.accoladehq.calendar.entity.Appointment;
 import com.accoladehq.calendar.entity.CalendarOwner;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository for managing {@link Appointment} entities.
@@ -40,6 +48,16 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
      */
     List<Appointment> findByOwnerAndDate(CalendarOwner owner, LocalDate date);
 
+    /**
+     * Finds all appointments for a given owner within an inclusive date range.
+     *
+     * @param owner the calendar owner
+     * @param from the first date to include
+     * @param to the last date to include
+     * @return list of matching appointments
+     */
+    List<Appointment> findByOwnerAndDateBetween(CalendarOwner owner, LocalDate from, LocalDate to);
+
     /**
      * Finds all upcoming appointments for a given owner, sorted by date and start time.
      *
@@ -62,4 +80,90 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     Optional<Appointment> findByOwnerAndDateAndStartTime(
             CalendarOwner owner, LocalDate date, LocalTime startTime
     );
+
+    /**
+     * Finds the start times booked for an owner on a date.
+     *
+     * @param ownerId the calendar owner's id
+     * @param date the appointment date
+     * @return the booked start times, in no particular order
+     */
+    @Query("select a.startTime from Appointment a where a.owner.id = :ownerId and a.date = :date")
+    List<LocalTime> findStartTimes(@Param("ownerId") Long ownerId, @Param("date") LocalDate date);
+
+    /**
+     * Streams the occupied slots of an owner within an inclusive date range, ordered by date and start time.
+     * <p>
+     * Only the date and start time are fetched, and rows are pulled from the database
+     * lazily, so a caller that stops early does not pay for the rest of the range.
+     * Must be consumed inside a transaction and closed afterwards.
+     * </p>
+     *
+     * @param owner the calendar owner
+     * @param from the earliest date to include
+     * @param to the latest date to include
+     * @return ordered stream of booked slots
+     */
+    @Query("select new com.accoladehq.calendar.repository.BookedSlot(a.date, a.startTime) from Appointment a "
+            + "where a.owner = :owner and a.date >= :from and a.date <= :to order by a.date asc, a.startTime asc")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"))
+    Stream<BookedSlot> streamBookedSlots(@Param("owner") CalendarOwner owner, @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to);
+
+    /**
+     * Finds the occupied slots of several owners within an inclusive date range in one query.
+     *
+     * @param owners the calendar owners
+     * @param from the first date to include
+     * @param to the last date to include
+     * @return booked slots tagged with their owner's id
+     */
+    @Query("select new com.accoladehq.calendar.repository.OwnerBookedSlot(a.owner.id, a.date, a.startTime) "
+            + "from Appointment a where a.owner in :owners and a.date between :from and :to")
+    List<OwnerBookedSlot> findBookedSlots(@Param("owners") Collection<CalendarOwner> owners,
+                                          @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Streams the appointments of an owner from a date onwards, ordered by date and start time.
+     * <p>
+     * Must be consumed inside a transaction and closed afterwards.
+     * </p>
+     *
+     * @param username the owner's username
+     * @param from the earliest date to include
+     * @return ordered stream of the owner's appointments
+     */
+    @Query("select new com.accoladehq.calendar.repository.AppointmentRow(a.id, o.username, a.date, a.startTime, a.endTime, "
+            + "a.inviteeName, a.inviteeEmail) from Appointment a join a.owner o "
+            + "where o.username = :username and a.date >= :from order by a.date asc, a.startTime asc")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"))
+    Stream<AppointmentRow> streamOwnerRows(@Param("username") String username, @Param("from") LocalDate from);
+
+    /**
+     * Finds the appointments of an owner within an inclusive date range, sorted by
+     * date and start time.
+     *
+     * @param username the owner's username
+     * @param from the first date to include
+     * @param to the last date to include
+     * @return the owner's appointments in the range
+     */
+    @Query("select new com.accoladehq.calendar.repository.AppointmentRow(a.id, o.username, a.date, a.startTime, a.endTime, "
+            + "a.inviteeName, a.inviteeEmail) from Appointment a join a.owner o "
+            + "where o.username = :username and a.date between :from and :to order by a.date asc, a.startTime asc")
+    List<AppointmentRow> findOwnerRows(@Param("username") String username, @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to);
+
+    /**
+     * Streams every appointment with its owner's username, in insertion order.
+     * <p>
+     * Must be consumed inside a transaction and closed afterwards.
+     * </p>
+     *
+     * @return stream of all appointments
+     */
+    @Query("select new com.accoladehq.calendar.repository.AppointmentRow(a.id, o.username, a.date, a.startTime, a.endTime, "
+            + "a.inviteeName, a.inviteeEmail) from Appointment a join a.owner o order by a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1024"))
+    Stream<AppointmentRow> streamAllRows();
 }
@@ -0,0 +1,21 @@
+package com.accoladehq.calendar.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Flat projection of an {@link com.accoladehq.calendar.entity.Appointment} with its
+ * owner's username, for bulk export and history listings. Archived appointments
+ * ({@link com.accoladehq.calendar.entity.ArchivedAppointment}) use the same shape.
+ *
+ * @param id           the appointment id
+ * @param username     the owner's username
+ * @param date         the appointment date
+ * @param startTime    the appointment start time
+ * @param endTime      the appointment end time
+ * @param inviteeName  the invitee's name
+ * @param inviteeEmail the invitee's email, may be {@code null}
+ */
+public record AppointmentRow(Long id, String username, LocalDate date, LocalTime startTime, LocalTime endTime,
+                             String inviteeName, String inviteeEmail) {
+}
@@ -0,0 +1,65 @@
+package com.accoladehq.calendar.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.accoladehq.calendar.entity.ArchivedAppointment;
+import com.accoladehq.calendar.entity.CalendarOwner;
+
+import jakarta.persistence.QueryHint;
+
+/**
+ * Repository for {@link ArchivedAppointment} entities, the cold side of appointment storage.
+ * <p>
+ * Only historical reads come here; booking, cancelling and slot search use
+ * {@link AppointmentRepository}, which sees the live table alone.
+ * </p>
+ */
+public interface ArchivedAppointmentRepository extends JpaRepository<ArchivedAppointment, Long> {
+
+    /**
+     * Tells whether an owner's appointment at a date and start time was archived.
+     *
+     * @param owner the calendar owner
+     * @param date the appointment date
+     * @param startTime the appointment start time
+     * @return {@code true} if the archive holds it
+     */
+    boolean existsByOwnerAndDateAndStartTime(CalendarOwner owner, LocalDate date, LocalTime startTime);
+
+    /**
+     * Finds the archived appointments of an owner within an inclusive date range,
+     * sorted by date and start time.
+     *
+     * @param username the owner's username
+     * @param from the first date to include
+     * @param to the last date to include
+     * @return the archived appointments
+     */
+    @Query("select new com.accoladehq.calendar.repository.AppointmentRow(a.id, o.username, a.date, a.startTime, a.endTime, "
+            + "a.inviteeName, a.inviteeEmail) from ArchivedAppointment a join a.owner o "
+            + "where o.username = :username and a.date between :from and :to order by a.date asc, a.startTime asc")
+    List<AppointmentRow> findOwnerRows(@Param("username") String username, @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to);
+
+    /**
+     * Streams every archived appointment with its owner's username, in id order.
+     * <p>
+     * Must be consumed inside a transaction and closed afterwards.
+     * </p>
+     *
+     * @return stream of all archived appointments
+     */
+    @Query("select new com.accoladehq.calendar.repository.AppointmentRow(a.id, o.username, a.date, a.startTime, a.endTime, "
+            + "a.inviteeName, a.inviteeEmail) from ArchivedAppointment a join a.owner o order by a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1024"))
+    Stream<AppointmentRow> streamAllRows();
+}
@@ -1,15 +1,23 @@
 package com.accoladehq.calendar.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import com.accoladehq.calendar.entity.AvailabilityRule;
 import com.accoladehq.calendar.entity.CalendarOwner;
 
+import java.util.Collection;
 import java.util.List;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository for managing {@link AvailabilityRule} entities.
  * <p>
  * Provides query and delete operations related to an owner's availability rules.
+ * {@link #findByOwner} results are query-cached; any write to the table, including
+ * {@link #deleteByOwner}, invalidates them.
  * </p>
  */
 public interface AvailabilityRuleRepository extends JpaRepository<AvailabilityRule, Long> {
@@ -20,12 +28,32 @@ public interface AvailabilityRuleRepository extends JpaRepository<AvailabilityRu
      * @param owner the calendar owner
      * @return list of availability rules belonging to the owner
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "owner-queries")
+    })
     List<AvailabilityRule> findByOwner(CalendarOwner owner);
 
+    /**
+     * Finds all availability rules of several owners in one query.
+     *
+     * @param owners the calendar owners
+     * @return availability rules belonging to any of the owners
+     */
+    List<AvailabilityRule> findByOwnerIn(Collection<CalendarOwner> owners);
+
     /**
      * Deletes all availability rules for a given owner.
      *
      * @param owner the calendar owner
      */
     void deleteByOwner(CalendarOwner owner);
+
+    /**
+     * Finds every availability rule with its owner, grouped by owner.
+     *
+     * @return all rules ordered by owner and start time
+     */
+    @Query("select r from AvailabilityRule r join fetch r.owner order by r.owner.id, r.startTime")
+    List<AvailabilityRule> findAllWithOwners();
 }
@@ -0,0 +1,14 @@
+package com.accoladehq.calendar.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Lightweight projection of an {@link com.accoladehq.calendar.entity.Appointment}
+ * carrying only the slot it occupies.
+ *
+ * @param date      the appointment date
+ * @param startTime the appointment start time
+ */
+public record BookedSlot(LocalDate date, LocalTime startTime) {
+}
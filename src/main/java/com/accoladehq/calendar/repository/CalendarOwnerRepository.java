@@ -1,14 +1,22 @@
 package com.accoladehq.calendar.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import com.accoladehq.calendar.entity.CalendarOwner;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository for managing {@link CalendarOwner} entities.
  * <p>
  * Provides operations to retrieve calendar owner details based on specific fields.
+ * Lookups by username go through the query cache, so repeated requests for the same
+ * owner are served from the second-level cache until the table changes.
  * </p>
  */
 public interface CalendarOwnerRepository extends JpaRepository<CalendarOwner, Long> {
@@ -19,5 +27,17 @@ public interface CalendarOwnerRepository extends JpaRepository<CalendarOwner, Lo
      * @param username the username of the calendar owner
      * @return an {@link Optional} containing the matching {@link CalendarOwner}, or empty if none found
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "owner-queries")
+    })
     Optional<CalendarOwner> findByUsername(String username);
+
+    /**
+     * Finds the calendar owners with any of the given usernames.
+     *
+     * @param usernames the usernames to look up
+     * @return matching owners; unknown usernames are simply absent
+     */
+    List<CalendarOwner> findByUsernameIn(Collection<String> usernames);
 }
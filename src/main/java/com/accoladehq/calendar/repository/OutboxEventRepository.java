@@ -0,0 +1,21 @@
+package com.accoladehq.calendar.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import com.accoladehq.calendar.entity.OutboxEvent;
+
+/**
+ * Repository for managing {@link OutboxEvent} entities.
+ * <p>
+ * Used to append events inside business transactions. Claiming and publishing is
+ * done by the outbox relay with plain JDBC.
+ * </p>
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Counts events that have not been published yet.
+     *
+     * @return the number of pending events
+     */
+    long countByPublishedAtIsNull();
+}
@@ -0,0 +1,15 @@
+package com.accoladehq.calendar.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Projection of an {@link com.accoladehq.calendar.entity.Appointment} carrying the
+ * slot it occupies and its owner, for queries spanning several owners.
+ *
+ * @param ownerId   id of the calendar owner
+ * @param date      the appointment date
+ * @param startTime the appointment start time
+ */
+public record OwnerBookedSlot(Long ownerId, LocalDate date, LocalTime startTime) {
+}
@@ -1,14 +1,23 @@
 package com.accoladehq.calendar.service;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.ResponseEntity;
 
 import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BatchSearchSlotsRequest;
 import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.dto.RecurringBookRequest;
+import com.accoladehq.calendar.dto.RecurringBookingResult;
+import com.accoladehq.calendar.dto.RescheduleRequest;
 import com.accoladehq.calendar.dto.SearchSlotsRequest;
 import com.accoladehq.calendar.dto.SlotDto;
+import com.accoladehq.calendar.dto.UtilizationDto;
+import com.accoladehq.calendar.engine.BookingBusyException;
 import com.accoladehq.calendar.entity.Appointment;
+import com.accoladehq.calendar.repository.AppointmentRow;
 
 /**
  * Service interface for managing calendar bookings, availability, and appointments.
@@ -18,7 +27,7 @@ import com.accoladehq.calendar.entity.Appointment;
  *   <li>Managing calendar owners</li>
  *   <li>Setting availability rules</li>
  *   <li>Searching for available time slots</li>
- *   <li>Booking appointments</li>
+ *   <li>Booking, cancelling and rescheduling appointments</li>
  *   <li>Listing upcoming appointments</li>
  * </ul>
  */
@@ -33,13 +42,26 @@ public interface BookingService {
     void upsertOwnerIfNotExists(String username, String displayName);
 
     /**
-     * Adds availability for a calendar owner.
+     * Adds an availability window for a calendar owner.
+     * <p>
+     * The window is merged with the owner's existing windows (overlapping or adjacent
+     * windows are combined), or replaces them when {@link AvailabilityRequest#isReplace()} is set.
+     * </p>
      *
      * @param req the availability request containing username, start time, and end time
      * @return a {@link ResponseEntity} containing a success or failure message
      */
     ResponseEntity<String> addAvailability(AvailabilityRequest req);
 
+    /**
+     * Removes a time range from a calendar owner's availability, e.g. to add a break.
+     * Windows overlapping the range are trimmed or split.
+     *
+     * @param req the availability request containing username and the range to remove
+     * @return a {@link ResponseEntity} containing a success or failure message
+     */
+    ResponseEntity<String> removeAvailability(AvailabilityRequest req);
+
     /**
      * Searches for available slots for a given owner and date.
      *
@@ -48,15 +70,81 @@ public interface BookingService {
      */
     List<SlotDto> searchAvailableSlots(SearchSlotsRequest req);
 
+    /**
+     * Finds the earliest available slots of an owner on or after a date.
+     * <p>
+     * Scans forward day by day using the owner's availability template and a single
+     * streaming query over the owner's bookings, stopping as soon as {@code limit}
+     * slots are found or the search horizon is reached.
+     * </p>
+     *
+     * @param username the username of the calendar owner
+     * @param from     the first date to consider (today is used if earlier)
+     * @param limit    the maximum number of slots to return
+     * @return up to {@code limit} available slots in chronological order
+     */
+    List<SlotDto> nextAvailable(String username, LocalDate from, int limit);
+
+    /**
+     * Searches available slots of several owners for a date or date range at once.
+     * <p>
+     * Owners, availability rules and booked slots are loaded with one query each,
+     * whatever the number of owners, and slots are generated in parallel.
+     * </p>
+     *
+     * @param req the batch request containing usernames and the date range
+     * @return available slots keyed by username, in request order; unknown usernames are omitted
+     */
+    Map<String, List<SlotDto>> searchAvailableSlotsBatch(BatchSearchSlotsRequest req);
+
     /**
      * Books an appointment for the specified slot.
      *
      * @param req the booking request containing username, date, start time, and invitee details
      * @return the booked slot details as a {@link SlotDto}
      * @throws IllegalStateException if the slot is already booked or unavailable
+     * @throws BookingBusyException  if the booking engine was too busy to decide the
+     *                               booking; nothing was booked and it may be retried
      */
     SlotDto bookAppointment(BookRequest req) throws IllegalStateException;
 
+    /**
+     * Books every occurrence of a recurring series, all-or-nothing.
+     * <p>
+     * Occurrences are checked against availability and against existing bookings
+     * fetched with a single range query. If any occurrence conflicts, nothing is
+     * booked and the conflicts are returned; otherwise all occurrences are inserted
+     * in one batched transaction.
+     * </p>
+     *
+     * @param req the recurring booking request
+     * @return the booked slots or the per-occurrence conflicts, or {@code null} if the owner does not exist
+     * @throws IllegalStateException if an occurrence was booked concurrently while inserting the series
+     */
+    RecurringBookingResult bookRecurring(RecurringBookRequest req) throws IllegalStateException;
+
+    /**
+     * Cancels an existing appointment, freeing its slot.
+     *
+     * @param appointmentId the ID of the appointment to cancel
+     * @return {@code true} if the appointment was cancelled, {@code false} if it does not exist
+     */
+    boolean cancelAppointment(Long appointmentId);
+
+    /**
+     * Moves an existing appointment to a different slot in a single transaction.
+     * <p>
+     * The old slot is released and the new one claimed atomically; if the new slot
+     * cannot be claimed the appointment is left unchanged.
+     * </p>
+     *
+     * @param appointmentId the ID of the appointment to move
+     * @param req           the request containing the new date and start time
+     * @return the new slot details, or {@code null} if the appointment does not exist
+     * @throws IllegalStateException if the new slot is outside availability or already booked
+     */
+    SlotDto rescheduleAppointment(Long appointmentId, RescheduleRequest req) throws IllegalStateException;
+
     /**
      * Lists all upcoming appointments for a given calendar owner.
      *
@@ -64,4 +152,27 @@ public interface BookingService {
      * @return a list of {@link Appointment} sorted by date and start time
      */
     List<Appointment> listUpcoming(String username);
+
+    /**
+     * Lists a calendar owner's appointments within a date range, whether they are
+     * still live or have been archived.
+     *
+     * @param username the username of the calendar owner
+     * @param from     the first date, inclusive
+     * @param to       the last date, inclusive
+     * @return the appointments sorted by date and start time, or {@code null} if the owner does not exist
+     */
+    List<AppointmentRow> listHistory(String username, LocalDate from, LocalDate to);
+
+    /**
+     * Reports booked versus available slots of a calendar owner per day or week,
+     * from counters maintained as appointments and availability change.
+     *
+     * @param username the username of the calendar owner
+     * @param from     the first date, inclusive
+     * @param to       the last date, inclusive
+     * @param weekly   whether days are summed per ISO week (Monday to Sunday)
+     * @return one {@link UtilizationDto} per period in date order, or {@code null} if the owner does not exist
+     */
+    List<UtilizationDto> utilization(String username, LocalDate from, LocalDate to, boolean weekly);
 }
@@ -3,24 +3,44 @@ package com.accoladehq.calendar.service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import com.accoladehq.calendar.cache.SlotSearchCache;
 import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BatchSearchSlotsRequest;
 import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.dto.RecurringBookRequest;
+import com.accoladehq.calendar.dto.RecurringBookingResult;
+import com.accoladehq.calendar.dto.RescheduleRequest;
 import com.accoladehq.calendar.dto.SearchSlotsRequest;
 import com.accoladehq.calendar.dto.SlotDto;
+import com.accoladehq.calendar.dto.UtilizationDto;
+import com.accoladehq.calendar.engine.BookingBusyException;
+import com.accoladehq.calendar.engine.BookingEngine;
 import com.accoladehq.calendar.entity.Appointment;
 import com.accoladehq.calendar.entity.AvailabilityRule;
 import com.accoladehq.calendar.entity.CalendarOwner;
+import com.accoladehq.calendar.event.BookingEventRecorder;
+import com.accoladehq.calendar.jfr.BookingEvent;
+import com.accoladehq.calendar.jfr.SlotSearchEvent;
 import com.accoladehq.calendar.repository.AppointmentRepository;
+import com.accoladehq.calendar.repository.AppointmentRow;
+import com.accoladehq.calendar.repository.ArchivedAppointmentRepository;
 import com.accoladehq.calendar.repository.AvailabilityRuleRepository;
+import com.accoladehq.calendar.repository.BookedSlot;
 import com.accoladehq.calendar.repository.CalendarOwnerRepository;
+import com.accoladehq.calendar.repository.OwnerBookedSlot;
+import com.accoladehq.calendar.slots.AvailabilityWindows;
+import com.accoladehq.calendar.slots.SlotBitmaps;
 import com.accoladehq.calendar.slots.SlotGenerator;
+import com.accoladehq.calendar.utilization.UtilizationRollup;
 
 import jakarta.transaction.Transactional;
 import java.time.*;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Implementation of {@link BookingService} for managing calendar owners,
@@ -31,6 +51,9 @@ public class BookingServiceImpl implements BookingService {
 
 	private static final Logger logger = LoggerFactory.getLogger(BookingServiceImpl.class);
 
+	/** How far ahead {@link #nextAvailable} looks before giving up. */
+	private static final int NEXT_AVAILABLE_HORIZON_DAYS = 366;
+
 	@Autowired
 	private CalendarOwnerRepository ownerRepo;
 
@@ -40,9 +63,24 @@ public class BookingServiceImpl implements BookingService {
 	@Autowired
 	private AppointmentRepository appointmentRepo;
 
+	@Autowired
+	private ArchivedAppointmentRepository archiveRepo;
+
 	@Autowired
 	private SlotGenerator slotGenerator;
 
+	@Autowired
+	private BookingEventRecorder events;
+
+	@Autowired
+	private SlotSearchCache searchCache;
+
+	@Autowired
+	private BookingEngine bookingEngine;
+
+	@Autowired
+	private UtilizationRollup utilization;
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -53,7 +91,9 @@ public class BookingServiceImpl implements BookingService {
 				CalendarOwner o = new CalendarOwner();
 				o.setUsername(username);
 				o.setDisplayName(displayName);
-				return ownerRepo.save(o);
+				CalendarOwner saved = ownerRepo.save(o);
+				events.ownerCreated(saved);
+				return saved;
 			});
 		} catch (Exception e) {
 			logger.error("Error creating/updating owner: {}", username, e);
@@ -64,30 +104,23 @@ public class BookingServiceImpl implements BookingService {
 	 * {@inheritDoc}
 	 */
 	@Override
+	@Transactional
 	public ResponseEntity<String> addAvailability(AvailabilityRequest req) {
 		try {
 			CalendarOwner owner = ownerRepo.findByUsername(req.getUsername()).orElse(null);
 			if (owner == null) {
 				return ResponseEntity.badRequest().body("Owner not found");
 			}
-			if (!req.getStartTime().isBefore(req.getEndTime())) {
-				return ResponseEntity.badRequest().body("Start time must be before end time");
+			String invalid = validateWindow(req);
+			if (invalid != null) {
+				return ResponseEntity.badRequest().body(invalid);
 			}
-			if (Duration.between(req.getStartTime(), req.getEndTime()).toMinutes() < 60) {
-				return ResponseEntity.badRequest().body("Availability window must be at least 1 hour");
-			}
-			if (req.getStartTime().getMinute() != 0 || req.getEndTime().getMinute() != 0) {
-				return ResponseEntity.badRequest().body("Start and end times must be on the hour");
-			}
-
-			// Only one rule per owner → remove old rule and replace it
-			availabilityRepo.deleteByOwner(owner);
 
-			AvailabilityRule rule = new AvailabilityRule();
-			rule.setOwner(owner);
-			rule.setStartTime(req.getStartTime());
-			rule.setEndTime(req.getEndTime());
-			availabilityRepo.save(rule);
+			// Merge the new window into the owner's existing ones unless asked to replace them
+			AvailabilityWindows current = req.isReplace()
+					? AvailabilityWindows.empty()
+					: AvailabilityWindows.of(availabilityRepo.findByOwner(owner));
+			replaceWindows(owner, current.union(req.getStartTime(), req.getEndTime()));
 
 			return ResponseEntity.ok("Availability saved successfully for all days");
 		} catch (Exception e) {
@@ -100,38 +133,142 @@ public class BookingServiceImpl implements BookingService {
 	 * {@inheritDoc}
 	 */
 	@Override
-	public List<SlotDto> searchAvailableSlots(SearchSlotsRequest req) {
+	@Transactional
+	public ResponseEntity<String> removeAvailability(AvailabilityRequest req) {
 		try {
 			CalendarOwner owner = ownerRepo.findByUsername(req.getUsername()).orElse(null);
 			if (owner == null) {
-				logger.warn("Owner not found for username: {}", req.getUsername());
-				return Collections.emptyList();
+				return ResponseEntity.badRequest().body("Owner not found");
+			}
+			String invalid = validateWindow(req);
+			if (invalid != null) {
+				return ResponseEntity.badRequest().body(invalid);
 			}
 
+			AvailabilityWindows current = AvailabilityWindows.of(availabilityRepo.findByOwner(owner));
+			replaceWindows(owner, current.subtract(req.getStartTime(), req.getEndTime()));
+
+			return ResponseEntity.ok("Availability removed successfully for all days");
+		} catch (Exception e) {
+			logger.error("Error removing availability for user: {}", req.getUsername(), e);
+			return ResponseEntity.internalServerError().body("Error removing availability");
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<SlotDto> searchAvailableSlots(SearchSlotsRequest req) {
+		SlotSearchEvent event = new SlotSearchEvent();
+		event.begin();
+		List<SlotDto> slots = findAvailableSlots(req);
+		event.end();
+		if (event.shouldCommit()) {
+			event.username = req.getUsername();
+			event.date = String.valueOf(req.getDate());
+			event.slots = slots.size();
+			event.commit();
+		}
+		return slots;
+	}
+
+	/**
+	 * Answers a slot search from the cache, loading it on a miss.
+	 */
+	private List<SlotDto> findAvailableSlots(SearchSlotsRequest req) {
+		try {
 			LocalDate date = req.getDate();
 			if (date.isBefore(LocalDate.now())) {
 				logger.warn("Attempt to search availability for past date: {}", date);
 				return Collections.emptyList();
 			}
 
-			List<AvailabilityRule> rules = availabilityRepo.findByOwner(owner);
-			if (rules.isEmpty()) {
-				return Collections.emptyList();
+			return searchCache.get(req.getUsername(), date, () -> loadAvailableSlots(req.getUsername(), date));
+		} catch (Exception e) {
+			logger.error("Error searching available slots for user: {}", req.getUsername(), e);
+			return Collections.emptyList();
+		}
+	}
+
+	/**
+	 * Computes the available slots of an owner on a date from the database.
+	 */
+	private List<SlotDto> loadAvailableSlots(String username, LocalDate date) {
+		CalendarOwner owner = ownerRepo.findByUsername(username).orElse(null);
+		if (owner == null) {
+			logger.warn("Owner not found for username: {}", username);
+			return Collections.emptyList();
+		}
+
+		AvailabilityWindows windows = AvailabilityWindows.of(availabilityRepo.findByOwner(owner));
+		if (windows.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		List<Appointment> booked = appointmentRepo.findByOwnerAndDate(owner, date);
+		List<LocalTime> bookedStarts = booked.stream().map(Appointment::getStartTime).toList();
+
+		List<SlotDto> result = new ArrayList<>();
+		for (int i = 0; i < windows.size(); i++) {
+			result.addAll(slotGenerator.generateSlots(date, windows.startTime(i), windows.endTime(i), bookedStarts));
+		}
+
+		result.sort(Comparator.comparing(SlotDto::getDate).thenComparing(SlotDto::getStart));
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@Transactional
+	public Map<String, List<SlotDto>> searchAvailableSlotsBatch(BatchSearchSlotsRequest req) {
+		try {
+			List<String> usernames = req.getUsernames().stream().distinct().toList();
+			Map<String, CalendarOwner> owners = new HashMap<>();
+			for (CalendarOwner owner : ownerRepo.findByUsernameIn(usernames)) {
+				owners.put(owner.getUsername(), owner);
+			}
+			if (owners.isEmpty()) {
+				return Collections.emptyMap();
 			}
 
-			List<Appointment> booked = appointmentRepo.findByOwnerAndDate(owner, date);
-			List<LocalTime> bookedStarts = booked.stream().map(Appointment::getStartTime).toList();
+			// Past days have no bookable slots, so the range starts today at the earliest
+			LocalDate from = req.getDate().isBefore(LocalDate.now()) ? LocalDate.now() : req.getDate();
+			LocalDate to = req.lastDate();
 
-			List<SlotDto> result = new ArrayList<>();
-			for (AvailabilityRule rule : rules) {
-				result.addAll(slotGenerator.generateSlots(date, rule.getStartTime(), rule.getEndTime(), bookedStarts));
+			Map<Long, List<AvailabilityRule>> rulesByOwner = new HashMap<>();
+			Map<Long, Map<LocalDate, List<LocalTime>>> bookedByOwner = new HashMap<>();
+			if (!from.isAfter(to)) {
+				for (AvailabilityRule rule : availabilityRepo.findByOwnerIn(owners.values())) {
+					rulesByOwner.computeIfAbsent(rule.getOwner().getId(), k -> new ArrayList<>()).add(rule);
+				}
+				if (!rulesByOwner.isEmpty()) {
+					for (OwnerBookedSlot slot : appointmentRepo.findBookedSlots(owners.values(), from, to)) {
+						bookedByOwner.computeIfAbsent(slot.ownerId(), k -> new HashMap<>())
+								.computeIfAbsent(slot.date(), k -> new ArrayList<>())
+								.add(slot.startTime());
+					}
+				}
 			}
 
-			result.sort(Comparator.comparing(SlotDto::getDate).thenComparing(SlotDto::getStart));
+			// Generation is CPU-bound and independent per owner, so spread it across cores
+			List<CalendarOwner> ordered = usernames.stream().map(owners::get).filter(Objects::nonNull).toList();
+			List<List<SlotDto>> slots = ordered.parallelStream()
+					.map(owner -> generateSlots(
+							AvailabilityWindows.of(rulesByOwner.getOrDefault(owner.getId(), List.of())),
+							bookedByOwner.getOrDefault(owner.getId(), Map.of()), from, to))
+					.toList();
+
+			Map<String, List<SlotDto>> result = new LinkedHashMap<>();
+			for (int i = 0; i < ordered.size(); i++) {
+				result.put(ordered.get(i).getUsername(), slots.get(i));
+			}
 			return result;
 		} catch (Exception e) {
-			logger.error("Error searching available slots for user: {}", req.getUsername(), e);
-			return Collections.emptyList();
+			logger.error("Error searching available slots for users: {}", req.getUsernames(), e);
+			return Collections.emptyMap();
 		}
 	}
 
@@ -140,42 +277,136 @@ public class BookingServiceImpl implements BookingService {
 	 */
 	@Override
 	@Transactional
-	public SlotDto bookAppointment(BookRequest req) {
+	public List<SlotDto> nextAvailable(String username, LocalDate from, int limit) {
 		try {
-			CalendarOwner owner = ownerRepo.findByUsername(req.getUsername()).orElse(null);
+			CalendarOwner owner = ownerRepo.findByUsername(username).orElse(null);
 			if (owner == null) {
-				logger.warn("Owner not found for username: {}", req.getUsername());
-				return null;
+				logger.warn("Owner not found for username: {}", username);
+				return Collections.emptyList();
 			}
 
-			LocalDate date = req.getDate();
-			LocalTime start = req.getStartTime();
-			LocalTime end = start.plusHours(1);
+			int template = AvailabilityWindows.of(availabilityRepo.findByOwner(owner)).toBitmap();
+			if (template == 0 || limit <= 0) {
+				return Collections.emptyList();
+			}
 
-			if (date.isBefore(LocalDate.now())) {
-				logger.warn("Attempt to book appointment in the past: {}", date);
-				return null;
+			LocalDate today = LocalDate.now();
+			LocalDate day = from.isBefore(today) ? today : from;
+			LocalDate horizon = day.plusDays(NEXT_AVAILABLE_HORIZON_DAYS);
+			List<SlotDto> result = new ArrayList<>(limit);
+
+			try (Stream<BookedSlot> booked = appointmentRepo.streamBookedSlots(owner, day, horizon)) {
+				Iterator<BookedSlot> it = booked.iterator();
+				BookedSlot next = it.hasNext() ? it.next() : null;
+
+				for (; !day.isAfter(horizon) && result.size() < limit; day = day.plusDays(1)) {
+					int occupied = 0;
+					while (next != null && next.date().equals(day)) {
+						occupied |= SlotBitmaps.bit(next.startTime());
+						next = it.hasNext() ? it.next() : null;
+					}
+					int free = template & ~occupied;
+					if (day.equals(today)) {
+						free &= ~SlotBitmaps.startedBy(LocalTime.now());
+					}
+					// Fully booked (or fully elapsed) days cost a single AND
+					while (free != 0 && result.size() < limit) {
+						int slot = Integer.numberOfTrailingZeros(free);
+						free &= free - 1;
+						LocalTime start = SlotBitmaps.startOf(slot);
+						result.add(new SlotDto(day, start, start.plusHours(1)));
+					}
+				}
+			}
+			return result;
+		} catch (Exception e) {
+			logger.error("Error finding next available slots for user: {}", username, e);
+			return Collections.emptyList();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Submitted to the {@link BookingEngine}, which decides and commits bookings per
+	 * owner shard; this call waits for the outcome.
+	 * </p>
+	 */
+	@Override
+	public SlotDto bookAppointment(BookRequest req) {
+		BookingEvent event = new BookingEvent();
+		event.begin();
+		SlotDto slot = null;
+		String outcome = BookingEvent.ERROR;
+		try {
+			slot = bookingEngine.book(req);
+			outcome = slot != null ? BookingEvent.BOOKED : BookingEvent.UNAVAILABLE;
+		} catch (BookingBusyException e) {
+			// Reported to the caller, who may retry
+			outcome = BookingEvent.BUSY;
+			throw e;
+		} catch (Exception e) {
+			logger.error("Error booking appointment for user: {}", req.getUsername(), e);
+		} finally {
+			event.end();
+			if (event.shouldCommit()) {
+				event.username = req.getUsername();
+				event.date = String.valueOf(req.getDate());
+				event.startTime = String.valueOf(req.getStartTime());
+				event.outcome = outcome;
+				event.commit();
 			}
+		}
+		return slot;
+	}
 
-			// Check if the slot is still available
-			SearchSlotsRequest searchReq = new SearchSlotsRequest();
-			searchReq.setUsername(req.getUsername());
-			searchReq.setDate(date);
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@Transactional
+	public RecurringBookingResult bookRecurring(RecurringBookRequest req) {
+		CalendarOwner owner = ownerRepo.findByUsername(req.getUsername()).orElse(null);
+		if (owner == null) {
+			logger.warn("Owner not found for username: {}", req.getUsername());
+			return null;
+		}
+
+		List<LocalDate> dates = new ArrayList<>(req.getOccurrences());
+		for (int i = 0; i < req.getOccurrences(); i++) {
+			long step = (long) i * req.getInterval();
+			dates.add(req.getFrequency() == RecurringBookRequest.Frequency.DAILY
+					? req.getStartDate().plusDays(step)
+					: req.getStartDate().plusWeeks(step));
+		}
+		LocalTime start = req.getStartTime();
+		LocalTime end = start.plusHours(1);
 
-			List<SlotDto> available = searchAvailableSlots(searchReq);
-			boolean ok = available.stream().anyMatch(s -> s.getStart().equals(start) && s.getEnd().equals(end));
-			if (!ok) {
-				logger.warn("Slot not available for booking: {} {} - {}", date, start, end);
-				return null;
+		// One range query covers every occurrence of the series
+		AvailabilityWindows windows = AvailabilityWindows.of(availabilityRepo.findByOwner(owner));
+		Set<LocalDate> bookedDates = new HashSet<>();
+		for (Appointment a : appointmentRepo.findByOwnerAndDateBetween(owner, dates.get(0), dates.get(dates.size() - 1))) {
+			if (a.getStartTime().equals(start)) {
+				bookedDates.add(a.getDate());
 			}
+		}
 
-			// Double-check uniqueness (race condition check)
-			if (appointmentRepo.findByOwnerAndDateAndStartTime(owner, date, start).isPresent()) {
-				logger.warn("Slot already booked (race condition check): {} {} - {}", date, start, end);
-				return null;
+		RecurringBookingResult result = new RecurringBookingResult();
+		for (LocalDate date : dates) {
+			if (!windows.isBookable(date, start)) {
+				result.getConflicts().add(new RecurringBookingResult.Conflict(date, start, "Slot not available"));
+			} else if (bookedDates.contains(date)) {
+				result.getConflicts().add(new RecurringBookingResult.Conflict(date, start, "Slot already booked"));
 			}
+		}
+		if (!result.getConflicts().isEmpty()) {
+			logger.warn("Recurring booking rejected for {}: {} conflicting occurrences", req.getUsername(),
+					result.getConflicts().size());
+			return result;
+		}
 
-			// Create appointment
+		List<Appointment> series = new ArrayList<>(dates.size());
+		for (LocalDate date : dates) {
 			Appointment appt = new Appointment();
 			appt.setOwner(owner);
 			appt.setDate(date);
@@ -183,14 +414,88 @@ public class BookingServiceImpl implements BookingService {
 			appt.setEndTime(end);
 			appt.setInviteeName(req.getInviteeName());
 			appt.setInviteeEmail(req.getInviteeEmail());
+			series.add(appt);
+		}
+		try {
+			appointmentRepo.saveAllAndFlush(series);
+		} catch (DataIntegrityViolationException e) {
+			logger.warn("Recurring booking for {} lost a race on one of its occurrences", req.getUsername());
+			throw new IllegalStateException("One or more occurrences were booked concurrently");
+		}
 
-			Appointment saved = appointmentRepo.save(appt);
-			return new SlotDto(saved.getDate(), saved.getStartTime(), saved.getEndTime());
+		for (Appointment appt : series) {
+			events.booked(appt);
+			result.getBooked().add(new SlotDto(appt.getDate(), start, end));
+		}
+		return result;
+	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@Transactional
+	public boolean cancelAppointment(Long appointmentId) {
+		try {
+			Appointment appt = appointmentRepo.findById(appointmentId).orElse(null);
+			if (appt == null) {
+				logger.warn("Appointment not found for cancellation: {}", appointmentId);
+				return false;
+			}
+			appointmentRepo.delete(appt);
+			events.cancelled(appt);
+			return true;
 		} catch (Exception e) {
-			logger.error("Error booking appointment for user: {}", req.getUsername(), e);
+			logger.error("Error cancelling appointment: {}", appointmentId, e);
+			return false;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@Transactional
+	public SlotDto rescheduleAppointment(Long appointmentId, RescheduleRequest req) {
+		Appointment appt = appointmentRepo.findById(appointmentId).orElse(null);
+		if (appt == null) {
+			logger.warn("Appointment not found for reschedule: {}", appointmentId);
 			return null;
 		}
+
+		CalendarOwner owner = appt.getOwner();
+		LocalDate oldDate = appt.getDate();
+		LocalTime oldStart = appt.getStartTime();
+		LocalDate date = req.getDate();
+		LocalTime start = req.getStartTime();
+
+		if (date.equals(oldDate) && start.equals(oldStart)) {
+			return new SlotDto(oldDate, oldStart, appt.getEndTime());
+		}
+		if (!AvailabilityWindows.of(availabilityRepo.findByOwner(owner)).isBookable(date, start)) {
+			logger.warn("Reschedule target not available: {} {}", date, start);
+			throw new IllegalStateException("Requested slot is not available");
+		}
+
+		// Single conflict check for the target slot; the unique constraint covers the race
+		if (appointmentRepo.findByOwnerAndDateAndStartTime(owner, date, start).isPresent()) {
+			logger.warn("Reschedule target already booked: {} {}", date, start);
+			throw new IllegalStateException("Requested slot is already booked");
+		}
+
+		// Moving the row in place frees the old slot and claims the new one in one statement
+		appt.setDate(date);
+		appt.setStartTime(start);
+		appt.setEndTime(start.plusHours(1));
+		try {
+			appointmentRepo.saveAndFlush(appt);
+		} catch (DataIntegrityViolationException e) {
+			logger.warn("Reschedule target booked concurrently: {} {}", date, start);
+			throw new IllegalStateException("Requested slot is already booked");
+		}
+
+		events.rescheduled(appt, oldDate, oldStart);
+		return new SlotDto(appt.getDate(), appt.getStartTime(), appt.getEndTime());
 	}
 
 	/**
@@ -211,4 +516,90 @@ public class BookingServiceImpl implements BookingService {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Reads the archive and the live table, each through its own repository, and
+	 * merges the two; an appointment is only ever in one of them.
+	 * </p>
+	 */
+	@Override
+	public List<AppointmentRow> listHistory(String username, LocalDate from, LocalDate to) {
+		if (ownerRepo.findByUsername(username).isEmpty()) {
+			logger.warn("Owner not found for username: {}", username);
+			return null;
+		}
+		List<AppointmentRow> rows = new ArrayList<>(archiveRepo.findOwnerRows(username, from, to));
+		rows.addAll(appointmentRepo.findOwnerRows(username, from, to));
+		rows.sort(Comparator.comparing(AppointmentRow::date).thenComparing(AppointmentRow::startTime));
+		return rows;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<UtilizationDto> utilization(String username, LocalDate from, LocalDate to, boolean weekly) {
+		CalendarOwner owner = ownerRepo.findByUsername(username).orElse(null);
+		if (owner == null) {
+			logger.warn("Owner not found for username: {}", username);
+			return null;
+		}
+		return utilization.report(owner.getId(), from, to, weekly);
+	}
+
+	/**
+	 * Generates the free slots of one owner for every day of an inclusive range.
+	 */
+	private List<SlotDto> generateSlots(AvailabilityWindows windows, Map<LocalDate, List<LocalTime>> booked,
+			LocalDate from, LocalDate to) {
+		if (windows.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<SlotDto> result = new ArrayList<>();
+		for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+			List<LocalTime> bookedStarts = booked.getOrDefault(date, List.of());
+			for (int i = 0; i < windows.size(); i++) {
+				result.addAll(slotGenerator.generateSlots(date, windows.startTime(i), windows.endTime(i), bookedStarts));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Validates the time range of an availability request.
+	 *
+	 * @return an error message, or {@code null} if the range is valid
+	 */
+	private static String validateWindow(AvailabilityRequest req) {
+		if (!req.getStartTime().isBefore(req.getEndTime())) {
+			return "Start time must be before end time";
+		}
+		if (Duration.between(req.getStartTime(), req.getEndTime()).toMinutes() < 60) {
+			return "Availability window must be at least 1 hour";
+		}
+		if (req.getStartTime().getMinute() != 0 || req.getEndTime().getMinute() != 0) {
+			return "Start and end times must be on the hour";
+		}
+		return null;
+	}
+
+	/**
+	 * Stores the normalized windows as the owner's rules, one rule per window.
+	 */
+	private void replaceWindows(CalendarOwner owner, AvailabilityWindows windows) {
+		availabilityRepo.deleteByOwner(owner);
+
+		List<AvailabilityRule> rules = new ArrayList<>(windows.size());
+		for (int i = 0; i < windows.size(); i++) {
+			AvailabilityRule rule = new AvailabilityRule();
+			rule.setOwner(owner);
+			rule.setStartTime(windows.startTime(i));
+			rule.setEndTime(windows.endTime(i));
+			availabilityRepo.save(rule);
+			rules.add(rule);
+		}
+		events.availabilityChanged(owner.getUsername(), rules);
+	}
+
 }
@@ -0,0 +1,242 @@
+package com.accoladehq.calendar.slots;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import com.accoladehq.calendar.entity.AvailabilityRule;
+
+/**
+ * Immutable, normalized set of daily availability windows.
+ * <p>
+ * Windows are stored as sorted, disjoint, non-adjacent minute-of-day intervals
+ * {@code [start, end)}: overlapping or touching windows (e.g. 09-12 and 11-14) are
+ * merged into one (09-14) when the set is built. Because the intervals are disjoint
+ * and sorted, the set doubles as a static interval tree: a containment query is a
+ * binary search for the last window starting at or before the slot, followed by a
+ * single end check, i.e. {@code O(log n)}.
+ * </p>
+ */
+public final class AvailabilityWindows {
+
+    private static final AvailabilityWindows EMPTY = new AvailabilityWindows(new int[0], new int[0]);
+
+    private final int[] starts;
+
+    private final int[] ends;
+
+    private AvailabilityWindows(int[] starts, int[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    /**
+     * Returns an empty window set.
+     *
+     * @return the empty set
+     */
+    public static AvailabilityWindows empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds the normalized window set of an owner's rules.
+     *
+     * @param rules the availability rules, in any order and possibly overlapping
+     * @return the normalized windows
+     */
+    public static AvailabilityWindows of(Collection<AvailabilityRule> rules) {
+        List<int[]> intervals = new ArrayList<>(rules.size());
+        for (AvailabilityRule rule : rules) {
+            intervals.add(new int[] {minuteOf(rule.getStartTime()), minuteOf(rule.getEndTime())});
+        }
+        return normalize(intervals);
+    }
+
+    /**
+     * Returns this set with the window {@code [start, end)} added.
+     *
+     * @param start window start
+     * @param end   window end
+     * @return the merged set
+     */
+    public AvailabilityWindows union(LocalTime start, LocalTime end) {
+        List<int[]> intervals = intervals();
+        intervals.add(new int[] {minuteOf(start), minuteOf(end)});
+        return normalize(intervals);
+    }
+
+    /**
+     * Returns this set with the range {@code [start, end)} removed, e.g. to add a break.
+     *
+     * @param start start of the removed range
+     * @param end   end of the removed range
+     * @return the reduced set
+     */
+    public AvailabilityWindows subtract(LocalTime start, LocalTime end) {
+        int from = minuteOf(start);
+        int to = minuteOf(end);
+        List<int[]> intervals = new ArrayList<>(starts.length + 1);
+        for (int i = 0; i < starts.length; i++) {
+            if (ends[i] <= from || starts[i] >= to) {
+                intervals.add(new int[] {starts[i], ends[i]});
+                continue;
+            }
+            if (starts[i] < from) {
+                intervals.add(new int[] {starts[i], from});
+            }
+            if (ends[i] > to) {
+                intervals.add(new int[] {to, ends[i]});
+            }
+        }
+        return normalize(intervals);
+    }
+
+    /**
+     * Checks whether {@code [start, end)} lies entirely inside one window.
+     *
+     * @param start range start
+     * @param end   range end
+     * @return {@code true} if a single window contains the whole range
+     */
+    public boolean contains(LocalTime start, LocalTime end) {
+        int from = minuteOf(start);
+        int to = minuteOf(end);
+        if (to <= from) {
+            return false;
+        }
+        int i = Arrays.binarySearch(starts, from);
+        if (i < 0) {
+            i = -i - 2;
+        }
+        return i >= 0 && ends[i] >= to;
+    }
+
+    /**
+     * Checks whether the hourly slot starting at {@code start} on {@code date} can
+     * be booked: it lies inside one window, starts on the hour and has not started yet.
+     *
+     * @param date  the slot date
+     * @param start the slot start time
+     * @return {@code true} if the slot is bookable now
+     */
+    public boolean isBookable(LocalDate date, LocalTime start) {
+        LocalDate today = LocalDate.now();
+        if (date.isBefore(today) || start.getMinute() != 0 || start.getSecond() != 0) {
+            return false;
+        }
+        if (date.isEqual(today) && !start.isAfter(LocalTime.now())) {
+            return false;
+        }
+        LocalTime end = start.plusHours(1);
+        return end.isAfter(start) && contains(start, end);
+    }
+
+    /**
+     * Returns the hourly slot bitmap of these windows (see {@link SlotBitmaps}).
+     *
+     * @return bitmap of bookable slots on any day
+     */
+    public int toBitmap() {
+        int mask = 0;
+        for (int i = 0; i < starts.length; i++) {
+            mask |= SlotBitmaps.window(startTime(i), endTime(i));
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the number of windows.
+     *
+     * @return the window count
+     */
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * Returns whether there are no windows.
+     *
+     * @return {@code true} if empty
+     */
+    public boolean isEmpty() {
+        return starts.length == 0;
+    }
+
+    /**
+     * Returns the start of the i-th window.
+     *
+     * @param i window index, in ascending order
+     * @return the window start
+     */
+    public LocalTime startTime(int i) {
+        return LocalTime.of(starts[i] / 60, starts[i] % 60);
+    }
+
+    /**
+     * Returns the end of the i-th window.
+     *
+     * @param i window index, in ascending order
+     * @return the window end
+     */
+    public LocalTime endTime(int i) {
+        return LocalTime.of(ends[i] / 60, ends[i] % 60);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof AvailabilityWindows other
+                && Arrays.equals(starts, other.starts) && Arrays.equals(ends, other.ends);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(starts) + Arrays.hashCode(ends);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < starts.length; i++) {
+            sb.append(i == 0 ? "" : ", ").append(startTime(i)).append('-').append(endTime(i));
+        }
+        return sb.append(']').toString();
+    }
+
+    private List<int[]> intervals() {
+        List<int[]> intervals = new ArrayList<>(starts.length + 1);
+        for (int i = 0; i < starts.length; i++) {
+            intervals.add(new int[] {starts[i], ends[i]});
+        }
+        return intervals;
+    }
+
+    private static AvailabilityWindows normalize(List<int[]> intervals) {
+        intervals.removeIf(iv -> iv[1] <= iv[0]);
+        if (intervals.isEmpty()) {
+            return EMPTY;
+        }
+        intervals.sort(Comparator.comparingInt(iv -> iv[0]));
+        int[] starts = new int[intervals.size()];
+        int[] ends = new int[intervals.size()];
+        int n = 0;
+        for (int[] iv : intervals) {
+            if (n > 0 && iv[0] <= ends[n - 1]) {
+                ends[n - 1] = Math.max(ends[n - 1], iv[1]);
+            } else {
+                starts[n] = iv[0];
+                ends[n] = iv[1];
+                n++;
+            }
+        }
+        return new AvailabilityWindows(Arrays.copyOf(starts, n), Arrays.copyOf(ends, n));
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
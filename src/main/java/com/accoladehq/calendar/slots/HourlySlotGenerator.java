@@ -8,6 +8,7 @@ import java.util.List;
 import org.springframework.stereotype.Component;
 
 import com.accoladehq.calendar.dto.SlotDto;
+import com.accoladehq.calendar.jfr.SlotGenerationEvent;
 
 /**
  * Slot generator that produces fixed hourly time slots (60 minutes each).
@@ -19,6 +20,8 @@ import com.accoladehq.calendar.dto.SlotDto;
  *   <li>Slots already booked are excluded.</li>
  *   <li>If the given date is today, slots that have already started are excluded.</li>
  * </ul>
+ * Every call is recorded as a {@link SlotGenerationEvent} while a flight recording
+ * enables it.
  */
 @Component
 public class HourlySlotGenerator implements SlotGenerator {
@@ -34,6 +37,21 @@ public class HourlySlotGenerator implements SlotGenerator {
      */
     @Override
     public List<SlotDto> generateSlots(LocalDate date, LocalTime windowStart, LocalTime windowEnd, List<LocalTime> bookedStarts) {
+        SlotGenerationEvent event = new SlotGenerationEvent();
+        event.begin();
+        List<SlotDto> slots = hourlySlots(date, windowStart, windowEnd, bookedStarts);
+        event.end();
+        if (event.shouldCommit()) {
+            event.date = String.valueOf(date);
+            event.window = windowStart + "-" + windowEnd;
+            event.booked = bookedStarts.size();
+            event.slots = slots.size();
+            event.commit();
+        }
+        return slots;
+    }
+
+    private List<SlotDto> hourlySlots(LocalDate date, LocalTime windowStart, LocalTime windowEnd, List<LocalTime> bookedStarts) {
         List<SlotDto> results = new ArrayList<>();
         
         // Validate time window
@@ -41,7 +59,10 @@ public class HourlySlotGenerator implements SlotGenerator {
             return results;
         }
         LocalTime nowTime = LocalTime.now();
-        for (LocalTime slotStart = windowStart; !slotStart.plusHours(1).isAfter(windowEnd); slotStart = slotStart.plusHours(1)) {
+        // The second condition stops at the 23:00 slot, whose end wraps past midnight
+        for (LocalTime slotStart = windowStart;
+             !slotStart.plusHours(1).isAfter(windowEnd) && slotStart.plusHours(1).isAfter(slotStart);
+             slotStart = slotStart.plusHours(1)) {
             // Skip if slot is already booked
             if (bookedStarts.contains(slotStart)) {
                 continue;
@@ -0,0 +1,74 @@
+package com.accoladehq.calendar.slots;
+
+import java.time.LocalTime;
+
+/**
+ * Bitmap helpers for hourly slots.
+ * <p>
+ * A day of hourly slots fits in an {@code int}: bit {@code h} stands for the slot
+ * starting at {@code h:00}. This lets availability templates, bookings and the
+ * "already started today" cut-off be combined with plain bitwise operations, e.g.
+ * a day is fully booked when {@code (template & ~booked) == 0}.
+ * </p>
+ */
+public final class SlotBitmaps {
+
+    /** Number of hourly slots in a day. */
+    public static final int SLOTS_PER_DAY = 24;
+
+    private SlotBitmaps() {
+    }
+
+    /**
+     * Returns the bit for the hourly slot starting at the given time.
+     *
+     * @param start the slot start
+     * @return the slot's bit, or 0 if the time is not on the hour
+     */
+    public static int bit(LocalTime start) {
+        if (start.getMinute() != 0 || start.getSecond() != 0 || start.getNano() != 0) {
+            return 0;
+        }
+        return 1 << start.getHour();
+    }
+
+    /**
+     * Returns the slots of an availability window, i.e. every hourly slot that lies
+     * entirely within {@code [start, end)}.
+     *
+     * @param start window start (inclusive)
+     * @param end   window end (exclusive)
+     * @return bitmap of the window's slots
+     */
+    public static int window(LocalTime start, LocalTime end) {
+        int mask = 0;
+        // Slots never wrap past midnight, so the last bookable slot starts at 22:00
+        for (int h = 0; h < SLOTS_PER_DAY - 1; h++) {
+            if (!LocalTime.of(h, 0).isBefore(start) && !LocalTime.of(h + 1, 0).isAfter(end)) {
+                mask |= 1 << h;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the slots that have already started at the given time of day.
+     *
+     * @param now the current time
+     * @return bitmap of slots whose start is not after {@code now}
+     */
+    public static int startedBy(LocalTime now) {
+        int hour = now.getHour();
+        return hour == SLOTS_PER_DAY - 1 ? -1 : (1 << (hour + 1)) - 1;
+    }
+
+    /**
+     * Returns the start time of a slot bit index.
+     *
+     * @param index the bit index ({@code 0..23})
+     * @return the slot start
+     */
+    public static LocalTime startOf(int index) {
+        return LocalTime.of(index, 0);
+    }
+}
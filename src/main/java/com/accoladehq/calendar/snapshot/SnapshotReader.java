@@ -0,0 +1,235 @@
+package com.accoladehq.calendar.snapshot;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads a snapshot written by {@link SnapshotWriter}.
+ * <p>
+ * The file is memory-mapped and read sequentially. The checksum is verified when
+ * the snapshot is opened, so a damaged file is rejected before anything is loaded.
+ * Owners and rules are read up front; appointments are walked with a cursor
+ * ({@link #nextAppointment()} and the accessors) so that no object is created per
+ * appointment. Version 1 snapshots, which predate the archive, are read as if
+ * every appointment were live.
+ * </p>
+ */
+public final class SnapshotReader {
+
+    /**
+     * An owner in the snapshot; its position in {@link #owners()} is its index.
+     *
+     * @param username    the owner's username
+     * @param displayName the owner's display name
+     */
+    public record Owner(String username, String displayName) {
+    }
+
+    /**
+     * An availability rule in the snapshot.
+     *
+     * @param owner the owner's index
+     * @param start the window start
+     * @param end   the window end
+     */
+    public record Rule(int owner, LocalTime start, LocalTime end) {
+    }
+
+    private final MappedByteBuffer in;
+
+    private final long sequence;
+
+    private final List<Owner> owners;
+
+    private final List<Rule> rules;
+
+    private final long appointmentCount;
+
+    private final int appointmentsEnd;
+
+    /** Whether appointments carry the archived flag (version 2 on). */
+    private final boolean flagged;
+
+    private long id;
+
+    private int owner;
+
+    private int epochDay;
+
+    private int start;
+
+    private int end;
+
+    private String inviteeName;
+
+    private String inviteeEmail;
+
+    private boolean archived;
+
+    private SnapshotReader(MappedByteBuffer in) {
+        this.in = in;
+        int trailer = in.capacity() - 12;
+        byte[] magic = new byte[SnapshotWriter.MAGIC.length];
+        in.get(magic);
+        this.flagged = Arrays.equals(magic, SnapshotWriter.MAGIC);
+        if (!flagged && !Arrays.equals(magic, SnapshotWriter.MAGIC_V1)) {
+            throw new IllegalArgumentException("Not a snapshot file");
+        }
+        this.sequence = in.getLong();
+        int ownerCount = in.getInt();
+        this.owners = new ArrayList<>(ownerCount);
+        for (int i = 0; i < ownerCount; i++) {
+            owners.add(new Owner(getString(), getString()));
+        }
+        int ruleCount = in.getInt();
+        this.rules = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            rules.add(new Rule(in.getInt(), LocalTime.ofSecondOfDay(in.getInt()), LocalTime.ofSecondOfDay(in.getInt())));
+        }
+        this.appointmentCount = in.getLong(trailer);
+        this.appointmentsEnd = trailer;
+    }
+
+    /**
+     * Opens and verifies a snapshot.
+     *
+     * @param path the snapshot file
+     * @return a reader positioned before the first appointment
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a snapshot or is damaged
+     */
+    public static SnapshotReader open(Path path) throws IOException {
+        MappedByteBuffer in;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Snapshot larger than 2 GB: " + path);
+            }
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (in.capacity() < SnapshotWriter.MAGIC.length + 8 + 4 + 4 + 12) {
+            throw new IllegalArgumentException("Snapshot is truncated: " + path);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(in.slice(0, in.capacity() - 4));
+        if ((int) crc.getValue() != in.getInt(in.capacity() - 4)) {
+            throw new IllegalArgumentException("Snapshot checksum mismatch: " + path);
+        }
+        return new SnapshotReader(in);
+    }
+
+    /**
+     * Returns the journal sequence the snapshot covers.
+     *
+     * @return the sequence, or 0 if written without a journal
+     */
+    public long sequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the owners, in index order.
+     *
+     * @return the owners
+     */
+    public List<Owner> owners() {
+        return owners;
+    }
+
+    /**
+     * Returns the availability rules.
+     *
+     * @return the rules
+     */
+    public List<Rule> rules() {
+        return rules;
+    }
+
+    /**
+     * Returns the number of appointments in the snapshot, archived ones included.
+     *
+     * @return the appointment count
+     */
+    public long appointmentCount() {
+        return appointmentCount;
+    }
+
+    /**
+     * Moves the cursor to the next appointment.
+     *
+     * @return {@code false} once every appointment has been read
+     */
+    public boolean nextAppointment() {
+        if (in.position() >= appointmentsEnd) {
+            return false;
+        }
+        id = in.getLong();
+        owner = in.getInt();
+        epochDay = in.getInt();
+        start = in.getInt();
+        end = in.getInt();
+        inviteeName = getString();
+        inviteeEmail = getString();
+        archived = flagged && in.get() != 0;
+        return true;
+    }
+
+    /** @return the current appointment's id */
+    public long id() {
+        return id;
+    }
+
+    /** @return the current appointment's owner index */
+    public int owner() {
+        return owner;
+    }
+
+    /** @return the current appointment's date */
+    public LocalDate date() {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    /** @return the current appointment's start time */
+    public LocalTime startTime() {
+        return LocalTime.ofSecondOfDay(start);
+    }
+
+    /** @return the current appointment's end time */
+    public LocalTime endTime() {
+        return LocalTime.ofSecondOfDay(end);
+    }
+
+    /** @return the current appointment's invitee name */
+    public String inviteeName() {
+        return inviteeName;
+    }
+
+    /** @return the current appointment's invitee email, may be {@code null} */
+    public String inviteeEmail() {
+        return inviteeEmail;
+    }
+
+    /** @return whether the current appointment is archived */
+    public boolean archived() {
+        return archived;
+    }
+
+    private String getString() {
+        int length = in.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
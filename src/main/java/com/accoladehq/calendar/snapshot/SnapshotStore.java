@@ -0,0 +1,232 @@
+package com.accoladehq.calendar.snapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.accoladehq.calendar.entity.AvailabilityRule;
+import com.accoladehq.calendar.entity.CalendarOwner;
+import com.accoladehq.calendar.repository.AppointmentRepository;
+import com.accoladehq.calendar.repository.AppointmentRow;
+import com.accoladehq.calendar.repository.ArchivedAppointmentRepository;
+import com.accoladehq.calendar.repository.AvailabilityRuleRepository;
+import com.accoladehq.calendar.repository.CalendarOwnerRepository;
+import com.accoladehq.calendar.version.OwnerDateVersions;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Writes the database contents to a snapshot file and loads them back.
+ * <p>
+ * Writing streams owners, rules, live appointments and then archived appointments
+ * out of the repositories in one read-only transaction. Loading bypasses JPA: rows
+ * are inserted with batched JDBC statements straight from the memory-mapped file,
+ * each appointment into the table it was read from. Appointments keep their ids,
+ * so ids held by clients stay valid across a restart, and the id sequence is moved
+ * past them. Nothing above JDBC sees the inserts, so the Hibernate second-level
+ * cache is cleared and every loaded owner's version is bumped. A snapshot can only
+ * be loaded into an empty database, which is what an in-memory database is at
+ * startup.
+ * </p>
+ */
+@Component
+public class SnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotStore.class);
+
+    /** Rows per JDBC batch when loading. */
+    private static final int BATCH_SIZE = 5_000;
+
+    /** Must match the allocation size of {@code appointment_seq} on {@code Appointment}. */
+    private static final int APPOINTMENT_ID_ALLOCATION = 50;
+
+    private final CalendarOwnerRepository ownerRepo;
+
+    private final AvailabilityRuleRepository availabilityRepo;
+
+    private final AppointmentRepository appointmentRepo;
+
+    private final ArchivedAppointmentRepository archiveRepo;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final OwnerDateVersions versions;
+
+    private final TransactionTemplate readOnlyTx;
+
+    /**
+     * Creates a snapshot store.
+     *
+     * @param ownerRepo            the owner repository
+     * @param availabilityRepo     the availability rule repository
+     * @param appointmentRepo      the appointment repository
+     * @param archiveRepo          the archived appointment repository
+     * @param jdbcTemplate         JDBC access for bulk loading
+     * @param entityManagerFactory the factory whose second-level cache is cleared after a load
+     * @param versions             bumped for every loaded owner, so cached views are rebuilt
+     * @param transactionManager   the transaction manager
+     */
+    public SnapshotStore(CalendarOwnerRepository ownerRepo, AvailabilityRuleRepository availabilityRepo,
+                         AppointmentRepository appointmentRepo, ArchivedAppointmentRepository archiveRepo,
+                         JdbcTemplate jdbcTemplate,
+                         EntityManagerFactory entityManagerFactory, OwnerDateVersions versions,
+                         PlatformTransactionManager transactionManager) {
+        this.ownerRepo = ownerRepo;
+        this.availabilityRepo = availabilityRepo;
+        this.appointmentRepo = appointmentRepo;
+        this.archiveRepo = archiveRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.versions = versions;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /**
+     * Writes every owner, rule and appointment, live or archived, to a snapshot file.
+     *
+     * @param target   the snapshot file to create or replace
+     * @param sequence the journal sequence the snapshot covers
+     * @return the number of appointments written, archived ones included
+     */
+    public long write(Path target, long sequence) {
+        long started = System.nanoTime();
+        long count = readOnlyTx.execute(status -> {
+            try (SnapshotWriter writer = new SnapshotWriter(target, sequence)) {
+                Map<String, Integer> owners = new HashMap<>();
+                for (CalendarOwner owner : ownerRepo.findAll()) {
+                    owners.put(owner.getUsername(), writer.owner(owner.getUsername(), owner.getDisplayName()));
+                }
+                for (AvailabilityRule rule : availabilityRepo.findAllWithOwners()) {
+                    writer.rule(owners.get(rule.getOwner().getUsername()), rule.getStartTime(), rule.getEndTime());
+                }
+                try (Stream<AppointmentRow> rows = appointmentRepo.streamAllRows()) {
+                    for (AppointmentRow row : (Iterable<AppointmentRow>) rows::iterator) {
+                        Integer owner = owners.get(row.username());
+                        // An owner created after the owner list was read; the journal replays it
+                        if (owner != null) {
+                            writer.appointment(row.id(), owner, row.date(), row.startTime(), row.endTime(),
+                                    row.inviteeName(), row.inviteeEmail());
+                        }
+                    }
+                }
+                try (Stream<AppointmentRow> rows = archiveRepo.streamAllRows()) {
+                    for (AppointmentRow row : (Iterable<AppointmentRow>) rows::iterator) {
+                        Integer owner = owners.get(row.username());
+                        if (owner != null) {
+                            writer.archivedAppointment(row.id(), owner, row.date(), row.startTime(), row.endTime(),
+                                    row.inviteeName(), row.inviteeEmail());
+                        }
+                    }
+                }
+                return writer.appointmentCount();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write snapshot " + target, e);
+            }
+        });
+        logger.info("Snapshot {} written with {} appointments in {} ms", target, count,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return count;
+    }
+
+    /**
+     * Loads a snapshot into the empty database.
+     *
+     * @param path the snapshot file
+     * @return the journal sequence the snapshot covers
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file is damaged
+     * @throws IllegalStateException    if the database already holds owners
+     */
+    public long load(Path path) throws IOException {
+        long started = System.nanoTime();
+        SnapshotReader reader = SnapshotReader.open(path);
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM calendar_owner", Integer.class);
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("A snapshot can only be loaded into an empty database");
+        }
+
+        List<SnapshotReader.Owner> owners = reader.owners();
+        jdbcTemplate.batchUpdate("INSERT INTO calendar_owner (username, display_name) VALUES (?, ?)", owners, BATCH_SIZE,
+                (ps, o) -> {
+                    ps.setString(1, o.username());
+                    ps.setString(2, o.displayName());
+                });
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, username FROM calendar_owner", rs -> {
+            ids.put(rs.getString(2), rs.getLong(1));
+        });
+        long[] ownerIds = owners.stream().mapToLong(o -> ids.get(o.username())).toArray();
+
+        jdbcTemplate.batchUpdate("INSERT INTO availability_rule (owner_id, start_time, end_time) VALUES (?, ?, ?)",
+                reader.rules(), BATCH_SIZE, (ps, r) -> {
+                    ps.setLong(1, ownerIds[r.owner()]);
+                    ps.setObject(2, r.start());
+                    ps.setObject(3, r.end());
+                });
+
+        long maxId = jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            boolean autoCommit = con.getAutoCommit();
+            // Auto-commit would commit every row of a batch on its own
+            con.setAutoCommit(false);
+            String columns = " (id, owner_id, date, start_time, end_time, invitee_name, invitee_email) VALUES (?, ?, ?, ?, ?, ?, ?)";
+            try (PreparedStatement live = con.prepareStatement("INSERT INTO appointment" + columns);
+                 PreparedStatement archive = con.prepareStatement("INSERT INTO appointment_archive" + columns)) {
+                long max = 0;
+                int pending = 0;
+                while (reader.nextAppointment()) {
+                    max = Math.max(max, reader.id());
+                    PreparedStatement ps = reader.archived() ? archive : live;
+                    ps.setLong(1, reader.id());
+                    ps.setLong(2, ownerIds[reader.owner()]);
+                    ps.setObject(3, reader.date());
+                    ps.setObject(4, reader.startTime());
+                    ps.setObject(5, reader.endTime());
+                    ps.setString(6, reader.inviteeName());
+                    ps.setString(7, reader.inviteeEmail());
+                    ps.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        live.executeBatch();
+                        archive.executeBatch();
+                        con.commit();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    live.executeBatch();
+                    archive.executeBatch();
+                    con.commit();
+                }
+                return max;
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+        });
+        // The pooled optimizer hands out the block ending at the value it reads, so
+        // the next block must end at least one allocation past the loaded ids
+        jdbcTemplate.execute("ALTER SEQUENCE appointment_seq RESTART WITH " + (maxId + APPOINTMENT_ID_ALLOCATION));
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        owners.forEach(o -> versions.bumpOwner(o.username()));
+
+        logger.info("Snapshot {} loaded: {} owners, {} rules, {} appointments in {} ms", path, owners.size(),
+                reader.rules().size(), reader.appointmentCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return reader.sequence();
+    }
+}
@@ -0,0 +1,251 @@
+package com.accoladehq.calendar.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Writes a snapshot file: every owner, availability rule and appointment, live or
+ * archived, in a compact binary layout.
+ * <pre>
+ *   8 bytes  magic "CALSNAP2"
+ *   long     journal sequence the snapshot covers
+ *   int      owner count
+ *            owners: username, display name
+ *   int      rule count
+ *            rules: int owner index, int start, int end
+ *            appointments until the trailer:
+ *              long id, int owner index, int epoch day, int start, int end, invitee name, invitee email,
+ *              byte 1 if archived, else 0
+ *   long     appointment count
+ *   int      crc32c of everything before it
+ * </pre>
+ * <p>
+ * Times are seconds of day. Strings are a {@code short} byte length followed by
+ * UTF-8 bytes, -1 for {@code null}. Owners are referenced by their position in the
+ * owner section, so appointments do not repeat usernames. Version 1 files
+ * ({@code CALSNAP1}) have no archived flag and are still read by {@link SnapshotReader}.
+ * </p>
+ * <p>
+ * Owners must be written first, then rules, then appointments. The file is written
+ * under a temporary name, forced to disk and moved into place on {@link #close()},
+ * so a crash never leaves a partial snapshot behind.
+ * </p>
+ */
+public final class SnapshotWriter implements AutoCloseable {
+
+    static final byte[] MAGIC = "CALSNAP2".getBytes(StandardCharsets.US_ASCII);
+
+    /** Magic of version 1 files, written before appointments could be archived. */
+    static final byte[] MAGIC_V1 = "CALSNAP1".getBytes(StandardCharsets.US_ASCII);
+
+    private enum Section { OWNERS, RULES, APPOINTMENTS }
+
+    private final Path target;
+
+    private final Path tmp;
+
+    private final FileChannel channel;
+
+    private final CRC32C crc = new CRC32C();
+
+    private final DataOutputStream out;
+
+    private final SectionBuffer owners = new SectionBuffer();
+
+    private final SectionBuffer rules = new SectionBuffer();
+
+    private Section section = Section.OWNERS;
+
+    private int ownerCount;
+
+    private int ruleCount;
+
+    private long appointmentCount;
+
+    /**
+     * Starts a snapshot.
+     *
+     * @param target   the snapshot file to create or replace
+     * @param sequence the journal sequence the snapshot covers
+     * @throws IOException if the file cannot be created
+     */
+    public SnapshotWriter(Path target, long sequence) throws IOException {
+        this.target = target;
+        this.tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        this.channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        OutputStream file = Channels.newOutputStream(channel);
+        this.out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), crc));
+        out.write(MAGIC);
+        out.writeLong(sequence);
+    }
+
+    /**
+     * Adds an owner.
+     *
+     * @param username    the owner's username
+     * @param displayName the owner's display name
+     * @return the owner's index, used to reference it from rules and appointments
+     * @throws IOException if writing fails
+     */
+    public int owner(String username, String displayName) throws IOException {
+        expect(Section.OWNERS);
+        writeString(owners.data, username);
+        writeString(owners.data, displayName);
+        return ownerCount++;
+    }
+
+    /**
+     * Adds an availability rule.
+     *
+     * @param owner the owner's index
+     * @param start the window start
+     * @param end   the window end
+     * @throws IOException if writing fails
+     */
+    public void rule(int owner, LocalTime start, LocalTime end) throws IOException {
+        expect(Section.RULES);
+        rules.data.writeInt(owner);
+        rules.data.writeInt(start.toSecondOfDay());
+        rules.data.writeInt(end.toSecondOfDay());
+        ruleCount++;
+    }
+
+    /**
+     * Adds an appointment.
+     *
+     * @param id           the appointment id
+     * @param owner        the owner's index
+     * @param date         the appointment date
+     * @param start        the start time
+     * @param end          the end time
+     * @param inviteeName  the invitee's name
+     * @param inviteeEmail the invitee's email, may be {@code null}
+     * @throws IOException if writing fails
+     */
+    public void appointment(long id, int owner, LocalDate date, LocalTime start, LocalTime end,
+                            String inviteeName, String inviteeEmail) throws IOException {
+        appointment(id, owner, date, start, end, inviteeName, inviteeEmail, false);
+    }
+
+    /**
+     * Adds an archived appointment.
+     *
+     * @param id           the appointment id
+     * @param owner        the owner's index
+     * @param date         the appointment date
+     * @param start        the start time
+     * @param end          the end time
+     * @param inviteeName  the invitee's name
+     * @param inviteeEmail the invitee's email, may be {@code null}
+     * @throws IOException if writing fails
+     */
+    public void archivedAppointment(long id, int owner, LocalDate date, LocalTime start, LocalTime end,
+                                    String inviteeName, String inviteeEmail) throws IOException {
+        appointment(id, owner, date, start, end, inviteeName, inviteeEmail, true);
+    }
+
+    private void appointment(long id, int owner, LocalDate date, LocalTime start, LocalTime end,
+                             String inviteeName, String inviteeEmail, boolean archived) throws IOException {
+        expect(Section.APPOINTMENTS);
+        out.writeLong(id);
+        out.writeInt(owner);
+        out.writeInt((int) date.toEpochDay());
+        out.writeInt(start.toSecondOfDay());
+        out.writeInt(end.toSecondOfDay());
+        writeString(out, inviteeName);
+        writeString(out, inviteeEmail);
+        out.writeByte(archived ? 1 : 0);
+        appointmentCount++;
+    }
+
+    /**
+     * Completes the snapshot and moves it into place.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            expect(Section.APPOINTMENTS);
+            out.writeLong(appointmentCount);
+            out.flush();
+            // Not covered by the checksum it records
+            channel.write(ByteBuffer.allocate(4).putInt(0, (int) crc.getValue()));
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the number of appointments written so far, archived ones included.
+     *
+     * @return the appointment count
+     */
+    public long appointmentCount() {
+        return appointmentCount;
+    }
+
+    /** Moves forward to a section, writing out the sections before it. */
+    private void expect(Section next) throws IOException {
+        if (next.ordinal() < section.ordinal()) {
+            throw new IllegalStateException("Cannot write " + next + " after " + section);
+        }
+        if (section == Section.OWNERS && next != Section.OWNERS) {
+            out.writeInt(ownerCount);
+            owners.writeTo(out);
+            section = Section.RULES;
+        }
+        if (section == Section.RULES && next == Section.APPOINTMENTS) {
+            out.writeInt(ruleCount);
+            rules.writeTo(out);
+            section = Section.APPOINTMENTS;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("String too long for a snapshot: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Section buffered in memory until its count is known.
+     */
+    private static final class SectionBuffer {
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        final DataOutputStream data = new DataOutputStream(bytes);
+
+        void writeTo(OutputStream out) throws IOException {
+            data.flush();
+            bytes.writeTo(out);
+            bytes.reset();
+        }
+    }
+}
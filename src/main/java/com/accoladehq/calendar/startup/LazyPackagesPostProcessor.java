@@ -0,0 +1,74 @@
+package com.accoladehq.calendar.startup;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks the beans of non-critical packages, such as springdoc's Swagger UI and
+ * OpenAPI endpoints, for lazy initialization, so that a new instance does not
+ * build them before it can take traffic; they are created on first use instead.
+ * <p>
+ * The packages are listed in {@code calendar.startup.lazy-packages} (empty by
+ * default, so nothing changes). A bean matches when its class, or the
+ * configuration class declaring it, is in one of the packages. Infrastructure
+ * beans and beans whose laziness is set explicitly are left alone. Under Spring
+ * AOT the flag is recorded in the generated bean definitions at build time.
+ * </p>
+ */
+@Component
+public class LazyPackagesPostProcessor implements BeanFactoryPostProcessor, EnvironmentAware, Ordered {
+
+    private List<String> packages = List.of();
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.packages = Arrays.stream(environment.getProperty("calendar.startup.lazy-packages", String[].class, new String[0]))
+                .map(String::trim)
+                .filter(p -> !p.isEmpty())
+                .map(p -> p.endsWith(".") ? p : p + ".")
+                .toList();
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        if (packages.isEmpty()) {
+            return;
+        }
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE || definition.isAbstract()
+                    || (definition instanceof AbstractBeanDefinition abd && abd.getLazyInit() != null)) {
+                continue;
+            }
+            String className = declaringClassName(definition);
+            if (className != null && packages.stream().anyMatch(className::startsWith)) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    /**
+     * Runs after the configuration classes have registered their beans.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    private static String declaringClassName(BeanDefinition definition) {
+        if (definition.getSource() instanceof MethodMetadata method) {
+            return method.getDeclaringClassName();
+        }
+        return definition.getBeanClassName();
+    }
+}
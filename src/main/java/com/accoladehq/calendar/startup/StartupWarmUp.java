@@ -0,0 +1,272 @@
+package com.accoladehq.calendar.startup;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.accoladehq.calendar.dto.SlotDto;
+import com.accoladehq.calendar.entity.AvailabilityRule;
+import com.accoladehq.calendar.entity.CalendarOwner;
+import com.accoladehq.calendar.repository.AvailabilityRuleRepository;
+import com.accoladehq.calendar.repository.CalendarOwnerRepository;
+import com.accoladehq.calendar.slots.AvailabilityWindows;
+import com.accoladehq.calendar.slots.SlotGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Warms a new instance up before it reports ready.
+ * <p>
+ * Owners and their availability rules are served from the second-level cache,
+ * but a fresh instance starts with it empty, so the first request for every owner
+ * pays for {@code findByUsername} and {@code findByOwner}. This runner loads up to
+ * {@code calendar.warmup.max-owners} owners in chunks of
+ * {@code calendar.warmup.chunk-size}, on {@code calendar.warmup.threads} threads:
+ * each chunk reads its owners and their rules in two queries, filling the entity
+ * regions, then runs both lookups per owner so that their results land in the
+ * query cache. Keep the maximum within the {@code owners} and
+ * {@code owner-queries} region sizes in {@code hibernate-cache.conf}, or the
+ * warm-up evicts what it has just loaded.
+ * </p>
+ * <p>
+ * The JIT is then warmed by generating and serializing the slots of the loaded
+ * owners {@code calendar.warmup.jit-iterations} times, in memory only: nothing is
+ * written and the slot search cache is left alone.
+ * </p>
+ * <p>
+ * Spring Boot runs application runners before it marks the instance as accepting
+ * traffic, so {@code /actuator/health/readiness} stays down until the warm-up is
+ * over. A warm-up that fails or takes longer than
+ * {@code calendar.warmup.timeout-seconds} is logged and abandoned; the instance
+ * then starts cold rather than not at all. The retained heap per owner, measured
+ * around a full collection before and after loading, is logged and published as
+ * {@code calendar.warmup.bytes-per-owner}; with only a few owners loaded it is
+ * mostly noise.
+ * </p>
+ */
+@Component
+public class StartupWarmUp implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmUp.class);
+
+    private final CalendarOwnerRepository ownerRepo;
+
+    private final AvailabilityRuleRepository availabilityRepo;
+
+    private final SlotGenerator slotGenerator;
+
+    private final ObjectMapper objectMapper;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate tx;
+
+    private final boolean enabled;
+
+    private final int maxOwners;
+
+    private final int chunkSize;
+
+    private final int threads;
+
+    private final int jitIterations;
+
+    private final long timeoutSeconds;
+
+    private final boolean measureMemory;
+
+    private volatile double bytesPerOwner = Double.NaN;
+
+    /**
+     * Creates the warm-up.
+     *
+     * @param ownerRepo          the owner repository
+     * @param availabilityRepo   the availability rule repository
+     * @param slotGenerator      the slot generator exercised for the JIT
+     * @param objectMapper       the mapper serializing API responses, exercised for the JIT
+     * @param jdbcTemplate       JDBC access for listing owner ids
+     * @param transactionManager the transaction manager
+     * @param registry           the registry receiving the memory footprint per owner
+     * @param enabled            whether the instance warms up at all
+     * @param maxOwners          most owners loaded
+     * @param chunkSize          owners loaded per transaction
+     * @param threads            chunks loaded in parallel
+     * @param jitIterations      slot generations run to warm the JIT
+     * @param timeoutSeconds     longest the warm-up may delay readiness
+     * @param measureMemory      whether the heap is measured around the loading, at the cost of two full collections
+     */
+    public StartupWarmUp(CalendarOwnerRepository ownerRepo, AvailabilityRuleRepository availabilityRepo,
+                         SlotGenerator slotGenerator, ObjectMapper objectMapper, JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager, MeterRegistry registry,
+                         @Value("${calendar.warmup.enabled:true}") boolean enabled,
+                         @Value("${calendar.warmup.max-owners:10000}") int maxOwners,
+                         @Value("${calendar.warmup.chunk-size:500}") int chunkSize,
+                         @Value("${calendar.warmup.threads:4}") int threads,
+                         @Value("${calendar.warmup.jit-iterations:20000}") int jitIterations,
+                         @Value("${calendar.warmup.timeout-seconds:120}") long timeoutSeconds,
+                         @Value("${calendar.warmup.measure-memory:true}") boolean measureMemory) {
+        if (chunkSize < 1 || threads < 1) {
+            throw new IllegalArgumentException("calendar.warmup.chunk-size and calendar.warmup.threads must be at least 1");
+        }
+        this.ownerRepo = ownerRepo;
+        this.availabilityRepo = availabilityRepo;
+        this.slotGenerator = slotGenerator;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setReadOnly(true);
+        this.enabled = enabled;
+        this.maxOwners = maxOwners;
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+        this.jitIterations = jitIterations;
+        this.timeoutSeconds = timeoutSeconds;
+        this.measureMemory = measureMemory;
+        Gauge.builder("calendar.warmup.bytes-per-owner", this, w -> w.bytesPerOwner).register(registry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Loads the owners and rules into the cache and warms the JIT, within the timeout.
+     *
+     * @return the number of owners loaded
+     */
+    public int warmUp() {
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM calendar_owner ORDER BY id FETCH FIRST ? ROWS ONLY",
+                Long.class, maxOwners);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        long heapBefore = measureMemory ? usedHeapAfterGc() : 0;
+        AtomicInteger rules = new AtomicInteger();
+        List<AvailabilityWindows> windows = new ArrayList<>();
+        int loaded = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("warm-up-", 0).daemon().factory());
+        try {
+            List<Future<List<AvailabilityWindows>>> chunks = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                chunks.add(pool.submit(() -> tx.execute(status -> loadChunk(chunk, rules))));
+            }
+            for (Future<List<AvailabilityWindows>> chunk : chunks) {
+                List<AvailabilityWindows> chunkWindows = chunk.get(Math.max(deadline - System.nanoTime(), 0),
+                        TimeUnit.NANOSECONDS);
+                windows.addAll(chunkWindows);
+                loaded += chunkWindows.size();
+            }
+        } catch (TimeoutException e) {
+            logger.warn("Warm-up stopped after {} s with {} of {} owners loaded", timeoutSeconds, loaded, ids.size());
+            return loaded;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return loaded;
+        } catch (Exception e) {
+            logger.warn("Warm-up failed after {} of {} owners; starting cold", loaded, ids.size(), e);
+            return loaded;
+        } finally {
+            pool.shutdownNow();
+        }
+        long loadMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        if (measureMemory) {
+            bytesPerOwner = (double) Math.max(usedHeapAfterGc() - heapBefore, 0) / loaded;
+        }
+
+        long jitStarted = System.nanoTime();
+        int iterations = warmJit(windows, deadline);
+        logger.info("Warm-up: {} owners and {} rules cached in {} ms ({} bytes per owner), {} slot generations in {} ms",
+                loaded, rules.get(), loadMs, Double.isNaN(bytesPerOwner) ? "?" : Math.round(bytesPerOwner),
+                iterations, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - jitStarted));
+        return loaded;
+    }
+
+    /**
+     * Returns the heap retained per loaded owner at the last warm-up.
+     *
+     * @return bytes per owner, or {@code NaN} if not measured
+     */
+    public double bytesPerOwner() {
+        return bytesPerOwner;
+    }
+
+    /** Loads one chunk of owners and rules, then runs the cached lookups per owner. */
+    private List<AvailabilityWindows> loadChunk(List<Long> ids, AtomicInteger ruleCount) {
+        List<CalendarOwner> owners = ownerRepo.findAllById(ids);
+        Map<Long, List<AvailabilityRule>> rulesByOwner = availabilityRepo.findByOwnerIn(owners).stream()
+                .collect(Collectors.groupingBy(r -> r.getOwner().getId()));
+        List<AvailabilityWindows> windows = new ArrayList<>(owners.size());
+        for (CalendarOwner owner : owners) {
+            // Run once so that their results land in the query cache; the entities come from the persistence context
+            ownerRepo.findByUsername(owner.getUsername());
+            availabilityRepo.findByOwner(owner);
+            List<AvailabilityRule> rules = rulesByOwner.getOrDefault(owner.getId(), List.of());
+            ruleCount.addAndGet(rules.size());
+            windows.add(AvailabilityWindows.of(rules));
+        }
+        return windows;
+    }
+
+    /** Generates and serializes slots of the loaded owners on dates from tomorrow on. */
+    private int warmJit(List<AvailabilityWindows> windows, long deadline) {
+        List<AvailabilityWindows> open = windows.stream().filter(w -> !w.isEmpty()).toList();
+        if (open.isEmpty()) {
+            return 0;
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        long bytes = 0;
+        int i = 0;
+        try {
+            for (; i < jitIterations && (i % 1000 != 0 || System.nanoTime() < deadline); i++) {
+                AvailabilityWindows owner = open.get(random.nextInt(open.size()));
+                LocalDate date = tomorrow.plusDays(random.nextInt(60));
+                List<LocalTime> booked = List.of(LocalTime.of(random.nextInt(24), 0));
+                List<SlotDto> slots = new ArrayList<>();
+                for (int w = 0; w < owner.size(); w++) {
+                    slots.addAll(slotGenerator.generateSlots(date, owner.startTime(w), owner.endTime(w), booked));
+                }
+                bytes += objectMapper.writeValueAsBytes(slots).length;
+            }
+        } catch (Exception e) {
+            logger.warn("JIT warm-up stopped after {} iterations", i, e);
+        }
+        logger.debug("JIT warm-up serialized {} bytes", bytes);
+        return i;
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,206 @@
+package com.accoladehq.calendar.utilization;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.accoladehq.calendar.dto.UtilizationDto;
+import com.accoladehq.calendar.entity.AvailabilityRule;
+import com.accoladehq.calendar.entity.CalendarOwner;
+import com.accoladehq.calendar.repository.AvailabilityRuleRepository;
+import com.accoladehq.calendar.repository.CalendarOwnerRepository;
+import com.accoladehq.calendar.slots.AvailabilityWindows;
+
+/**
+ * Booked-versus-available counters per owner and day.
+ * <p>
+ * {@code owner_day_stats} holds the number of appointments of each owner and
+ * date, and {@code owner_capacity} the slots per day an owner offers from each
+ * availability change on. Both are updated by
+ * {@link com.accoladehq.calendar.event.BookingEventRecorder} with plain SQL in
+ * the transaction making the change, so they commit or roll back with it. A
+ * report over a range then reads at most one row per day plus the capacity
+ * changes in the range, and never counts appointments or regenerates slots.
+ * </p>
+ * <p>
+ * Concurrent first bookings of an owner and date race to insert the day's row;
+ * the loser's insert fails on the primary key and it increments the winner's row
+ * instead. H2 only rolls back the failed statement, not the transaction.
+ * </p>
+ * <p>
+ * Neither table is part of the journal or of snapshots. After a restore they are
+ * rebuilt from the restored rows by {@link #rebuild()}; the capacity history
+ * starts over then, so every earlier day reports the restored availability.
+ * </p>
+ */
+@Component
+public class UtilizationRollup {
+
+    private static final Logger logger = LoggerFactory.getLogger(UtilizationRollup.class);
+
+    /** Effective date of capacities whose history is unknown. */
+    static final LocalDate BEGINNING = LocalDate.EPOCH;
+
+    private static final String INCREMENT =
+            "UPDATE owner_day_stats SET booked = booked + ? WHERE owner_id = ? AND date = ?";
+
+    private static final String SET_CAPACITY =
+            "UPDATE owner_capacity SET slots_per_day = ? WHERE owner_id = ? AND effective_from = ?";
+
+    private final CalendarOwnerRepository ownerRepo;
+
+    private final AvailabilityRuleRepository availabilityRepo;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate tx;
+
+    /**
+     * Creates the rollup.
+     *
+     * @param ownerRepo          the owner repository
+     * @param availabilityRepo   the availability rule repository, read by {@link #rebuild()}
+     * @param jdbcTemplate       JDBC access to the rollup tables
+     * @param transactionManager the transaction manager
+     */
+    public UtilizationRollup(CalendarOwnerRepository ownerRepo, AvailabilityRuleRepository availabilityRepo,
+                             JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.ownerRepo = ownerRepo;
+        this.availabilityRepo = availabilityRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Adds to or takes from the appointment count of an owner and date.
+     *
+     * @param ownerId the owner's id
+     * @param date    the appointment date
+     * @param delta   {@code 1} for a booking, {@code -1} for a cancellation
+     */
+    public void adjustBooked(Long ownerId, LocalDate date, int delta) {
+        if (jdbcTemplate.update(INCREMENT, delta, ownerId, date) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO owner_day_stats (owner_id, date, booked) VALUES (?, ?, ?)",
+                    ownerId, date, delta);
+        } catch (DuplicateKeyException e) {
+            // Inserted by a concurrent transaction, which has committed by now
+            jdbcTemplate.update(INCREMENT, delta, ownerId, date);
+        }
+    }
+
+    /**
+     * Records an owner's new availability, effective from today.
+     *
+     * @param username the owner's username
+     * @param rules    the owner's rules after the change
+     */
+    public void availabilityChanged(String username, Collection<AvailabilityRule> rules) {
+        CalendarOwner owner = ownerRepo.findByUsername(username).orElse(null);
+        if (owner == null) {
+            return;
+        }
+        int slots = slotsPerDay(rules);
+        LocalDate today = LocalDate.now();
+        if (jdbcTemplate.update(SET_CAPACITY, slots, owner.getId(), today) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO owner_capacity (owner_id, effective_from, slots_per_day) VALUES (?, ?, ?)",
+                    owner.getId(), today, slots);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update(SET_CAPACITY, slots, owner.getId(), today);
+        }
+    }
+
+    /**
+     * Recomputes both tables from the appointments, live and archived, and rules in
+     * the database, in one transaction. Used after a restore, which bypasses the incremental updates.
+     */
+    public void rebuild() {
+        long started = System.nanoTime();
+        tx.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM owner_day_stats");
+            int days = jdbcTemplate.update("INSERT INTO owner_day_stats (owner_id, date, booked) "
+                    + "SELECT owner_id, date, COUNT(*) FROM (SELECT owner_id, date FROM appointment "
+                    + "UNION ALL SELECT owner_id, date FROM appointment_archive) GROUP BY owner_id, date");
+            jdbcTemplate.update("DELETE FROM owner_capacity");
+            Map<Long, List<AvailabilityRule>> rulesByOwner = availabilityRepo.findAll().stream()
+                    .collect(Collectors.groupingBy(r -> r.getOwner().getId()));
+            List<Object[]> capacities = new ArrayList<>(rulesByOwner.size());
+            rulesByOwner.forEach((ownerId, rules) -> capacities.add(new Object[] {ownerId, BEGINNING, slotsPerDay(rules)}));
+            jdbcTemplate.batchUpdate("INSERT INTO owner_capacity (owner_id, effective_from, slots_per_day) VALUES (?, ?, ?)",
+                    capacities);
+            logger.info("Utilization rollup rebuilt: {} owner days, {} capacities in {} ms", days, capacities.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        });
+    }
+
+    /**
+     * Reports an owner's utilization per day or per ISO week. The two small
+     * queries run without a transaction, as a report may be a moment out of date.
+     *
+     * @param ownerId the owner's id
+     * @param from    the first date, inclusive
+     * @param to      the last date, inclusive
+     * @param weekly  whether days are summed per ISO week; weeks are clipped to the range
+     * @return one entry per period, in date order
+     */
+    public List<UtilizationDto> report(Long ownerId, LocalDate from, LocalDate to, boolean weekly) {
+        Map<LocalDate, Integer> booked = new HashMap<>();
+        jdbcTemplate.query("SELECT date, booked FROM owner_day_stats WHERE owner_id = ? AND date BETWEEN ? AND ?",
+                rs -> {
+                    booked.put(rs.getObject(1, LocalDate.class), rs.getInt(2));
+                }, ownerId, from, to);
+        // The capacity in effect on the first day, then every change within the range
+        TreeMap<LocalDate, Integer> capacity = new TreeMap<>();
+        jdbcTemplate.query("SELECT effective_from, slots_per_day FROM owner_capacity WHERE owner_id = ? "
+                + "AND effective_from <= ? AND effective_from >= COALESCE((SELECT MAX(effective_from) "
+                + "FROM owner_capacity WHERE owner_id = ? AND effective_from <= ?), ?)", rs -> {
+                    capacity.put(rs.getObject(1, LocalDate.class), rs.getInt(2));
+                }, ownerId, to, ownerId, from, from);
+
+        List<UtilizationDto> periods = new ArrayList<>();
+        LocalDate start = from;
+        while (!start.isAfter(to)) {
+            LocalDate end = weekly ? min(start.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY)), to) : start;
+            long bookedSum = 0;
+            long availableSum = 0;
+            for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+                bookedSum += booked.getOrDefault(day, 0);
+                Map.Entry<LocalDate, Integer> inEffect = capacity.floorEntry(day);
+                availableSum += inEffect == null ? 0 : inEffect.getValue();
+            }
+            periods.add(new UtilizationDto(start, end, bookedSum, availableSum,
+                    availableSum == 0 ? null : (double) bookedSum / availableSum));
+            start = end.plusDays(1);
+        }
+        return periods;
+    }
+
+    private static int slotsPerDay(Collection<AvailabilityRule> rules) {
+        return Integer.bitCount(AvailabilityWindows.of(rules).toBitmap());
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
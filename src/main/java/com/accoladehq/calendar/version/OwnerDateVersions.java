@@ -0,0 +1,163 @@
+package com.accoladehq.calendar.version;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tracks change versions of owner availability, per owner and per owner/date.
+ * <p>
+ * Every write that changes what {@code searchAvailableSlots} would return for an
+ * owner bumps a version here. Date-level bumps are used for booking changes
+ * (book, cancel, reschedule) and owner-level bumps for availability rule changes,
+ * which affect every date at once.
+ * </p>
+ * <p>
+ * Versions are drawn from a single monotonic clock, so the effective stamp of an
+ * owner/date is simply the larger of its owner stamp and its date stamp. A cache
+ * that remembers the stamp it computed an entry under can detect staleness with a
+ * single comparison, without any full invalidation.
+ * </p>
+ * <p>
+ * When called inside a transaction, bumps are deferred until after commit so that
+ * readers never observe a new version before the data behind it is visible.
+ * </p>
+ */
+@Component
+public class OwnerDateVersions {
+
+    /**
+     * Callback notified after a version has been bumped.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Called after a version change has become visible.
+         *
+         * @param username the owner whose availability changed
+         * @param date     the affected date, or {@code null} if all dates are affected
+         */
+        void versionChanged(String username, LocalDate date);
+    }
+
+    private record OwnerDate(String username, LocalDate date) {
+    }
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final ConcurrentMap<String, Long> ownerStamps = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<OwnerDate, Long> dateStamps = new ConcurrentHashMap<>();
+
+    /** Stamp of the most recent change of any kind, per owner. */
+    private final ConcurrentMap<String, Long> latestStamps = new ConcurrentHashMap<>();
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Returns the current version stamp for an owner and date.
+     *
+     * @param username the owner's username
+     * @param date     the date
+     * @return a stamp that changes whenever availability for that owner/date may have changed
+     */
+    public long stamp(String username, LocalDate date) {
+        long owner = ownerStamps.getOrDefault(username, 0L);
+        long day = dateStamps.getOrDefault(new OwnerDate(username, date), 0L);
+        return Math.max(owner, day);
+    }
+
+    /**
+     * Returns the stamp of the most recent change to any date of an owner, for
+     * views that cover many dates at once.
+     *
+     * @param username the owner's username
+     * @return a stamp that changes whenever anything of that owner may have changed
+     */
+    public long latestStamp(String username) {
+        return latestStamps.getOrDefault(username, 0L);
+    }
+
+    /**
+     * Marks a single owner/date as changed (after commit when a transaction is active).
+     *
+     * @param username the owner's username
+     * @param date     the affected date
+     */
+    public void bumpDate(String username, LocalDate date) {
+        afterCommit(() -> {
+            long stamp = clock.incrementAndGet();
+            dateStamps.put(new OwnerDate(username, date), stamp);
+            latestStamps.merge(username, stamp, Math::max);
+            notifyListeners(username, date);
+        });
+    }
+
+    /**
+     * Marks every date of an owner as changed (after commit when a transaction is active).
+     *
+     * @param username the owner's username
+     */
+    public void bumpOwner(String username) {
+        afterCommit(() -> {
+            long stamp = clock.incrementAndGet();
+            ownerStamps.put(username, stamp);
+            latestStamps.merge(username, stamp, Math::max);
+            notifyListeners(username, null);
+        });
+    }
+
+    /**
+     * Drops per-date stamps older than the given date; past dates are never searched.
+     *
+     * @param date the first date to keep
+     */
+    public void pruneBefore(LocalDate date) {
+        dateStamps.keySet().removeIf(k -> k.date().isBefore(date));
+    }
+
+    /**
+     * Drops the per-date stamps of past dates, shortly after midnight every day.
+     */
+    @Scheduled(cron = "${calendar.versions.prune-cron:0 5 0 * * *}")
+    public void prunePastDates() {
+        pruneBefore(LocalDate.now());
+    }
+
+    /**
+     * Registers a listener for version changes.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    private void notifyListeners(String username, LocalDate date) {
+        for (Listener listener : listeners) {
+            listener.versionChanged(username, date);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.accoladehq.calendar.archive.AppointmentArchiver;
+import com.accoladehq.calendar.dto.UtilizationDto;
+import com.accoladehq.calendar.journal.JournalRecord;
+import com.accoladehq.calendar.journal.JournalReplayer;
+import com.accoladehq.calendar.repository.AppointmentRow;
+import com.accoladehq.calendar.service.BookingService;
+import com.accoladehq.calendar.utilization.UtilizationRollup;
+
+@SpringBootTest(properties = "calendar.archive.batch-size=2")
+class AppointmentArchiveIntegrationTest {
+
+    /** Far enough back that no other test has appointments before it. */
+    private static final LocalDate PAST = LocalDate.of(2001, 3, 5);
+
+    @Autowired
+    private AppointmentArchiver archiver;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JournalReplayer replayer;
+
+    @Autowired
+    private UtilizationRollup rollup;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testPastAppointmentsMoveToTheArchiveInChunks() {
+        bookingService.upsertOwnerIfNotExists("archive-alice", "Alice");
+        long first = insertPast("archive-alice", PAST, 9);
+        long second = insertPast("archive-alice", PAST, 10);
+        long third = insertPast("archive-alice", PAST.plusDays(1), 9);
+        long kept = insertPast("archive-alice", PAST.plusDays(10), 9);
+        rollup.rebuild();
+
+        assertEquals(3, archiver.archiveBefore(PAST.plusDays(2)));
+        assertEquals(0, archiver.archiveBefore(PAST.plusDays(2)));
+
+        assertEquals(List.of(kept), jdbcTemplate.queryForList("SELECT a.id FROM appointment a JOIN calendar_owner o "
+                + "ON o.id = a.owner_id WHERE o.username = 'archive-alice'", Long.class));
+        List<AppointmentRow> history = bookingService.listHistory("archive-alice", PAST, PAST.plusDays(10));
+        assertEquals(List.of(first, second, third, kept), history.stream().map(AppointmentRow::id).toList());
+        assertEquals(LocalTime.of(10, 0), history.get(1).startTime());
+        assertEquals("Invitee", history.get(1).inviteeName());
+        assertEquals(List.of(third), bookingService.listHistory("archive-alice", PAST.plusDays(1), PAST.plusDays(1))
+                .stream().map(AppointmentRow::id).toList());
+        assertNull(bookingService.listHistory("archive-nobody", PAST, PAST));
+
+        // Archived appointments still count as booked, before and after a rebuild
+        List<UtilizationDto> days = bookingService.utilization("archive-alice", PAST, PAST.plusDays(1), false);
+        assertEquals(List.of(2L, 1L), days.stream().map(UtilizationDto::getBooked).toList());
+        rollup.rebuild();
+        assertEquals(days, bookingService.utilization("archive-alice", PAST, PAST.plusDays(1), false));
+
+        // Archived appointments can no longer be cancelled
+        assertFalse(bookingService.cancelAppointment(first));
+    }
+
+    @Test
+    void testReplayMovesLiveRowsOnce() {
+        String username = "archive-replay";
+        LocalTime nine = LocalTime.of(9, 0);
+        long id = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR appointment_seq", Long.class);
+        List<JournalRecord> records = List.of(
+                new JournalRecord.OwnerCreated(username, "Replay"),
+                new JournalRecord.Booked(id, username, PAST, nine, LocalTime.of(10, 0), "Ann", null),
+                new JournalRecord.Archived(username, PAST, nine));
+        replayer.apply(records);
+        // Replayed again on top of a snapshot that already archived it: the booking is
+        // applied to the live table again and moved out again, without a second copy
+        replayer.apply(records);
+
+        assertEquals(0, count("appointment", username));
+        assertEquals(1, count("appointment_archive", username));
+        assertEquals("Ann", bookingService.listHistory(username, PAST, PAST).get(0).inviteeName());
+    }
+
+    private long insertPast(String username, LocalDate date, int hour) {
+        Long id = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR appointment_seq", Long.class);
+        jdbcTemplate.update("INSERT INTO appointment (id, owner_id, date, start_time, end_time, invitee_name) "
+                + "SELECT ?, id, ?, ?, ?, 'Invitee' FROM calendar_owner WHERE username = ?",
+                id, date, LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0), username);
+        return id;
+    }
+
+    private int count(String table, String username) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " a JOIN calendar_owner o "
+                + "ON o.id = a.owner_id WHERE o.username = ?", Integer.class, username);
+    }
+}
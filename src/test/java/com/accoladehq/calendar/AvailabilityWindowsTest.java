@@ -0,0 +1,71 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.accoladehq.calendar.entity.AvailabilityRule;
+import com.accoladehq.calendar.slots.AvailabilityWindows;
+import com.accoladehq.calendar.slots.SlotBitmaps;
+
+class AvailabilityWindowsTest {
+
+    @Test
+    void testOfMergesOverlappingAndAdjacentRules() {
+        AvailabilityWindows windows = AvailabilityWindows.of(List.of(
+                rule(14, 16), rule(9, 11), rule(10, 12), rule(16, 18)));
+
+        assertEquals("[09:00-12:00, 14:00-18:00]", windows.toString());
+        assertEquals(2, windows.size());
+    }
+
+    @Test
+    void testUnionBridgesGap() {
+        AvailabilityWindows windows = AvailabilityWindows.of(List.of(rule(9, 12), rule(14, 18)))
+                .union(LocalTime.of(12, 0), LocalTime.of(14, 0));
+
+        assertEquals("[09:00-18:00]", windows.toString());
+    }
+
+    @Test
+    void testSubtractSplitsAndTrims() {
+        AvailabilityWindows windows = AvailabilityWindows.of(List.of(rule(9, 18)));
+
+        assertEquals("[09:00-12:00, 13:00-18:00]",
+                windows.subtract(LocalTime.of(12, 0), LocalTime.of(13, 0)).toString());
+        assertEquals("[09:00-10:00]",
+                windows.subtract(LocalTime.of(10, 0), LocalTime.of(20, 0)).toString());
+        assertTrue(windows.subtract(LocalTime.of(8, 0), LocalTime.of(19, 0)).isEmpty());
+    }
+
+    @Test
+    void testContainsRequiresSingleWindow() {
+        AvailabilityWindows windows = AvailabilityWindows.of(List.of(rule(9, 12), rule(14, 18)));
+
+        assertTrue(windows.contains(LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        assertTrue(windows.contains(LocalTime.of(17, 0), LocalTime.of(18, 0)));
+        assertFalse(windows.contains(LocalTime.of(8, 0), LocalTime.of(9, 0)));
+        assertFalse(windows.contains(LocalTime.of(12, 0), LocalTime.of(13, 0)));
+        assertFalse(windows.contains(LocalTime.of(11, 0), LocalTime.of(15, 0)));
+        assertFalse(AvailabilityWindows.empty().contains(LocalTime.of(9, 0), LocalTime.of(10, 0)));
+    }
+
+    @Test
+    void testToBitmapMatchesWindows() {
+        AvailabilityWindows windows = AvailabilityWindows.of(List.of(rule(9, 11), rule(14, 15)));
+
+        int expected = SlotBitmaps.bit(LocalTime.of(9, 0)) | SlotBitmaps.bit(LocalTime.of(10, 0))
+                | SlotBitmaps.bit(LocalTime.of(14, 0));
+        assertEquals(expected, windows.toBitmap());
+    }
+
+    private static AvailabilityRule rule(int startHour, int endHour) {
+        AvailabilityRule rule = new AvailabilityRule();
+        rule.setStartTime(LocalTime.of(startHour, 0));
+        rule.setEndTime(LocalTime.of(endHour, 0));
+        return rule;
+    }
+}
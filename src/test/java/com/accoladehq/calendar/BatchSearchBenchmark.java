@@ -0,0 +1,97 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BatchSearchSlotsRequest;
+import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.dto.SearchSlotsRequest;
+import com.accoladehq.calendar.service.BookingService;
+
+/**
+ * Compares a directory page that searches 50 owners one call at a time against a
+ * single {@link BookingService#searchAvailableSlotsBatch} call, for one day and a week.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=BatchSearchBenchmark}; tune with
+ * {@code -Dbench.pages=<n>}.
+ * </p>
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class BatchSearchBenchmark {
+
+    private static final int OWNERS = 50;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void perOwnerVersusBatchedSearch() {
+        int pages = Integer.getInteger("bench.pages", 500);
+        List<String> usernames = new ArrayList<>();
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        for (int i = 0; i < OWNERS; i++) {
+            String username = "batch-bench-" + i;
+            usernames.add(username);
+            bookingService.upsertOwnerIfNotExists(username, username);
+            bookingService.addAvailability(new AvailabilityRequest(username, LocalTime.of(8, 0), LocalTime.of(12, 0)));
+            bookingService.addAvailability(new AvailabilityRequest(username, LocalTime.of(13, 0), LocalTime.of(18, 0)));
+            for (int day = 0; day < 7; day += 2) {
+                bookingService.bookAppointment(new BookRequest(username, tomorrow.plusDays(day), LocalTime.of(9, 0), "Bench", null));
+            }
+        }
+
+        for (int days : new int[] {1, 7}) {
+            LocalDate to = tomorrow.plusDays(days - 1L);
+            run(pages / 5, () -> perOwner(usernames, tomorrow, to));
+            run(pages / 5, () -> batched(usernames, tomorrow, to));
+
+            double single = run(pages, () -> perOwner(usernames, tomorrow, to));
+            double batch = run(pages, () -> batched(usernames, tomorrow, to));
+
+            System.out.printf("%nDirectory page of %d owners, %d day(s), %d pages per path%n", OWNERS, days, pages);
+            System.out.printf("  per owner : %8.1f us/page%n", single);
+            System.out.printf("  batched   : %8.1f us/page%n", batch);
+            System.out.printf("  speedup   : %8.2fx%n", single / batch);
+        }
+    }
+
+    private static double run(int count, Runnable page) {
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            page.run();
+        }
+        return (System.nanoTime() - start) / 1_000.0 / count;
+    }
+
+    private void perOwner(List<String> usernames, LocalDate from, LocalDate to) {
+        int total = 0;
+        for (String username : usernames) {
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                total += bookingService.searchAvailableSlots(new SearchSlotsRequest(username, date)).size();
+            }
+        }
+        assertEquals(expected(from, to), total);
+    }
+
+    private void batched(List<String> usernames, LocalDate from, LocalDate to) {
+        BatchSearchSlotsRequest req = new BatchSearchSlotsRequest(usernames, from);
+        req.setToDate(to);
+        int total = bookingService.searchAvailableSlotsBatch(req).values().stream().mapToInt(List::size).sum();
+        assertEquals(expected(from, to), total);
+    }
+
+    private static int expected(LocalDate from, LocalDate to) {
+        int days = (int) (to.toEpochDay() - from.toEpochDay()) + 1;
+        int bookedDays = (days + 1) / 2;
+        return OWNERS * (days * 9 - bookedDays);
+    }
+}
@@ -2,16 +2,30 @@ package com.accoladehq.calendar;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -21,13 +35,25 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.accoladehq.calendar.controller.BookingController;
 import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BatchSearchSlotsRequest;
 import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.dto.CompactSlotsDto;
+import com.accoladehq.calendar.dto.IcsImportResult;
+import com.accoladehq.calendar.dto.RecurringBookRequest;
+import com.accoladehq.calendar.dto.RecurringBookingResult;
+import com.accoladehq.calendar.dto.RescheduleRequest;
 import com.accoladehq.calendar.dto.SearchSlotsRequest;
 import com.accoladehq.calendar.dto.SlotDto;
+import com.accoladehq.calendar.dto.UtilizationDto;
+import com.accoladehq.calendar.engine.BookingBusyException;
 import com.accoladehq.calendar.entity.Appointment;
+import com.accoladehq.calendar.ics.IcsFeedCache;
+import com.accoladehq.calendar.ics.IcsImporter;
+import com.accoladehq.calendar.repository.AppointmentRow;
 import com.accoladehq.calendar.service.BookingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -40,6 +66,12 @@ class BookingControllerTest {
 	@MockitoBean
 	private BookingService bookingService;
 
+	@MockitoBean
+	private IcsImporter icsImporter;
+
+	@MockitoBean
+	private IcsFeedCache icsFeeds;
+
 	@Autowired
 	private ObjectMapper objectMapper;
 
@@ -63,6 +95,59 @@ class BookingControllerTest {
 				.andExpect(content().string("Availability saved successfully"));
 	}
 
+	@Test
+	void testRemoveAvailability() throws Exception {
+		AvailabilityRequest req = new AvailabilityRequest("john", LocalTime.of(12, 0), LocalTime.of(13, 0));
+
+		Mockito.when(bookingService.removeAvailability(any()))
+				.thenReturn(ResponseEntity.ok("Availability removed successfully for all days"));
+
+		mockMvc.perform(post("/api/availability/remove").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(req))).andExpect(status().isOk())
+				.andExpect(content().string("Availability removed successfully for all days"));
+	}
+
+	@Test
+	void testSearchBatch() throws Exception {
+		LocalDate date = LocalDate.now().plusDays(1);
+		BatchSearchSlotsRequest req = new BatchSearchSlotsRequest(List.of("john", "jane"), date);
+
+		Map<String, List<SlotDto>> result = new LinkedHashMap<>();
+		result.put("john", List.of(new SlotDto(date, LocalTime.of(10, 0), LocalTime.of(11, 0))));
+		result.put("jane", List.of());
+		Mockito.when(bookingService.searchAvailableSlotsBatch(any())).thenReturn(result);
+
+		mockMvc.perform(post("/api/slots/search/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(req))).andExpect(status().isOk())
+				.andExpect(jsonPath("$.john[0].start").value("10:00:00"))
+				.andExpect(jsonPath("$.jane").isEmpty());
+	}
+
+	@Test
+	void testSearchBatch_rangeTooLong() throws Exception {
+		LocalDate date = LocalDate.now().plusDays(1);
+		BatchSearchSlotsRequest req = new BatchSearchSlotsRequest(List.of("john"), date);
+		req.setToDate(date.plusDays(BatchSearchSlotsRequest.MAX_DAYS));
+
+		mockMvc.perform(post("/api/slots/search/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(req))).andExpect(status().isBadRequest());
+		Mockito.verifyNoInteractions(bookingService);
+	}
+
+	@Test
+	void testSearchBatch_tooManyOrNoUsernames() throws Exception {
+		LocalDate date = LocalDate.now().plusDays(1);
+		List<String> usernames = IntStream.rangeClosed(1, BatchSearchSlotsRequest.MAX_USERNAMES + 1)
+				.mapToObj(i -> "owner" + i).toList();
+
+		mockMvc.perform(post("/api/slots/search/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new BatchSearchSlotsRequest(usernames, date))))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(post("/api/slots/search/batch").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"date\": \"" + date + "\"}")).andExpect(status().isBadRequest());
+		Mockito.verifyNoInteractions(bookingService);
+	}
+
 	@Test
 	void testSearchSlots() throws Exception {
 		SearchSlotsRequest req = new SearchSlotsRequest();
@@ -176,10 +261,313 @@ class BookingControllerTest {
 				.andExpect(content().string("Failed to book appointment"));
 	}
 
+	@Test
+	void testBookAppointment_whenEngineBusy_thenReturns503WithRetryAfter() throws Exception {
+		BookRequest req = new BookRequest();
+		req.setUsername("john");
+		req.setDate(LocalDate.now().plusDays(1));
+		req.setStartTime(LocalTime.of(10, 0));
+		req.setInviteeName("Alice");
+		req.setInviteeEmail("alice@example.com");
+
+		doThrow(new BookingBusyException("Booking queue is full")).when(bookingService).bookAppointment(any());
+
+		mockMvc.perform(post("/api/appointments").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(req))).andExpect(status().isServiceUnavailable())
+				.andExpect(header().string("Retry-After", "1"))
+				.andExpect(content().string("Booking queue is full"));
+	}
+
 	@Test
 	void testListUpcoming_whenException_thenReturns500() throws Exception {
 		doThrow(new RuntimeException("DB error")).when(bookingService).listUpcoming("john");
 
 		mockMvc.perform(get("/api/owners/john/appointments")).andExpect(status().isInternalServerError());
 	}
+
+	@Test
+	void testCancelAppointment() throws Exception {
+		Mockito.when(bookingService.cancelAppointment(7L)).thenReturn(true);
+
+		mockMvc.perform(delete("/api/appointments/7")).andExpect(status().isOk())
+				.andExpect(content().string("Appointment cancelled"));
+	}
+
+	@Test
+	void testCancelAppointment_whenNotFound_thenReturns404() throws Exception {
+		Mockito.when(bookingService.cancelAppointment(7L)).thenReturn(false);
+
+		mockMvc.perform(delete("/api/appointments/7")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void testRescheduleAppointment() throws Exception {
+		RescheduleRequest req = new RescheduleRequest(LocalDate.now().plusDays(2), LocalTime.of(14, 0));
+		SlotDto slot = new SlotDto(req.getDate(), LocalTime.of(14, 0), LocalTime.of(15, 0));
+
+		Mockito.when(bookingService.rescheduleAppointment(eq(7L), any())).thenReturn(slot);
+
+		mockMvc.perform(put("/api/appointments/7").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(req))).andExpect(status().isOk())
+				.andExpect(jsonPath("$.start").value("14:00:00"));
+	}
+
+	@Test
+	void testRescheduleAppointment_whenIllegalStateException_thenReturns400() throws Exception {
+		RescheduleRequest req = new RescheduleRequest(LocalDate.now().plusDays(2), LocalTime.of(14, 0));
+
+		doThrow(new IllegalStateException("Requested slot is already booked")).when(bookingService)
+				.rescheduleAppointment(eq(7L), any());
+
+		mockMvc.perform(put("/api/appointments/7").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(req))).andExpect(status().isBadRequest())
+				.andExpect(content().string("Requested slot is already booked"));
+	}
+
+	@Test
+	void testBookRecurring_whenConflicts_thenReturns409() throws Exception {
+		RecurringBookRequest req = new RecurringBookRequest();
+		req.setUsername("john");
+		req.setStartDate(LocalDate.now().plusDays(1));
+		req.setStartTime(LocalTime.of(10, 0));
+		req.setOccurrences(12);
+		req.setInviteeName("Alice");
+
+		RecurringBookingResult result = new RecurringBookingResult();
+		result.getConflicts().add(new RecurringBookingResult.Conflict(req.getStartDate().plusWeeks(2),
+				LocalTime.of(10, 0), "Slot already booked"));
+
+		Mockito.when(bookingService.bookRecurring(any())).thenReturn(result);
+
+		mockMvc.perform(post("/api/appointments/recurring").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(req))).andExpect(status().isConflict())
+				.andExpect(jsonPath("$.conflicts[0].reason").value("Slot already booked"));
+	}
+
+	@Test
+	void testBookRecurring_whenIntervalOrOccurrencesOutOfRange_thenReturns400() throws Exception {
+		RecurringBookRequest req = new RecurringBookRequest();
+		req.setUsername("john");
+		req.setStartDate(LocalDate.now().plusDays(1));
+		req.setStartTime(LocalTime.of(10, 0));
+		req.setInterval(Integer.MAX_VALUE);
+		req.setOccurrences(52);
+		req.setInviteeName("Alice");
+
+		mockMvc.perform(post("/api/appointments/recurring").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(req))).andExpect(status().isBadRequest())
+				.andExpect(content().string("Interval must be 1 to 52"));
+
+		req.setInterval(1);
+		req.setOccurrences(53);
+		mockMvc.perform(post("/api/appointments/recurring").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(req))).andExpect(status().isBadRequest())
+				.andExpect(content().string("Occurrences must be 1 to 52"));
+		verify(bookingService, never()).bookRecurring(any());
+	}
+
+	@Test
+	void testSearchSlots_compactRepresentation() throws Exception {
+		SearchSlotsRequest req = new SearchSlotsRequest("john", LocalDate.now().plusDays(1));
+		List<SlotDto> slots = Arrays.asList(new SlotDto(req.getDate(), LocalTime.of(10, 0), LocalTime.of(11, 0)),
+				new SlotDto(req.getDate(), LocalTime.of(13, 0), LocalTime.of(14, 0)));
+
+		Mockito.when(bookingService.searchAvailableSlots(any())).thenReturn(slots);
+
+		mockMvc.perform(post("/api/slots/search").contentType(MediaType.APPLICATION_JSON)
+				.accept(CompactSlotsDto.MEDIA_TYPE).content(objectMapper.writeValueAsString(req)))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.slotMinutes").value(60))
+				.andExpect(jsonPath("$.days.length()").value(1))
+				.andExpect(jsonPath("$.days[0].starts[0]").value(600))
+				.andExpect(jsonPath("$.days[0].starts[1]").value(780));
+	}
+
+	@Test
+	void testSearchSlots_cborRepresentation() throws Exception {
+		SearchSlotsRequest req = new SearchSlotsRequest("john", LocalDate.now().plusDays(1));
+
+		Mockito.when(bookingService.searchAvailableSlots(any()))
+				.thenReturn(List.of(new SlotDto(req.getDate(), LocalTime.of(10, 0), LocalTime.of(11, 0))));
+
+		mockMvc.perform(post("/api/slots/search").contentType(MediaType.APPLICATION_JSON)
+				.accept(CompactSlotsDto.CBOR_MEDIA_TYPE).content(objectMapper.writeValueAsString(req)))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Type", CompactSlotsDto.CBOR_MEDIA_TYPE));
+	}
+
+	@Test
+	void testSearchSlots_defaultsToPlainJson() throws Exception {
+		SearchSlotsRequest req = new SearchSlotsRequest("john", LocalDate.now().plusDays(1));
+
+		Mockito.when(bookingService.searchAvailableSlots(any()))
+				.thenReturn(List.of(new SlotDto(req.getDate(), LocalTime.of(10, 0), LocalTime.of(11, 0))));
+
+		mockMvc.perform(post("/api/slots/search").contentType(MediaType.APPLICATION_JSON).accept(MediaType.ALL)
+				.content(objectMapper.writeValueAsString(req))).andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].start").value("10:00:00"));
+	}
+
+	@Test
+	void testNextAvailable() throws Exception {
+		LocalDate from = LocalDate.now().plusDays(1);
+		Mockito.when(bookingService.nextAvailable("john", from, 2)).thenReturn(List.of(
+				new SlotDto(from, LocalTime.of(9, 0), LocalTime.of(10, 0)),
+				new SlotDto(from, LocalTime.of(10, 0), LocalTime.of(11, 0))));
+
+		mockMvc.perform(get("/api/owners/john/slots/next").param("from", from.toString()).param("limit", "2"))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(2))
+				.andExpect(jsonPath("$[1].start").value("10:00:00"));
+	}
+
+	@Test
+	void testNextAvailable_whenLimitOutOfRange_thenReturns400() throws Exception {
+		mockMvc.perform(get("/api/owners/john/slots/next").param("limit", "0")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void testImportCalendar() throws Exception {
+		IcsImportResult result = new IcsImportResult();
+		result.setEvents(2);
+		result.setImported(1);
+		result.setRejectedCount(1);
+		result.getRejected().add(new IcsImportResult.Rejected(9, "uid-2", null, null, "All-day event"));
+		Mockito.when(icsImporter.importEvents(eq("john"), any())).thenReturn(result);
+
+		mockMvc.perform(post("/api/owners/john/appointments/import").contentType("text/calendar")
+				.content("BEGIN:VCALENDAR\r\nEND:VCALENDAR\r\n")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported").value(1))
+				.andExpect(jsonPath("$.rejected[0].reason").value("All-day event"));
+	}
+
+	@Test
+	void testImportCalendar_whenOwnerMissing_thenReturns400() throws Exception {
+		Mockito.when(icsImporter.importEvents(eq("ghost"), any())).thenReturn(null);
+
+		mockMvc.perform(post("/api/owners/ghost/appointments/import").contentType("text/calendar")
+				.content("BEGIN:VCALENDAR\r\nEND:VCALENDAR\r\n")).andExpect(status().isBadRequest())
+				.andExpect(content().string("Owner not found"));
+	}
+
+	@Test
+	void testUtilization() throws Exception {
+		LocalDate monday = LocalDate.of(2030, 1, 14);
+		Mockito.when(bookingService.utilization("john", monday, monday.plusDays(6), true))
+				.thenReturn(List.of(new UtilizationDto(monday, monday.plusDays(6), 14, 56, 0.25)));
+
+		mockMvc.perform(get("/api/owners/john/utilization").param("from", "2030-01-14").param("to", "2030-01-20")
+				.param("period", "week")).andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].booked").value(14))
+				.andExpect(jsonPath("$[0].available").value(56))
+				.andExpect(jsonPath("$[0].utilization").value(0.25));
+	}
+
+	@Test
+	void testUtilization_whenRangeInvalid_thenReturns400() throws Exception {
+		mockMvc.perform(get("/api/owners/john/utilization").param("from", "2030-01-14").param("to", "2030-01-13"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/owners/john/utilization").param("from", "2030-01-01").param("to", "2031-01-02"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/owners/john/utilization").param("period", "month")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void testListHistory() throws Exception {
+		LocalDate from = LocalDate.of(2024, 1, 1);
+		LocalDate to = LocalDate.of(2024, 1, 31);
+		Mockito.when(bookingService.listHistory("john", from, to)).thenReturn(List.of(new AppointmentRow(7L, "john",
+				LocalDate.of(2024, 1, 15), LocalTime.of(9, 0), LocalTime.of(10, 0), "Alice", null)));
+
+		mockMvc.perform(get("/api/owners/john/appointments/history").param("from", "2024-01-01").param("to", "2024-01-31"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].id").value(7))
+				.andExpect(jsonPath("$[0].date").value("2024-01-15"))
+				.andExpect(jsonPath("$[0].inviteeName").value("Alice"));
+	}
+
+	@Test
+	void testListHistory_whenRangeInvalidOrOwnerUnknown_thenReturns400() throws Exception {
+		mockMvc.perform(get("/api/owners/john/appointments/history").param("from", "2024-01-02").param("to", "2024-01-01"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/owners/john/appointments/history").param("from", "2023-01-01").param("to", "2024-01-02"))
+				.andExpect(status().isBadRequest());
+		Mockito.when(bookingService.listHistory(eq("nobody"), any(), any())).thenReturn(null);
+		mockMvc.perform(get("/api/owners/nobody/appointments/history").param("from", "2024-01-01").param("to", "2024-01-02"))
+				.andExpect(status().isBadRequest()).andExpect(content().string("Owner not found"));
+	}
+
+	@Test
+	void testCalendarFeed_whenEtagMatches_thenReturns304WithoutRendering() throws Exception {
+		IcsFeedCache.Version version = feedVersion();
+		Mockito.when(icsFeeds.version("john")).thenReturn(version);
+		Mockito.when(icsFeeds.exists("john")).thenReturn(true);
+
+		mockMvc.perform(get("/api/owners/john/calendar.ics").header("If-None-Match", version.etag()))
+				.andExpect(status().isNotModified()).andExpect(header().string("ETag", version.etag()))
+				.andExpect(content().string(""));
+		verify(icsFeeds, never()).cached(any(), any());
+		verify(icsFeeds, never()).render(any(), any(), any());
+	}
+
+	@Test
+	void testCalendarFeed_whenCached_thenReturnsCachedBytes() throws Exception {
+		IcsFeedCache.Version version = feedVersion();
+		Mockito.when(icsFeeds.version("john")).thenReturn(version);
+		Mockito.when(icsFeeds.exists("john")).thenReturn(true);
+		Mockito.when(icsFeeds.cached("john", version))
+				.thenReturn("BEGIN:VCALENDAR\r\nEND:VCALENDAR\r\n".getBytes(StandardCharsets.UTF_8));
+
+		MvcResult result = mockMvc.perform(get("/api/owners/john/calendar.ics")).andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+				.andExpect(header().string("ETag", version.etag()))
+				.andExpect(header().string("Last-Modified", "Tue, 15 Jan 2030 10:00:00 GMT"))
+				.andExpect(header().string("Cache-Control", "no-cache"))
+				.andExpect(content().contentType("text/calendar;charset=UTF-8"))
+				.andExpect(content().string("BEGIN:VCALENDAR\r\nEND:VCALENDAR\r\n"));
+	}
+
+	@Test
+	void testCalendarFeed_whenNotCached_thenStreamsRenderedFeed() throws Exception {
+		IcsFeedCache.Version version = feedVersion();
+		Mockito.when(icsFeeds.version("john")).thenReturn(version);
+		Mockito.when(icsFeeds.exists("john")).thenReturn(true);
+		Mockito.when(icsFeeds.render(eq("john"), eq(version), any())).thenAnswer(inv -> {
+			inv.getArgument(2, OutputStream.class).write("BEGIN:VCALENDAR\r\n".getBytes(StandardCharsets.UTF_8));
+			return true;
+		});
+
+		MvcResult result = mockMvc.perform(get("/api/owners/john/calendar.ics")).andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+				.andExpect(header().string("ETag", version.etag()))
+				.andExpect(content().string("BEGIN:VCALENDAR\r\n"));
+	}
+
+	@Test
+	void testCalendarFeed_whenOwnerMissing_thenReturns404() throws Exception {
+		Mockito.when(icsFeeds.version("ghost")).thenReturn(feedVersion());
+		Mockito.when(icsFeeds.exists("ghost")).thenReturn(false);
+
+		MvcResult result = mockMvc.perform(get("/api/owners/ghost/calendar.ics")).andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isNotFound())
+				.andExpect(content().string("Owner not found"));
+	}
+
+	@Test
+	void testCalendarFeed_whenOwnerMissingAndEtagMatches_thenReturns404() throws Exception {
+		IcsFeedCache.Version version = feedVersion();
+		Mockito.when(icsFeeds.version("ghost")).thenReturn(version);
+		Mockito.when(icsFeeds.exists("ghost")).thenReturn(false);
+
+		MvcResult result = mockMvc.perform(get("/api/owners/ghost/calendar.ics").header("If-None-Match", version.etag()))
+				.andExpect(request().asyncStarted()).andReturn();
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isNotFound())
+				.andExpect(content().string("Owner not found"));
+	}
+
+	private static IcsFeedCache.Version feedVersion() {
+		return new IcsFeedCache.Version(42, LocalDate.of(2030, 1, 15), "\"boot-42-1\"",
+				Instant.parse("2030-01-15T10:00:00Z"));
+	}
 }
@@ -0,0 +1,125 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.service.BookingService;
+
+/**
+ * Peak booking throughput with and without the booking engine. Concurrent clients
+ * book every slot of a few owners over many days; each slot is requested twice, so
+ * half of the requests lose a race.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=BookingEngineBenchmark}; tune with
+ * {@code -Dbench.clients=<threads>}, {@code -Dbench.owners=<n>} and {@code -Dbench.days=<n>}.
+ * </p>
+ */
+class BookingEngineBenchmark {
+
+    @Nested
+    @SpringBootTest(properties = "spring.jpa.show-sql=false")
+    @TestPropertySource(properties = "calendar.booking-engine.enabled=true")
+    class Engine extends Load {
+        @Test
+        void book() throws Exception {
+            run("engine");
+        }
+    }
+
+    @Nested
+    @SpringBootTest(properties = "spring.jpa.show-sql=false")
+    @TestPropertySource(properties = "calendar.booking-engine.enabled=false")
+    class Direct extends Load {
+        @Test
+        void book() throws Exception {
+            run("direct");
+        }
+    }
+
+    abstract static class Load {
+
+        @Autowired
+        private BookingService bookingService;
+
+        void run(String label) throws Exception {
+            int clients = Integer.getInteger("bench.clients", 64);
+            int owners = Integer.getInteger("bench.owners", 8);
+            int days = Integer.getInteger("bench.days", 60);
+
+            List<BookRequest> requests = new ArrayList<>();
+            for (int o = 0; o < owners; o++) {
+                String username = "bench-book-" + label + "-" + o;
+                bookingService.upsertOwnerIfNotExists(username, username);
+                bookingService.addAvailability(new AvailabilityRequest(username, LocalTime.of(9, 0), LocalTime.of(17, 0)));
+                for (int d = 1; d <= days; d++) {
+                    for (int h = 9; h < 17; h++) {
+                        for (int copy = 0; copy < 2; copy++) {
+                            BookRequest req = new BookRequest();
+                            req.setUsername(username);
+                            req.setDate(LocalDate.now().plusDays(d));
+                            req.setStartTime(LocalTime.of(h, 0));
+                            req.setInviteeName("Bench " + copy);
+                            requests.add(req);
+                        }
+                    }
+                }
+            }
+            Collections.shuffle(requests, new Random(42));
+
+            AtomicInteger next = new AtomicInteger();
+            AtomicInteger booked = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(clients);
+            long nanos;
+            try {
+                CountDownLatch gate = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>(clients);
+                for (int c = 0; c < clients; c++) {
+                    futures.add(pool.submit(() -> {
+                        gate.await();
+                        int i;
+                        while ((i = next.getAndIncrement()) < requests.size()) {
+                            if (bookingService.bookAppointment(requests.get(i)) != null) {
+                                booked.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                long start = System.nanoTime();
+                gate.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                nanos = System.nanoTime() - start;
+            } finally {
+                pool.shutdownNow();
+            }
+
+            assertEquals(requests.size() / 2, booked.get());
+            System.out.printf("%nBooking throughput, %d clients, %d requests for %d slots (%s)%n",
+                    clients, requests.size(), requests.size() / 2, label);
+            System.out.printf("  elapsed        : %8.1f ms%n", nanos / 1e6);
+            System.out.printf("  requests/sec   : %8.0f%n", requests.size() / (nanos / 1e9));
+            System.out.printf("  bookings/sec   : %8.0f%n", booked.get() / (nanos / 1e9));
+        }
+    }
+}
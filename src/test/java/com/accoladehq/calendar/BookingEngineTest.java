@@ -0,0 +1,182 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.accoladehq.calendar.cluster.OwnerLeases;
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.dto.SearchSlotsRequest;
+import com.accoladehq.calendar.dto.SlotDto;
+import com.accoladehq.calendar.engine.BookingBusyException;
+import com.accoladehq.calendar.engine.BookingEngine;
+import com.accoladehq.calendar.event.BookingEventRecorder;
+import com.accoladehq.calendar.repository.AppointmentRepository;
+import com.accoladehq.calendar.repository.AvailabilityRuleRepository;
+import com.accoladehq.calendar.repository.CalendarOwnerRepository;
+import com.accoladehq.calendar.service.BookingService;
+import com.accoladehq.calendar.version.OwnerDateVersions;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+class BookingEngineTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testConcurrentBookingsOfOneSlotHaveOneWinner() throws Exception {
+        String username = owner("engine-race");
+        LocalDate date = LocalDate.now().plusDays(1);
+
+        List<SlotDto> results = runConcurrently(50, i -> request(username, date, 10));
+
+        assertEquals(1, results.stream().filter(Objects::nonNull).count());
+        assertFalse(startHours(bookingService.searchAvailableSlots(new SearchSlotsRequest(username, date))).contains(10));
+    }
+
+    @Test
+    void testConcurrentBookingsOfDistinctSlotsAllSucceed() throws Exception {
+        String username = owner("engine-distinct");
+        LocalDate date = LocalDate.now().plusDays(1);
+
+        // 8 hourly slots on each of 5 days
+        List<SlotDto> results = runConcurrently(40, i -> request(username, date.plusDays(i / 8), 9 + i % 8));
+
+        assertTrue(results.stream().allMatch(Objects::nonNull));
+        for (int day = 0; day < 5; day++) {
+            assertTrue(bookingService.searchAvailableSlots(new SearchSlotsRequest(username, date.plusDays(day))).isEmpty());
+        }
+    }
+
+    @Test
+    void testRowWrittenBehindTheEngineFallsBackToSingleCommits() {
+        String username = owner("engine-stale");
+        LocalDate date = LocalDate.now().plusDays(1);
+        assertNotNull(bookingService.bookAppointment(request(username, date, 9)));
+
+        // Not seen by the engine: no version bump, so its occupancy view is stale
+        jdbcTemplate.update("INSERT INTO appointment (id, owner_id, date, start_time, end_time, invitee_name) "
+                + "SELECT NEXT VALUE FOR appointment_seq, id, ?, ?, ?, 'Direct' FROM calendar_owner WHERE username = ?",
+                date, LocalTime.of(10, 0), LocalTime.of(11, 0), username);
+        double fallbacks = meterRegistry.counter("calendar.booking.engine.fallbacks").count();
+
+        assertNull(bookingService.bookAppointment(request(username, date, 10)));
+        assertEquals(fallbacks + 1, meterRegistry.counter("calendar.booking.engine.fallbacks").count());
+        assertNotNull(bookingService.bookAppointment(request(username, date, 11)));
+    }
+
+    @Test
+    void testFullShardQueueRejectsBookingsAsBusy() throws Exception {
+        CalendarOwnerRepository ownerRepo = mock(CalendarOwnerRepository.class);
+        OwnerLeases leases = mock(OwnerLeases.class);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        BookingEngine engine = new BookingEngine(ownerRepo, mock(AvailabilityRuleRepository.class),
+                mock(AppointmentRepository.class), mock(BookingEventRecorder.class), mock(OwnerDateVersions.class),
+                leases, mock(PlatformTransactionManager.class), registry, true, 1, 1, 1, 10_000);
+        CountDownLatch writerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(ownerRepo.findByUsername("busy")).thenAnswer(invocation -> {
+            writerBusy.countDown();
+            release.await();
+            return Optional.empty();
+        });
+        LocalDate date = LocalDate.now().plusDays(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        engine.start();
+        try {
+            // The first booking holds the writer, the second fills the queue of one
+            Future<SlotDto> first = pool.submit(() -> engine.book(request("busy", date, 9)));
+            assertTrue(writerBusy.await(5, TimeUnit.SECONDS));
+            Future<SlotDto> second = pool.submit(() -> engine.book(request("busy", date, 10)));
+            Gauge depth = registry.get("calendar.booking.engine.queue.depth").gauge();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (depth.value() < 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            assertThrows(BookingBusyException.class, () -> engine.book(request("busy", date, 11)));
+            assertEquals(1, registry.counter("calendar.booking.engine.rejected").count());
+
+            release.countDown();
+            assertNull(first.get(5, TimeUnit.SECONDS));
+            assertNull(second.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            engine.stop();
+            pool.shutdownNow();
+        }
+    }
+
+    private String owner(String username) {
+        bookingService.upsertOwnerIfNotExists(username, username);
+        bookingService.addAvailability(new AvailabilityRequest(username, LocalTime.of(9, 0), LocalTime.of(17, 0)));
+        return username;
+    }
+
+    private List<SlotDto> runConcurrently(int count, IntFunction<BookRequest> requests) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(count);
+        try {
+            CountDownLatch gate = new CountDownLatch(1);
+            List<Future<SlotDto>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                BookRequest req = requests.apply(i);
+                futures.add(pool.submit(() -> {
+                    gate.await();
+                    return bookingService.bookAppointment(req);
+                }));
+            }
+            gate.countDown();
+            List<SlotDto> results = new ArrayList<>(count);
+            for (Future<SlotDto> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static BookRequest request(String username, LocalDate date, int hour) {
+        BookRequest req = new BookRequest();
+        req.setUsername(username);
+        req.setDate(date);
+        req.setStartTime(LocalTime.of(hour, 0));
+        req.setInviteeName("Invitee " + hour);
+        return req;
+    }
+
+    private static List<Integer> startHours(List<SlotDto> slots) {
+        return slots.stream().map(s -> s.getStart().getHour()).toList();
+    }
+}
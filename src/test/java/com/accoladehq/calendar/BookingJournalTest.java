@@ -0,0 +1,223 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.accoladehq.calendar.journal.BookingJournal;
+import com.accoladehq.calendar.journal.JournalRecord;
+import com.accoladehq.calendar.journal.JournalReplayer;
+import com.accoladehq.calendar.snapshot.SnapshotStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BookingJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<Long> loadedSnapshots = new ArrayList<>();
+
+    private final SnapshotStore snapshots = fakeSnapshotStore();
+
+    @Test
+    void testRecordsAreReplayedInOrderAfterRestart() {
+        BookingJournal journal = start(mock(JournalReplayer.class), 4096);
+        List<JournalRecord> written = List.of(
+                new JournalRecord.OwnerCreated("alice", "Alice"),
+                new JournalRecord.AvailabilitySet("alice", List.of(new JournalRecord.Window(LocalTime.of(9, 0), LocalTime.of(17, 0)))),
+                booked(9),
+                new JournalRecord.Rescheduled(9, "alice", day(), LocalTime.of(9, 0), day().plusDays(1), LocalTime.of(10, 0), LocalTime.of(11, 0)),
+                new JournalRecord.Cancelled("alice", day().plusDays(1), LocalTime.of(10, 0)),
+                new JournalRecord.Booked(11, "alice", day(), LocalTime.of(11, 0), LocalTime.of(12, 0), "Bob", null));
+        written.forEach(journal::append);
+        journal.stop();
+
+        assertEquals(written, replay());
+    }
+
+    @Test
+    void testRecordsRollOverSmallSegments() {
+        BookingJournal journal = start(mock(JournalReplayer.class), 256);
+        List<JournalRecord> written = new ArrayList<>();
+        for (int hour = 0; hour < 24; hour++) {
+            written.add(booked(hour));
+        }
+        written.forEach(journal::append);
+        journal.stop();
+
+        assertTrue(segmentFiles().size() > 2);
+        assertEquals(written, replay());
+    }
+
+    @Test
+    void testDamagedTailIsIgnored() throws IOException {
+        BookingJournal journal = start(mock(JournalReplayer.class), 4096);
+        journal.append(booked(9));
+        journal.append(booked(10));
+        journal.stop();
+
+        // Flip a byte inside the second record, as a torn write would
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            long secondRecordBody = 8 + file.readInt() + 30;
+            file.seek(secondRecordBody);
+            int b = file.read();
+            file.seek(secondRecordBody);
+            file.write(b ^ 0xFF);
+        }
+
+        assertEquals(List.of(booked(9)), replay());
+    }
+
+    @Test
+    void testRecordsOfRolledBackTransactionAreSkipped() {
+        BookingJournal journal = start(mock(JournalReplayer.class), 4096);
+        journal.append(booked(9));
+        // Appended before commit, then the commit fails
+        inTransaction(journal, TransactionSynchronization.STATUS_ROLLED_BACK, booked(10), booked(11));
+        journal.append(booked(12));
+        journal.stop();
+
+        assertEquals(List.of(booked(9), booked(12)), replay());
+    }
+
+    @Test
+    void testRollbackOfAnEarlierRunDoesNotSkipLaterTransactions() {
+        BookingJournal first = start(mock(JournalReplayer.class), 4096);
+        inTransaction(first, TransactionSynchronization.STATUS_ROLLED_BACK, booked(10));
+        first.stop();
+
+        // Replays the first run, then commits a transaction of its own
+        BookingJournal second = start(mock(JournalReplayer.class), 4096);
+        inTransaction(second, TransactionSynchronization.STATUS_COMMITTED, booked(11));
+        second.stop();
+
+        assertEquals(List.of(booked(11)), replay());
+    }
+
+    @Test
+    void testSnapshotCompactsSegments() {
+        BookingJournal journal = start(mock(JournalReplayer.class), 256);
+        for (int hour = 0; hour < 12; hour++) {
+            journal.append(booked(hour));
+        }
+        journal.snapshot();
+        journal.append(booked(20));
+        journal.stop();
+
+        // Only the segment opened by the snapshot is left next to the snapshot itself
+        assertEquals(1, segmentFiles().size());
+        assertEquals(List.of(booked(20)), replay());
+        assertEquals(List.of(12L), loadedSnapshots);
+    }
+
+    @Test
+    void testSnapshotIsWrittenOnShutdown() {
+        BookingJournal journal = new BookingJournal(mock(JournalReplayer.class), snapshots, new SimpleMeterRegistry(),
+                true, dir, 256, 1, true, true);
+        journal.start();
+        for (int hour = 0; hour < 6; hour++) {
+            journal.append(booked(hour));
+        }
+        journal.stop();
+
+        assertTrue(Files.exists(dir.resolve("snapshot-%020d.snap".formatted(6))));
+        assertEquals(List.of(), replay());
+        assertEquals(List.of(6L), loadedSnapshots);
+        assertEquals(6, lastSequenceAfterRestart());
+    }
+
+    private BookingJournal start(JournalReplayer replayer, int segmentSize) {
+        BookingJournal journal = new BookingJournal(replayer, snapshots, new SimpleMeterRegistry(), true, dir, segmentSize,
+                1, true, false);
+        journal.start();
+        return journal;
+    }
+
+    /** Appends records in a simulated transaction that completes with the given status. */
+    private static void inTransaction(BookingJournal journal, int status, JournalRecord... records) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            for (JournalRecord record : records) {
+                journal.append(record);
+            }
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(s -> s.beforeCommit(false));
+            synchronizations.forEach(s -> s.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<JournalRecord> replay() {
+        JournalReplayer replayer = mock(JournalReplayer.class);
+        List<JournalRecord> applied = new ArrayList<>();
+        doAnswer(inv -> applied.addAll(inv.getArgument(0, List.class))).when(replayer).apply(any());
+        start(replayer, 4096).stop();
+        return applied;
+    }
+
+    private long lastSequenceAfterRestart() {
+        BookingJournal journal = start(mock(JournalReplayer.class), 4096);
+        try {
+            return journal.lastSequence();
+        } finally {
+            journal.stop();
+        }
+    }
+
+    /**
+     * A snapshot store that only records the sequence, in place of the database.
+     */
+    private SnapshotStore fakeSnapshotStore() {
+        SnapshotStore store = mock(SnapshotStore.class);
+        try {
+            when(store.write(any(), anyLong())).thenAnswer(inv -> {
+                Files.writeString(inv.getArgument(0), Long.toString(inv.getArgument(1, Long.class)));
+                return 0L;
+            });
+            when(store.load(any())).thenAnswer(inv -> {
+                long sequence = Long.parseLong(Files.readString(inv.getArgument(0)));
+                loadedSnapshots.add(sequence);
+                return sequence;
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return store;
+    }
+
+    private List<Path> segmentFiles() {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().startsWith("segment-")).sorted().toList();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static JournalRecord.Booked booked(int hour) {
+        return new JournalRecord.Booked(hour, "alice", day(), LocalTime.of(hour, 0), LocalTime.of(hour, 0).plusHours(1),
+                "Invitee", "invitee@example.com");
+    }
+
+    private static LocalDate day() {
+        return LocalDate.of(2030, 1, 15);
+    }
+}
@@ -2,24 +2,39 @@ package com.accoladehq.calendar;
 
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import com.accoladehq.calendar.cache.SlotSearchCache;
+import com.accoladehq.calendar.cluster.ChangeLogWriter;
+import com.accoladehq.calendar.cluster.OwnerLeases;
 import com.accoladehq.calendar.dto.*;
+import com.accoladehq.calendar.engine.BookingEngine;
 import com.accoladehq.calendar.entity.*;
+import com.accoladehq.calendar.event.BookingEventRecorder;
+import com.accoladehq.calendar.journal.BookingJournal;
+import com.accoladehq.calendar.outbox.OutboxWriter;
 import com.accoladehq.calendar.repository.*;
 import com.accoladehq.calendar.service.BookingServiceImpl;
 import com.accoladehq.calendar.slots.SlotGenerator;
+import com.accoladehq.calendar.utilization.UtilizationRollup;
+import com.accoladehq.calendar.version.OwnerDateVersions;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.*;
 import java.util.*;
+import java.util.stream.Stream;
 
 class BookingServiceImplTest {
 
@@ -38,9 +53,24 @@ class BookingServiceImplTest {
     @Mock
     SlotGenerator slotGenerator;
 
+    OwnerDateVersions versions = new OwnerDateVersions();
+
+    ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+
+    @Spy
+    BookingEventRecorder events = new BookingEventRecorder(versions, publisher, mock(OutboxWriter.class),
+            mock(BookingJournal.class), mock(UtilizationRollup.class), mock(ChangeLogWriter.class));
+
+    @Spy
+    SlotSearchCache searchCache = new SlotSearchCache(versions, new SimpleMeterRegistry(), 1000, true);
+
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        // Disabled engine: bookings are committed on the calling thread through the mocks
+        BookingEngine engine = new BookingEngine(ownerRepo, availabilityRepo, appointmentRepo, events, versions,
+                mock(OwnerLeases.class), mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), false, 1, 16, 16, 1000);
+        ReflectionTestUtils.setField(service, "bookingEngine", engine);
     }
 
     @Test
@@ -120,6 +150,80 @@ class BookingServiceImplTest {
         assertThat(r3.getBody()).isEqualTo("Start and end times must be on the hour");
     }
 
+    @Test
+    void testAddAvailability_mergesWithExistingWindows() {
+        CalendarOwner owner = new CalendarOwner();
+        owner.setUsername("john");
+        when(ownerRepo.findByUsername("john")).thenReturn(Optional.of(owner));
+        when(availabilityRepo.findByOwner(owner)).thenReturn(List.of(rule(owner, 9, 12), rule(owner, 14, 18)));
+
+        // Adjacent to the morning window, so the two are combined into 09:00-13:00
+        ResponseEntity<String> response = service.addAvailability(
+                new AvailabilityRequest("john", LocalTime.of(12, 0), LocalTime.of(13, 0)));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        ArgumentCaptor<AvailabilityRule> saved = ArgumentCaptor.forClass(AvailabilityRule.class);
+        verify(availabilityRepo).deleteByOwner(owner);
+        verify(availabilityRepo, times(2)).save(saved.capture());
+        assertThat(saved.getAllValues()).extracting(AvailabilityRule::getStartTime, AvailabilityRule::getEndTime)
+                .containsExactly(
+                        tuple(LocalTime.of(9, 0), LocalTime.of(13, 0)),
+                        tuple(LocalTime.of(14, 0), LocalTime.of(18, 0)));
+    }
+
+    @Test
+    void testAddAvailability_replace() {
+        CalendarOwner owner = new CalendarOwner();
+        owner.setUsername("john");
+        when(ownerRepo.findByUsername("john")).thenReturn(Optional.of(owner));
+
+        AvailabilityRequest req = new AvailabilityRequest("john", LocalTime.of(10, 0), LocalTime.of(11, 0));
+        req.setReplace(true);
+        service.addAvailability(req);
+
+        verify(availabilityRepo, never()).findByOwner(any());
+        verify(availabilityRepo).save(any(AvailabilityRule.class));
+    }
+
+    @Test
+    void testRemoveAvailability_splitsWindow() {
+        CalendarOwner owner = new CalendarOwner();
+        owner.setUsername("john");
+        when(ownerRepo.findByUsername("john")).thenReturn(Optional.of(owner));
+        when(availabilityRepo.findByOwner(owner)).thenReturn(List.of(rule(owner, 9, 18)));
+
+        ResponseEntity<String> response = service.removeAvailability(
+                new AvailabilityRequest("john", LocalTime.of(12, 0), LocalTime.of(13, 0)));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("Availability removed successfully for all days");
+        ArgumentCaptor<AvailabilityRule> saved = ArgumentCaptor.forClass(AvailabilityRule.class);
+        verify(availabilityRepo, times(2)).save(saved.capture());
+        assertThat(saved.getAllValues()).extracting(AvailabilityRule::getStartTime, AvailabilityRule::getEndTime)
+                .containsExactly(
+                        tuple(LocalTime.of(9, 0), LocalTime.of(12, 0)),
+                        tuple(LocalTime.of(13, 0), LocalTime.of(18, 0)));
+    }
+
+    @Test
+    void testSearchAvailableSlots_multipleWindows() {
+        CalendarOwner owner = new CalendarOwner();
+        owner.setUsername("john");
+        LocalDate date = LocalDate.now().plusDays(1);
+        when(ownerRepo.findByUsername("john")).thenReturn(Optional.of(owner));
+        // Overlapping rules are generated once, as 09:00-13:00
+        when(availabilityRepo.findByOwner(owner)).thenReturn(List.of(rule(owner, 11, 13), rule(owner, 9, 12)));
+        when(appointmentRepo.findByOwnerAndDate(owner, date)).thenReturn(List.of());
+
+        SearchSlotsRequest req = new SearchSlotsRequest();
+        req.setUsername("john");
+        req.setDate(date);
+        service.searchAvailableSlots(req);
+
+        verify(slotGenerator).generateSlots(date, LocalTime.of(9, 0), LocalTime.of(13, 0), List.of());
+        verifyNoMoreInteractions(slotGenerator);
+    }
+
     @Test
     void testSearchAvailableSlots_success() {
         CalendarOwner owner = new CalendarOwner();
@@ -158,6 +262,32 @@ class BookingServiceImplTest {
         assertEquals(LocalTime.of(10, 0), result.get(0).getStart());
     }
 
+    @Test
+    void testSearchAvailableSlots_cachedUntilOwnerDateChanges() {
+        CalendarOwner owner = new CalendarOwner();
+        owner.setUsername("john");
+        LocalDate date = LocalDate.now().plusDays(1);
+        when(ownerRepo.findByUsername("john")).thenReturn(Optional.of(owner));
+        when(availabilityRepo.findByOwner(owner)).thenReturn(List.of(rule(owner, 9, 11)));
+        when(appointmentRepo.findByOwnerAndDate(owner, date)).thenReturn(List.of());
+        when(slotGenerator.generateSlots(any(), any(), any(), any()))
+                .thenReturn(List.of(new SlotDto(date, LocalTime.of(9, 0), LocalTime.of(10, 0))));
+        SearchSlotsRequest req = new SearchSlotsRequest("john", date);
+
+        service.searchAvailableSlots(req);
+        service.searchAvailableSlots(req);
+        verify(appointmentRepo, times(1)).findByOwnerAndDate(owner, date);
+
+        // A booking on another date leaves the entry alone, one on this date invalidates it
+        versions.bumpDate("john", date.plusDays(1));
+        service.searchAvailableSlots(req);
+        verify(appointmentRepo, times(1)).findByOwnerAndDate(owner, date);
+
+        versions.bumpDate("john", date);
+        service.searchAvailableSlots(req);
+        verify(appointmentRepo, times(2)).findByOwnerAndDate(owner, date);
+    }
+
     @Test
     void testSearchAvailableSlots_ownerNotFound() {
         when(ownerRepo.findByUsername("john")).thenReturn(Optional.empty());
@@ -170,6 +300,46 @@ class BookingServiceImplTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void testSearchAvailableSlotsBatch_threeQueriesKeyedByUsername() {
+        CalendarOwner john = owner(1L, "john");
+        CalendarOwner jane = owner(2L, "jane");
+        LocalDate date = LocalDate.now().plusDays(1);
+        when(ownerRepo.findByUsernameIn(List.of("jane", "ghost", "john"))).thenReturn(List.of(john, jane));
+        when(availabilityRepo.findByOwnerIn(any())).thenReturn(List.of(rule(john, 9, 11), rule(jane, 14, 15)));
+        when(appointmentRepo.findBookedSlots(any(), eq(date), eq(date.plusDays(1))))
+                .thenReturn(List.of(new OwnerBookedSlot(1L, date, LocalTime.of(9, 0))));
+        when(slotGenerator.generateSlots(any(), any(), any(), any())).thenAnswer(inv -> {
+            LocalDate day = inv.getArgument(0);
+            LocalTime start = inv.getArgument(1);
+            List<LocalTime> booked = inv.getArgument(3);
+            return booked.contains(start) ? List.of() : List.of(new SlotDto(day, start, start.plusHours(1)));
+        });
+
+        BatchSearchSlotsRequest req = new BatchSearchSlotsRequest(List.of("jane", "ghost", "john"), date);
+        req.setToDate(date.plusDays(1));
+        Map<String, List<SlotDto>> result = service.searchAvailableSlotsBatch(req);
+
+        assertThat(result.keySet()).containsExactly("jane", "john");
+        assertThat(result.get("jane")).hasSize(2);
+        // The stub only offers each window's first hour, and 09:00 is booked on the first day
+        assertThat(result.get("john")).extracting(SlotDto::getDate).containsExactly(date.plusDays(1));
+        verify(slotGenerator).generateSlots(date, LocalTime.of(9, 0), LocalTime.of(11, 0), List.of(LocalTime.of(9, 0)));
+        verify(ownerRepo, never()).findByUsername(any());
+        verify(availabilityRepo, never()).findByOwner(any());
+    }
+
+    @Test
+    void testSearchAvailableSlotsBatch_noKnownOwners() {
+        when(ownerRepo.findByUsernameIn(any())).thenReturn(List.of());
+
+        Map<String, List<SlotDto>> result = service.searchAvailableSlotsBatch(
+                new BatchSearchSlotsRequest(List.of("ghost"), LocalDate.now().plusDays(1)));
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(availabilityRepo, appointmentRepo);
+    }
+
     @Test
     void testBookAppointment_success() {
         CalendarOwner owner = new CalendarOwner();
@@ -188,11 +358,7 @@ class BookingServiceImplTest {
 
         when(ownerRepo.findByUsername("john")).thenReturn(Optional.of(owner));
 
-        // Mock searchAvailableSlots to include the slot requested
-        SlotDto slotDto = new SlotDto(date, start, end);
-        BookingServiceImpl spyService = Mockito.spy(service);
-        doReturn(List.of(slotDto)).when(spyService).searchAvailableSlots(any());
-
+        when(availabilityRepo.findByOwner(owner)).thenReturn(List.of(rule(owner, 9, 12)));
         when(appointmentRepo.findByOwnerAndDateAndStartTime(owner, date, start)).thenReturn(Optional.empty());
 
         Appointment savedAppt = new Appointment();
@@ -205,8 +371,7 @@ class BookingServiceImplTest {
 
         when(appointmentRepo.save(any())).thenReturn(savedAppt);
 
-        // Use spy for testing bookAppointment
-        SlotDto booked = spyService.bookAppointment(req);
+        SlotDto booked = service.bookAppointment(req);
 
         assertNotNull(booked);
         assertEquals(start, booked.getStart());
@@ -225,11 +390,12 @@ class BookingServiceImplTest {
 
         when(ownerRepo.findByUsername("john")).thenReturn(Optional.of(owner));
 
-        BookingServiceImpl spyService = Mockito.spy(service);
-        doReturn(Collections.emptyList()).when(spyService).searchAvailableSlots(any());
+        // Only 12:00-14:00 is open
+        when(availabilityRepo.findByOwner(owner)).thenReturn(List.of(rule(owner, 12, 14)));
 
-        SlotDto booked = spyService.bookAppointment(req);
+        SlotDto booked = service.bookAppointment(req);
         assertNull(booked);
+        verify(appointmentRepo, never()).save(any());
     }
 
     @Test
@@ -244,14 +410,11 @@ class BookingServiceImplTest {
 
         when(ownerRepo.findByUsername("john")).thenReturn(Optional.of(owner));
 
-        SlotDto slotDto = new SlotDto(req.getDate(), req.getStartTime(), req.getStartTime().plusHours(1));
-        BookingServiceImpl spyService = Mockito.spy(service);
-        doReturn(List.of(slotDto)).when(spyService).searchAvailableSlots(any());
-
+        when(availabilityRepo.findByOwner(owner)).thenReturn(List.of(rule(owner, 9, 12)));
         when(appointmentRepo.findByOwnerAndDateAndStartTime(owner, req.getDate(), req.getStartTime()))
                 .thenReturn(Optional.of(new Appointment()));
 
-        SlotDto booked = spyService.bookAppointment(req);
+        SlotDto booked = service.bookAppointment(req);
         assertNull(booked);
     }
 
@@ -282,4 +445,243 @@ class BookingServiceImplTest {
 
         assertTrue(result.isEmpty());
     }
+
+    @Test
+    void testCancelAppointment_success() {
+        CalendarOwner owner = new CalendarOwner();
+        owner.setUsername("john");
+
+        Appointment appt = new Appointment();
+        appt.setId(7L);
+        appt.setOwner(owner);
+        appt.setDate(LocalDate.now().plusDays(1));
+        appt.setStartTime(LocalTime.of(10, 0));
+
+        when(appointmentRepo.findById(7L)).thenReturn(Optional.of(appt));
+        long before = versions.stamp("john", appt.getDate());
+
+        assertTrue(service.cancelAppointment(7L));
+
+        verify(appointmentRepo).delete(appt);
+        assertTrue(versions.stamp("john", appt.getDate()) > before);
+    }
+
+    @Test
+    void testCancelAppointment_notFound() {
+        when(appointmentRepo.findById(7L)).thenReturn(Optional.empty());
+
+        assertFalse(service.cancelAppointment(7L));
+        verify(appointmentRepo, never()).delete(any());
+    }
+
+    @Test
+    void testRescheduleAppointment_success() {
+        CalendarOwner owner = new CalendarOwner();
+        owner.setUsername("john");
+
+        LocalDate oldDate = LocalDate.now().plusDays(1);
+        LocalDate newDate = LocalDate.now().plusDays(2);
+
+        Appointment appt = new Appointment();
+        appt.setId(7L);
+        appt.setOwner(owner);
+        appt.setDate(oldDate);
+        appt.setStartTime(LocalTime.of(10, 0));
+        appt.setEndTime(LocalTime.of(11, 0));
+
+        AvailabilityRule rule = new AvailabilityRule();
+        rule.setStartTime(LocalTime.of(9, 0));
+        rule.setEndTime(LocalTime.of(17, 0));
+
+        when(appointmentRepo.findById(7L)).thenReturn(Optional.of(appt));
+        when(availabilityRepo.findByOwner(owner)).thenReturn(List.of(rule));
+        when(appointmentRepo.findByOwnerAndDateAndStartTime(owner, newDate, LocalTime.of(14, 0)))
+                .thenReturn(Optional.empty());
+        long oldBefore = versions.stamp("john", oldDate);
+        long newBefore = versions.stamp("john", newDate);
+
+        SlotDto slot = service.rescheduleAppointment(7L, new RescheduleRequest(newDate, LocalTime.of(14, 0)));
+
+        assertEquals(newDate, slot.getDate());
+        assertEquals(LocalTime.of(14, 0), slot.getStart());
+        assertEquals(LocalTime.of(15, 0), slot.getEnd());
+        verify(appointmentRepo).saveAndFlush(appt);
+        assertTrue(versions.stamp("john", oldDate) > oldBefore);
+        assertTrue(versions.stamp("john", newDate) > newBefore);
+    }
+
+    @Test
+    void testRescheduleAppointment_targetBooked() {
+        CalendarOwner owner = new CalendarOwner();
+        owner.setUsername("john");
+
+        LocalDate date = LocalDate.now().plusDays(1);
+        Appointment appt = new Appointment();
+        appt.setOwner(owner);
+        appt.setDate(date);
+        appt.setStartTime(LocalTime.of(10, 0));
+
+        AvailabilityRule rule = new AvailabilityRule();
+        rule.setStartTime(LocalTime.of(9, 0));
+        rule.setEndTime(LocalTime.of(17, 0));
+
+        when(appointmentRepo.findById(7L)).thenReturn(Optional.of(appt));
+        when(availabilityRepo.findByOwner(owner)).thenReturn(List.of(rule));
+        when(appointmentRepo.findByOwnerAndDateAndStartTime(owner, date, LocalTime.of(14, 0)))
+                .thenReturn(Optional.of(new Appointment()));
+
+        RescheduleRequest req = new RescheduleRequest(date, LocalTime.of(14, 0));
+        assertThrows(IllegalStateException.class, () -> service.rescheduleAppointment(7L, req));
+
+        verify(appointmentRepo, never()).saveAndFlush(any());
+        assertEquals(LocalTime.of(10, 0), appt.getStartTime());
+    }
+
+    @Test
+    void testRescheduleAppointment_outsideAvailability() {
+        CalendarOwner owner = new CalendarOwner();
+        owner.setUsername("john");
+
+        Appointment appt = new Appointment();
+        appt.setOwner(owner);
+        appt.setDate(LocalDate.now().plusDays(1));
+        appt.setStartTime(LocalTime.of(10, 0));
+
+        AvailabilityRule rule = new AvailabilityRule();
+        rule.setStartTime(LocalTime.of(9, 0));
+        rule.setEndTime(LocalTime.of(17, 0));
+
+        when(appointmentRepo.findById(7L)).thenReturn(Optional.of(appt));
+        when(availabilityRepo.findByOwner(owner)).thenReturn(List.of(rule));
+
+        RescheduleRequest req = new RescheduleRequest(appt.getDate(), LocalTime.of(17, 0));
+        assertThrows(IllegalStateException.class, () -> service.rescheduleAppointment(7L, req));
+    }
+
+    @Test
+    void testRescheduleAppointment_notFound() {
+        when(appointmentRepo.findById(7L)).thenReturn(Optional.empty());
+
+        assertNull(service.rescheduleAppointment(7L,
+                new RescheduleRequest(LocalDate.now().plusDays(1), LocalTime.of(10, 0))));
+    }
+
+    @Test
+    void testBookRecurring_success() {
+        CalendarOwner owner = new CalendarOwner();
+        owner.setUsername("john");
+
+        LocalDate first = LocalDate.now().plusDays(1);
+        AvailabilityRule rule = new AvailabilityRule();
+        rule.setStartTime(LocalTime.of(9, 0));
+        rule.setEndTime(LocalTime.of(17, 0));
+
+        when(ownerRepo.findByUsername("john")).thenReturn(Optional.of(owner));
+        when(availabilityRepo.findByOwner(owner)).thenReturn(List.of(rule));
+        when(appointmentRepo.findByOwnerAndDateBetween(owner, first, first.plusWeeks(3))).thenReturn(List.of());
+
+        RecurringBookRequest req = new RecurringBookRequest();
+        req.setUsername("john");
+        req.setStartDate(first);
+        req.setStartTime(LocalTime.of(10, 0));
+        req.setOccurrences(4);
+        req.setInviteeName("Alice");
+
+        RecurringBookingResult result = service.bookRecurring(req);
+
+        assertTrue(result.isSuccess());
+        assertEquals(4, result.getBooked().size());
+        assertEquals(first.plusWeeks(3), result.getBooked().get(3).getDate());
+        verify(appointmentRepo).saveAllAndFlush(argThat(list -> ((List<?>) list).size() == 4));
+    }
+
+    @Test
+    void testBookRecurring_conflictsBookNothing() {
+        CalendarOwner owner = new CalendarOwner();
+        owner.setUsername("john");
+
+        LocalDate first = LocalDate.now().plusDays(1);
+        AvailabilityRule rule = new AvailabilityRule();
+        rule.setStartTime(LocalTime.of(9, 0));
+        rule.setEndTime(LocalTime.of(17, 0));
+
+        Appointment existing = new Appointment();
+        existing.setDate(first.plusWeeks(1));
+        existing.setStartTime(LocalTime.of(10, 0));
+
+        when(ownerRepo.findByUsername("john")).thenReturn(Optional.of(owner));
+        when(availabilityRepo.findByOwner(owner)).thenReturn(List.of(rule));
+        when(appointmentRepo.findByOwnerAndDateBetween(owner, first, first.plusDays(14)))
+                .thenReturn(List.of(existing));
+
+        RecurringBookRequest req = new RecurringBookRequest();
+        req.setUsername("john");
+        req.setStartDate(first);
+        req.setStartTime(LocalTime.of(10, 0));
+        req.setFrequency(RecurringBookRequest.Frequency.DAILY);
+        req.setInterval(7);
+        req.setOccurrences(3);
+        req.setInviteeName("Alice");
+
+        RecurringBookingResult result = service.bookRecurring(req);
+
+        assertFalse(result.isSuccess());
+        assertTrue(result.getBooked().isEmpty());
+        assertEquals(1, result.getConflicts().size());
+        assertEquals(first.plusWeeks(1), result.getConflicts().get(0).getDate());
+        verify(appointmentRepo, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    void testNextAvailable_skipsFullyBookedDays() {
+        CalendarOwner owner = new CalendarOwner();
+        owner.setUsername("john");
+
+        LocalDate from = LocalDate.now().plusDays(1);
+        AvailabilityRule rule = new AvailabilityRule();
+        rule.setStartTime(LocalTime.of(9, 0));
+        rule.setEndTime(LocalTime.of(11, 0));
+
+        when(ownerRepo.findByUsername("john")).thenReturn(Optional.of(owner));
+        when(availabilityRepo.findByOwner(owner)).thenReturn(List.of(rule));
+        // First two days fully booked, third day has 10:00 booked; the stream ends at the horizon
+        when(appointmentRepo.streamBookedSlots(owner, from, from.plusDays(366))).thenReturn(Stream.of(
+                new BookedSlot(from, LocalTime.of(9, 0)),
+                new BookedSlot(from, LocalTime.of(10, 0)),
+                new BookedSlot(from.plusDays(1), LocalTime.of(9, 0)),
+                new BookedSlot(from.plusDays(1), LocalTime.of(10, 0)),
+                new BookedSlot(from.plusDays(2), LocalTime.of(10, 0))));
+
+        List<SlotDto> result = service.nextAvailable("john", from, 3);
+
+        assertEquals(3, result.size());
+        assertEquals(new SlotDto(from.plusDays(2), LocalTime.of(9, 0), LocalTime.of(10, 0)), result.get(0));
+        assertEquals(new SlotDto(from.plusDays(3), LocalTime.of(9, 0), LocalTime.of(10, 0)), result.get(1));
+        assertEquals(new SlotDto(from.plusDays(3), LocalTime.of(10, 0), LocalTime.of(11, 0)), result.get(2));
+    }
+
+    @Test
+    void testNextAvailable_noAvailability() {
+        CalendarOwner owner = new CalendarOwner();
+        when(ownerRepo.findByUsername("john")).thenReturn(Optional.of(owner));
+        when(availabilityRepo.findByOwner(owner)).thenReturn(List.of());
+
+        assertTrue(service.nextAvailable("john", LocalDate.now(), 5).isEmpty());
+        verify(appointmentRepo, never()).streamBookedSlots(any(), any(), any());
+    }
+
+    private static CalendarOwner owner(Long id, String username) {
+        CalendarOwner owner = new CalendarOwner();
+        owner.setId(id);
+        owner.setUsername(username);
+        return owner;
+    }
+
+    private static AvailabilityRule rule(CalendarOwner owner, int startHour, int endHour) {
+        AvailabilityRule rule = new AvailabilityRule();
+        rule.setOwner(owner);
+        rule.setStartTime(LocalTime.of(startHour, 0));
+        rule.setEndTime(LocalTime.of(endHour, 0));
+        return rule;
+    }
 }
@@ -0,0 +1,234 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.accoladehq.calendar.cache.SlotSearchCache;
+import com.accoladehq.calendar.cluster.ChangeLogPoller;
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.dto.SearchSlotsRequest;
+import com.accoladehq.calendar.dto.SlotDto;
+import com.accoladehq.calendar.service.BookingService;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Two nodes in one JVM, sharing an in-memory database. Each gets a second-level
+ * cache of its own, as separate processes would.
+ */
+class ClusterModeIntegrationTest {
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    private final List<CacheManager> cacheManagers = new ArrayList<>();
+
+    /** The cache managers only hold on to their class loaders weakly. */
+    private final List<ClassLoader> classLoaders = new ArrayList<>();
+
+    @AfterEach
+    void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+        cacheManagers.forEach(CacheManager::close);
+    }
+
+    @Test
+    void testChangesOnOneNodeInvalidateOnlyTheAffectedKeysOnTheOther() throws Exception {
+        ConfigurableApplicationContext a = start("node-a");
+        ConfigurableApplicationContext b = start("node-b");
+        BookingService onA = a.getBean(BookingService.class);
+        BookingService onB = b.getBean(BookingService.class);
+        LocalDate date = LocalDate.now().plusDays(1);
+
+        onA.upsertOwnerIfNotExists("cluster-alice", "Alice");
+        onA.addAvailability(new AvailabilityRequest("cluster-alice", LocalTime.of(9, 0), LocalTime.of(12, 0)));
+        onA.upsertOwnerIfNotExists("cluster-carol", "Carol");
+        onA.addAvailability(new AvailabilityRequest("cluster-carol", LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        SearchSlotsRequest alice = new SearchSlotsRequest("cluster-alice", date);
+        SearchSlotsRequest carol = new SearchSlotsRequest("cluster-carol", date);
+        awaitHours(List.of(9, 10, 11), () -> onB.searchAvailableSlots(alice));
+        assertEquals(List.of(9), startHours(onB.searchAvailableSlots(carol)));
+        // Cached on B that Bob does not exist
+        SearchSlotsRequest bob = new SearchSlotsRequest("cluster-bob", date);
+        assertTrue(onB.searchAvailableSlots(bob).isEmpty());
+
+        // A booking on A: B drops its cached search of that owner and date
+        assertNotNull(onA.bookAppointment(new BookRequest("cluster-alice", date, LocalTime.of(9, 0), "Ann", null)));
+        awaitHours(List.of(10, 11), () -> onB.searchAvailableSlots(alice));
+
+        // New availability on A: B refreshes the owner's cached rules
+        onA.addAvailability(new AvailabilityRequest("cluster-alice", LocalTime.of(14, 0), LocalTime.of(15, 0)));
+        awaitHours(List.of(10, 11, 14), () -> onB.searchAvailableSlots(alice));
+
+        // A new owner on A is found on B despite the cached miss
+        onA.upsertOwnerIfNotExists("cluster-bob", "Bob");
+        onA.addAvailability(new AvailabilityRequest("cluster-bob", LocalTime.of(16, 0), LocalTime.of(17, 0)));
+        awaitHours(List.of(16), () -> onB.searchAvailableSlots(bob));
+
+        // Carol was not touched: her owner and rules are still served from B's caches
+        b.getBean(SlotSearchCache.class).clear();
+        Statistics statistics = b.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        long statements = statistics.getPrepareStatementCount();
+        long hits = statistics.getQueryCacheHitCount();
+        assertEquals(List.of(9), startHours(onB.searchAvailableSlots(carol)));
+        assertEquals(1, statistics.getPrepareStatementCount() - statements);
+        assertEquals(2, statistics.getQueryCacheHitCount() - hits);
+
+        // A booking made on B reaches A the same way
+        awaitHours(List.of(10, 11, 14), () -> onA.searchAvailableSlots(alice));
+        assertNotNull(onB.bookAppointment(new BookRequest("cluster-alice", date, LocalTime.of(10, 0), "Dan", null)));
+        awaitHours(List.of(11, 14), () -> onA.searchAvailableSlots(alice));
+        // Both nodes decided the same slot against the shared database: only one booking wins
+        assertNull(onA.bookAppointment(new BookRequest("cluster-alice", date, LocalTime.of(10, 0), "Eve", null)));
+    }
+
+    @Test
+    void testLeasesSerializeContendingBookingsAcrossNodes() throws Exception {
+        ConfigurableApplicationContext a = start("lease-a", "calendar.cluster.lease.enabled=true");
+        ConfigurableApplicationContext b = start("lease-b", "calendar.cluster.lease.enabled=true");
+        BookingService onA = a.getBean(BookingService.class);
+        BookingService onB = b.getBean(BookingService.class);
+        LocalDate date = LocalDate.now().plusDays(1);
+        onA.upsertOwnerIfNotExists("cluster-lease", "Lease");
+        onA.addAvailability(new AvailabilityRequest("cluster-lease", LocalTime.of(0, 0), LocalTime.of(23, 0)));
+        awaitHours(IntStream.range(0, 23).boxed().toList(),
+                () -> onB.searchAvailableSlots(new SearchSlotsRequest("cluster-lease", date)));
+
+        // Four callers per node try every hour in an order of their own
+        int callersPerNode = 4;
+        List<Integer> booked = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2 * callersPerNode);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int i = 0; i < 2 * callersPerNode; i++) {
+                BookingService node = i % 2 == 0 ? onA : onB;
+                String name = i % 2 == 0 ? "a" : "b";
+                List<Integer> hours = new ArrayList<>(IntStream.range(0, 23).boxed().toList());
+                Collections.shuffle(hours, new Random(i));
+                done.add(callers.submit(() -> {
+                    go.await();
+                    for (int hour : hours) {
+                        if (node.bookAppointment(new BookRequest("cluster-lease", date, LocalTime.of(hour, 0),
+                                "Caller " + name, null)) != null) {
+                            booked.add(hour);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> f : done) {
+                f.get();
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        // Every hour booked exactly once, by one node or the other
+        assertEquals(IntStream.range(0, 23).boxed().toList(), booked.stream().sorted().toList());
+        assertEquals(23, a.getBean(JdbcTemplate.class).queryForObject("SELECT COUNT(*) FROM appointment a "
+                + "JOIN calendar_owner o ON a.owner_id = o.id WHERE o.username = 'cluster-lease'", Integer.class));
+        for (ConfigurableApplicationContext node : List.of(a, b)) {
+            MeterRegistry registry = node.getBean(MeterRegistry.class);
+            assertTrue(registry.counter("calendar.cluster.lease.acquired").count() > 0);
+            // Each writer saw the other's bookings before deciding: no group commit hit the unique constraint
+            assertEquals(0, registry.counter("calendar.booking.engine.fallbacks").count());
+            assertEquals(0, registry.counter("calendar.cluster.lease.timeouts").count());
+        }
+    }
+
+    @Test
+    void testNodeStartedAfterAPurgeSkipsThePurgedIds() throws Exception {
+        ConfigurableApplicationContext a = start("purge-a");
+        JdbcTemplate jdbcTemplate = a.getBean(JdbcTemplate.class);
+        // Changes of a node long gone, older than the retention
+        Timestamp old = Timestamp.from(Instant.now().minus(2, ChronoUnit.HOURS));
+        jdbcTemplate.batchUpdate("INSERT INTO owner_change_log (node_id, username, date, created_at) VALUES (?, ?, ?, ?)",
+                IntStream.range(0, 1500).mapToObj(i -> new Object[] {"purge-gone", "cluster-gone", null, old}).toList());
+        a.getBean(ChangeLogPoller.class).purge();
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM owner_change_log", Integer.class));
+
+        ConfigurableApplicationContext b = start("purge-b");
+        BookingService onA = a.getBean(BookingService.class);
+        onA.upsertOwnerIfNotExists("cluster-purge", "Purge");
+        onA.addAvailability(new AvailabilityRequest("cluster-purge", LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        awaitHours(List.of(9), () -> b.getBean(BookingService.class)
+                .searchAvailableSlots(new SearchSlotsRequest("cluster-purge", LocalDate.now().plusDays(1))));
+
+        // The purged IDs were not taken for commits in flight
+        assertEquals(0, b.getBean(MeterRegistry.class).get("calendar.cluster.poll.pending-gaps").gauge().value());
+    }
+
+    private ConfigurableApplicationContext start(String nodeId, String... properties) throws URISyntaxException {
+        // A class loader of its own gets a cache manager of its own from the same configuration
+        ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        classLoaders.add(classLoader);
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(getClass().getClassLoader().getResource("hibernate-cache.conf").toURI(), classLoader);
+        cacheManagers.add(cacheManager);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CalendarBookingApiApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.datasource.url=jdbc:h2:mem:cluster_test;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "calendar.cluster.enabled=true",
+                        "calendar.cluster.node-id=" + nodeId,
+                        "calendar.cluster.poll-interval-ms=20",
+                        "calendar.archive.enabled=false",
+                        "calendar.warmup.enabled=false",
+                        "logging.level.com.accoladehq.calendar.engine.BookingEngine=error")
+                .properties(properties)
+                .initializers(ctx -> ctx.getBeanFactory().registerSingleton("nodeCacheManager",
+                        (HibernatePropertiesCustomizer) props -> props.put("hibernate.javax.cache.cache_manager", cacheManager)))
+                .run();
+        nodes.add(context);
+        return context;
+    }
+
+    private static void awaitHours(List<Integer> expected, Supplier<List<SlotDto>> search) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        List<Integer> actual = startHours(search.get());
+        while (!expected.equals(actual) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            actual = startHours(search.get());
+        }
+        assertEquals(expected, actual);
+    }
+
+    private static List<Integer> startHours(List<SlotDto> slots) {
+        return slots.stream().map(s -> s.getStart().getHour()).toList();
+    }
+}
@@ -70,6 +70,17 @@ class HourlySlotGeneratorTest {
         }
     }
 
+    @Test
+    void testGenerateSlots_windowEndingAt23_doesNotWrapPastMidnight() {
+        LocalDate date = LocalDate.now().plusDays(1);
+
+        List<SlotDto> slots = generator.generateSlots(date, LocalTime.of(0, 0), LocalTime.of(23, 0), List.of());
+
+        assertEquals(23, slots.size());
+        assertEquals(LocalTime.of(22, 0), slots.get(slots.size() - 1).getStart());
+        assertEquals(1, generator.generateSlots(date, LocalTime.of(22, 0), LocalTime.of(23, 30), List.of()).size());
+    }
+
     @Test
     void testGenerateSlots_invalidWindow_returnsEmpty() {
         LocalDate date = LocalDate.now().plusDays(1);
@@ -0,0 +1,118 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.accoladehq.calendar.ics.IcsEvent;
+import com.accoladehq.calendar.ics.IcsEventReader;
+
+class IcsEventReaderTest {
+
+    @Test
+    void testReadsEventsWithFoldedLinesAndParameters() throws IOException {
+        String ics = """
+                BEGIN:VCALENDAR\r
+                VERSION:2.0\r
+                BEGIN:VTIMEZONE\r
+                TZID:Europe/Berlin\r
+                END:VTIMEZONE\r
+                BEGIN:VEVENT\r
+                UID:one@example.com\r
+                DTSTART;TZID=Europe/Berlin:20300115T100000\r
+                DTEND;TZID=Europe/Berlin:20300115T110000\r
+                SUMMARY:Intro call\\, with notes\r
+                ATTENDEE;ROLE=REQ-PARTICIPANT;CN="Doe: Jane":mailto:jane@exa\r
+                 mple.com\r
+                ATTENDEE;CN=Second:mailto:second@example.com\r
+                BEGIN:VALARM\r
+                SUMMARY:Alarm summary\r
+                END:VALARM\r
+                END:VEVENT\r
+                BEGIN:VEVENT\r
+                UID:two@example.com\r
+                DTSTART:20300116\r
+                DURATION:P1D\r
+                RRULE:FREQ=WEEKLY\r
+                STATUS:CANCELLED\r
+                END:VEVENT\r
+                END:VCALENDAR\r
+                """;
+        try (IcsEventReader reader = new IcsEventReader(new StringReader(ics))) {
+            IcsEvent first = reader.next();
+            assertEquals(6, first.line());
+            assertEquals("one@example.com", first.uid());
+            assertEquals("20300115T100000", first.start());
+            assertEquals("Europe/Berlin", first.startTzid());
+            assertEquals("20300115T110000", first.end());
+            assertEquals("Intro call, with notes", first.summary());
+            assertEquals("Doe: Jane", first.attendeeName());
+            assertEquals("jane@example.com", first.attendeeMail());
+            assertFalse(first.recurring());
+
+            IcsEvent second = reader.next();
+            assertEquals("20300116", second.start());
+            assertNull(second.end());
+            assertEquals("P1D", second.duration());
+            assertEquals("CANCELLED", second.status());
+            assertTrue(second.recurring());
+
+            assertNull(reader.next());
+            assertEquals(25, reader.linesRead());
+        }
+    }
+
+    @Test
+    void testDropsEventCutOffByEndOfStream() throws IOException {
+        String ics = "BEGIN:VCALENDAR\nBEGIN:VEVENT\nDTSTART:20300115T100000\n";
+        try (IcsEventReader reader = new IcsEventReader(new StringReader(ics))) {
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testRejectsOverlongLineWithoutFolds() throws IOException {
+        // A line that never ends: it must be rejected without being read whole
+        Reader endless = new Reader() {
+            private final Reader head = new StringReader("BEGIN:VCALENDAR\r\nBEGIN:VEVENT\r\nSUMMARY:");
+
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                int n = head.read(cbuf, off, len);
+                if (n > 0) {
+                    return n;
+                }
+                Arrays.fill(cbuf, off, off + len, 'x');
+                return len;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        try (IcsEventReader reader = new IcsEventReader(endless)) {
+            IOException e = assertThrows(IOException.class, reader::next);
+            assertTrue(e.getMessage().startsWith("Line 3 is longer than"), e.getMessage());
+        }
+    }
+
+    @Test
+    void testConvertsDateTimesToLocalTime() {
+        ZoneId utc = ZoneId.of("UTC");
+        assertEquals(LocalDateTime.of(2030, 1, 15, 10, 0), IcsEventReader.toLocal("20300115T100000", null, utc));
+        assertEquals(LocalDateTime.of(2030, 1, 15, 10, 0), IcsEventReader.toLocal("20300115T100000Z", null, utc));
+        assertEquals(LocalDateTime.of(2030, 1, 15, 9, 0),
+                IcsEventReader.toLocal("20300115T100000", "Europe/Berlin", utc));
+        assertNull(IcsEventReader.toLocal("20300115", null, utc));
+        assertThrows(DateTimeException.class, () -> IcsEventReader.toLocal("2030-01-15T10:00", null, utc));
+        assertThrows(DateTimeException.class, () -> IcsEventReader.toLocal("20300115T100000", "Nowhere/Else", utc));
+    }
+}
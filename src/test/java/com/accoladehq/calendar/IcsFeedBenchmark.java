@@ -0,0 +1,112 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.accoladehq.calendar.ics.IcsImporter;
+import com.accoladehq.calendar.service.BookingService;
+import com.accoladehq.calendar.version.OwnerDateVersions;
+
+/**
+ * Polls the iCalendar feed of an owner with many appointments through the full
+ * MVC stack: with a current {@code ETag}, without one while the feed is cached,
+ * and right after a change, when the feed is streamed from the database again.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=IcsFeedBenchmark}; tune with
+ * {@code -Dbench.appointments=<n>} and {@code -Dbench.polls=<n>}.
+ * </p>
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+class IcsFeedBenchmark {
+
+    private static final String OWNER = "feed-bench";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private IcsImporter importer;
+
+    @Autowired
+    private OwnerDateVersions versions;
+
+    @Test
+    void pollFeed() throws Exception {
+        int appointments = Integer.getInteger("bench.appointments", 2_000);
+        int polls = Integer.getInteger("bench.polls", 1_000);
+        bookingService.upsertOwnerIfNotExists(OWNER, "Feed Benchmark");
+        importer.importEvents(OWNER, new StringReader(calendar(appointments)));
+        int size = poll(get("/api/owners/" + OWNER + "/calendar.ics")).getResponse().getContentAsByteArray().length;
+
+        System.out.printf("%nFeed of %d appointments, %d KiB%n", appointments, size / 1024);
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1;
+            String etag = poll(get("/api/owners/" + OWNER + "/calendar.ics")).getResponse().getHeader("ETag");
+            run("304 not modified", report, polls, () -> {
+                MvcResult r = poll(get("/api/owners/" + OWNER + "/calendar.ics").header("If-None-Match", etag));
+                assertEquals(304, r.getResponse().getStatus());
+            });
+            run("200 cached", report, polls, () -> {
+                MvcResult r = poll(get("/api/owners/" + OWNER + "/calendar.ics"));
+                assertEquals(size, r.getResponse().getContentAsByteArray().length);
+            });
+            run("200 rendered", report, Math.max(1, polls / 20), () -> {
+                // An owner-wide change invalidates the feed without altering its content
+                versions.bumpOwner(OWNER);
+                MvcResult r = poll(get("/api/owners/" + OWNER + "/calendar.ics"));
+                assertEquals(size, r.getResponse().getContentAsByteArray().length);
+            });
+        }
+    }
+
+    private MvcResult poll(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)).andReturn() : result;
+    }
+
+    private static void run(String label, boolean report, int polls, Poll poll) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < polls; i++) {
+            poll.run();
+        }
+        double micros = (System.nanoTime() - start) / 1e3 / polls;
+        if (report) {
+            System.out.printf("  %-16s: %10.1f us/poll, %8.0f polls/s%n", label, micros, 1e6 / micros);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Poll {
+        void run() throws Exception;
+    }
+
+    private static String calendar(int count) {
+        LocalDate first = LocalDate.now().plusDays(1);
+        StringBuilder sb = new StringBuilder("BEGIN:VCALENDAR\r\n");
+        for (int i = 0; i < count; i++) {
+            String day = first.plusDays(i / 8).format(DateTimeFormatter.BASIC_ISO_DATE);
+            sb.append("BEGIN:VEVENT\r\nUID:feed-").append(i).append("\r\nDTSTART:").append(day)
+                    .append('T').append(String.format("%02d", 9 + i % 8)).append("0000\r\nDURATION:PT1H\r\n")
+                    .append("ATTENDEE;CN=Invitee ").append(i).append(":mailto:invitee").append(i)
+                    .append("@example.com\r\nEND:VEVENT\r\n");
+        }
+        return sb.append("END:VCALENDAR\r\n").toString();
+    }
+}
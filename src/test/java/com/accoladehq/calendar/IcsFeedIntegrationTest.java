@@ -0,0 +1,130 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.ics.IcsEvent;
+import com.accoladehq.calendar.ics.IcsEventReader;
+import com.accoladehq.calendar.ics.IcsFeedCache;
+import com.accoladehq.calendar.repository.AppointmentRepository;
+import com.accoladehq.calendar.repository.CalendarOwnerRepository;
+import com.accoladehq.calendar.service.BookingService;
+import com.accoladehq.calendar.version.OwnerDateVersions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+class IcsFeedIntegrationTest {
+
+    @Autowired
+    private IcsFeedCache feeds;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CalendarOwnerRepository ownerRepo;
+
+    @Autowired
+    private AppointmentRepository appointmentRepo;
+
+    @Autowired
+    private OwnerDateVersions versions;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testFeedIsCachedUntilTheOwnersAppointmentsChange() throws IOException {
+        LocalDate date = LocalDate.now().plusDays(2);
+        bookingService.upsertOwnerIfNotExists("feed-alice", "Alice Feed");
+        bookingService.addAvailability(new AvailabilityRequest("feed-alice", LocalTime.of(9, 0), LocalTime.of(17, 0)));
+        assertNotNull(bookingService.bookAppointment(new BookRequest("feed-alice", date, LocalTime.of(11, 0), "Bob", "bob@example.com")));
+        assertNotNull(bookingService.bookAppointment(new BookRequest("feed-alice", date, LocalTime.of(9, 0), "Carol", null)));
+
+        IcsFeedCache.Version first = feeds.version("feed-alice");
+        assertNull(feeds.cached("feed-alice", first));
+        byte[] rendered = render("feed-alice", first);
+        List<IcsEvent> events = parse(rendered);
+        assertEquals(2, events.size());
+        assertEquals("Appointment with Carol", events.get(0).summary());
+        assertEquals("bob@example.com", events.get(1).attendeeMail());
+        assertTrue(new String(rendered, StandardCharsets.UTF_8).contains("X-WR-CALNAME:Alice Feed\r\n"));
+
+        // Unchanged: same validators, served from the cache
+        assertEquals(first, feeds.version("feed-alice"));
+        assertArrayEquals(rendered, feeds.cached("feed-alice", first));
+
+        // Another owner's booking leaves the feed alone
+        bookingService.upsertOwnerIfNotExists("feed-dave", "Dave");
+        bookingService.addAvailability(new AvailabilityRequest("feed-dave", LocalTime.of(9, 0), LocalTime.of(17, 0)));
+        assertNotNull(bookingService.bookAppointment(new BookRequest("feed-dave", date, LocalTime.of(9, 0), "Eve", null)));
+        assertEquals(first.etag(), feeds.version("feed-alice").etag());
+
+        assertNotNull(bookingService.bookAppointment(new BookRequest("feed-alice", date, LocalTime.of(10, 0), "Frank", null)));
+        IcsFeedCache.Version second = feeds.version("feed-alice");
+        assertNotEquals(first.etag(), second.etag());
+        assertFalse(second.lastModified().isBefore(first.lastModified()));
+        assertNull(feeds.cached("feed-alice", first));
+        assertNull(feeds.cached("feed-alice", second));
+        assertEquals(3, parse(render("feed-alice", second)).size());
+        assertNotNull(feeds.cached("feed-alice", second));
+    }
+
+    @Test
+    void testUnknownOwner() throws IOException {
+        assertFalse(feeds.exists("feed-nobody"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertFalse(feeds.render("feed-nobody", feeds.version("feed-nobody"), out));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void testLargeFeedsAreStreamedButNotCached() throws IOException {
+        bookingService.upsertOwnerIfNotExists("feed-big", "Big");
+        bookingService.addAvailability(new AvailabilityRequest("feed-big", LocalTime.of(9, 0), LocalTime.of(17, 0)));
+        assertNotNull(bookingService.bookAppointment(new BookRequest("feed-big", LocalDate.now().plusDays(1), LocalTime.of(9, 0), "Grace", null)));
+        IcsFeedCache small = new IcsFeedCache(ownerRepo, appointmentRepo, versions, transactionManager,
+                new SimpleMeterRegistry(), 30, 1 << 20, 256, 5, Clock.systemDefaultZone());
+
+        IcsFeedCache.Version version = small.version("feed-big");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(small.render("feed-big", version, out));
+        assertTrue(out.size() > 256);
+        assertEquals(1, parse(out.toByteArray()).size());
+        assertNull(small.cached("feed-big", version));
+    }
+
+    private byte[] render(String username, IcsFeedCache.Version version) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(feeds.render(username, version, out));
+        return out.toByteArray();
+    }
+
+    private static List<IcsEvent> parse(byte[] ics) throws IOException {
+        List<IcsEvent> events = new ArrayList<>();
+        try (IcsEventReader reader = new IcsEventReader(new StringReader(new String(ics, StandardCharsets.UTF_8)))) {
+            IcsEvent event;
+            while ((event = reader.next()) != null) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+}
@@ -0,0 +1,87 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.Test;
+
+import com.accoladehq.calendar.ics.IcsEvent;
+import com.accoladehq.calendar.ics.IcsEventReader;
+import com.accoladehq.calendar.ics.IcsFeedWriter;
+import com.accoladehq.calendar.repository.AppointmentRow;
+
+class IcsFeedWriterTest {
+
+    private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+    @Test
+    void testWritesFoldedEscapedEventsInUtc() throws IOException {
+        String name = "Zoë Ångström, \"Head\"; Research & Development ✓ Ελληνικά 日本語 with a long title";
+        AppointmentRow row = new AppointmentRow(7L, "feed-owner", LocalDate.of(2030, 1, 15), LocalTime.of(10, 0),
+                LocalTime.of(11, 0), name, "zoe@example.com");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IcsFeedWriter writer = new IcsFeedWriter(out, BERLIN, Instant.parse("2030-01-01T00:00:00Z"), "PT5M");
+        writer.begin("Owner; Calendar");
+        writer.event(row);
+        writer.end();
+
+        String ics = out.toString(StandardCharsets.UTF_8);
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+        assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+        assertTrue(ics.contains("X-WR-CALNAME:Owner\\; Calendar\r\n"));
+        assertTrue(ics.contains("UID:20300115T1000-feed-owner@calendar-booking\r\n"));
+        assertTrue(ics.contains("DTSTART:20300115T090000Z\r\n"));
+        assertTrue(ics.contains("DTSTAMP:20300101T000000Z\r\n"));
+        for (String line : ics.split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+        }
+
+        try (IcsEventReader reader = new IcsEventReader(new StringReader(ics))) {
+            IcsEvent event = reader.next();
+            assertEquals("Appointment with " + name, event.summary());
+            assertEquals(name.replace('"', '\''), event.attendeeName());
+            assertEquals("zoe@example.com", event.attendeeMail());
+            assertEquals(LocalDateTime.of(2030, 1, 15, 10, 0), IcsEventReader.toLocal(event.start(), null, BERLIN));
+            assertEquals(LocalDateTime.of(2030, 1, 15, 11, 0), IcsEventReader.toLocal(event.end(), null, BERLIN));
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testOmitsAttendeeWithoutEmail() throws IOException {
+        AppointmentRow row = new AppointmentRow(1L, "feed-owner", LocalDate.of(2030, 1, 15), LocalTime.of(10, 0),
+                LocalTime.of(11, 0), "Walk-in", null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IcsFeedWriter writer = new IcsFeedWriter(out, BERLIN, Instant.EPOCH, "PT5M");
+        writer.begin("feed-owner");
+        writer.event(row);
+        writer.end();
+        String ics = out.toString(StandardCharsets.UTF_8);
+        assertFalse(ics.contains("ATTENDEE"));
+        assertTrue(ics.contains("SUMMARY:Appointment with Walk-in\r\n"));
+    }
+
+    @Test
+    void testOmitsAttendeeWithControlCharactersInEmail() throws IOException {
+        AppointmentRow row = new AppointmentRow(1L, "feed-owner", LocalDate.of(2030, 1, 15), LocalTime.of(10, 0),
+                LocalTime.of(11, 0), "Mallory", "x@y.z\r\nBEGIN:VALARM\r\nACTION:DISPLAY\r\nEND:VALARM");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IcsFeedWriter writer = new IcsFeedWriter(out, BERLIN, Instant.EPOCH, "PT5M");
+        writer.begin("feed-owner");
+        writer.event(row);
+        writer.end();
+        String ics = out.toString(StandardCharsets.UTF_8);
+        assertFalse(ics.contains("ATTENDEE"));
+        assertFalse(ics.contains("VALARM"));
+        assertTrue(ics.contains("SUMMARY:Appointment with Mallory\r\n"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.accoladehq.calendar.dto.IcsImportResult;
+import com.accoladehq.calendar.event.BookingEventRecorder;
+import com.accoladehq.calendar.ics.IcsImporter;
+import com.accoladehq.calendar.repository.AppointmentRepository;
+import com.accoladehq.calendar.repository.CalendarOwnerRepository;
+import com.accoladehq.calendar.service.BookingService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Imports a generated iCalendar file of ten events per day at several batch
+ * sizes. The file is generated while it is read, so it never exists as a whole.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=IcsImportBenchmark}; tune with
+ * {@code -Dbench.events=<n>}.
+ * </p>
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "spring.datasource.url=jdbc:h2:mem:ics_bench_caldb"})
+class IcsImportBenchmark {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CalendarOwnerRepository ownerRepo;
+
+    @Autowired
+    private AppointmentRepository appointmentRepo;
+
+    @Autowired
+    private BookingEventRecorder events;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void importAtBatchSizes() throws IOException {
+        int count = Integer.getInteger("bench.events", 50_000);
+        run("warmup", 50, Math.min(count, 5_000));
+
+        System.out.printf("%nImport of %d events%n", count);
+        for (int batchSize : new int[] {1, 50, 500, 5_000}) {
+            run("batch " + batchSize, batchSize, count);
+        }
+    }
+
+    private void run(String label, int batchSize, int count) throws IOException {
+        String username = "ics-bench-" + label.replace(' ', '-');
+        bookingService.upsertOwnerIfNotExists(username, username);
+        IcsImporter importer = new IcsImporter(ownerRepo, appointmentRepo, events, entityManagerFactory,
+                transactionManager, new SimpleMeterRegistry(), batchSize, 10);
+
+        long start = System.nanoTime();
+        IcsImportResult result = importer.importEvents(username, new GeneratedCalendar(count));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        assertEquals(count, result.getImported());
+
+        if (!label.equals("warmup")) {
+            System.out.printf("  %-12s: %8.0f events/s, %6.2f s%n", label, count / seconds, seconds);
+        }
+    }
+
+    /**
+     * An iCalendar stream of ten one-hour events per day from tomorrow on,
+     * produced as it is read.
+     */
+    private static final class GeneratedCalendar extends Reader {
+
+        private final int count;
+
+        private final LocalDate first = LocalDate.now().plusDays(1);
+
+        private int next;
+
+        private String pending = "BEGIN:VCALENDAR\r\nVERSION:2.0\r\n";
+
+        private int offset;
+
+        GeneratedCalendar(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public int read(char[] buf, int off, int len) {
+            if (offset == pending.length()) {
+                if (next > count) {
+                    return -1;
+                }
+                pending = next == count ? "END:VCALENDAR\r\n" : event(next);
+                next++;
+                offset = 0;
+            }
+            int n = Math.min(len, pending.length() - offset);
+            pending.getChars(offset, offset + n, buf, off);
+            offset += n;
+            return n;
+        }
+
+        private String event(int i) {
+            String day = first.plusDays(i / 10).format(DateTimeFormatter.BASIC_ISO_DATE);
+            String hour = String.format("%02d", 8 + i % 10);
+            return "BEGIN:VEVENT\r\nUID:bench-" + i + "@example.com\r\nDTSTART:" + day + "T" + hour + "0000\r\n"
+                    + "DURATION:PT1H\r\nSUMMARY:Migrated meeting " + i + "\r\n"
+                    + "ATTENDEE;CN=Invitee " + i + ":mailto:invitee" + i + "@example.com\r\nEND:VEVENT\r\n";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
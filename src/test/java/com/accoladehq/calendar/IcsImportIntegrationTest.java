@@ -0,0 +1,100 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.dto.IcsImportResult;
+import com.accoladehq.calendar.dto.SearchSlotsRequest;
+import com.accoladehq.calendar.dto.SlotDto;
+import com.accoladehq.calendar.entity.Appointment;
+import com.accoladehq.calendar.ics.IcsImporter;
+import com.accoladehq.calendar.service.BookingService;
+
+@SpringBootTest(properties = "calendar.import.batch-size=2")
+class IcsImportIntegrationTest {
+
+    private static final DateTimeFormatter ICS_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    @Autowired
+    private IcsImporter importer;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void testImportsEventsAndReportsRejections() throws IOException {
+        LocalDate date = LocalDate.now().plusDays(3);
+        String day = date.format(ICS_DATE);
+        bookingService.upsertOwnerIfNotExists("ics-alice", "Alice");
+        bookingService.addAvailability(new AvailabilityRequest("ics-alice", LocalTime.of(9, 0), LocalTime.of(17, 0)));
+        assertNotNull(bookingService.bookAppointment(new BookRequest("ics-alice", date, LocalTime.of(9, 0), "Existing", null)));
+
+        String ics = "BEGIN:VCALENDAR\r\n"
+                + event("ok-1", day + "T100000", "DTEND:" + day + "T110000", "ATTENDEE;CN=Jane:mailto:jane@example.com")
+                + event("ok-2", day + "T110000", "DURATION:PT1H", "SUMMARY:Review")
+                + event("ok-3", date.plusDays(1).format(ICS_DATE) + "T100000", "DURATION:PT1H", "SUMMARY:Next day")
+                + event("booked", day + "T090000", "DURATION:PT1H", "SUMMARY:Clash")
+                + event("duplicate", day + "T100000", "DURATION:PT1H", "SUMMARY:Again")
+                + event("half-hour", day + "T120000", "DURATION:PT30M", "SUMMARY:Short")
+                + event("off-hour", day + "T123000", "DURATION:PT1H", "SUMMARY:Late")
+                + event("all-day", day, "DURATION:P1D", "SUMMARY:Holiday")
+                + event("past", LocalDate.now().minusDays(1).format(ICS_DATE) + "T100000", "DURATION:PT1H", "SUMMARY:Old")
+                + event("weekly", day + "T140000", "DURATION:PT1H", "RRULE:FREQ=WEEKLY")
+                + event("cancelled", day + "T150000", "DURATION:PT1H", "STATUS:CANCELLED")
+                + "END:VCALENDAR\r\n";
+
+        IcsImportResult result = importer.importEvents("ics-alice", new StringReader(ics));
+
+        assertEquals(11, result.getEvents());
+        assertEquals(3, result.getImported());
+        assertEquals(8, result.getRejectedCount());
+        Map<String, String> reasons = result.getRejected().stream()
+                .collect(Collectors.toMap(IcsImportResult.Rejected::getUid, IcsImportResult.Rejected::getReason));
+        assertEquals("Slot already booked", reasons.get("booked"));
+        assertEquals("Slot already booked", reasons.get("duplicate"));
+        assertEquals("Appointments must be 60 minutes", reasons.get("half-hour"));
+        assertEquals("Start time must be on the hour", reasons.get("off-hour"));
+        assertEquals("All-day event", reasons.get("all-day"));
+        assertEquals("Event is in the past", reasons.get("past"));
+        assertEquals("Recurring events are not supported", reasons.get("weekly"));
+        assertEquals("Cancelled event", reasons.get("cancelled"));
+
+        List<Appointment> upcoming = bookingService.listUpcoming("ics-alice");
+        assertEquals(4, upcoming.size());
+        Appointment jane = upcoming.get(1);
+        assertEquals(LocalTime.of(10, 0), jane.getStartTime());
+        assertEquals("Jane", jane.getInviteeName());
+        assertEquals("jane@example.com", jane.getInviteeEmail());
+        assertEquals("Review", upcoming.get(2).getInviteeName());
+
+        // Imported appointments take their slots out of search results
+        List<LocalTime> free = bookingService.searchAvailableSlots(new SearchSlotsRequest("ics-alice", date)).stream()
+                .map(SlotDto::getStart).toList();
+        assertFalse(free.contains(LocalTime.of(10, 0)));
+        assertFalse(free.contains(LocalTime.of(11, 0)));
+        assertTrue(free.contains(LocalTime.of(12, 0)));
+    }
+
+    @Test
+    void testUnknownOwner() throws IOException {
+        assertNull(importer.importEvents("ics-nobody", new StringReader("BEGIN:VCALENDAR\r\nEND:VCALENDAR\r\n")));
+    }
+
+    private static String event(String uid, String start, String end, String extra) {
+        return "BEGIN:VEVENT\r\nUID:" + uid + "\r\nDTSTART:" + start + "\r\n" + end + "\r\n" + extra + "\r\nEND:VEVENT\r\n";
+    }
+}
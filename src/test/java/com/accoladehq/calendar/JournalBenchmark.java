@@ -0,0 +1,90 @@
+package com.accoladehq.calendar;
+
+import static org.mockito.Mockito.mock;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.accoladehq.calendar.journal.BookingJournal;
+import com.accoladehq.calendar.journal.JournalRecord;
+import com.accoladehq.calendar.journal.JournalReplayer;
+import com.accoladehq.calendar.snapshot.SnapshotStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Cost of journaling a booking: the bare append into the memory-mapped segment,
+ * and durable appends with group fsync versus an fsync per append.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=JournalBenchmark}; tune with
+ * {@code -Dbench.records=<n>} and {@code -Dbench.threads=<n>}.
+ * </p>
+ */
+class JournalBenchmark {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void append() throws Exception {
+        int records = Integer.getInteger("bench.records", 200_000);
+        int threads = Integer.getInteger("bench.threads", 16);
+
+        System.out.printf("%nJournal appends of a booking record%n");
+        run("no fsync wait, 1 thread", records, 1, 2, false);
+        run("group fsync, 1 thread", records / 100, 1, 2, true);
+        run("group fsync, " + threads + " threads", records / 10, threads, 2, true);
+        run("fsync per append, " + threads + " threads", records / 100, threads, 0, true);
+    }
+
+    private void run(String label, int records, int threads, long fsyncIntervalMs, boolean awaitFsync) throws Exception {
+        Path journalDir = Files.createTempDirectory(dir, "journal");
+        BookingJournal journal = new BookingJournal(mock(JournalReplayer.class), mock(SnapshotStore.class),
+                new SimpleMeterRegistry(), true, journalDir, 64 << 20, fsyncIntervalMs, awaitFsync, false);
+        journal.start();
+        JournalRecord record = new JournalRecord.Booked(1, "bench-owner", LocalDate.of(2030, 1, 15), LocalTime.of(9, 0),
+                LocalTime.of(10, 0), "Bench Invitee", "invitee@example.com");
+        for (int i = 0; i < Math.min(records, 10_000); i++) {
+            journal.append(record);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long nanos;
+        try {
+            CountDownLatch gate = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    gate.await();
+                    for (int i = 0; i < records / threads; i++) {
+                        journal.append(record);
+                    }
+                    return null;
+                }));
+            }
+            long start = System.nanoTime();
+            gate.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            nanos = System.nanoTime() - start;
+        } finally {
+            pool.shutdownNow();
+            journal.stop();
+        }
+        int done = records / threads * threads;
+        System.out.printf("  %-40s: %8.2f us/append per thread, %10.0f appends/s%n",
+                label, nanos / 1e3 / (done / threads), done / (nanos / 1e9));
+    }
+}
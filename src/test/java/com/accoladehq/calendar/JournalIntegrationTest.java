@@ -0,0 +1,175 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.dto.RescheduleRequest;
+import com.accoladehq.calendar.dto.SlotDto;
+import com.accoladehq.calendar.journal.BookingJournal;
+import com.accoladehq.calendar.journal.JournalRecord;
+import com.accoladehq.calendar.journal.JournalReplayer;
+import com.accoladehq.calendar.service.BookingService;
+import com.accoladehq.calendar.snapshot.SnapshotStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+class JournalIntegrationTest {
+
+    private static Path dir;
+
+    @DynamicPropertySource
+    static void journal(DynamicPropertyRegistry registry) throws IOException {
+        dir = Files.createTempDirectory("journal-it");
+        registry.add("calendar.journal.enabled", () -> "true");
+        registry.add("calendar.journal.dir", dir::toString);
+    }
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JournalReplayer replayer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testWritesAreJournaledAndReplayable() throws IOException {
+        String username = "journal-owner";
+        LocalDate date = LocalDate.now().plusDays(1);
+        bookingService.upsertOwnerIfNotExists(username, "Journal Owner");
+        bookingService.addAvailability(new AvailabilityRequest(username, LocalTime.of(9, 0), LocalTime.of(12, 0)));
+        SlotDto booked = bookingService.bookAppointment(request(username, date, 9));
+        assertNotNull(booked);
+        assertNotNull(bookingService.bookAppointment(request(username, date, 10)));
+        long first = appointmentId(username, date, 9);
+        long second = appointmentId(username, date, 10);
+        bookingService.rescheduleAppointment(first, new RescheduleRequest(date, LocalTime.of(11, 0)));
+        assertTrue(bookingService.cancelAppointment(second));
+
+        List<JournalRecord> records = replayCopy().stream()
+                .filter(r -> r.toString().contains(username))
+                .toList();
+        assertEquals(List.of(
+                new JournalRecord.OwnerCreated(username, "Journal Owner"),
+                new JournalRecord.AvailabilitySet(username, List.of(new JournalRecord.Window(LocalTime.of(9, 0), LocalTime.of(12, 0)))),
+                new JournalRecord.Booked(first, username, date, LocalTime.of(9, 0), LocalTime.of(10, 0), "Invitee", null),
+                new JournalRecord.Booked(second, username, date, LocalTime.of(10, 0), LocalTime.of(11, 0), "Invitee", null),
+                new JournalRecord.Rescheduled(first, username, date, LocalTime.of(9, 0), date, LocalTime.of(11, 0), LocalTime.of(12, 0)),
+                new JournalRecord.Cancelled(username, date, LocalTime.of(10, 0))), records);
+    }
+
+    @Test
+    void testFailedGroupCommitIsNotReplayed() throws IOException {
+        String username = "journal-abort";
+        LocalDate date = LocalDate.now().plusDays(1);
+        bookingService.upsertOwnerIfNotExists(username, username);
+        bookingService.addAvailability(new AvailabilityRequest(username, LocalTime.of(9, 0), LocalTime.of(12, 0)));
+        assertNotNull(bookingService.bookAppointment(request(username, date, 9)));
+        // Written behind the booking engine, so its group commit for 10:00 fails at the unique constraint
+        jdbcTemplate.update("INSERT INTO appointment (id, owner_id, date, start_time, end_time, invitee_name) "
+                + "SELECT NEXT VALUE FOR appointment_seq, id, ?, ?, ?, 'Direct' FROM calendar_owner WHERE username = ?",
+                date, LocalTime.of(10, 0), LocalTime.of(11, 0), username);
+        assertNull(bookingService.bookAppointment(request(username, date, 10)));
+
+        List<JournalRecord> booked = replayCopy().stream()
+                .filter(r -> r instanceof JournalRecord.Booked b && b.username().equals(username))
+                .toList();
+        assertEquals(List.of(new JournalRecord.Booked(appointmentId(username, date, 9), username, date, LocalTime.of(9, 0),
+                LocalTime.of(10, 0), "Invitee", null)), booked);
+    }
+
+    @Test
+    void testReplayIsIdempotent() {
+        String username = "journal-idempotent";
+        LocalDate date = LocalDate.now().plusDays(2);
+        long id = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR appointment_seq", Long.class);
+        List<JournalRecord> records = List.of(
+                new JournalRecord.OwnerCreated(username, "Idempotent"),
+                new JournalRecord.AvailabilitySet(username, List.of(new JournalRecord.Window(LocalTime.of(9, 0), LocalTime.of(11, 0)))),
+                new JournalRecord.Booked(id, username, date, LocalTime.of(9, 0), LocalTime.of(10, 0), "Ann", null));
+        replayer.apply(records);
+        // Replayed again on top of a snapshot that already holds them: must not fail or duplicate
+        replayer.apply(records);
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM calendar_owner WHERE username = ?",
+                Integer.class, username));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM availability_rule r JOIN calendar_owner o "
+                + "ON o.id = r.owner_id WHERE o.username = ?", Integer.class, username));
+        assertEquals(List.of(new SlotDto(date, LocalTime.of(10, 0), LocalTime.of(11, 0))),
+                bookingService.nextAvailable(username, date, 1));
+    }
+
+    @Test
+    void testReplayedAppointmentsKeepTheirIds() {
+        String username = "journal-ids";
+        LocalDate date = LocalDate.now().plusDays(3);
+        long id = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR appointment_seq", Long.class) + 1_000;
+        replayer.apply(List.of(
+                new JournalRecord.OwnerCreated(username, "Ids"),
+                new JournalRecord.AvailabilitySet(username, List.of(new JournalRecord.Window(LocalTime.of(9, 0), LocalTime.of(12, 0)))),
+                new JournalRecord.Booked(id, username, date, LocalTime.of(9, 0), LocalTime.of(10, 0), "Ann", null),
+                new JournalRecord.Rescheduled(id, username, date, LocalTime.of(9, 0), date, LocalTime.of(11, 0), LocalTime.of(12, 0))));
+        replayer.restored();
+
+        // The id a client was given before the restart still names the appointment
+        assertEquals(id, appointmentId(username, date, 11));
+        assertTrue(bookingService.cancelAppointment(id));
+        assertTrue(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR appointment_seq", Long.class) > id);
+    }
+
+    /**
+     * Replays a copy of the live journal directory and returns what would be applied.
+     */
+    @SuppressWarnings("unchecked")
+    private List<JournalRecord> replayCopy() throws IOException {
+        Path copyDir = Files.createTempDirectory("journal-copy");
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, copyDir.resolve(file.getFileName()));
+            }
+        }
+        JournalReplayer copy = mock(JournalReplayer.class);
+        List<JournalRecord> applied = new ArrayList<>();
+        doAnswer(inv -> applied.addAll(inv.getArgument(0, List.class))).when(copy).apply(any());
+        BookingJournal journal = new BookingJournal(copy, mock(SnapshotStore.class), new SimpleMeterRegistry(), true,
+                copyDir, 1 << 20, 1, true, false);
+        journal.start();
+        journal.stop();
+        return applied;
+    }
+
+    private Long appointmentId(String username, LocalDate date, int hour) {
+        return jdbcTemplate.queryForObject("SELECT a.id FROM appointment a JOIN calendar_owner o ON o.id = a.owner_id "
+                + "WHERE o.username = ? AND a.date = ? AND a.start_time = ?", Long.class, username, date, LocalTime.of(hour, 0));
+    }
+
+    private static BookRequest request(String username, LocalDate date, int hour) {
+        BookRequest req = new BookRequest();
+        req.setUsername(username);
+        req.setDate(date);
+        req.setStartTime(LocalTime.of(hour, 0));
+        req.setInviteeName("Invitee");
+        return req;
+    }
+}
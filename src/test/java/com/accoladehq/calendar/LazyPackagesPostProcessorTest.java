@@ -0,0 +1,46 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.accoladehq.calendar.startup.LazyPackagesPostProcessor;
+import com.accoladehq.calendar.version.OwnerDateVersions;
+
+class LazyPackagesPostProcessorTest {
+
+    @Test
+    void testBeansOfListedPackagesBecomeLazy() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("listed", new RootBeanDefinition(OwnerDateVersions.class));
+        beanFactory.registerBeanDefinition("other", new RootBeanDefinition(StringBuilder.class));
+        RootBeanDefinition eager = new RootBeanDefinition(OwnerDateVersions.class);
+        eager.setLazyInit(false);
+        beanFactory.registerBeanDefinition("eager", eager);
+
+        process(beanFactory, "com.accoladehq.calendar.version, org.example");
+
+        assertTrue(beanFactory.getBeanDefinition("listed").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("other").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("eager").isLazyInit());
+    }
+
+    @Test
+    void testNothingChangesWithoutPackages() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("bean", new RootBeanDefinition(OwnerDateVersions.class));
+
+        process(beanFactory, "");
+
+        assertFalse(beanFactory.getBeanDefinition("bean").isLazyInit());
+    }
+
+    private static void process(DefaultListableBeanFactory beanFactory, String packages) {
+        LazyPackagesPostProcessor processor = new LazyPackagesPostProcessor();
+        processor.setEnvironment(new MockEnvironment().withProperty("calendar.startup.lazy-packages", packages));
+        processor.postProcessBeanFactory(beanFactory);
+    }
+}
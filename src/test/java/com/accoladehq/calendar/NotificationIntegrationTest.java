@@ -0,0 +1,47 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.event.AppointmentEvent;
+import com.accoladehq.calendar.notification.InMemoryInviteeNotifier;
+import com.accoladehq.calendar.service.BookingService;
+
+@SpringBootTest
+class NotificationIntegrationTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private InMemoryInviteeNotifier sink;
+
+    @Test
+    void testCommittedBookingIsDeliveredToNotifier() throws Exception {
+        bookingService.upsertOwnerIfNotExists("notify-owner", "Notify Owner");
+        bookingService.addAvailability(new AvailabilityRequest("notify-owner", LocalTime.of(9, 0), LocalTime.of(17, 0)));
+
+        LocalDate date = LocalDate.now().plusDays(3);
+        assertNotNull(bookingService.bookAppointment(
+                new BookRequest("notify-owner", date, LocalTime.of(10, 0), "Alice", "alice@example.com")));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (sink.getDelivered().stream().noneMatch(e -> "notify-owner".equals(e.username()))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        AppointmentEvent event = sink.getDelivered().stream()
+                .filter(e -> "notify-owner".equals(e.username())).findFirst().orElseThrow();
+        assertEquals(AppointmentEvent.Type.BOOKED, event.type());
+        assertEquals(date, event.date());
+        assertEquals("alice@example.com", event.inviteeEmail());
+    }
+}
@@ -0,0 +1,129 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.accoladehq.calendar.event.AppointmentEvent;
+import com.accoladehq.calendar.notification.InMemoryInviteeNotifier;
+import com.accoladehq.calendar.notification.InviteeNotifier;
+import com.accoladehq.calendar.notification.NotificationPipeline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class NotificationPipelineTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private NotificationPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void testDeliversQueuedNotificationsInBatches() throws Exception {
+        InMemoryInviteeNotifier sink = new InMemoryInviteeNotifier();
+        pipeline = new NotificationPipeline(sink, registry, 100, 10, 3, 1);
+
+        for (int i = 0; i < 25; i++) {
+            assertTrue(pipeline.submit(event(i, "alice@example.com")));
+        }
+        pipeline.start();
+
+        awaitCount(() -> sink.getDelivered().size(), 25);
+        assertTrue(sink.getBatches() <= 25);
+        assertEquals(25.0, registry.counter("calendar.notifications.delivered").count());
+    }
+
+    @Test
+    void testRetriesFailedBatchWithBackoff() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        InMemoryInviteeNotifier sink = new InMemoryInviteeNotifier();
+        InviteeNotifier flaky = batch -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("SMTP unavailable");
+            }
+            sink.deliver(batch);
+        };
+        pipeline = new NotificationPipeline(flaky, registry, 100, 10, 5, 1);
+        pipeline.start();
+
+        pipeline.submit(event(1, "alice@example.com"));
+
+        awaitCount(() -> sink.getDelivered().size(), 1);
+        assertEquals(2.0, registry.counter("calendar.notifications.retries").count());
+        assertEquals(0.0, registry.counter("calendar.notifications.failed").count());
+    }
+
+    @Test
+    void testGivesUpAfterMaxAttempts() throws Exception {
+        pipeline = new NotificationPipeline(batch -> {
+            throw new IllegalStateException("SMTP unavailable");
+        }, registry, 100, 10, 2, 1);
+        pipeline.start();
+
+        pipeline.submit(event(1, "alice@example.com"));
+
+        awaitCount(() -> (int) registry.counter("calendar.notifications.failed").count(), 1);
+    }
+
+    @Test
+    void testStopDuringBackoffKeepsBatchQueued() throws Exception {
+        pipeline = new NotificationPipeline(batch -> {
+            throw new IllegalStateException("SMTP unavailable");
+        }, registry, 100, 10, 5, 60_000);
+        pipeline.start();
+
+        pipeline.submit(event(1, "a@example.com"));
+        pipeline.submit(event(2, "b@example.com"));
+        awaitCount(() -> (int) registry.counter("calendar.notifications.retries").count(), 1);
+        pipeline.stop();
+
+        assertEquals(2, pipeline.pending());
+        assertEquals(0.0, registry.counter("calendar.notifications.failed").count());
+    }
+
+    @Test
+    void testDropsWhenQueueIsFull() {
+        pipeline = new NotificationPipeline(new InMemoryInviteeNotifier(), registry, 2, 10, 3, 1);
+
+        assertTrue(pipeline.submit(event(1, "a@example.com")));
+        assertTrue(pipeline.submit(event(2, "b@example.com")));
+        assertFalse(pipeline.submit(event(3, "c@example.com")));
+
+        assertEquals(2, pipeline.pending());
+        assertEquals(1.0, registry.counter("calendar.notifications.dropped").count());
+        assertEquals(2.0, registry.get("calendar.notifications.queue.depth").gauge().value());
+    }
+
+    @Test
+    void testSkipsEventsWithoutEmail() {
+        pipeline = new NotificationPipeline(new InMemoryInviteeNotifier(), registry, 10, 10, 3, 1);
+
+        assertFalse(pipeline.submit(event(1, null)));
+        assertEquals(0, pipeline.pending());
+    }
+
+    private static AppointmentEvent event(long id, String email) {
+        return new AppointmentEvent(AppointmentEvent.Type.BOOKED, id, "john", LocalDate.now().plusDays(1),
+                LocalTime.of(10, 0), null, null, "Alice", email);
+    }
+
+    private static void awaitCount(java.util.function.IntSupplier actual, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (actual.getAsInt() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, actual.getAsInt());
+    }
+}
@@ -0,0 +1,81 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.accoladehq.calendar.outbox.InMemoryOutboxPublisher;
+import com.accoladehq.calendar.outbox.OutboxRelay;
+import com.accoladehq.calendar.outbox.OutboxWriter;
+import com.accoladehq.calendar.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Measures outbox relay throughput in events per second for different worker counts.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=OutboxRelayBenchmark}; tune with
+ * {@code -Dbench.events=<n>} and {@code -Dbench.owners=<n>}.
+ * </p>
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "calendar.outbox.relay.enabled=false"})
+class OutboxRelayBenchmark {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Autowired
+    private InMemoryOutboxPublisher sink;
+
+    @Autowired
+    private OutboxEventRepository outboxRepo;
+
+    @Test
+    void relayThroughput() throws Exception {
+        int events = Integer.getInteger("bench.events", 200_000);
+        int owners = Integer.getInteger("bench.owners", 1_000);
+        insertEvents(events, owners);
+
+        System.out.printf("%nOutbox relay: %d events across %d owners%n", events, owners);
+        for (int workers : new int[] {1, 2, 4, 8}) {
+            jdbc.update("UPDATE outbox_event SET published_at = NULL");
+            sink.clear();
+
+            OutboxRelay relay = new OutboxRelay(jdbc, txManager, sink, new SimpleMeterRegistry(), 16, workers, 1_000, 5, 60);
+            long start = System.nanoTime();
+            relay.start();
+            while (outboxRepo.countByPublishedAtIsNull() > 0) {
+                Thread.sleep(5);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            relay.stop();
+
+            assertEquals(events, sink.size());
+            System.out.printf("  workers=%d : %10.0f events/s (%.2f s)%n", workers, events / seconds, seconds);
+        }
+    }
+
+    private void insertEvents(int events, int owners) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            String owner = "bench-owner-" + (i % owners);
+            rows.add(new Object[] {10_000_000L + i, owner, i / owners + 1, OutboxWriter.partitionOf(owner, 16), "APPOINTMENT_BOOKED",
+                    "{\"appointmentId\":" + i + "}", now});
+        }
+        jdbc.batchUpdate("INSERT INTO outbox_event (id, owner_username, owner_sequence, partition_key, event_type, payload, "
+                + "created_at) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+}
@@ -0,0 +1,98 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.outbox.InMemoryOutboxPublisher;
+import com.accoladehq.calendar.outbox.OutboxMessage;
+import com.accoladehq.calendar.outbox.OutboxWriter;
+import com.accoladehq.calendar.repository.OutboxEventRepository;
+import com.accoladehq.calendar.service.BookingService;
+
+@SpringBootTest
+class OutboxRelayTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private InMemoryOutboxPublisher sink;
+
+    @Autowired
+    private OutboxEventRepository outboxRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void testChangesArePublishedInOrderPerOwner() throws Exception {
+        bookingService.upsertOwnerIfNotExists("outbox-owner", "Outbox Owner");
+        bookingService.addAvailability(new AvailabilityRequest("outbox-owner", LocalTime.of(9, 0), LocalTime.of(17, 0)));
+        LocalDate date = LocalDate.now().plusDays(2);
+        assertNotNull(bookingService.bookAppointment(new BookRequest("outbox-owner", date, LocalTime.of(10, 0), "Alice", null)));
+        assertNotNull(bookingService.bookAppointment(new BookRequest("outbox-owner", date, LocalTime.of(11, 0), "Bob", null)));
+
+        List<OutboxMessage> events = awaitEvents("outbox-owner", 3);
+
+        assertEquals(List.of("AVAILABILITY_CHANGED", "APPOINTMENT_BOOKED", "APPOINTMENT_BOOKED"),
+                events.stream().map(OutboxMessage::eventType).toList());
+        assertEquals(List.of(1L, 2L, 3L), events.stream().map(OutboxMessage::sequence).toList());
+        assertTrue(events.get(1).payload().contains("\"inviteeName\":\"Alice\""));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (outboxRepo.countByPublishedAtIsNull() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, outboxRepo.countByPublishedAtIsNull());
+    }
+
+    @Test
+    void testEventsArePublishedInSequenceNotIdOrder() throws Exception {
+        // Ids from two blocks, as two nodes or overlapping transactions hand them out
+        jdbc.update("INSERT INTO outbox_event (id, owner_username, owner_sequence, partition_key, event_type, payload, "
+                + "created_at) VALUES (?, ?, 1, ?, 'FIRST', '{}', CURRENT_TIMESTAMP), (?, ?, 2, ?, 'SECOND', '{}', CURRENT_TIMESTAMP)",
+                90_000_100L, "outbox-blocks", OutboxWriter.partitionOf("outbox-blocks", 16),
+                90_000_001L, "outbox-blocks", OutboxWriter.partitionOf("outbox-blocks", 16));
+
+        assertEquals(List.of("FIRST", "SECOND"),
+                awaitEvents("outbox-blocks", 2).stream().map(OutboxMessage::eventType).toList());
+    }
+
+    @Test
+    void testRejectedBookingWritesNoEvent() throws Exception {
+        bookingService.upsertOwnerIfNotExists("outbox-reject", "Outbox Reject");
+        bookingService.addAvailability(new AvailabilityRequest("outbox-reject", LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        awaitEvents("outbox-reject", 1);
+
+        // Outside availability: nothing is booked and nothing reaches the outbox
+        assertNull(bookingService.bookAppointment(
+                new BookRequest("outbox-reject", LocalDate.now().plusDays(2), LocalTime.of(15, 0), "Alice", null)));
+        Thread.sleep(200);
+
+        assertEquals(1, sink.getPublished().stream().filter(m -> m.username().equals("outbox-reject")).count());
+    }
+
+    private List<OutboxMessage> awaitEvents(String username, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        List<OutboxMessage> events;
+        do {
+            events = sink.getPublished().stream().filter(m -> m.username().equals(username)).toList();
+            if (events.size() >= count) {
+                return events;
+            }
+            Thread.sleep(10);
+        } while (System.currentTimeMillis() < deadline);
+        fail("Expected " + count + " events for " + username + " but got " + events.size());
+        return events;
+    }
+}
@@ -0,0 +1,98 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.accoladehq.calendar.controller.ProfilingController;
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.dto.SearchSlotsRequest;
+import com.accoladehq.calendar.service.BookingService;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@SpringBootTest
+class ProfilingIntegrationTest {
+
+    @Autowired
+    private ProfilingController profiling;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void testRecordingCarriesCalendarEvents() throws IOException {
+        LocalDate date = LocalDate.now().plusDays(3);
+        bookingService.upsertOwnerIfNotExists("jfr-alice", "Alice");
+        bookingService.addAvailability(new AvailabilityRequest("jfr-alice", LocalTime.of(9, 0), LocalTime.of(12, 0)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, profiling.start(0).getStatusCode());
+        assertEquals(HttpStatus.OK, profiling.start(60).getStatusCode());
+        assertEquals(HttpStatus.CONFLICT, profiling.start(60).getStatusCode());
+        assertEquals("RUNNING", profiling.status().getBody().state());
+
+        assertEquals(3, bookingService.searchAvailableSlots(new SearchSlotsRequest("jfr-alice", date)).size());
+        assertNotNull(bookingService.bookAppointment(new BookRequest("jfr-alice", date, LocalTime.of(9, 0), "Bob", null)));
+        assertNull(bookingService.bookAppointment(new BookRequest("jfr-alice", date, LocalTime.of(9, 0), "Carol", null)));
+
+        Path copy = Files.createTempFile("profiling-test-", ".jfr");
+        try {
+            ResponseEntity<StreamingResponseBody> stopped = profiling.stop();
+            assertEquals(HttpStatus.OK, stopped.getStatusCode());
+            try (OutputStream out = Files.newOutputStream(copy)) {
+                stopped.getBody().writeTo(out);
+            }
+            List<RecordedEvent> events = RecordingFile.readAllEvents(copy);
+
+            RecordedEvent search = only(events, "com.accoladehq.calendar.SlotSearch");
+            assertEquals("jfr-alice", search.getString("username"));
+            assertEquals(date.toString(), search.getString("date"));
+            assertEquals(3, search.getInt("slots"));
+
+            List<String> outcomes = of(events, "com.accoladehq.calendar.Booking").stream()
+                    .map(e -> e.getString("outcome")).toList();
+            assertEquals(List.of("BOOKED", "UNAVAILABLE"), outcomes);
+
+            RecordedEvent generation = only(events, "com.accoladehq.calendar.SlotGeneration");
+            assertEquals("09:00-12:00", generation.getString("window"));
+
+            assertTrue(of(events, "com.accoladehq.calendar.RepositoryCall").stream().anyMatch(e ->
+                    "CalendarOwnerRepository".equals(e.getString("repository"))
+                            && "findByUsername".equals(e.getString("method"))
+                            && "jfr-alice".equals(e.getString("username"))));
+            assertTrue(of(events, "com.accoladehq.calendar.RepositoryCall").stream().anyMatch(e ->
+                    "AppointmentRepository".equals(e.getString("repository"))
+                            && date.toString().equals(e.getString("date"))));
+        } finally {
+            Files.deleteIfExists(copy);
+        }
+
+        assertEquals("NONE", profiling.status().getBody().state());
+        assertEquals(HttpStatus.NOT_FOUND, profiling.stop().getStatusCode());
+    }
+
+    private static List<RecordedEvent> of(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = of(events, name);
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
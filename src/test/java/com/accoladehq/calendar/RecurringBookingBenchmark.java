@@ -0,0 +1,91 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.dto.RecurringBookRequest;
+import com.accoladehq.calendar.dto.RecurringBookingResult;
+import com.accoladehq.calendar.service.BookingService;
+
+/**
+ * Compares booking a 12-week series one occurrence at a time (search + duplicate
+ * check per call) against the batched {@link BookingService#bookRecurring} path.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=RecurringBookingBenchmark}; tune with
+ * {@code -Dbench.series=<n>}.
+ * </p>
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class RecurringBookingBenchmark {
+
+    private static final int OCCURRENCES = 12;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void oneByOneVersusBatchedSeries() {
+        int series = Integer.getInteger("bench.series", 200);
+        int warmup = Math.max(10, series / 10);
+
+        run("warmup-single", warmup, this::bookOneByOne);
+        run("warmup-batch", warmup, this::bookBatched);
+
+        double single = run("single", series, this::bookOneByOne);
+        double batch = run("batch", series, this::bookBatched);
+
+        System.out.printf("%nRecurring series of %d occurrences, %d series per path%n", OCCURRENCES, series);
+        System.out.printf("  one-by-one : %8.1f us/series%n", single);
+        System.out.printf("  batched    : %8.1f us/series%n", batch);
+        System.out.printf("  speedup    : %8.2fx%n", single / batch);
+    }
+
+    private double run(String label, int count, SeriesBooker booker) {
+        for (int i = 0; i < count; i++) {
+            createOwner(label + "-" + i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            booker.book(label + "-" + i);
+        }
+        return (System.nanoTime() - start) / 1_000.0 / count;
+    }
+
+    private void createOwner(String username) {
+        bookingService.upsertOwnerIfNotExists(username, username);
+        bookingService.addAvailability(new AvailabilityRequest(username, LocalTime.of(8, 0), LocalTime.of(18, 0)));
+    }
+
+    private void bookOneByOne(String username) {
+        LocalDate first = LocalDate.now().plusDays(1);
+        for (int week = 0; week < OCCURRENCES; week++) {
+            BookRequest req = new BookRequest(username, first.plusWeeks(week), LocalTime.of(10, 0), "Bench", null);
+            assertNotNull(bookingService.bookAppointment(req));
+        }
+    }
+
+    private void bookBatched(String username) {
+        RecurringBookRequest req = new RecurringBookRequest();
+        req.setUsername(username);
+        req.setStartDate(LocalDate.now().plusDays(1));
+        req.setStartTime(LocalTime.of(10, 0));
+        req.setOccurrences(OCCURRENCES);
+        req.setInviteeName("Bench");
+        RecurringBookingResult result = bookingService.bookRecurring(req);
+        assertEquals(OCCURRENCES, result.getBooked().size());
+    }
+
+    @FunctionalInterface
+    private interface SeriesBooker {
+        void book(String username);
+    }
+}
@@ -0,0 +1,152 @@
+package com.accoladehq.calendar;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.dto.SearchSlotsRequest;
+import com.accoladehq.calendar.service.BookingService;
+import com.accoladehq.calendar.version.OwnerDateVersions;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Latency of the main read and write paths as the appointment table grows, on
+ * synthetic tenants from {@link ScaleDataGenerator}.
+ * <p>
+ * The owners and their rules are loaded once; for each step the appointment
+ * table is emptied and refilled with that many appointments, spread over the
+ * half year before and after today. Requests pick owners with the same Zipf skew
+ * as the data, so the busiest owners get the most traffic, and future dates at
+ * random. Reported per step: p50 and p99 of {@code searchAvailableSlots},
+ * {@code bookAppointment} (clashes included, as fully booked owners are part of
+ * the picture) and {@code listUpcoming}, with the share of calls that found free
+ * slots, booked, or listed anything.
+ * </p>
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=ScaleBenchmark}; tune with
+ * {@code -Dbench.owners=<n>}, {@code -Dbench.steps=<n>,<n>,...},
+ * {@code -Dbench.zipf=<s>}, {@code -Dbench.seed=<n>} and {@code -Dbench.ops=<n>}.
+ * H2 holds every row and index on the heap: tens of millions of appointments
+ * need a heap of several GB ({@code -DargLine=-Xmx8g}).
+ * </p>
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "calendar.archive.enabled=false",
+        "logging.level.com.accoladehq.calendar.engine.BookingEngine=error"})
+class ScaleBenchmark {
+
+    private static final String PREFIX = "scale-";
+
+    /** Days of appointments before and after today. */
+    private static final int HALF_RANGE_DAYS = 182;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OwnerDateVersions versions;
+
+    @Test
+    void latencyAsDataGrows() {
+        int ownerCount = Integer.getInteger("bench.owners", 20_000);
+        long[] steps = Arrays.stream(System.getProperty("bench.steps", "100000,300000,1000000").split(","))
+                .mapToLong(s -> Long.parseLong(s.trim())).toArray();
+        double zipf = Double.parseDouble(System.getProperty("bench.zipf", "1.0"));
+        long seed = Long.getLong("bench.seed", 42);
+        int ops = Integer.getInteger("bench.ops", 2_000);
+
+        LocalDate today = LocalDate.now();
+        ScaleDataGenerator generator = new ScaleDataGenerator(seed, PREFIX, ownerCount, zipf,
+                today.minusDays(HALF_RANGE_DAYS), 2 * HALF_RANGE_DAYS + 1);
+        long started = System.nanoTime();
+        long[] ownerIds = generator.loadOwners(jdbcTemplate);
+        System.out.printf("%nScale: %d owners (Zipf s=%.2f, seed %d) loaded in %d ms; %d requests per operation%n",
+                ownerCount, zipf, seed, (System.nanoTime() - started) / 1_000_000, ops);
+
+        for (long step : steps) {
+            jdbcTemplate.execute("TRUNCATE TABLE appointment");
+            started = System.nanoTime();
+            long loaded = generator.loadAppointments(jdbcTemplate, ownerIds, step);
+            long loadMs = (System.nanoTime() - started) / 1_000_000;
+            // The rows bypassed JPA: drop cached entities and every cached search
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+            generator.owners().forEach(o -> versions.bumpOwner(o.username()));
+
+            int[] counts = generator.counts(step);
+            long[] cumulative = new long[counts.length];
+            long sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                sum += counts[i];
+                cumulative[i] = sum;
+            }
+            System.out.printf("%n  %,d appointments loaded in %,d ms (%,.0f rows/s); busiest owner holds %,d%n",
+                    loaded, loadMs, loaded / Math.max(loadMs / 1e3, 1e-3), counts[0]);
+
+            SplittableRandom random = new SplittableRandom(seed + step);
+            measure("searchAvailableSlots", ops, random, cumulative, owner -> !bookingService.searchAvailableSlots(
+                    new SearchSlotsRequest(PREFIX + owner, today.plusDays(random.nextInt(HALF_RANGE_DAYS)))).isEmpty());
+            measure("bookAppointment", ops, random, cumulative, owner -> {
+                int[] hours = generator.owners().get(owner).hours();
+                BookRequest req = new BookRequest(PREFIX + owner, today.plusDays(1 + random.nextInt(HALF_RANGE_DAYS - 1)),
+                        LocalTime.of(hours[random.nextInt(hours.length)], 0), "Scale", null);
+                return bookingService.bookAppointment(req) != null;
+            });
+            measure("listUpcoming", ops, random, cumulative, owner -> !bookingService.listUpcoming(PREFIX + owner).isEmpty());
+        }
+    }
+
+    /**
+     * Runs an operation against owners drawn by popularity, first as a warm-up,
+     * then timed, and prints its percentiles.
+     */
+    private static void measure(String name, int ops, SplittableRandom random, long[] cumulative, IntPredicate op) {
+        for (int i = 0; i < ops / 2; i++) {
+            op.test(pickOwner(random, cumulative));
+        }
+        long[] nanos = new long[ops];
+        int succeeded = 0;
+        for (int i = 0; i < ops; i++) {
+            int owner = pickOwner(random, cumulative);
+            long start = System.nanoTime();
+            if (op.test(owner)) {
+                succeeded++;
+            }
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("    %-22s p50 %8.3f ms   p99 %8.3f ms   max %8.3f ms   (%d%% succeeded)%n", name,
+                nanos[ops / 2] / 1e6, nanos[(int) (ops * 0.99)] / 1e6, nanos[ops - 1] / 1e6, 100 * succeeded / ops);
+    }
+
+    /** Draws an owner with probability proportional to its share of the appointments. */
+    private static int pickOwner(SplittableRandom random, long[] cumulative) {
+        long target = random.nextLong(cumulative[cumulative.length - 1]);
+        // The first owner whose cumulative count passes the target; owners without appointments are never drawn
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] > target) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,265 @@
+package com.accoladehq.calendar;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Deterministic synthetic tenants: owners, availability rules and appointments
+ * with realistic skew, bulk-loaded through JDBC batches.
+ * <p>
+ * Owner popularity follows a Zipf distribution: the owner of rank {@code k} gets
+ * a share of the appointments proportional to {@code 1 / k^s}. An owner can never
+ * hold more appointments than its availability offers over the day range, so the
+ * most popular owners are fully booked and their overflow goes to the next ranks,
+ * as it does in production. Every choice comes from one seeded
+ * {@link SplittableRandom}, so the same seed and sizes always produce the same rows.
+ * </p>
+ * <p>
+ * Owners get one of a few typical availability patterns. Each owner's
+ * appointments are picked by selection sampling over its free slots, in date and
+ * time order, so they are unique per slot without any lookups.
+ * </p>
+ */
+final class ScaleDataGenerator {
+
+    /** Rows per JDBC batch and per commit. */
+    private static final int BATCH_SIZE = 5_000;
+
+    /** Must match the allocation size of {@code appointment_seq} on {@code Appointment}. */
+    private static final int APPOINTMENT_ID_ALLOCATION = 50;
+
+    /** Availability patterns, as pairs of start and end hours. */
+    private static final int[][] PATTERNS = {
+        {9, 17},
+        {8, 12, 13, 17},
+        {10, 16},
+        {7, 19},
+    };
+
+    /**
+     * A generated owner.
+     *
+     * @param username the username
+     * @param pattern  the index of its availability pattern
+     * @param hours    the start hours of its slots, ascending
+     */
+    record Owner(String username, int pattern, int[] hours) {
+    }
+
+    /** Receives generated appointments. */
+    @FunctionalInterface
+    interface AppointmentSink {
+
+        void accept(int owner, LocalDate date, int hour);
+    }
+
+    private final long seed;
+
+    private final String prefix;
+
+    private final LocalDate firstDay;
+
+    private final int days;
+
+    private final double zipfExponent;
+
+    private final List<Owner> owners;
+
+    /**
+     * Creates a generator; nothing is generated until asked for.
+     *
+     * @param seed         the random seed
+     * @param prefix       prefix of the generated usernames
+     * @param owners       the number of owners
+     * @param zipfExponent the Zipf exponent {@code s}; 0 spreads appointments evenly
+     * @param firstDay     the first day appointments are placed on
+     * @param days         the number of days appointments are spread over
+     */
+    ScaleDataGenerator(long seed, String prefix, int owners, double zipfExponent, LocalDate firstDay, int days) {
+        this.seed = seed;
+        this.prefix = prefix;
+        this.firstDay = firstDay;
+        this.days = days;
+        this.zipfExponent = zipfExponent;
+        SplittableRandom random = new SplittableRandom(seed);
+        this.owners = new ArrayList<>(owners);
+        for (int i = 0; i < owners; i++) {
+            int pattern = random.nextInt(PATTERNS.length);
+            this.owners.add(new Owner(prefix + i, pattern, hours(PATTERNS[pattern])));
+        }
+    }
+
+    /**
+     * Returns the owners, most popular first.
+     *
+     * @return the owners in rank order
+     */
+    List<Owner> owners() {
+        return owners;
+    }
+
+    /**
+     * Splits a number of appointments over the owners by popularity, capped at
+     * each owner's capacity with the overflow passed down the ranks.
+     *
+     * @param total the number of appointments wanted
+     * @return appointments per owner in rank order; they sum to less than
+     *         {@code total} only if every owner is full
+     */
+    int[] counts(long total) {
+        double[] weights = new double[owners.size()];
+        double remainingWeight = 0;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 1 / Math.pow(i + 1, zipfExponent);
+            remainingWeight += weights[i];
+        }
+        int[] counts = new int[weights.length];
+        long remaining = total;
+        // Weights only decrease with rank, so one pass fills every capped owner first
+        for (int i = 0; i < counts.length && remaining > 0; i++) {
+            long share = Math.round(remaining * weights[i] / remainingWeight);
+            counts[i] = (int) Math.min(share, capacity(i));
+            remaining -= counts[i];
+            remainingWeight -= weights[i];
+        }
+        return counts;
+    }
+
+    /**
+     * Generates the appointments, owner by owner in rank order and in date and
+     * time order within an owner.
+     *
+     * @param total the number of appointments wanted
+     * @param sink  receives every appointment
+     * @return the number of appointments generated
+     */
+    long appointments(long total, AppointmentSink sink) {
+        int[] counts = counts(total);
+        // A stream of its own, so that the rows do not depend on how owners were drawn
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        long generated = 0;
+        for (int o = 0; o < counts.length; o++) {
+            int[] hours = owners.get(o).hours();
+            long slots = capacity(o);
+            long needed = counts[o];
+            // Knuth's selection sampling: each slot is taken with probability needed / left
+            for (long slot = 0; slot < slots && needed > 0; slot++) {
+                if (random.nextLong(slots - slot) < needed) {
+                    sink.accept(o, firstDay.plusDays(slot / hours.length), hours[(int) (slot % hours.length)]);
+                    needed--;
+                }
+            }
+            generated += counts[o];
+        }
+        return generated;
+    }
+
+    /**
+     * Inserts the owners and their availability rules.
+     *
+     * @param jdbcTemplate JDBC access to the database
+     * @return the database id of every owner, in rank order
+     */
+    long[] loadOwners(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.batchUpdate("INSERT INTO calendar_owner (username, display_name) VALUES (?, ?)", owners, BATCH_SIZE,
+                (ps, o) -> {
+                    ps.setString(1, o.username());
+                    ps.setString(2, "Owner " + o.username().substring(prefix.length()));
+                });
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, username FROM calendar_owner WHERE username LIKE ?", rs -> {
+            ids.put(rs.getString(2), rs.getLong(1));
+        }, prefix + "%");
+        long[] ownerIds = owners.stream().mapToLong(o -> ids.get(o.username())).toArray();
+
+        List<Object[]> rules = new ArrayList<>();
+        for (int o = 0; o < owners.size(); o++) {
+            int[] pattern = PATTERNS[owners.get(o).pattern()];
+            for (int w = 0; w < pattern.length; w += 2) {
+                rules.add(new Object[] {ownerIds[o], LocalTime.of(pattern[w], 0), LocalTime.of(pattern[w + 1], 0)});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO availability_rule (owner_id, start_time, end_time) VALUES (?, ?, ?)", rules);
+        return ownerIds;
+    }
+
+    /**
+     * Inserts appointments for owners loaded by {@link #loadOwners}, with ids past
+     * any the application has handed out, and moves the id sequence past them.
+     *
+     * @param jdbcTemplate JDBC access to the database
+     * @param ownerIds     the ids returned by {@link #loadOwners}
+     * @param total        the number of appointments wanted
+     * @return the number of appointments inserted
+     */
+    long loadAppointments(JdbcTemplate jdbcTemplate, long[] ownerIds, long total) {
+        Long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR appointment_seq", Long.class);
+        long firstId = next + APPOINTMENT_ID_ALLOCATION;
+        long inserted = jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            boolean autoCommit = con.getAutoCommit();
+            // Auto-commit would commit every row of a batch on its own
+            con.setAutoCommit(false);
+            try (PreparedStatement ps = con.prepareStatement("INSERT INTO appointment "
+                    + "(id, owner_id, date, start_time, end_time, invitee_name, invitee_email) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                long[] id = {firstId};
+                int[] pending = {0};
+                long count = appointments(total, (owner, date, hour) -> {
+                    try {
+                        ps.setLong(1, id[0]);
+                        ps.setLong(2, ownerIds[owner]);
+                        ps.setObject(3, date);
+                        ps.setObject(4, LocalTime.of(hour, 0));
+                        ps.setObject(5, LocalTime.of(hour + 1, 0));
+                        ps.setString(6, "Invitee " + id[0]);
+                        ps.setString(7, "invitee" + id[0] + "@example.com");
+                        ps.addBatch();
+                        id[0]++;
+                        if (++pending[0] == BATCH_SIZE) {
+                            ps.executeBatch();
+                            con.commit();
+                            pending[0] = 0;
+                        }
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                if (pending[0] > 0) {
+                    ps.executeBatch();
+                    con.commit();
+                }
+                return count;
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+        });
+        // The pooled optimizer hands out the block ending at the value it reads
+        jdbcTemplate.execute("ALTER SEQUENCE appointment_seq RESTART WITH "
+                + (firstId + inserted + APPOINTMENT_ID_ALLOCATION));
+        return inserted;
+    }
+
+    /** The number of slots an owner offers over the day range. */
+    private long capacity(int owner) {
+        return (long) owners.get(owner).hours().length * days;
+    }
+
+    private static int[] hours(int[] pattern) {
+        List<Integer> hours = new ArrayList<>();
+        for (int w = 0; w < pattern.length; w += 2) {
+            for (int h = pattern[w]; h < pattern[w + 1]; h++) {
+                hours.add(h);
+            }
+        }
+        return hours.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,68 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class ScaleDataGeneratorTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+
+    @Test
+    void testSameSeedGivesSameRows() {
+        assertEquals(rows(new ScaleDataGenerator(7, "o", 50, 1.0, FIRST_DAY, 30), 2_000),
+                rows(new ScaleDataGenerator(7, "o", 50, 1.0, FIRST_DAY, 30), 2_000));
+        assertNotEquals(rows(new ScaleDataGenerator(7, "o", 50, 1.0, FIRST_DAY, 30), 2_000),
+                rows(new ScaleDataGenerator(8, "o", 50, 1.0, FIRST_DAY, 30), 2_000));
+    }
+
+    @Test
+    void testPopularOwnersFillUpAndPassTheRestDown() {
+        ScaleDataGenerator generator = new ScaleDataGenerator(1, "o", 1_000, 1.0, FIRST_DAY, 10);
+        int[] counts = generator.counts(20_000);
+        assertEquals(20_000, Arrays.stream(counts).sum());
+        // The top ranks are capped at everything their availability offers
+        assertEquals(generator.owners().get(0).hours().length * 10, counts[0]);
+        for (int i = 1; i < counts.length; i++) {
+            assertTrue(counts[i] <= generator.owners().get(i).hours().length * 10);
+        }
+        // Below the capped ranks, shares follow 1/k
+        assertTrue(counts[99] > counts[999] * 5, counts[99] + " vs " + counts[999]);
+        // More than every owner can hold is cut to the total capacity
+        int capacity = generator.owners().stream().mapToInt(o -> o.hours().length * 10).sum();
+        assertEquals(capacity, Arrays.stream(generator.counts(10L * capacity)).sum());
+    }
+
+    @Test
+    void testAppointmentsAreUniqueOrderedAndWithinAvailability() {
+        ScaleDataGenerator generator = new ScaleDataGenerator(3, "o", 20, 1.2, FIRST_DAY, 14);
+        int[] counts = generator.counts(1_000);
+        Set<String> seen = new HashSet<>();
+        int[] perOwner = new int[20];
+        long[] last = {Long.MIN_VALUE};
+        long generated = generator.appointments(1_000, (owner, date, hour) -> {
+            assertTrue(seen.add(owner + " " + date + " " + hour));
+            assertTrue(Arrays.stream(generator.owners().get(owner).hours()).anyMatch(h -> h == hour));
+            assertFalse(date.isBefore(FIRST_DAY) || !date.isBefore(FIRST_DAY.plusDays(14)));
+            long key = ((long) owner << 32) | (date.toEpochDay() * 24 + hour);
+            assertTrue(key > last[0]);
+            last[0] = key;
+            perOwner[owner]++;
+        });
+        assertEquals(1_000, generated);
+        assertArrayEquals(counts, perOwner);
+    }
+
+    private static List<String> rows(ScaleDataGenerator generator, long total) {
+        List<String> rows = new ArrayList<>();
+        generator.appointments(total, (owner, date, hour) -> rows.add(owner + " " + date + " " + hour));
+        return rows;
+    }
+}
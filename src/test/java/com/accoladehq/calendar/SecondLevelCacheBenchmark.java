@@ -0,0 +1,81 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.accoladehq.calendar.cache.SlotSearchCache;
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.SearchSlotsRequest;
+import com.accoladehq.calendar.service.BookingService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Compares slot search latency with the second-level and query caches emptied before
+ * every search (the behaviour without caching) against a warm cache.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=SecondLevelCacheBenchmark}; tune with
+ * {@code -Dbench.searches=<n>}.
+ * </p>
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class SecondLevelCacheBenchmark {
+
+    private static final int OWNERS = 100;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SlotSearchCache searchCache;
+
+    @Test
+    void coldVersusWarmSearch() {
+        int searches = Integer.getInteger("bench.searches", 20_000);
+        for (int i = 0; i < OWNERS; i++) {
+            String username = "l2-bench-" + i;
+            bookingService.upsertOwnerIfNotExists(username, username);
+            bookingService.addAvailability(new AvailabilityRequest(username, LocalTime.of(8, 0), LocalTime.of(12, 0)));
+            bookingService.addAvailability(new AvailabilityRequest(username, LocalTime.of(13, 0), LocalTime.of(18, 0)));
+        }
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        LocalDate date = LocalDate.now().plusDays(1);
+
+        run(searches / 5, date, cache, true);
+        run(searches / 5, date, cache, false);
+        double cold = run(searches, date, cache, true);
+        double warm = run(searches, date, cache, false);
+
+        System.out.printf("%nSlot search over %d owners, %d searches per mode%n", OWNERS, searches);
+        System.out.printf("  uncached : %8.1f us/search%n", cold);
+        System.out.printf("  cached   : %8.1f us/search%n", warm);
+        System.out.printf("  speedup  : %8.2fx%n", cold / warm);
+    }
+
+    private double run(int count, LocalDate date, Cache cache, boolean evict) {
+        long elapsed = 0;
+        for (int i = 0; i < count; i++) {
+            // Always bypass the result cache; this measures the entity and query caches only
+            searchCache.clear();
+            if (evict) {
+                cache.evictAllRegions();
+            }
+            long start = System.nanoTime();
+            int slots = bookingService.searchAvailableSlots(new SearchSlotsRequest("l2-bench-" + (i % OWNERS), date)).size();
+            elapsed += System.nanoTime() - start;
+            assertEquals(9, slots);
+        }
+        return elapsed / 1_000.0 / count;
+    }
+}
@@ -0,0 +1,97 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.accoladehq.calendar.cache.SlotSearchCache;
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.SearchSlotsRequest;
+import com.accoladehq.calendar.dto.SlotDto;
+import com.accoladehq.calendar.service.BookingService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SlotSearchCache searchCache;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testRepeatedSearchOnlyQueriesAppointments() {
+        bookingService.upsertOwnerIfNotExists("cache-owner", "Cache Owner");
+        bookingService.addAvailability(new AvailabilityRequest("cache-owner", LocalTime.of(9, 0), LocalTime.of(12, 0)));
+        SearchSlotsRequest req = new SearchSlotsRequest("cache-owner", LocalDate.now().plusDays(1));
+        bookingService.searchAvailableSlots(req);
+
+        // Bypass the result cache so the search reaches Hibernate
+        searchCache.clear();
+        long statements = statistics.getPrepareStatementCount();
+        long hits = statistics.getQueryCacheHitCount();
+        assertEquals(3, bookingService.searchAvailableSlots(req).size());
+
+        // Owner and rules come from the cache; only the appointments query reaches H2
+        assertEquals(1, statistics.getPrepareStatementCount() - statements);
+        assertEquals(2, statistics.getQueryCacheHitCount() - hits);
+    }
+
+    @Test
+    void testAvailabilityChangesInvalidateCachedRules() {
+        bookingService.upsertOwnerIfNotExists("cache-changes", "Cache Changes");
+        bookingService.addAvailability(new AvailabilityRequest("cache-changes", LocalTime.of(9, 0), LocalTime.of(11, 0)));
+        SearchSlotsRequest req = new SearchSlotsRequest("cache-changes", LocalDate.now().plusDays(1));
+        assertEquals(List.of(9, 10), startHours(bookingService.searchAvailableSlots(req)));
+
+        bookingService.addAvailability(new AvailabilityRequest("cache-changes", LocalTime.of(14, 0), LocalTime.of(15, 0)));
+        assertEquals(List.of(9, 10, 14), startHours(bookingService.searchAvailableSlots(req)));
+
+        // deleteByOwner path
+        bookingService.removeAvailability(new AvailabilityRequest("cache-changes", LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        assertEquals(List.of(10, 14), startHours(bookingService.searchAvailableSlots(req)));
+
+        AvailabilityRequest replace = new AvailabilityRequest("cache-changes", LocalTime.of(16, 0), LocalTime.of(17, 0));
+        replace.setReplace(true);
+        bookingService.addAvailability(replace);
+        assertEquals(List.of(16), startHours(bookingService.searchAvailableSlots(req)));
+    }
+
+    @Test
+    void testCacheStatisticsAreExported() {
+        bookingService.upsertOwnerIfNotExists("cache-metrics", "Cache Metrics");
+        bookingService.searchAvailableSlots(new SearchSlotsRequest("cache-metrics", LocalDate.now().plusDays(1)));
+
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests").tag("region", "owners").meter());
+        assertNotNull(meterRegistry.find("hibernate.cache.query.requests").meter());
+    }
+
+    private static List<Integer> startHours(List<SlotDto> slots) {
+        return slots.stream().map(s -> s.getStart().getHour()).toList();
+    }
+}
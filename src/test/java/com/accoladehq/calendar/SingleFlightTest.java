@@ -0,0 +1,123 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.accoladehq.calendar.cache.SingleFlight;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, Integer> flight = new SingleFlight<>();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentCallersShareOneComputation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> flight.execute("k", () -> {
+                runs.incrementAndGet();
+                await(release);
+                return 42;
+            })));
+        }
+        awaitInFlight();
+        Thread.sleep(50);
+        release.countDown();
+
+        for (Future<Integer> result : results) {
+            assertEquals(42, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, runs.get());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void testErrorReachesAllWaitersAndIsNotRemembered() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Integer> leader = executor.submit(() -> flight.execute("k", () -> {
+            await(release);
+            throw new IllegalStateException("database unavailable");
+        }));
+        awaitInFlight();
+        Future<Integer> follower = executor.submit(() -> flight.execute("k", () -> 0));
+        Thread.sleep(50);
+        release.countDown();
+
+        assertInstanceOf(IllegalStateException.class, assertThrows(Exception.class, () -> leader.get()).getCause());
+        assertEquals("database unavailable", assertThrows(Exception.class, () -> follower.get()).getCause().getMessage());
+        assertEquals(7, flight.execute("k", () -> 7));
+    }
+
+    @Test
+    void testInterruptedWaiterIsCancelledWithoutAffectingOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Integer> leader = executor.submit(() -> flight.execute("k", () -> {
+            await(release);
+            return 1;
+        }));
+        awaitInFlight();
+
+        AtomicReference<Throwable> waiterError = new AtomicReference<>();
+        AtomicReference<Boolean> interrupted = new AtomicReference<>();
+        Thread waiter = new Thread(() -> {
+            try {
+                flight.execute("k", () -> 2);
+            } catch (Throwable t) {
+                waiterError.set(t);
+                interrupted.set(Thread.currentThread().isInterrupted());
+            }
+        });
+        waiter.start();
+        Thread.sleep(50);
+        waiter.interrupt();
+        waiter.join(5_000);
+
+        assertInstanceOf(CancellationException.class, waiterError.get());
+        assertTrue(interrupted.get());
+        release.countDown();
+        assertEquals(1, leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testDifferentKeysRunIndependently() {
+        assertEquals(1, flight.execute("a", () -> 1));
+        assertEquals(2, flight.execute("b", () -> 2));
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (flight.inFlight() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.accoladehq.calendar.slots.SlotBitmaps;
+
+class SlotBitmapsTest {
+
+    @Test
+    void testWindowCoversWholeSlotsOnly() {
+        int mask = SlotBitmaps.window(LocalTime.of(9, 0), LocalTime.of(12, 0));
+
+        assertEquals((1 << 9) | (1 << 10) | (1 << 11), mask);
+        assertEquals(0, SlotBitmaps.window(LocalTime.of(10, 0), LocalTime.of(10, 0)));
+    }
+
+    @Test
+    void testStartedByIncludesCurrentHour() {
+        int started = SlotBitmaps.startedBy(LocalTime.of(10, 30));
+
+        assertNotEquals(0, started & SlotBitmaps.bit(LocalTime.of(10, 0)));
+        assertEquals(0, started & SlotBitmaps.bit(LocalTime.of(11, 0)));
+        assertEquals(-1, SlotBitmaps.startedBy(LocalTime.of(23, 5)));
+    }
+
+    @Test
+    void testBitIgnoresUnalignedTimes() {
+        assertEquals(0, SlotBitmaps.bit(LocalTime.of(10, 30)));
+        assertEquals(1 << 10, SlotBitmaps.bit(LocalTime.of(10, 0)));
+    }
+}
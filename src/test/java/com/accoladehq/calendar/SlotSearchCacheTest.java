@@ -0,0 +1,134 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.accoladehq.calendar.cache.SlotSearchCache;
+import com.accoladehq.calendar.dto.SlotDto;
+import com.accoladehq.calendar.version.OwnerDateVersions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SlotSearchCacheTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 3, 4);
+
+    private final OwnerDateVersions versions = new OwnerDateVersions();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private SlotSearchCache cache;
+
+    @BeforeEach
+    void setup() {
+        // 10:30 on TODAY; the ticker drives expiry
+        Clock clock = Clock.fixed(LocalDateTime.of(TODAY, LocalTime.of(10, 30)).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        cache = new SlotSearchCache(versions, registry, 1000, true, clock, nanos::get);
+    }
+
+    @Test
+    void testHitUntilVersionChanges() {
+        LocalDate tomorrow = TODAY.plusDays(1);
+        assertEquals(1, get("john", tomorrow).size());
+        get("john", tomorrow);
+        assertEquals(1, loads.get());
+
+        versions.bumpDate("jane", tomorrow);
+        versions.bumpDate("john", TODAY);
+        get("john", tomorrow);
+        assertEquals(1, loads.get());
+
+        versions.bumpDate("john", tomorrow);
+        get("john", tomorrow);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testOwnerChangeEvictsAllDates() {
+        get("john", TODAY.plusDays(1));
+        get("john", TODAY.plusDays(2));
+        get("jane", TODAY.plusDays(1));
+
+        versions.bumpOwner("john");
+
+        assertEquals(1, cache.size());
+        get("john", TODAY.plusDays(1));
+        get("jane", TODAY.plusDays(1));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testChangeDuringLoadLeavesEntryStale() {
+        LocalDate date = TODAY.plusDays(1);
+        cache.get("john", date, () -> {
+            versions.bumpDate("john", date);
+            return List.of();
+        });
+
+        get("john", date);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, registry.get("calendar.search.cache.stale").counter().count());
+    }
+
+    @Test
+    void testTodayExpiresAtNextSlotStart() {
+        get("john", TODAY);
+        get("john", TODAY.plusDays(1));
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(29));
+        get("john", TODAY);
+        assertEquals(2, loads.get());
+
+        // 11:00 has started: today's result must be recomputed, tomorrow's is still valid
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        get("john", TODAY);
+        get("john", TODAY.plusDays(1));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testLoaderFailureIsNotCached() {
+        LocalDate date = TODAY.plusDays(1);
+        assertThrows(IllegalStateException.class, () -> cache.get("john", date, () -> {
+            throw new IllegalStateException("database unavailable");
+        }));
+
+        assertEquals(1, get("john", date).size());
+    }
+
+    @Test
+    void testStatisticsAreExported() {
+        LocalDate date = TODAY.plusDays(1);
+        get("john", date);
+        get("john", date);
+        get("john", date);
+
+        assertEquals(2.0, registry.get("cache.gets").tag("cache", SlotSearchCache.NAME).tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(2.0 / 3, registry.get("calendar.search.cache.hit.ratio").gauge().value(), 1e-9);
+        assertNotNull(registry.find("cache.evictions").tag("cache", SlotSearchCache.NAME).meter());
+    }
+
+    private List<SlotDto> get(String username, LocalDate date) {
+        return cache.get(username, date, () -> {
+            loads.incrementAndGet();
+            return List.of(new SlotDto(date, LocalTime.of(12, 0), LocalTime.of(13, 0)));
+        });
+    }
+}
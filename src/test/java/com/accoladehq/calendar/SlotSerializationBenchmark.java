@@ -0,0 +1,76 @@
+package com.accoladehq.calendar;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.accoladehq.calendar.dto.CompactSlotsDto;
+import com.accoladehq.calendar.dto.SlotDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Measures serialization cost and payload size of slot search responses:
+ * the current {@code List<SlotDto>} JSON against the compact columnar form
+ * rendered as JSON and as CBOR.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=SlotSerializationBenchmark}.
+ * </p>
+ */
+class SlotSerializationBenchmark {
+
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 20_000);
+
+    private final ObjectMapper json = JsonMapper.builder().findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    private final ObjectMapper cbor = CBORMapper.builder().findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    @Test
+    void serializationCostAndPayloadSize() throws Exception {
+        System.out.printf("%n%-6s %-14s %10s %12s%n", "days", "format", "bytes", "ns/op");
+        for (int days : new int[] {1, 7, 31}) {
+            List<SlotDto> slots = slots(days, 10);
+
+            measure(days, "json", () -> json.writeValueAsBytes(slots));
+            measure(days, "compact-json", () -> json.writeValueAsBytes(CompactSlotsDto.from(slots, 60)));
+            measure(days, "compact-cbor", () -> cbor.writeValueAsBytes(CompactSlotsDto.from(slots, 60)));
+        }
+    }
+
+    private void measure(int days, String format, Serializer serializer) throws Exception {
+        long bytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            bytes += serializer.serialize().length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            bytes += serializer.serialize().length;
+        }
+        long nanos = (System.nanoTime() - start) / ITERATIONS;
+        System.out.printf("%-6d %-14s %10d %12d%n", days, format, bytes / (2L * ITERATIONS), nanos);
+    }
+
+    private static List<SlotDto> slots(int days, int perDay) {
+        List<SlotDto> slots = new ArrayList<>(days * perDay);
+        LocalDate first = LocalDate.now().plusDays(1);
+        for (int d = 0; d < days; d++) {
+            for (int h = 0; h < perDay; h++) {
+                LocalTime start = LocalTime.of(8 + h, 0);
+                slots.add(new SlotDto(first.plusDays(d), start, start.plusHours(1)));
+            }
+        }
+        return slots;
+    }
+
+    @FunctionalInterface
+    private interface Serializer {
+        byte[] serialize() throws Exception;
+    }
+}
@@ -0,0 +1,99 @@
+package com.accoladehq.calendar;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.accoladehq.calendar.journal.BookingJournal;
+import com.accoladehq.calendar.journal.JournalRecord;
+import com.accoladehq.calendar.snapshot.SnapshotWriter;
+
+/**
+ * Time-to-ready of the application started from a snapshot, against a start
+ * with an empty journal directory, and the cost of writing the snapshot back.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=SnapshotBenchmark}; size the
+ * snapshot with {@code -Dbench.appointments=<n>} (100 appointments per owner).
+ * Keep the heap in mind: H2 holds every row and index in memory.
+ * </p>
+ */
+class SnapshotBenchmark {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void timeToReady() throws Exception {
+        int appointments = Integer.getInteger("bench.appointments", 1_000_000);
+        int owners = Math.max(1, appointments / 100);
+
+        Path emptyDir = Files.createDirectories(dir.resolve("empty"));
+        Path snapshotDir = Files.createDirectories(dir.resolve("snapshot"));
+        Path file = snapshotDir.resolve("snapshot-%020d.snap".formatted(0));
+        long started = System.nanoTime();
+        generate(file, owners, appointments);
+        System.out.printf("%nSnapshot of %d owners and %d appointments: %.1f MB, generated in %d ms%n",
+                owners, appointments, Files.size(file) / 1e6, (System.nanoTime() - started) / 1_000_000);
+
+        try (ConfigurableApplicationContext context = start("bench_empty", emptyDir)) {
+            // Warms up class loading so that the comparison is only about the data
+        }
+        long emptyMs;
+        started = System.nanoTime();
+        try (ConfigurableApplicationContext context = start("bench_empty2", emptyDir)) {
+            emptyMs = (System.nanoTime() - started) / 1_000_000;
+        }
+        System.out.printf("  %-40s: %8d ms%n", "ready, empty journal", emptyMs);
+
+        started = System.nanoTime();
+        try (ConfigurableApplicationContext context = start("bench_snapshot", snapshotDir)) {
+            long readyMs = (System.nanoTime() - started) / 1_000_000;
+            Long loaded = context.getBean(JdbcTemplate.class).queryForObject("SELECT COUNT(*) FROM appointment", Long.class);
+            System.out.printf("  %-40s: %8d ms (%d appointments, %.0f appointments/s above the empty start)%n",
+                    "ready, from snapshot", readyMs, loaded, loaded / ((readyMs - emptyMs) / 1e3));
+
+            BookingJournal journal = context.getBean(BookingJournal.class);
+            journal.append(new JournalRecord.OwnerCreated("bench-new", "New"));
+            started = System.nanoTime();
+            journal.snapshot();
+            System.out.printf("  %-40s: %8d ms%n", "snapshot written", (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private static void generate(Path file, int owners, int appointments) throws Exception {
+        LocalDate base = LocalDate.of(2030, 1, 1);
+        try (SnapshotWriter writer = new SnapshotWriter(file, 0)) {
+            for (int o = 0; o < owners; o++) {
+                writer.owner("owner-" + o, "Owner " + o);
+            }
+            for (int o = 0; o < owners; o++) {
+                writer.rule(o, LocalTime.of(8, 0), LocalTime.of(18, 0));
+            }
+            for (int i = 0; i < appointments; i++) {
+                int k = i / owners;
+                LocalTime start = LocalTime.of(8 + k % 10, 0);
+                writer.appointment(i + 1, i % owners, base.plusDays(k / 10), start, start.plusHours(1),
+                        "Invitee " + i, "invitee" + i + "@example.com");
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String database, Path journalDir) {
+        return SpringApplication.run(CalendarBookingApiApplication.class,
+                "--spring.datasource.url=jdbc:h2:mem:" + database,
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=warn",
+                "--logging.level.com.accoladehq.calendar.snapshot=info",
+                "--calendar.journal.enabled=true",
+                "--calendar.journal.dir=" + journalDir,
+                "--calendar.journal.snapshot-on-shutdown=false");
+    }
+}
@@ -0,0 +1,95 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.accoladehq.calendar.snapshot.SnapshotReader;
+import com.accoladehq.calendar.snapshot.SnapshotWriter;
+
+class SnapshotFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testSnapshotRoundTrip() throws IOException {
+        Path file = dir.resolve("snapshot.snap");
+        LocalDate date = LocalDate.of(2030, 1, 15);
+        try (SnapshotWriter writer = new SnapshotWriter(file, 42)) {
+            int alice = writer.owner("alice", "Alice");
+            int bob = writer.owner("bob", null);
+            writer.rule(alice, LocalTime.of(9, 0), LocalTime.of(12, 0));
+            writer.rule(bob, LocalTime.of(13, 30), LocalTime.of(17, 0));
+            writer.appointment(101, alice, date, LocalTime.of(9, 0), LocalTime.of(10, 0), "Zoë", "zoe@example.com");
+            writer.appointment(7, bob, date.plusDays(1), LocalTime.of(14, 0), LocalTime.of(15, 0), "Sam", null);
+            writer.archivedAppointment(3, alice, date.minusYears(1), LocalTime.of(11, 0), LocalTime.of(12, 0), "Old", null);
+        }
+        assertFalse(Files.exists(dir.resolve("snapshot.snap.tmp")));
+
+        SnapshotReader reader = SnapshotReader.open(file);
+        assertEquals(42, reader.sequence());
+        assertEquals(List.of(new SnapshotReader.Owner("alice", "Alice"), new SnapshotReader.Owner("bob", null)),
+                reader.owners());
+        assertEquals(List.of(new SnapshotReader.Rule(0, LocalTime.of(9, 0), LocalTime.of(12, 0)),
+                new SnapshotReader.Rule(1, LocalTime.of(13, 30), LocalTime.of(17, 0))), reader.rules());
+        assertEquals(3, reader.appointmentCount());
+
+        assertTrue(reader.nextAppointment());
+        assertEquals(101, reader.id());
+        assertEquals(0, reader.owner());
+        assertEquals(date, reader.date());
+        assertEquals(LocalTime.of(9, 0), reader.startTime());
+        assertEquals(LocalTime.of(10, 0), reader.endTime());
+        assertEquals("Zoë", reader.inviteeName());
+        assertEquals("zoe@example.com", reader.inviteeEmail());
+        assertFalse(reader.archived());
+        assertTrue(reader.nextAppointment());
+        assertEquals(7, reader.id());
+        assertEquals(1, reader.owner());
+        assertEquals(LocalTime.of(14, 0), reader.startTime());
+        assertNull(reader.inviteeEmail());
+        assertFalse(reader.archived());
+        assertTrue(reader.nextAppointment());
+        assertEquals(3, reader.id());
+        assertEquals(date.minusYears(1), reader.date());
+        assertEquals("Old", reader.inviteeName());
+        assertTrue(reader.archived());
+        assertFalse(reader.nextAppointment());
+    }
+
+    @Test
+    void testDamagedSnapshotIsRejected() throws IOException {
+        Path file = dir.resolve("snapshot.snap");
+        try (SnapshotWriter writer = new SnapshotWriter(file, 1)) {
+            int alice = writer.owner("alice", "Alice");
+            writer.appointment(1, alice, LocalDate.of(2030, 1, 15), LocalTime.of(9, 0), LocalTime.of(10, 0), "Ann", null);
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(raf.length() - 20);
+            int b = raf.read();
+            raf.seek(raf.length() - 20);
+            raf.write(b ^ 0xFF);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> SnapshotReader.open(file));
+    }
+
+    @Test
+    void testOwnersCannotFollowAppointments() throws IOException {
+        try (SnapshotWriter writer = new SnapshotWriter(dir.resolve("snapshot.snap"), 1)) {
+            writer.appointment(1, writer.owner("alice", "Alice"), LocalDate.of(2030, 1, 15), LocalTime.of(9, 0),
+                    LocalTime.of(10, 0), "Ann", null);
+            assertThrows(IllegalStateException.class, () -> writer.owner("bob", "Bob"));
+        }
+    }
+}
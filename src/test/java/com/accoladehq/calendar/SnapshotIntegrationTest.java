@@ -0,0 +1,98 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.dto.SlotDto;
+import com.accoladehq.calendar.entity.Appointment;
+import com.accoladehq.calendar.service.BookingService;
+import com.accoladehq.calendar.snapshot.SnapshotReader;
+import com.accoladehq.calendar.snapshot.SnapshotStore;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:snapshot_caldb")
+class SnapshotIntegrationTest {
+
+    @TempDir
+    Path dir;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SnapshotStore snapshotStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testSnapshotRestoresAnEmptyDatabase() throws IOException {
+        LocalDate date = LocalDate.now().plusDays(1);
+        bookingService.upsertOwnerIfNotExists("snap-alice", "Alice");
+        bookingService.upsertOwnerIfNotExists("snap-bob", "Bob");
+        bookingService.addAvailability(new AvailabilityRequest("snap-alice", LocalTime.of(9, 0), LocalTime.of(12, 0)));
+        bookingService.addAvailability(new AvailabilityRequest("snap-bob", LocalTime.of(14, 0), LocalTime.of(16, 0)));
+        assertNotNull(bookingService.bookAppointment(request("snap-alice", date, 9)));
+        assertNotNull(bookingService.bookAppointment(request("snap-alice", date, 11)));
+        assertNotNull(bookingService.bookAppointment(request("snap-bob", date, 15)));
+        assertNotNull(bookingService.bookAppointment(request("snap-bob", date, 14)));
+        // Leaves a gap in the ids, which must survive the restore
+        Appointment cancelled = bookingService.listUpcoming("snap-bob").get(0);
+        assertTrue(bookingService.cancelAppointment(cancelled.getId()));
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM appointment ORDER BY id", Long.class);
+        // An archived appointment goes back into the archive
+        jdbcTemplate.update("INSERT INTO appointment_archive (id, owner_id, date, start_time, end_time, invitee_name) "
+                + "SELECT 1, id, DATE '2001-01-01', TIME '09:00:00', TIME '10:00:00', 'Old' FROM calendar_owner "
+                + "WHERE username = 'snap-alice'");
+
+        Path file = dir.resolve("calendar.snap");
+        assertEquals(4, snapshotStore.write(file, 7));
+        assertEquals(4, SnapshotReader.open(file).appointmentCount());
+
+        jdbcTemplate.update("DELETE FROM appointment_archive");
+        jdbcTemplate.update("DELETE FROM appointment");
+        jdbcTemplate.update("DELETE FROM availability_rule");
+        jdbcTemplate.update("DELETE FROM calendar_owner");
+
+        assertEquals(7, snapshotStore.load(file));
+        assertEquals(ids, jdbcTemplate.queryForList("SELECT id FROM appointment ORDER BY id", Long.class));
+        assertEquals("Old", bookingService.listHistory("snap-alice", LocalDate.of(2001, 1, 1), LocalDate.of(2001, 1, 1))
+                .get(0).inviteeName());
+
+        List<Appointment> upcoming = bookingService.listUpcoming("snap-alice");
+        assertEquals(List.of(LocalTime.of(9, 0), LocalTime.of(11, 0)),
+                upcoming.stream().map(Appointment::getStartTime).toList());
+        assertEquals(List.of(new SlotDto(date, LocalTime.of(10, 0), LocalTime.of(11, 0))),
+                bookingService.nextAvailable("snap-alice", date, 1));
+        assertEquals(1, bookingService.listUpcoming("snap-bob").size());
+
+        // Taken slots stay taken, and new bookings get ids past the loaded ones
+        assertNull(bookingService.bookAppointment(request("snap-alice", date, 9)));
+        assertNotNull(bookingService.bookAppointment(request("snap-alice", date, 10)));
+        assertNotNull(bookingService.bookAppointment(request("snap-bob", date, cancelled.getStartTime().getHour())));
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id) FROM appointment", Integer.class));
+
+        assertThrows(IllegalStateException.class, () -> snapshotStore.load(file));
+    }
+
+    private static BookRequest request(String username, LocalDate date, int hour) {
+        BookRequest req = new BookRequest();
+        req.setUsername(username);
+        req.setDate(date);
+        req.setStartTime(LocalTime.of(hour, 0));
+        req.setInviteeName("Invitee");
+        return req;
+    }
+}
@@ -0,0 +1,126 @@
+package com.accoladehq.calendar;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Time from JVM launch to the first successful {@code POST /api/slots/search},
+ * for the packaged application in each startup mode: the plain jar, the
+ * {@code fast-start} profile's lazy beans, Spring AOT on the extracted jar, and
+ * AOT with the AppCDS archive.
+ * <p>
+ * Needs the artifacts of {@code mvn -Pfast-start package -DskipTests}; then run
+ * with {@code mvn -Pbenchmark test -Dtest=StartupBenchmark}. Tune the number of
+ * launches per mode with {@code -Dbench.runs=<n>}.
+ * </p>
+ */
+class StartupBenchmark {
+
+    private static final Path TARGET = Path.of("target");
+
+    private static final String JAR = "calendar-booking-0.0.1-SNAPSHOT.jar";
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    @TempDir
+    Path dir;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @Test
+    void timeToFirstSearch() throws Exception {
+        Path fastStart = TARGET.resolve("fast-start");
+        Assumptions.assumeTrue(Files.exists(fastStart.resolve("application.jsa")),
+                "Build the fast-start artifacts first: mvn -Pfast-start package -DskipTests");
+        int runs = Integer.getInteger("bench.runs", 3);
+        String jar = TARGET.resolve(JAR).toAbsolutePath().toString();
+
+        System.out.printf("%nTime to first successful /api/slots/search, %d launches per mode%n", runs);
+        run("jar", runs, TARGET, List.of("-jar", jar));
+        run("jar, fast-start profile (lazy beans)", runs, TARGET,
+                List.of("-Dspring.profiles.active=fast-start", "-jar", jar));
+        run("extracted, AOT + fast-start profile", runs, fastStart,
+                List.of("-Dspring.aot.enabled=true", "-Dspring.profiles.active=fast-start", "-jar", JAR));
+        run("extracted, AOT + fast-start profile + CDS", runs, fastStart,
+                List.of("-XX:SharedArchiveFile=application.jsa", "-Xlog:cds=error", "-Dspring.aot.enabled=true",
+                        "-Dspring.profiles.active=fast-start", "-jar", JAR));
+    }
+
+    private void run(String label, int runs, Path workingDir, List<String> args) throws Exception {
+        List<Long> times = new ArrayList<>(runs);
+        for (int i = 0; i < runs; i++) {
+            times.add(launch(workingDir, args));
+        }
+        Collections.sort(times);
+        System.out.printf("  %-45s: median %6d ms, best %6d ms%n", label, times.get(times.size() / 2), times.get(0));
+    }
+
+    /**
+     * Launches the application and returns the milliseconds until the first search succeeds.
+     */
+    private long launch(Path workingDir, List<String> args) throws Exception {
+        int port = freePort();
+        Path journal = Files.createTempDirectory(dir, "journal");
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(args);
+        command.add("--server.port=" + port);
+        command.add("--calendar.journal.dir=" + journal.toAbsolutePath());
+        command.add("--spring.jpa.show-sql=false");
+
+        HttpRequest search = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/slots/search"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"nobody\",\"date\":\"2030-01-15\"}"))
+                .build();
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(workingDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(dir.resolve("app-" + port + ".log").toFile())
+                .start();
+        try {
+            while (System.nanoTime() - started < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue()
+                            + ", see " + dir.resolve("app-" + port + ".log"));
+                }
+                try {
+                    if (client.send(search, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No successful search within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.accoladehq.calendar.cache.SlotSearchCache;
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.SearchSlotsRequest;
+import com.accoladehq.calendar.service.BookingService;
+import com.accoladehq.calendar.startup.StartupWarmUp;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class StartupWarmUpTest {
+
+    @Autowired
+    private StartupWarmUp warmUp;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SlotSearchCache searchCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Test
+    void testWarmUpFillsTheCacheForTheFirstSearch() {
+        bookingService.upsertOwnerIfNotExists("warm-alice", "Alice");
+        bookingService.addAvailability(new AvailabilityRequest("warm-alice", LocalTime.of(9, 0), LocalTime.of(12, 0)));
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        // As on a new instance
+        sessionFactory.getCache().evictAllRegions();
+        searchCache.clear();
+
+        assertTrue(warmUp.warmUp() >= 1);
+        assertTrue(warmUp.bytesPerOwner() >= 0);
+
+        Statistics statistics = sessionFactory.getStatistics();
+        long statements = statistics.getPrepareStatementCount();
+        long hits = statistics.getQueryCacheHitCount();
+        assertEquals(3, bookingService.searchAvailableSlots(
+                new SearchSlotsRequest("warm-alice", LocalDate.now().plusDays(1))).size());
+        // Owner and rules were cached by the warm-up; only the appointments query reaches H2
+        assertEquals(1, statistics.getPrepareStatementCount() - statements);
+        assertEquals(2, statistics.getQueryCacheHitCount() - hits);
+    }
+
+    @Test
+    void testReadyOnlyAfterWarmUp() {
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+    }
+}
@@ -0,0 +1,115 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import com.accoladehq.calendar.cache.SlotSearchCache;
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.SearchSlotsRequest;
+import com.accoladehq.calendar.service.BookingService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Load test: a herd of concurrent identical searches hitting a cold cache, with and
+ * without single-flight coalescing. Reports the SQL statements issued per herd.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=ThunderingHerdBenchmark}; tune with
+ * {@code -Dbench.herd=<threads>} and {@code -Dbench.rounds=<n>}.
+ * </p>
+ */
+class ThunderingHerdBenchmark {
+
+    @Nested
+    @SpringBootTest(properties = "spring.jpa.show-sql=false")
+    @TestPropertySource(properties = "calendar.search-cache.coalesce=true")
+    class Coalesced extends Herd {
+        @Test
+        void herd() throws Exception {
+            run("coalesced");
+        }
+    }
+
+    @Nested
+    @SpringBootTest(properties = "spring.jpa.show-sql=false")
+    @TestPropertySource(properties = "calendar.search-cache.coalesce=false")
+    class Uncoalesced extends Herd {
+        @Test
+        void herd() throws Exception {
+            run("uncoalesced");
+        }
+    }
+
+    abstract static class Herd {
+
+        @Autowired
+        private BookingService bookingService;
+
+        @Autowired
+        private SlotSearchCache searchCache;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        void run(String label) throws Exception {
+            int herd = Integer.getInteger("bench.herd", 200);
+            int rounds = Integer.getInteger("bench.rounds", 50);
+            String username = "herd-" + label;
+            bookingService.upsertOwnerIfNotExists(username, username);
+            bookingService.addAvailability(new AvailabilityRequest(username, LocalTime.of(9, 0), LocalTime.of(17, 0)));
+            SearchSlotsRequest req = new SearchSlotsRequest(username, LocalDate.now().plusDays(1));
+
+            SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+            Statistics statistics = sessionFactory.getStatistics();
+            ExecutorService pool = Executors.newFixedThreadPool(herd);
+            long statements = 0;
+            long nanos = 0;
+            try {
+                for (int round = 0; round < rounds; round++) {
+                    // Cold start: nothing cached at any level
+                    searchCache.clear();
+                    sessionFactory.getCache().evictAllRegions();
+                    long before = statistics.getPrepareStatementCount();
+
+                    CountDownLatch gate = new CountDownLatch(1);
+                    List<Future<Integer>> results = new ArrayList<>(herd);
+                    for (int i = 0; i < herd; i++) {
+                        results.add(pool.submit(() -> {
+                            gate.await();
+                            return bookingService.searchAvailableSlots(req).size();
+                        }));
+                    }
+                    long start = System.nanoTime();
+                    gate.countDown();
+                    for (Future<Integer> result : results) {
+                        assertEquals(8, result.get());
+                    }
+                    nanos += System.nanoTime() - start;
+                    statements += statistics.getPrepareStatementCount() - before;
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+
+            System.out.printf("%nThundering herd of %d identical searches, %d rounds (%s)%n", herd, rounds, label);
+            System.out.printf("  SQL statements : %8.1f per herd%n", (double) statements / rounds);
+            System.out.printf("  herd latency   : %8.1f ms%n", nanos / 1e6 / rounds);
+        }
+    }
+}
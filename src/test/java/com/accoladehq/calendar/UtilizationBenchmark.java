@@ -0,0 +1,109 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.UtilizationDto;
+import com.accoladehq.calendar.ics.IcsImporter;
+import com.accoladehq.calendar.service.BookingService;
+import com.accoladehq.calendar.utilization.UtilizationRollup;
+
+/**
+ * Compares a utilization report answered from the rollup with the same report
+ * computed by counting appointments, for one busy owner over growing ranges.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=UtilizationBenchmark}; tune with
+ * {@code -Dbench.appointments=<n>}.
+ * </p>
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class UtilizationBenchmark {
+
+    private static final String OWNER = "util-bench";
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private IcsImporter importer;
+
+    @Autowired
+    private UtilizationRollup rollup;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reportOverRanges() throws Exception {
+        int appointments = Integer.getInteger("bench.appointments", 20_000);
+        bookingService.upsertOwnerIfNotExists(OWNER, OWNER);
+        bookingService.addAvailability(new AvailabilityRequest(OWNER, LocalTime.of(8, 0), LocalTime.of(18, 0)));
+        importer.importEvents(OWNER, new StringReader(calendar(appointments)));
+        Long ownerId = jdbcTemplate.queryForObject("SELECT id FROM calendar_owner WHERE username = ?", Long.class, OWNER);
+        LocalDate from = LocalDate.now().plusDays(1);
+
+        System.out.printf("%nUtilization of %d appointments (10 per day), per report%n", appointments);
+        for (int days : new int[] {7, 30, 365}) {
+            LocalDate to = from.plusDays(days - 1);
+            int runs = 2_000;
+            for (int round = 0; round < 2; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < runs; i++) {
+                    List<UtilizationDto> report = rollup.report(ownerId, from, to, false);
+                    assertEquals(days, report.size());
+                }
+                double rollup = (System.nanoTime() - start) / 1e3 / runs;
+                start = System.nanoTime();
+                for (int i = 0; i < runs; i++) {
+                    assertEquals(Math.min(days, appointments / 10), scan(ownerId, from, to).size());
+                }
+                double scan = (System.nanoTime() - start) / 1e3 / runs;
+                if (round == 1) {
+                    System.out.printf("  %3d days: rollup %8.1f us, appointment count %8.1f us%n", days, rollup, scan);
+                }
+            }
+        }
+    }
+
+    /**
+     * What the rollup replaces: an aggregate over the owner's appointments in the
+     * range, plus the slots per day from the current rules.
+     */
+    private Map<LocalDate, Integer> scan(Long ownerId, LocalDate from, LocalDate to) {
+        int[] slots = new int[1];
+        jdbcTemplate.query("SELECT start_time, end_time FROM availability_rule WHERE owner_id = ?", rs -> {
+            slots[0] += rs.getObject(2, LocalTime.class).getHour() - rs.getObject(1, LocalTime.class).getHour();
+        }, ownerId);
+        Map<LocalDate, Integer> booked = new HashMap<>();
+        jdbcTemplate.query("SELECT date, COUNT(*) FROM appointment WHERE owner_id = ? AND date BETWEEN ? AND ? GROUP BY date",
+                rs -> {
+                    booked.put(rs.getObject(1, LocalDate.class), rs.getInt(2));
+                }, ownerId, from, to);
+        return booked;
+    }
+
+    private static String calendar(int count) {
+        LocalDate first = LocalDate.now().plusDays(1);
+        StringBuilder sb = new StringBuilder("BEGIN:VCALENDAR\r\n");
+        for (int i = 0; i < count; i++) {
+            String day = first.plusDays(i / 10).format(DateTimeFormatter.BASIC_ISO_DATE);
+            sb.append("BEGIN:VEVENT\r\nDTSTART:").append(day).append('T')
+                    .append(String.format("%02d", 8 + i % 10)).append("0000\r\nDURATION:PT1H\r\nSUMMARY:Bench ")
+                    .append(i).append("\r\nEND:VEVENT\r\n");
+        }
+        return sb.append("END:VCALENDAR\r\n").toString();
+    }
+}
@@ -0,0 +1,87 @@
+package com.accoladehq.calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.accoladehq.calendar.dto.AvailabilityRequest;
+import com.accoladehq.calendar.dto.BookRequest;
+import com.accoladehq.calendar.dto.RescheduleRequest;
+import com.accoladehq.calendar.dto.UtilizationDto;
+import com.accoladehq.calendar.entity.Appointment;
+import com.accoladehq.calendar.service.BookingService;
+import com.accoladehq.calendar.utilization.UtilizationRollup;
+
+@SpringBootTest
+class UtilizationIntegrationTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UtilizationRollup rollup;
+
+    @Test
+    void testCountersFollowBookingsCancellationsAndReschedules() {
+        // A Monday next week, so the whole range is in the future and in one ISO week
+        LocalDate monday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        bookingService.upsertOwnerIfNotExists("util-alice", "Alice");
+        bookingService.addAvailability(new AvailabilityRequest("util-alice", LocalTime.of(9, 0), LocalTime.of(17, 0)));
+        book(monday, 9);
+        book(monday, 10);
+        book(monday, 11);
+        book(monday.plusDays(1), 9);
+        // A clash leaves the counters alone
+        assertNull(bookingService.bookAppointment(new BookRequest("util-alice", monday, LocalTime.of(9, 0), "Again", null)));
+
+        List<Appointment> upcoming = bookingService.listUpcoming("util-alice");
+        assertTrue(bookingService.cancelAppointment(upcoming.get(0).getId()));
+        assertNotNull(bookingService.rescheduleAppointment(upcoming.get(1).getId(),
+                new RescheduleRequest(monday.plusDays(2), LocalTime.of(14, 0))));
+
+        List<UtilizationDto> days = bookingService.utilization("util-alice", monday, monday.plusDays(2), false);
+        assertEquals(3, days.size());
+        assertEquals(List.of(1L, 1L, 1L), days.stream().map(UtilizationDto::getBooked).toList());
+        assertEquals(8, days.get(0).getAvailable());
+        assertEquals(0.125, days.get(0).getUtilization());
+
+        // Capacity changes apply from today on
+        bookingService.removeAvailability(new AvailabilityRequest("util-alice", LocalTime.of(13, 0), LocalTime.of(17, 0)));
+        List<UtilizationDto> weeks = bookingService.utilization("util-alice", monday.minusDays(1), monday.plusDays(6), true);
+        assertEquals(2, weeks.size());
+        assertEquals(monday.minusDays(1), weeks.get(0).getStart());
+        assertEquals(monday.minusDays(1), weeks.get(0).getEnd());
+        assertEquals(0, weeks.get(0).getBooked());
+        UtilizationDto week = weeks.get(1);
+        assertEquals(monday, week.getStart());
+        assertEquals(monday.plusDays(6), week.getEnd());
+        assertEquals(3, week.getBooked());
+        assertEquals(7 * 4, week.getAvailable());
+
+        // A rebuild from the appointment table gives the same counts
+        rollup.rebuild();
+        assertEquals(weeks, bookingService.utilization("util-alice", monday.minusDays(1), monday.plusDays(6), true));
+    }
+
+    @Test
+    void testOwnerWithoutAvailabilityOrUnknown() {
+        bookingService.upsertOwnerIfNotExists("util-bob", "Bob");
+        List<UtilizationDto> days = bookingService.utilization("util-bob", LocalDate.now(), LocalDate.now(), false);
+        assertEquals(1, days.size());
+        assertEquals(0, days.get(0).getAvailable());
+        assertNull(days.get(0).getUtilization());
+        assertNull(bookingService.utilization("util-nobody", LocalDate.now(), LocalDate.now(), false));
+    }
+
+    private void book(LocalDate date, int hour) {
+        assertNotNull(bookingService.bookAppointment(new BookRequest("util-alice", date, LocalTime.of(hour, 0), "Invitee", null)));
+    }
+}